@@ -0,0 +1,162 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2024 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.clamp.common.acm.messaging;
+
+import jakarta.ws.rs.core.Response.Status;
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import lombok.Getter;
+import org.onap.policy.clamp.common.acm.exception.AutomationCompositionRuntimeException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sender of messages through a bounded queue, so the threads that publish the messages do not block on the topic sink.
+ * A background thread takes the messages from the queue and sends them to the topic sink one at a time, in order; the
+ * topic sink sends each message on its own, so any batching is left to the topic client.
+ *
+ * <p>The backpressure signal is the AutomationCompositionRuntimeException with status SERVICE_UNAVAILABLE thrown by
+ * {@link #send(Object, Predicate)} when the queue is still full after offerTimeoutMs: the caller must handle it, as the
+ * message is not sent. {@link #isBackpressured()} is only a gauge for the metrics, it does not slow down the callers.
+ */
+public class AsyncMessageSender implements Closeable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AsyncMessageSender.class);
+
+    private static final long POLL_MS = 100;
+    private static final int BACKPRESSURE_PERCENT = 80;
+
+    private record Delivery(Object message, Predicate<Object> sink) {
+    }
+
+    @Getter
+    private final String name;
+    private final long offerTimeoutMs;
+    private final int backpressureSize;
+
+    private final BlockingQueue<Delivery> queue;
+    private final Thread senderThread;
+    private volatile boolean running = true;
+
+    /**
+     * Constructor, starts the background thread.
+     *
+     * @param name the name of the sender, used for the thread name and logging
+     * @param queueSize the maximum number of messages in the queue
+     * @param offerTimeoutMs the time the caller waits when the queue is full
+     */
+    public AsyncMessageSender(String name, int queueSize, long offerTimeoutMs) {
+        this.name = name;
+        this.offerTimeoutMs = offerTimeoutMs;
+        this.backpressureSize = Math.max(1, queueSize * BACKPRESSURE_PERCENT / 100);
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+        this.senderThread = new Thread(this::run, "async-sender-" + name);
+        this.senderThread.setDaemon(true);
+        this.senderThread.start();
+    }
+
+    /**
+     * Queue a message to be sent.
+     *
+     * @param message the message
+     * @param sink the topic sink client that sends the message, returns false if the message is not sent
+     * @throws AutomationCompositionRuntimeException with status NOT_ACCEPTABLE if the sender is closed, or with status
+     *         SERVICE_UNAVAILABLE if the queue is still full after offerTimeoutMs
+     */
+    public void send(Object message, Predicate<Object> sink) {
+        if (!running) {
+            throw new AutomationCompositionRuntimeException(Status.NOT_ACCEPTABLE, "Not Active!");
+        }
+        boolean queued;
+        try {
+            queued = queue.offer(new Delivery(message, sink), offerTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            queued = false;
+        }
+        if (!queued) {
+            throw new AutomationCompositionRuntimeException(Status.SERVICE_UNAVAILABLE,
+                    "Outbound queue " + name + " full, message " + message.getClass().getSimpleName() + " rejected");
+        }
+    }
+
+    /**
+     * Get the number of messages waiting to be sent.
+     *
+     * @return the number of messages in the queue
+     */
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    /**
+     * Check if the queue is filling up, reported as a gauge; the messages are rejected only when the queue is full.
+     *
+     * @return true if the queue is over 80% of its size
+     */
+    public boolean isBackpressured() {
+        return queue.size() >= backpressureSize;
+    }
+
+    private void run() {
+        while (running || !queue.isEmpty()) {
+            try {
+                var delivery = queue.poll(POLL_MS, TimeUnit.MILLISECONDS);
+                if (delivery != null) {
+                    deliver(delivery);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+                List<Delivery> remaining = new ArrayList<>();
+                queue.drainTo(remaining);
+                remaining.forEach(this::deliver);
+            }
+        }
+    }
+
+    private void deliver(Delivery delivery) {
+        try {
+            if (!delivery.sink().test(delivery.message())) {
+                LOGGER.warn("{}: message {} not sent", name, delivery.message().getClass().getSimpleName());
+            }
+        } catch (RuntimeException e) {
+            LOGGER.warn("{}: message {} not sent", name, delivery.message().getClass().getSimpleName(), e);
+        }
+    }
+
+    /**
+     * Stop accepting messages, send the messages in the queue and stop the background thread.
+     */
+    @Override
+    public void close() {
+        running = false;
+        try {
+            senderThread.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
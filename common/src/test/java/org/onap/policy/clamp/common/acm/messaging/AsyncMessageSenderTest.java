@@ -0,0 +1,97 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2024 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.clamp.common.acm.messaging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import jakarta.ws.rs.core.Response.Status;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.onap.policy.clamp.common.acm.exception.AutomationCompositionRuntimeException;
+
+class AsyncMessageSenderTest {
+
+    @Test
+    void testSendInOrder() {
+        List<Object> sent = new CopyOnWriteArrayList<>();
+        try (var sender = new AsyncMessageSender("test", 100, 1000)) {
+            assertThat(sender.getName()).isEqualTo("test");
+            for (var i = 0; i < 50; i++) {
+                sender.send(i, sent::add);
+            }
+            // a failing sink does not stop the sender
+            sender.send("failed", message -> {
+                throw new IllegalStateException();
+            });
+            sender.send("notSent", message -> false);
+        }
+        assertThat(sent).hasSize(50);
+        for (var i = 0; i < 50; i++) {
+            assertThat(sent.get(i)).isEqualTo(i);
+        }
+    }
+
+    @Test
+    void testBackpressure() throws InterruptedException {
+        var blocked = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        List<Object> sent = new CopyOnWriteArrayList<>();
+        try (var sender = new AsyncMessageSender("test", 5, 10)) {
+            sender.send("first", message -> {
+                blocked.countDown();
+                awaitQuietly(release);
+                return sent.add(message);
+            });
+            assertThat(blocked.await(5, TimeUnit.SECONDS)).isTrue();
+            for (var i = 0; i < 5; i++) {
+                sender.send(i, sent::add);
+            }
+            assertThat(sender.getQueueSize()).isEqualTo(5);
+            assertThat(sender.isBackpressured()).isTrue();
+            assertThatThrownBy(() -> sender.send("rejected", sent::add))
+                    .isInstanceOf(AutomationCompositionRuntimeException.class).hasMessageContaining("full")
+                    .extracting(e -> ((AutomationCompositionRuntimeException) e).getErrorResponse().getResponseCode())
+                    .isEqualTo(Status.SERVICE_UNAVAILABLE);
+            release.countDown();
+        }
+        assertThat(sent).hasSize(6).doesNotContain("rejected");
+    }
+
+    @Test
+    void testClosed() {
+        var sender = new AsyncMessageSender("test", 5, 10);
+        sender.close();
+        assertThatThrownBy(() -> sender.send("message", message -> true))
+                .isInstanceOf(AutomationCompositionRuntimeException.class).hasMessageContaining("Not Active!");
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
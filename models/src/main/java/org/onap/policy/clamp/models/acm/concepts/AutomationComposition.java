@@ -63,6 +63,10 @@ public class AutomationComposition extends ToscaEntity implements Comparable<Aut
 
     private StateChangeResult stateChangeResult;
 
+    // Revision read from the database, an update fails if the stored revision has changed since
+    @EqualsAndHashCode.Exclude
+    private Long revision;
+
     /**
      * Copy contructor, does a deep copy.
      *
@@ -81,6 +85,7 @@ public class AutomationComposition extends ToscaEntity implements Comparable<Aut
         this.subState = otherAutomationComposition.subState;
         this.elements = PfUtils.mapMap(otherAutomationComposition.elements, AutomationCompositionElement::new);
         this.stateChangeResult = otherAutomationComposition.stateChangeResult;
+        this.revision = otherAutomationComposition.revision;
     }
 
     @Override
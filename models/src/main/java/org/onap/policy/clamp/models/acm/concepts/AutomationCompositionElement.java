@@ -24,10 +24,12 @@ import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.UUID;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.NonNull;
 import lombok.ToString;
 import org.onap.policy.clamp.models.acm.utils.AcmUtils;
+import org.onap.policy.clamp.models.acm.utils.UuidGenerator;
 import org.onap.policy.models.base.PfConceptKey;
 import org.onap.policy.models.tosca.authorative.concepts.ToscaConceptIdentifier;
 
@@ -39,7 +41,7 @@ import org.onap.policy.models.tosca.authorative.concepts.ToscaConceptIdentifier;
 @ToString
 public class AutomationCompositionElement {
     @NonNull
-    private UUID id = UUID.randomUUID();
+    private UUID id = UuidGenerator.generate();
 
     @NonNull
     private ToscaConceptIdentifier definition = new ToscaConceptIdentifier(PfConceptKey.getNullKey());
@@ -71,6 +73,10 @@ public class AutomationCompositionElement {
 
     private Map<String, Object> outProperties = new LinkedHashMap<>();
 
+    // Revision read from the database, an update fails if the stored revision has changed since
+    @EqualsAndHashCode.Exclude
+    private Long revision;
+
     /**
      * Copy constructor, does a deep copy but as all fields here are immutable, it's just a regular copy.
      *
@@ -91,5 +97,6 @@ public class AutomationCompositionElement {
         this.useState = otherElement.useState;
         this.stage = otherElement.stage;
         this.message = otherElement.message;
+        this.revision = otherElement.revision;
     }
 }
@@ -53,7 +53,8 @@ public class AutomationCompositionElementDefinition {
      * @param acElementDefinition the automation composition element definition to copy from
      */
     public AutomationCompositionElementDefinition(final AutomationCompositionElementDefinition acElementDefinition) {
-        this.acElementDefinitionId = acElementDefinition.acElementDefinitionId;
+        this.acElementDefinitionId = acElementDefinition.acElementDefinitionId != null
+                ? new ToscaConceptIdentifier(acElementDefinition.acElementDefinitionId) : null;
         this.automationCompositionElementToscaNodeTemplate =
                 new ToscaNodeTemplate(acElementDefinition.automationCompositionElementToscaNodeTemplate);
         this.outProperties = PfUtils.mapMap(acElementDefinition.outProperties, UnaryOperator.identity());
@@ -41,6 +41,10 @@ public class ParticipantInformation {
     private Map<UUID, NodeTemplateState> acNodeTemplateStateDefinitionMap = new HashMap<>();
     private Map<UUID, AutomationCompositionElement> acElementInstanceMap = new HashMap<>();
 
+    // total number of node template states and elements of the participant, the maps can contain only a page of them
+    private long acNodeTemplateStateDefinitionCount;
+    private long acElementInstanceCount;
+
     /**
      * Copy constructor.
      *
@@ -51,5 +55,7 @@ public class ParticipantInformation {
         this.participant = otherInfo.participant;
         this.acNodeTemplateStateDefinitionMap = otherInfo.getAcNodeTemplateStateDefinitionMap();
         this.acElementInstanceMap = otherInfo.getAcElementInstanceMap();
+        this.acNodeTemplateStateDefinitionCount = otherInfo.getAcNodeTemplateStateDefinitionCount();
+        this.acElementInstanceCount = otherInfo.getAcElementInstanceCount();
     }
 }
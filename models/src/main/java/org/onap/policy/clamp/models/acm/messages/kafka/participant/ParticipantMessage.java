@@ -27,6 +27,7 @@ import lombok.Getter;
 import lombok.NonNull;
 import lombok.Setter;
 import lombok.ToString;
+import org.onap.policy.clamp.models.acm.utils.UuidGenerator;
 
 /**
  * Class to represent the base class for various messages that will be exchanged between the ACM runtime and
@@ -39,7 +40,7 @@ public class ParticipantMessage {
     @Setter(AccessLevel.NONE)
     private ParticipantMessageType messageType;
 
-    private UUID messageId = UUID.randomUUID();
+    private UUID messageId = UuidGenerator.generate();
 
     /**
      * Time-stamp, in milliseconds, when the message was created. Defaults to the current time.
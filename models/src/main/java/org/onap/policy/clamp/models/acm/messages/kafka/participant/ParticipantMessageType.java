@@ -120,5 +120,10 @@ public enum ParticipantMessageType {
     /**
      * Used by the acm runtime to ask for a preparation check to participants.
      */
-    AUTOMATION_COMPOSITION_PREPARE
+    AUTOMATION_COMPOSITION_PREPARE,
+
+    /**
+     * Used by participants to acknowledge a chunk of a restart sync, so the acm runtime can send the next one.
+     */
+    PARTICIPANT_SYNC_ACK
 }
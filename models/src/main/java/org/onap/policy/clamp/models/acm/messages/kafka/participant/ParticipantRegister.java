@@ -20,7 +20,10 @@
 
 package org.onap.policy.clamp.models.acm.messages.kafka.participant;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
@@ -36,6 +39,11 @@ public class ParticipantRegister extends ParticipantMessage {
 
     private List<ParticipantSupportedElementType> participantSupportedElementType;
 
+    // digests of the element definitions and of all the instances of each composition in the cache of the
+    // participant, both by compositionId
+    private Map<UUID, String> compositionDigests = new LinkedHashMap<>();
+    private Map<UUID, String> compositionInstanceDigests = new LinkedHashMap<>();
+
     /**
      * Constructor for instantiating ParticipantRegister class with message name.
      *
@@ -52,5 +60,7 @@ public class ParticipantRegister extends ParticipantMessage {
     public ParticipantRegister(final ParticipantRegister source) {
         super(source);
         this.participantSupportedElementType = source.getParticipantSupportedElementType();
+        this.compositionDigests = new LinkedHashMap<>(source.getCompositionDigests());
+        this.compositionInstanceDigests = new LinkedHashMap<>(source.getCompositionInstanceDigests());
     }
 }
@@ -51,6 +51,11 @@ public class ParticipantSync extends ParticipantMessage {
     private boolean restarting = false;
     private boolean delete = false;
 
+    // a restart sync can be split in chunks, acknowledged by the participant; the last chunk marks the completion
+    private UUID restartSyncId;
+    private int chunkSequence = 0;
+    private boolean lastChunk = true;
+
     /**
      * Constructor.
      */
@@ -72,5 +77,8 @@ public class ParticipantSync extends ParticipantMessage {
         this.excludeReplicas = new HashSet<>(source.excludeReplicas);
         this.restarting = source.restarting;
         this.delete = source.delete;
+        this.restartSyncId = source.restartSyncId;
+        this.chunkSequence = source.chunkSequence;
+        this.lastChunk = source.lastChunk;
     }
 }
@@ -0,0 +1,58 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2024 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.clamp.models.acm.messages.kafka.participant;
+
+import java.util.UUID;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Class to represent the PARTICIPANT_SYNC_ACK message that a participant sends to the ACM runtime for each chunk of
+ * a restart sync.
+ */
+@Getter
+@Setter
+@ToString(callSuper = true)
+public class ParticipantSyncAck extends ParticipantAckMessage {
+
+    private UUID restartSyncId;
+    private int chunkSequence;
+
+    /**
+     * Constructor for instantiating ParticipantSyncAck class with message name.
+     *
+     */
+    public ParticipantSyncAck() {
+        super(ParticipantMessageType.PARTICIPANT_SYNC_ACK);
+    }
+
+    /**
+     * Constructs the object, making a deep copy.
+     *
+     * @param source source from which to copy
+     */
+    public ParticipantSyncAck(final ParticipantSyncAck source) {
+        super(source);
+        this.restartSyncId = source.restartSyncId;
+        this.chunkSequence = source.chunkSequence;
+    }
+}
@@ -31,7 +31,10 @@ import jakarta.persistence.Inheritance;
 import jakarta.persistence.InheritanceType;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
@@ -41,11 +44,13 @@ import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NonNull;
 import org.apache.commons.lang3.ObjectUtils;
+import org.hibernate.annotations.ColumnDefault;
 import org.onap.policy.clamp.models.acm.concepts.AutomationComposition;
 import org.onap.policy.clamp.models.acm.concepts.DeployState;
 import org.onap.policy.clamp.models.acm.concepts.LockState;
 import org.onap.policy.clamp.models.acm.concepts.StateChangeResult;
 import org.onap.policy.clamp.models.acm.concepts.SubState;
+import org.onap.policy.clamp.models.acm.utils.AcmUtils;
 import org.onap.policy.clamp.models.acm.utils.TimestampHelper;
 import org.onap.policy.common.parameters.annotations.NotNull;
 import org.onap.policy.common.parameters.annotations.Valid;
@@ -60,7 +65,9 @@ import org.onap.policy.models.base.Validated;
  * @author Liam Fallon (liam.fallon@est.tech)
  */
 @Entity
-@Table(name = "AutomationComposition", indexes = {@Index(name = "ac_compositionId", columnList = "compositionId")})
+@Table(name = "AutomationComposition", indexes = {@Index(name = "ac_compositionId", columnList = "compositionId"),
+    @Index(name = "ac_compositionId_instanceId", columnList = "compositionId, instanceId"),
+    @Index(name = "ac_inTransition", columnList = "inTransition")})
 @Inheritance(strategy = InheritanceType.TABLE_PER_CLASS)
 @Data
 @EqualsAndHashCode(callSuper = false)
@@ -111,6 +118,15 @@ public class JpaAutomationComposition extends Validated
     @Column
     private String description;
 
+    // Denormalized from deployState, lockState and subState, so the scanner can select instances in transition
+    @Column
+    private Boolean inTransition;
+
+    @Version
+    @Column
+    @ColumnDefault("0")
+    private Long revision;
+
     @NotNull
     @OneToMany(fetch = FetchType.EAGER, cascade = CascadeType.ALL)
     @JoinColumn(name = "instanceId", foreignKey = @ForeignKey(name = "ac_element_fk"))
@@ -167,6 +183,8 @@ public class JpaAutomationComposition extends Validated
         this.subState = copyConcept.subState;
         this.description = copyConcept.description;
         this.stateChangeResult = copyConcept.stateChangeResult;
+        this.inTransition = copyConcept.inTransition;
+        this.revision = copyConcept.revision;
         this.elements = PfUtils.mapList(copyConcept.elements, JpaAutomationCompositionElement::new);
     }
 
@@ -197,6 +215,7 @@ public class JpaAutomationComposition extends Validated
         automationComposition.setSubState(subState);
         automationComposition.setDescription(description);
         automationComposition.setStateChangeResult(stateChangeResult);
+        automationComposition.setRevision(revision);
         automationComposition.setElements(new LinkedHashMap<>(this.elements.size()));
         for (var element : this.elements) {
             automationComposition.getElements().put(UUID.fromString(element.getElementId()), element.toAuthorative());
@@ -237,6 +256,16 @@ public class JpaAutomationComposition extends Validated
         this.subState = automationComposition.getSubState();
         this.description = automationComposition.getDescription();
         this.stateChangeResult = automationComposition.getStateChangeResult();
+        updateInTransition();
+    }
+
+    /**
+     * Keep the inTransition flag consistent with the states stored.
+     */
+    @PrePersist
+    @PreUpdate
+    public void updateInTransition() {
+        this.inTransition = AcmUtils.isInTransitionalState(deployState, lockState, subState);
     }
 
     @Override
@@ -31,6 +31,7 @@ import jakarta.persistence.Inheritance;
 import jakarta.persistence.InheritanceType;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.Lob;
+import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 import java.sql.Timestamp;
@@ -46,6 +47,7 @@ import org.onap.policy.clamp.models.acm.concepts.StateChangeResult;
 import org.onap.policy.clamp.models.acm.document.concepts.DocToscaServiceTemplate;
 import org.onap.policy.clamp.models.acm.utils.TimestampHelper;
 import org.onap.policy.common.parameters.BeanValidationResult;
+import org.onap.policy.common.parameters.ValidationStatus;
 import org.onap.policy.common.parameters.annotations.NotNull;
 import org.onap.policy.common.parameters.annotations.Pattern;
 import org.onap.policy.common.parameters.annotations.Valid;
@@ -93,13 +95,17 @@ public class JpaAutomationCompositionDefinition extends Validated
     @JoinColumn(name = "compositionId", foreignKey = @ForeignKey(name = "dt_element_fk"))
     private Set<JpaNodeTemplateState> elements = new HashSet<>();
 
+    // Service template stored inline, only set on definitions saved before content-addressed storage
     @Lob
     @Column(length = 100000)
     @Convert(converter = StringToServiceTemplateConverter.class)
-    @NotNull
     @Valid
     private DocToscaServiceTemplate serviceTemplate;
 
+    @ManyToOne(fetch = FetchType.EAGER)
+    @JoinColumn(name = "serviceTemplateHash", foreignKey = @ForeignKey(name = "dt_service_template_fk"))
+    private JpaServiceTemplateContent serviceTemplateContent;
+
     @Override
     public AutomationCompositionDefinition toAuthorative() {
         var acmDefinition = new AutomationCompositionDefinition();
@@ -107,7 +113,7 @@ public class JpaAutomationCompositionDefinition extends Validated
         acmDefinition.setState(this.state);
         acmDefinition.setStateChangeResult(this.stateChangeResult);
         acmDefinition.setLastMsg(this.lastMsg.toString());
-        acmDefinition.setServiceTemplate(this.serviceTemplate.toAuthorative());
+        acmDefinition.setServiceTemplate(getStoredServiceTemplate().toAuthorative());
         for (var element : this.elements) {
             var key = element.getNodeTemplateId().getName();
             acmDefinition.getElementStateMap().put(key, element.toAuthorative());
@@ -133,6 +139,16 @@ public class JpaAutomationCompositionDefinition extends Validated
         }
     }
 
+    /**
+     * Get the service template, from the shared content or stored inline.
+     *
+     * @return the service template
+     */
+    public DocToscaServiceTemplate getStoredServiceTemplate() {
+        return this.serviceTemplateContent != null
+                ? this.serviceTemplateContent.getServiceTemplate(this.compositionId) : this.serviceTemplate;
+    }
+
     public JpaAutomationCompositionDefinition(final AutomationCompositionDefinition acmDefinition) {
         fromAuthorative(acmDefinition);
     }
@@ -148,6 +164,10 @@ public class JpaAutomationCompositionDefinition extends Validated
             return result;
         }
 
+        if (serviceTemplate == null && serviceTemplateContent == null) {
+            result.addResult("serviceTemplate", null, ValidationStatus.INVALID, "is null");
+        }
+
         return result;
     }
 }
@@ -27,10 +27,14 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Inheritance;
 import jakarta.persistence.InheritanceType;
 import jakarta.persistence.Lob;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.UUID;
@@ -39,10 +43,12 @@ import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NonNull;
 import org.apache.commons.lang3.ObjectUtils;
+import org.hibernate.annotations.ColumnDefault;
 import org.onap.policy.clamp.models.acm.concepts.AutomationCompositionElement;
 import org.onap.policy.clamp.models.acm.concepts.DeployState;
 import org.onap.policy.clamp.models.acm.concepts.LockState;
 import org.onap.policy.clamp.models.acm.concepts.SubState;
+import org.onap.policy.clamp.models.acm.utils.LobCompressionHelper;
 import org.onap.policy.common.parameters.annotations.NotNull;
 import org.onap.policy.common.parameters.annotations.Valid;
 import org.onap.policy.models.base.PfAuthorative;
@@ -58,7 +64,9 @@ import org.onap.policy.models.tosca.authorative.concepts.ToscaConceptIdentifier;
  * @author Liam Fallon (liam.fallon@est.tech)
  */
 @Entity
-@Table(name = "AutomationCompositionElement")
+@Table(name = "AutomationCompositionElement", indexes = {
+    @Index(name = "ac_element_instanceId", columnList = "instanceId"),
+    @Index(name = "ac_element_participantId", columnList = "participantId")})
 @Inheritance(strategy = InheritanceType.TABLE_PER_CLASS)
 @Data
 @EqualsAndHashCode(callSuper = false)
@@ -127,6 +135,14 @@ public class JpaAutomationCompositionElement extends Validated
     @Column(length = 100000)
     private Map<String, Object> outProperties;
 
+    @Column
+    private String outPropertiesHash;
+
+    @Version
+    @Column
+    @ColumnDefault("0")
+    private Long revision;
+
     /**
      * The Default Constructor creates a {@link JpaAutomationCompositionElement} object with a null key.
      */
@@ -190,6 +206,8 @@ public class JpaAutomationCompositionElement extends Validated
         this.useState = copyConcept.useState;
         this.stage = copyConcept.stage;
         this.message = copyConcept.message;
+        this.outPropertiesHash = copyConcept.outPropertiesHash;
+        this.revision = copyConcept.revision;
     }
 
     /**
@@ -219,6 +237,7 @@ public class JpaAutomationCompositionElement extends Validated
         element.setUseState(useState);
         element.setStage(stage);
         element.setMessage(message);
+        element.setRevision(revision);
 
         return element;
     }
@@ -240,6 +259,15 @@ public class JpaAutomationCompositionElement extends Validated
         this.message = element.getMessage();
     }
 
+    /**
+     * Keep the hash of the outProperties in line with the outProperties stored.
+     */
+    @PrePersist
+    @PreUpdate
+    public void updateOutPropertiesHash() {
+        this.outPropertiesHash = LobCompressionHelper.contentHash(this.outProperties);
+    }
+
     @Override
     public int compareTo(final JpaAutomationCompositionElement other) {
         if (other == null) {
@@ -25,6 +25,7 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Inheritance;
 import jakarta.persistence.InheritanceType;
 import jakarta.persistence.Lob;
@@ -46,7 +47,9 @@ import org.onap.policy.models.base.validation.annotations.VerifyKey;
 import org.onap.policy.models.tosca.authorative.concepts.ToscaConceptIdentifier;
 
 @Entity
-@Table(name = "NodeTemplateState")
+@Table(name = "NodeTemplateState", indexes = {
+    @Index(name = "dt_element_compositionId", columnList = "compositionId"),
+    @Index(name = "dt_element_participantId", columnList = "participantId")})
 @Inheritance(strategy = InheritanceType.TABLE_PER_CLASS)
 @Data
 @EqualsAndHashCode(callSuper = false)
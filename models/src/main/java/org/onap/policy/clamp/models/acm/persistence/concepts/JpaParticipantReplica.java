@@ -23,6 +23,7 @@ package org.onap.policy.clamp.models.acm.persistence.concepts;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Inheritance;
 import jakarta.persistence.InheritanceType;
 import jakarta.persistence.Table;
@@ -39,7 +40,9 @@ import org.onap.policy.models.base.PfAuthorative;
 import org.onap.policy.models.base.Validated;
 
 @Entity
-@Table(name = "ParticipantReplica")
+@Table(name = "ParticipantReplica", indexes = {
+    @Index(name = "participant_replica_participantId", columnList = "participantId"),
+    @Index(name = "participant_replica_state", columnList = "participantState, participantId")})
 @Inheritance(strategy = InheritanceType.TABLE_PER_CLASS)
 @Data
 @EqualsAndHashCode(callSuper = false)
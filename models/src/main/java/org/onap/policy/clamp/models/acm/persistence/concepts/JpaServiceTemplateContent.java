@@ -0,0 +1,100 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2024 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.clamp.models.acm.persistence.concepts;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Inheritance;
+import jakarta.persistence.InheritanceType;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NonNull;
+import org.onap.policy.clamp.models.acm.document.concepts.DocToscaServiceTemplate;
+import org.onap.policy.clamp.models.acm.utils.LobCompressionHelper;
+import org.onap.policy.common.parameters.annotations.NotNull;
+import org.onap.policy.common.parameters.annotations.Valid;
+import org.onap.policy.models.base.Validated;
+
+/**
+ * Class to represent the content of a service template in the database, shared by all automation composition
+ * definitions commissioned with the same service template. The content is addressed by its SHA-256 hash, calculated
+ * on the canonical JSON document so that it does not depend on the order of the keys.
+ */
+@Entity
+@Table(name = "ServiceTemplateContent")
+@Inheritance(strategy = InheritanceType.TABLE_PER_CLASS)
+@Data
+@EqualsAndHashCode(callSuper = false)
+public class JpaServiceTemplateContent extends Validated {
+
+    // The compositionId is added to the metadata of each commissioned service template, so it is not part of the
+    // shared content
+    public static final String METADATA_COMPOSITION_ID = "compositionId";
+
+    @Id
+    @NotNull
+    private String contentHash;
+
+    @Lob
+    @Column(length = 100000)
+    @Convert(converter = StringToServiceTemplateConverter.class)
+    @NotNull
+    @Valid
+    private DocToscaServiceTemplate serviceTemplate;
+
+    /**
+     * The Default Constructor.
+     */
+    public JpaServiceTemplateContent() {
+        super();
+    }
+
+    /**
+     * Constructor that calculates the content hash of a service template.
+     *
+     * @param serviceTemplate the service template
+     */
+    public JpaServiceTemplateContent(@NonNull final DocToscaServiceTemplate serviceTemplate) {
+        this.serviceTemplate = new DocToscaServiceTemplate(serviceTemplate);
+        if (this.serviceTemplate.getMetadata() != null) {
+            this.serviceTemplate.getMetadata().remove(METADATA_COMPOSITION_ID);
+        }
+        this.contentHash = LobCompressionHelper.contentHash(this.serviceTemplate);
+    }
+
+    /**
+     * Get a copy of the service template with the compositionId of an automation composition definition.
+     *
+     * @param compositionId the compositionId
+     * @return the service template
+     */
+    public DocToscaServiceTemplate getServiceTemplate(@NonNull final String compositionId) {
+        var result = new DocToscaServiceTemplate(serviceTemplate);
+        if (result.getMetadata() != null) {
+            result.getMetadata().put(METADATA_COMPOSITION_ID, compositionId);
+        }
+        return result;
+    }
+}
@@ -25,6 +25,7 @@ import jakarta.persistence.Converter;
 import jakarta.ws.rs.core.Response;
 import java.util.HashMap;
 import java.util.Map;
+import org.onap.policy.clamp.models.acm.utils.LobCompressionHelper;
 import org.onap.policy.common.utils.coder.Coder;
 import org.onap.policy.common.utils.coder.CoderException;
 import org.onap.policy.common.utils.coder.StandardCoder;
@@ -38,7 +39,7 @@ public class StringToMapConverter implements AttributeConverter<Map<String, Obje
     @Override
     public String convertToDatabaseColumn(Map<String, Object> map) {
         try {
-            return map == null ? null : coder.encode(map);
+            return map == null ? null : LobCompressionHelper.compress(coder.encode(map));
         } catch (CoderException e) {
             throw new PfModelRuntimeException(Response.Status.BAD_REQUEST, e.getMessage(), e);
         }
@@ -51,7 +52,7 @@ public class StringToMapConverter implements AttributeConverter<Map<String, Obje
             return new HashMap<>();
         }
         try {
-            return coder.decode(dbData, Map.class);
+            return coder.decode(LobCompressionHelper.decompress(dbData), Map.class);
         } catch (CoderException e) {
             throw new PfModelRuntimeException(Response.Status.BAD_REQUEST, e.getMessage(), e);
         }
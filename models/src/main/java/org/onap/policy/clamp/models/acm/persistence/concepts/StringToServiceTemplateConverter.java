@@ -24,6 +24,7 @@ import jakarta.persistence.AttributeConverter;
 import jakarta.persistence.Converter;
 import jakarta.ws.rs.core.Response;
 import org.onap.policy.clamp.models.acm.document.concepts.DocToscaServiceTemplate;
+import org.onap.policy.clamp.models.acm.utils.LobCompressionHelper;
 import org.onap.policy.common.utils.coder.Coder;
 import org.onap.policy.common.utils.coder.CoderException;
 import org.onap.policy.common.utils.coder.StandardCoder;
@@ -37,7 +38,7 @@ public class StringToServiceTemplateConverter implements AttributeConverter<DocT
     @Override
     public String convertToDatabaseColumn(DocToscaServiceTemplate serviceTemplate) {
         try {
-            return serviceTemplate == null ? null : coder.encode(serviceTemplate);
+            return serviceTemplate == null ? null : LobCompressionHelper.compress(coder.encode(serviceTemplate));
         } catch (CoderException e) {
             throw new PfModelRuntimeException(Response.Status.BAD_REQUEST, e.getMessage(), e);
         }
@@ -49,7 +50,7 @@ public class StringToServiceTemplateConverter implements AttributeConverter<DocT
             return new DocToscaServiceTemplate();
         }
         try {
-            return coder.decode(dbData, DocToscaServiceTemplate.class);
+            return coder.decode(LobCompressionHelper.decompress(dbData), DocToscaServiceTemplate.class);
         } catch (CoderException e) {
             throw new PfModelRuntimeException(Response.Status.BAD_REQUEST, e.getMessage(), e);
         }
@@ -21,26 +21,36 @@
 package org.onap.policy.clamp.models.acm.persistence.provider;
 
 import jakarta.ws.rs.core.Response;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import lombok.RequiredArgsConstructor;
 import org.onap.policy.clamp.models.acm.concepts.AcTypeState;
 import org.onap.policy.clamp.models.acm.concepts.AutomationCompositionDefinition;
+import org.onap.policy.clamp.models.acm.concepts.AutomationCompositionDefinitionSummary;
 import org.onap.policy.clamp.models.acm.concepts.NodeTemplateState;
 import org.onap.policy.clamp.models.acm.concepts.StateChangeResult;
 import org.onap.policy.clamp.models.acm.document.base.ToscaServiceTemplateValidation;
 import org.onap.policy.clamp.models.acm.document.concepts.DocToscaServiceTemplate;
 import org.onap.policy.clamp.models.acm.persistence.concepts.JpaAutomationCompositionDefinition;
 import org.onap.policy.clamp.models.acm.persistence.concepts.JpaNodeTemplateState;
+import org.onap.policy.clamp.models.acm.persistence.concepts.JpaServiceTemplateContent;
 import org.onap.policy.clamp.models.acm.persistence.repository.AutomationCompositionDefinitionRepository;
 import org.onap.policy.clamp.models.acm.persistence.repository.NodeTemplateStateRepository;
+import org.onap.policy.clamp.models.acm.persistence.repository.ServiceTemplateContentRepository;
+import org.onap.policy.clamp.models.acm.utils.AcDefinitionValidator;
 import org.onap.policy.clamp.models.acm.utils.AcmUtils;
+import org.onap.policy.clamp.models.acm.utils.LobCompressionHelper;
 import org.onap.policy.clamp.models.acm.utils.TimestampHelper;
+import org.onap.policy.clamp.models.acm.utils.UuidGenerator;
 import org.onap.policy.common.parameters.BeanValidationResult;
 import org.onap.policy.models.base.PfModelRuntimeException;
 import org.onap.policy.models.tosca.authorative.concepts.ToscaServiceTemplate;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Example;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Isolation;
@@ -51,8 +61,13 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class AcDefinitionProvider {
 
+    private static final int MAX_CONTENT_STORE_ATTEMPTS = 3;
+
     private final AutomationCompositionDefinitionRepository acmDefinitionRepository;
     private final NodeTemplateStateRepository nodeTemplateStateRepository;
+    private final ServiceTemplateContentRepository serviceTemplateContentRepository;
+
+    private final Map<UUID, AcDefinitionValidator> validatorCache = new ConcurrentHashMap<>();
 
     /**
      * Create Automation Composition Definition.
@@ -63,7 +78,7 @@ public class AcDefinitionProvider {
     public AutomationCompositionDefinition createAutomationCompositionDefinition(
             final ToscaServiceTemplate serviceTemplate, final String toscaElementName, String toscaCompositionName) {
         var acmDefinition = new AutomationCompositionDefinition();
-        var compositionId = UUID.randomUUID();
+        var compositionId = UuidGenerator.generate();
         acmDefinition.setCompositionId(compositionId);
         acmDefinition.setState(AcTypeState.COMMISSIONED);
         if (serviceTemplate.getMetadata() == null) {
@@ -86,6 +101,7 @@ public class AcDefinitionProvider {
         if (! validationResult.isValid()) {
             throw new PfModelRuntimeException(Response.Status.BAD_REQUEST, validationResult.getResult());
         }
+        storeServiceTemplateContent(jpaAcmDefinition);
         var result = acmDefinitionRepository.save(jpaAcmDefinition);
 
         return result.toAuthorative();
@@ -128,8 +144,13 @@ public class AcDefinitionProvider {
         if (! validationResult.isValid()) {
             throw new PfModelRuntimeException(Response.Status.BAD_REQUEST, validationResult.getResult());
         }
+        var previousContent = acmDefinitionRepository.findById(jpaAcmDefinition.getCompositionId())
+                .map(JpaAutomationCompositionDefinition::getServiceTemplateContent);
+        storeServiceTemplateContent(jpaAcmDefinition);
         acmDefinitionRepository.save(jpaAcmDefinition);
         acmDefinitionRepository.flush();
+        previousContent.ifPresent(this::releaseServiceTemplateContent);
+        validatorCache.remove(acDefinition.getCompositionId());
     }
 
     /**
@@ -151,6 +172,7 @@ public class AcDefinitionProvider {
         acDefinition.setStateChangeResult(stateChangeResult);
         acmDefinitionRepository.save(acDefinition);
         acmDefinitionRepository.flush();
+        validatorCache.remove(compositionId);
     }
 
     /**
@@ -164,6 +186,7 @@ public class AcDefinitionProvider {
             nodeTemplateState.getNodeTemplateStateId().toString(), compositionId.toString());
         jpaNodeTemplateState.fromAuthorative(nodeTemplateState);
         nodeTemplateStateRepository.save(jpaNodeTemplateState);
+        validatorCache.remove(compositionId);
     }
 
     /**
@@ -180,11 +203,61 @@ public class AcDefinitionProvider {
             throw new PfModelRuntimeException(Response.Status.NOT_FOUND, errorMessage);
         }
 
-        var item = jpaDelete.get().getServiceTemplate();
+        var item = jpaDelete.get().getStoredServiceTemplate();
         acmDefinitionRepository.deleteById(compositionId.toString());
+        releaseServiceTemplateContent(jpaDelete.get().getServiceTemplateContent());
+        validatorCache.remove(compositionId);
         return item.toAuthorative();
     }
 
+    /**
+     * Store the service template of an automation composition definition as shared content, so identical service
+     * templates are stored only once. Missing content is inserted first in its own transaction, a concurrent insert of
+     * the same content is ignored; only then the content row is locked until commit, so that a concurrent release
+     * cannot delete it before the definition refers to it. Locking a missing row first would take a gap lock that
+     * blocks the insert of the other transaction.
+     *
+     * @param jpaAcmDefinition the automation composition definition to be saved
+     */
+    private void storeServiceTemplateContent(JpaAutomationCompositionDefinition jpaAcmDefinition) {
+        var content = new JpaServiceTemplateContent(jpaAcmDefinition.getServiceTemplate());
+        for (var attempt = 0; attempt < MAX_CONTENT_STORE_ATTEMPTS; attempt++) {
+            if (attempt > 0 || !serviceTemplateContentRepository.existsById(content.getContentHash())) {
+                try {
+                    serviceTemplateContentRepository.saveAndFlush(content);
+                } catch (DataIntegrityViolationException e) {
+                    // the same content was inserted concurrently, the stored one is read below
+                }
+            }
+            var storedContent = serviceTemplateContentRepository.findForUpdate(content.getContentHash());
+            if (storedContent.isPresent()) {
+                jpaAcmDefinition.setServiceTemplateContent(storedContent.get());
+                jpaAcmDefinition.setServiceTemplate(null);
+                return;
+            }
+            // deleted by a concurrent release before it was locked, it is inserted again
+        }
+        throw new PfModelRuntimeException(Response.Status.CONFLICT,
+                "Service template content " + content.getContentHash() + " was deleted");
+    }
+
+    /**
+     * Delete the shared content of a service template when no automation composition definition refers to it. The
+     * content row is locked before the references are checked, so a definition linked to it concurrently is seen.
+     *
+     * @param content the shared content, null if the service template was stored inline
+     */
+    private void releaseServiceTemplateContent(JpaServiceTemplateContent content) {
+        if (content == null) {
+            return;
+        }
+        var lockedContent = serviceTemplateContentRepository.findForUpdate(content.getContentHash());
+        if (lockedContent.isPresent()
+                && !acmDefinitionRepository.existsByServiceTemplateContentContentHash(content.getContentHash())) {
+            serviceTemplateContentRepository.delete(lockedContent.get());
+        }
+    }
+
     /**
      * Get the requested automation composition definitions.
      *
@@ -214,6 +287,88 @@ public class AcDefinitionProvider {
         return jpaGet.stream().map(JpaAutomationCompositionDefinition::toAuthorative).findFirst();
     }
 
+    /**
+     * Get the validator of the automation composition instances compiled from the requested definition.
+     * The validator is cached and compiled again only when the state or the lastMsg of the definition change.
+     *
+     * @param compositionId The UUID of the automation composition definition
+     * @return the validator of the automation composition definition
+     */
+    @Transactional(readOnly = true, isolation = Isolation.READ_UNCOMMITTED)
+    public Optional<AcDefinitionValidator> findAcDefinitionValidator(UUID compositionId) {
+        var stateView = acmDefinitionRepository.findStateViewByCompositionId(compositionId.toString());
+        if (stateView.isEmpty()) {
+            validatorCache.remove(compositionId);
+            return Optional.empty();
+        }
+        var validator = validatorCache.get(compositionId);
+        if (validator != null
+                && validator.isUpToDate(stateView.get().getState(), stateView.get().getLastMsg().toString())) {
+            return Optional.of(validator);
+        }
+        var acDefinition = findAcDefinition(compositionId);
+        if (acDefinition.isEmpty()) {
+            validatorCache.remove(compositionId);
+            return Optional.empty();
+        }
+        validator = new AcDefinitionValidator(acDefinition.get());
+        validatorCache.put(compositionId, validator);
+        return Optional.of(validator);
+    }
+
+    /**
+     * Get the entity tag of the requested automation composition definition, it changes whenever the definition or
+     * the state of its elements change. It is computed without loading the service template, which is identified by
+     * the hash of its content.
+     *
+     * @param compositionId The UUID of the automation composition definition
+     * @return the entity tag, empty if the definition does not exist or its service template is not stored as
+     *         shared content
+     */
+    @Transactional(readOnly = true)
+    public Optional<String> getAcDefinitionEtag(UUID compositionId) {
+        var versionView = acmDefinitionRepository.findVersionViewByCompositionId(compositionId.toString());
+        if (versionView.isEmpty() || versionView.get().getContentHash() == null) {
+            return Optional.empty();
+        }
+        var version = new StringBuilder();
+        version.append(versionView.get().getContentHash()).append('|').append(versionView.get().getState())
+                .append('|').append(versionView.get().getStateChangeResult())
+                .append('|').append(versionView.get().getLastMsg());
+        var elements = nodeTemplateStateRepository.findByCompositionId(compositionId.toString());
+        elements.sort(Comparator.comparing(JpaNodeTemplateState::getNodeTemplateStateId));
+        for (var element : elements) {
+            version.append('|').append(element.getNodeTemplateStateId()).append(',').append(element.getParticipantId())
+                    .append(',').append(element.getState()).append(',').append(element.getRestarting())
+                    .append(',').append(element.getMessage())
+                    .append(',').append(LobCompressionHelper.contentHash(element.getOutProperties()));
+        }
+        return Optional.of(LobCompressionHelper.sha256(version.toString()));
+    }
+
+    /**
+     * Get the summaries of automation composition definitions, without loading the service templates.
+     *
+     * @param name the name of the automation composition definitions to get, null to get all definitions
+     * @param version the version of the automation composition definitions to get, null to get all definitions
+     * @return the summaries of the automation composition definitions found
+     */
+    @Transactional(readOnly = true)
+    public List<AutomationCompositionDefinitionSummary> getAcDefinitionSummaries(final String name,
+            final String version) {
+        return acmDefinitionRepository.findSummaryViews(name, version).stream().map(view -> {
+            var summary = new AutomationCompositionDefinitionSummary();
+            summary.setCompositionId(UUID.fromString(view.getCompositionId()));
+            summary.setName(view.getName());
+            summary.setVersion(view.getVersion());
+            summary.setState(view.getState());
+            summary.setStateChangeResult(view.getStateChangeResult());
+            summary.setElementCount(view.getElementCount());
+            summary.setLastMsg(view.getLastMsg().toString());
+            return summary;
+        }).toList();
+    }
+
     /**
      * Get Automation Composition Definitions in transition.
      *
@@ -245,7 +400,7 @@ public class AcDefinitionProvider {
             jpaList = acmDefinitionRepository.findAll();
         }
 
-        return jpaList.stream().map(JpaAutomationCompositionDefinition::getServiceTemplate)
+        return jpaList.stream().map(JpaAutomationCompositionDefinition::getStoredServiceTemplate)
                 .map(DocToscaServiceTemplate::toAuthorative).toList();
     }
 }
@@ -24,28 +24,38 @@ package org.onap.policy.clamp.models.acm.persistence.provider;
 
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.Response.Status;
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 import lombok.AllArgsConstructor;
 import lombok.NonNull;
+import org.onap.policy.clamp.models.acm.concepts.AcStateCount;
 import org.onap.policy.clamp.models.acm.concepts.AutomationComposition;
 import org.onap.policy.clamp.models.acm.concepts.AutomationCompositionElement;
 import org.onap.policy.clamp.models.acm.concepts.AutomationCompositionInfo;
+import org.onap.policy.clamp.models.acm.concepts.AutomationCompositionStatistics;
 import org.onap.policy.clamp.models.acm.concepts.DeployState;
 import org.onap.policy.clamp.models.acm.concepts.LockState;
 import org.onap.policy.clamp.models.acm.concepts.SubState;
+import org.onap.policy.clamp.models.acm.messages.rest.instantiation.AutomationCompositionFilter;
 import org.onap.policy.clamp.models.acm.persistence.concepts.JpaAutomationComposition;
-import org.onap.policy.clamp.models.acm.persistence.concepts.JpaAutomationCompositionElement;
 import org.onap.policy.clamp.models.acm.persistence.repository.AutomationCompositionElementRepository;
+import org.onap.policy.clamp.models.acm.persistence.repository.AutomationCompositionElementRepository.ElementStateView;
 import org.onap.policy.clamp.models.acm.persistence.repository.AutomationCompositionRepository;
 import org.onap.policy.clamp.models.acm.utils.AcmUtils;
+import org.onap.policy.clamp.models.acm.utils.LobCompressionHelper;
+import org.onap.policy.clamp.models.acm.utils.UuidGenerator;
 import org.onap.policy.common.parameters.BeanValidationResult;
 import org.onap.policy.common.parameters.ValidationStatus;
 import org.onap.policy.models.base.PfModelRuntimeException;
 import org.onap.policy.models.tosca.authorative.concepts.ToscaConceptIdentifier;
 import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
@@ -102,6 +112,18 @@ public class AutomationCompositionProvider {
                 .map(JpaAutomationComposition::toAuthorative);
     }
 
+    /**
+     * Check if an automation composition exists by name and version, without loading it.
+     *
+     * @param automationCompositionId the name and version of the automation composition
+     * @return true if the automation composition exists
+     */
+    @Transactional(readOnly = true)
+    public boolean existsAutomationComposition(final ToscaConceptIdentifier automationCompositionId) {
+        return automationCompositionRepository.existsByNameAndVersion(automationCompositionId.getName(),
+                automationCompositionId.getVersion());
+    }
+
     /**
      * Create automation composition.
      *
@@ -109,7 +131,7 @@ public class AutomationCompositionProvider {
      * @return the create automation composition
      */
     public AutomationComposition createAutomationComposition(final AutomationComposition automationComposition) {
-        automationComposition.setInstanceId(UUID.randomUUID());
+        automationComposition.setInstanceId(UuidGenerator.generate());
         AcmUtils.setCascadedState(automationComposition, DeployState.UNDEPLOYED, LockState.NONE);
         var result = automationCompositionRepository.save(ProviderUtils.getJpaAndValidate(automationComposition,
                 JpaAutomationComposition::new, "automation composition"));
@@ -136,15 +158,35 @@ public class AutomationCompositionProvider {
     }
 
     /**
-     * Update automation composition.
+     * Update automation composition. The revisions carried by the automation composition and its elements are not
+     * checked, the update is applied to the stored revisions.
      *
      * @param automationComposition the automation composition to update
      * @return the updated automation composition
      */
     public AutomationComposition updateAutomationComposition(
             @NonNull final AutomationComposition automationComposition) {
-        var result = automationCompositionRepository.save(ProviderUtils.getJpaAndValidate(automationComposition,
-                JpaAutomationComposition::new, "automation composition"));
+        return updateAutomationComposition(automationComposition, false);
+    }
+
+    /**
+     * Update automation composition. When the revisions are checked, as for an update supplied by a client, the
+     * revisions carried by the automation composition and its elements must match the stored ones, so an update
+     * based on a stale read fails instead of overwriting a concurrent change; a null revision is taken as the stored
+     * one.
+     *
+     * @param automationComposition the automation composition to update
+     * @param checkRevisions true to fail the update if a revision does not match the stored one
+     * @return the updated automation composition
+     */
+    public AutomationComposition updateAutomationComposition(
+            @NonNull final AutomationComposition automationComposition, boolean checkRevisions) {
+        var jpaAutomationComposition = ProviderUtils.getJpaAndValidate(automationComposition,
+                JpaAutomationComposition::new, "automation composition");
+        automationCompositionRepository.findById(jpaAutomationComposition.getInstanceId())
+                .ifPresent(stored -> copyRevisions(stored, checkRevisions ? automationComposition : null,
+                        jpaAutomationComposition));
+        var result = automationCompositionRepository.save(jpaAutomationComposition);
         automationCompositionRepository.flush();
         // Return the saved automation composition
         return result.toAuthorative();
@@ -162,6 +204,17 @@ public class AutomationCompositionProvider {
                 .asEntityList(automationCompositionRepository.findByCompositionId(compositionId.toString()));
     }
 
+    /**
+     * Check if there are automation compositions of an automation composition definition, without loading them.
+     *
+     * @param compositionId the compositionId of the automation composition definition
+     * @return true if at least one automation composition exists
+     */
+    @Transactional(readOnly = true)
+    public boolean existsAcInstancesByCompositionId(@NonNull UUID compositionId) {
+        return automationCompositionRepository.existsByCompositionId(compositionId.toString());
+    }
+
     /**
      * Get all automation compositions in transition..
      *
@@ -169,13 +222,18 @@ public class AutomationCompositionProvider {
      */
     @Transactional(readOnly = true)
     public List<AutomationComposition> getAcInstancesInTransition() {
-        var jpaList = automationCompositionRepository.findByDeployStateIn(List.of(DeployState.DEPLOYING,
-            DeployState.UNDEPLOYING, DeployState.DELETING, DeployState.UPDATING, DeployState.MIGRATING));
-        jpaList.addAll(automationCompositionRepository.findByLockStateIn(
-            List.of(LockState.LOCKING, LockState.UNLOCKING)));
-        jpaList.addAll(automationCompositionRepository.findBySubStateIn(
-                List.of(SubState.PREPARING, SubState.MIGRATION_PRECHECKING, SubState.REVIEWING)));
-        return ProviderUtils.asEntityList(jpaList);
+        return ProviderUtils.asEntityList(automationCompositionRepository.findByInTransitionTrue());
+    }
+
+    /**
+     * Set the inTransition flag of automation compositions stored without it, so they are found by index. The flag is
+     * calculated by the database in a single update, whatever the number of automation compositions.
+     *
+     * @return the number of automation compositions updated
+     */
+    public int backfillInTransition() {
+        return automationCompositionRepository.backfillInTransition(AcmUtils.TRANSITIONAL_DEPLOY_STATES,
+                AcmUtils.TRANSITIONAL_LOCK_STATES, SubState.NONE);
     }
 
     /**
@@ -193,6 +251,81 @@ public class AutomationCompositionProvider {
                 .asEntityList(automationCompositionRepository.findAll(createExample(compositionId, name, version)));
     }
 
+    /**
+     * Get a page of automation compositions of an automation composition definition, ordered by instanceId.
+     *
+     * @param compositionId the compositionId of the automation composition definition
+     * @param filter the filter on name, version and states of the automation compositions
+     * @param lastInstanceId the instanceId of the last automation composition of the previous page, null for the first
+     * @param pageable the page size, unpaged to get all automation compositions
+     * @return the automation compositions found
+     */
+    @Transactional(readOnly = true)
+    public List<AutomationComposition> getAutomationCompositions(@NonNull final UUID compositionId,
+            @NonNull final AutomationCompositionFilter filter, final UUID lastInstanceId,
+            @NonNull final Pageable pageable) {
+        return ProviderUtils.asEntityList(automationCompositionRepository.findPage(compositionId.toString(),
+                filter.getName(), filter.getVersion(), filter.getDeployState(), filter.getLockState(),
+                filter.getSubState(), filter.getStateChangeResult(),
+                lastInstanceId != null ? lastInstanceId.toString() : null, pageable));
+    }
+
+    /**
+     * Get a page of all automation compositions, ordered by instanceId.
+     *
+     * @param lastInstanceId the instanceId of the last automation composition of the previous page, null for the first
+     * @param pageable the page size
+     * @return the automation compositions found
+     */
+    @Transactional(readOnly = true)
+    public List<AutomationComposition> getAutomationCompositions(final UUID lastInstanceId,
+            @NonNull final Pageable pageable) {
+        return ProviderUtils.asEntityList(automationCompositionRepository.findPage(
+                lastInstanceId != null ? lastInstanceId.toString() : null, pageable));
+    }
+
+    /**
+     * Get the number of automation compositions per automation composition definition and state, and the number of
+     * automation composition elements per participant and state, counted in the database.
+     *
+     * @param byElementDefinition true to count the elements also per element definition
+     * @return the statistics
+     */
+    @Transactional(readOnly = true)
+    public AutomationCompositionStatistics getStatistics(boolean byElementDefinition) {
+        var statistics = new AutomationCompositionStatistics();
+        for (var view : automationCompositionRepository.countByCompositionIdAndState()) {
+            var stateCount = new AcStateCount();
+            stateCount.setCompositionId(UUID.fromString(view.getCompositionId()));
+            stateCount.setDeployState(view.getDeployState());
+            stateCount.setLockState(view.getLockState());
+            stateCount.setStateChangeResult(view.getStateChangeResult());
+            stateCount.setCount(view.getCount());
+            statistics.getCompositions().add(stateCount);
+        }
+
+        Map<List<Object>, AcStateCount> participantMap = new LinkedHashMap<>();
+        for (var view : acElementRepository.countByParticipantIdAndState()) {
+            var definition = byElementDefinition
+                    ? new ToscaConceptIdentifier(view.getDefinitionName(), view.getDefinitionVersion()) : null;
+            var key = Arrays.<Object>asList(view.getParticipantId(), definition, view.getDeployState(),
+                    view.getLockState());
+            var stateCount = participantMap.computeIfAbsent(key, k -> {
+                var newStateCount = new AcStateCount();
+                if (view.getParticipantId() != null) {
+                    newStateCount.setParticipantId(UUID.fromString(view.getParticipantId()));
+                }
+                newStateCount.setDefinition(definition);
+                newStateCount.setDeployState(view.getDeployState());
+                newStateCount.setLockState(view.getLockState());
+                return newStateCount;
+            });
+            stateCount.setCount(stateCount.getCount() + view.getCount());
+        }
+        statistics.getParticipants().addAll(participantMap.values());
+        return statistics;
+    }
+
     private Example<JpaAutomationComposition> createExample(final UUID compositionId, final String name,
             final String version) {
         var example = new JpaAutomationComposition();
@@ -228,24 +361,49 @@ public class AutomationCompositionProvider {
 
     /**
      * Upgrade States.
+     * Elements with the same useState, operationalState and outProperties stored are not written again.
      *
      * @param automationCompositionInfoList list of AutomationCompositionInfo
+     * @return the number of elements updated, unchanged and not found
      */
-    public void upgradeStates(@NonNull final List<AutomationCompositionInfo> automationCompositionInfoList) {
+    public UpgradeStatesResult upgradeStates(
+            @NonNull final List<AutomationCompositionInfo> automationCompositionInfoList) {
         if (automationCompositionInfoList.isEmpty()) {
-            return;
+            return new UpgradeStatesResult(0, 0, 0);
+        }
+        var elements = automationCompositionInfoList.stream()
+                .flatMap(acInstance -> acInstance.getElements().stream()).toList();
+        var storedMap = new HashMap<String, ElementStateView>(elements.size());
+        for (var stored : acElementRepository.findStateViewByElementIdIn(elements.stream()
+                .map(element -> element.getAutomationCompositionElementId().toString()).toList())) {
+            storedMap.put(stored.getElementId(), stored);
         }
-        List<JpaAutomationCompositionElement> jpaList = new ArrayList<>();
-        for (var acInstance : automationCompositionInfoList) {
-            for (var element : acInstance.getElements()) {
-                var jpa = acElementRepository.getReferenceById(element.getAutomationCompositionElementId().toString());
-                jpa.setUseState(element.getUseState());
-                jpa.setOperationalState(element.getOperationalState());
-                jpa.setOutProperties(element.getOutProperties());
-                jpaList.add(jpa);
+        var updated = 0;
+        var notFound = 0;
+        for (var element : elements) {
+            var elementId = element.getAutomationCompositionElementId().toString();
+            var stored = storedMap.get(elementId);
+            if (stored == null) {
+                notFound++;
+                continue;
             }
+            var outPropertiesHash = LobCompressionHelper.contentHash(element.getOutProperties());
+            if (Objects.equals(element.getUseState(), stored.getUseState())
+                    && Objects.equals(element.getOperationalState(), stored.getOperationalState())
+                    && outPropertiesHash.equals(stored.getOutPropertiesHash())) {
+                continue;
+            }
+            acElementRepository.updateElementState(elementId, element.getUseState(), element.getOperationalState(),
+                    element.getOutProperties(), outPropertiesHash);
+            updated++;
         }
-        acElementRepository.saveAll(jpaList);
+        return new UpgradeStatesResult(updated, elements.size() - updated - notFound, notFound);
+    }
+
+    /**
+     * Number of elements updated, unchanged and not found by upgradeStates.
+     */
+    public record UpgradeStatesResult(int updated, int unchanged, int notFound) {
     }
 
     /**
@@ -290,7 +448,7 @@ public class AutomationCompositionProvider {
 
         var ids = automationComposition
             .getElements().values().stream().map(AutomationCompositionElement::getId).toList();
-        var elements = acElementRepository.findAllById(ids.stream().map(UUID::toString).toList());
+        var elements = acElementRepository.findIdViewByElementIdIn(ids.stream().map(UUID::toString).toList());
         if (automationComposition.getInstanceId() == null) {
             for (var element : elements) {
                 result.addResult(
@@ -308,4 +466,41 @@ public class AutomationCompositionProvider {
         }
         return result;
     }
+
+    /**
+     * Copy the stored revisions of the automation composition and its elements, so a detached automation composition
+     * is merged as an update of the stored one; elements not stored yet keep a null revision and are inserted.
+     *
+     * @param stored the stored automation composition
+     * @param automationComposition the automation composition whose revisions are checked, null to not check them
+     * @param jpaAutomationComposition the automation composition to be saved
+     */
+    private static void copyRevisions(JpaAutomationComposition stored, AutomationComposition automationComposition,
+            JpaAutomationComposition jpaAutomationComposition) {
+        if (automationComposition != null) {
+            checkRevision(automationComposition.getRevision(), stored.getRevision(),
+                    "Automation composition " + stored.getInstanceId());
+        }
+        jpaAutomationComposition.setRevision(stored.getRevision());
+        var revisions = new HashMap<String, Long>(stored.getElements().size());
+        for (var element : stored.getElements()) {
+            revisions.put(element.getElementId(), element.getRevision());
+        }
+        for (var element : jpaAutomationComposition.getElements()) {
+            var storedRevision = revisions.get(element.getElementId());
+            if (automationComposition != null && storedRevision != null) {
+                var acElement = automationComposition.getElements().get(UUID.fromString(element.getElementId()));
+                checkRevision(acElement.getRevision(), storedRevision,
+                        "Automation composition element " + element.getElementId());
+            }
+            element.setRevision(storedRevision);
+        }
+    }
+
+    private static void checkRevision(Long revision, Long storedRevision, String name) {
+        if (revision != null && !revision.equals(storedRevision)) {
+            throw new PfModelRuntimeException(Status.CONFLICT,
+                    name + " has been modified concurrently, revision " + revision + " is not " + storedRevision);
+        }
+    }
 }
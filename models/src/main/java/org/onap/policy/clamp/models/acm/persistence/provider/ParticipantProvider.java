@@ -22,12 +22,14 @@ package org.onap.policy.clamp.models.acm.persistence.provider;
 
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.Response.Status;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
@@ -36,6 +38,8 @@ import org.onap.policy.clamp.models.acm.concepts.NodeTemplateState;
 import org.onap.policy.clamp.models.acm.concepts.Participant;
 import org.onap.policy.clamp.models.acm.concepts.ParticipantReplica;
 import org.onap.policy.clamp.models.acm.concepts.ParticipantState;
+import org.onap.policy.clamp.models.acm.persistence.concepts.JpaAutomationCompositionElement;
+import org.onap.policy.clamp.models.acm.persistence.concepts.JpaNodeTemplateState;
 import org.onap.policy.clamp.models.acm.persistence.concepts.JpaParticipant;
 import org.onap.policy.clamp.models.acm.persistence.concepts.JpaParticipantReplica;
 import org.onap.policy.clamp.models.acm.persistence.repository.AutomationCompositionElementRepository;
@@ -44,8 +48,11 @@ import org.onap.policy.clamp.models.acm.persistence.repository.ParticipantReplic
 import org.onap.policy.clamp.models.acm.persistence.repository.ParticipantRepository;
 import org.onap.policy.models.base.PfModelRuntimeException;
 import org.onap.policy.models.tosca.authorative.concepts.ToscaConceptIdentifier;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 /**
  * This class provides information on participant concepts in the database to callers.
@@ -63,6 +70,15 @@ public class ParticipantProvider {
 
     private final ParticipantReplicaRepository replicaRepository;
 
+    // Replicas ON_LINE of each participant, kept current by the changes of participants and replicas done through
+    // this provider once committed and reloaded by the participant scanner, so checking a participant needs no
+    // database access
+    private final Map<UUID, Set<UUID>> onlineReplicaMap = new ConcurrentHashMap<>();
+    private final Map<UUID, UUID> replicaParticipantMap = new ConcurrentHashMap<>();
+
+    // Supported element types and the participant that supports them, loaded on first use
+    private volatile Map<ToscaConceptIdentifier, UUID> supportedElementCache;
+
     /**
      * Get all participants.
      *
@@ -111,8 +127,10 @@ public class ParticipantProvider {
         var result = participantRepository
             .save(ProviderUtils.getJpaAndValidate(participant, JpaParticipant::new, "participant"));
 
+        var savedParticipant = result.toAuthorative();
+        afterCommit(() -> updateRegistry(savedParticipant));
         // Return the saved participant
-        return result.toAuthorative();
+        return savedParticipant;
     }
 
     /**
@@ -130,25 +148,36 @@ public class ParticipantProvider {
             throw new PfModelRuntimeException(Status.BAD_REQUEST, errorMessage);
         }
         participantRepository.delete(jpaDeleteParticipantOpt.get());
+        var replicaIds = jpaDeleteParticipantOpt.get().getReplicas().stream()
+            .map(replica -> UUID.fromString(replica.getReplicaId())).toList();
+        afterCommit(() -> {
+            replicaIds.forEach(this::removeOnlineReplica);
+            supportedElementCache = null;
+        });
 
         return jpaDeleteParticipantOpt.get().toAuthorative();
     }
 
     /**
      * Get a map with SupportedElement as key and the participantId as value.
+     * The map is loaded from the database on first use and then kept current by the participants saved.
      *
      * @return a map
      */
     public Map<ToscaConceptIdentifier, UUID> getSupportedElementMap() {
-        var list = participantRepository.findAll();
-        Map<ToscaConceptIdentifier, UUID> map = new HashMap<>();
-        for (var participant : list) {
-            for (var element : participant.getSupportedElements()) {
-                var supportedElement = new ToscaConceptIdentifier(element.getTypeName(), element.getTypeVersion());
-                map.put(supportedElement, UUID.fromString(participant.getParticipantId()));
+        var map = supportedElementCache;
+        if (map == null) {
+            map = new ConcurrentHashMap<>();
+            for (var participant : participantRepository.findAll()) {
+                for (var element : participant.getSupportedElements()) {
+                    var supportedElement =
+                        new ToscaConceptIdentifier(element.getTypeName(), element.getTypeVersion());
+                    map.put(supportedElement, UUID.fromString(participant.getParticipantId()));
+                }
             }
+            supportedElementCache = map;
         }
-        return map;
+        return new HashMap<>(map);
     }
 
     /**
@@ -173,6 +202,152 @@ public class ParticipantProvider {
             .findByParticipantId(participantId.toString()));
     }
 
+    /**
+     * Retrieve a page of the automation composition elements associated with a participantId, ordered by id.
+     *
+     * @param participantId the participant id associated with the automation composition elements
+     * @param pageable the page to get
+     * @return the list of associated elements
+     */
+    @Transactional(readOnly = true)
+    public List<AutomationCompositionElement> getAutomationCompositionElements(@NonNull final UUID participantId,
+            @NonNull final Pageable pageable) {
+        return ProviderUtils.asEntityList(automationCompositionElementRepository
+            .findByParticipantIdOrderByElementId(participantId.toString(), pageable));
+    }
+
+    /**
+     * Retrieve a page of the node template states associated with a participantId, ordered by id.
+     *
+     * @param participantId the participant id associated with the node template states
+     * @param pageable the page to get
+     * @return the list of associated node template states
+     */
+    @Transactional(readOnly = true)
+    public List<NodeTemplateState> getAcNodeTemplateStates(@NonNull final UUID participantId,
+            @NonNull final Pageable pageable) {
+        return ProviderUtils.asEntityList(nodeTemplateStateRepository
+            .findByParticipantIdOrderByNodeTemplateStateId(participantId.toString(), pageable));
+    }
+
+    /**
+     * Retrieve a page of the automation composition elements associated with a participantId, ordered by id and
+     * starting after the last element of the previous page.
+     *
+     * @param participantId the participant id associated with the automation composition elements
+     * @param lastElementId the id of the last element of the previous page, null for the first page
+     * @param pageable the page size
+     * @return the list of associated elements
+     */
+    @Transactional(readOnly = true)
+    public List<AutomationCompositionElement> getAutomationCompositionElements(@NonNull final UUID participantId,
+            final UUID lastElementId, @NonNull final Pageable pageable) {
+        return ProviderUtils.asEntityList(automationCompositionElementRepository.findPageByParticipantId(
+            participantId.toString(), lastElementId != null ? lastElementId.toString() : null, pageable));
+    }
+
+    /**
+     * Retrieve a page of the node template states associated with a participantId, ordered by id and starting after
+     * the last node template state of the previous page.
+     *
+     * @param participantId the participant id associated with the node template states
+     * @param lastNodeTemplateStateId the id of the last node template state of the previous page, null for the first
+     * @param pageable the page size
+     * @return the list of associated node template states
+     */
+    @Transactional(readOnly = true)
+    public List<NodeTemplateState> getAcNodeTemplateStates(@NonNull final UUID participantId,
+            final UUID lastNodeTemplateStateId, @NonNull final Pageable pageable) {
+        return ProviderUtils.asEntityList(nodeTemplateStateRepository.findPageByParticipantId(participantId.toString(),
+            lastNodeTemplateStateId != null ? lastNodeTemplateStateId.toString() : null, pageable));
+    }
+
+    /**
+     * Retrieve the automation composition elements associated with a set of participants with a single query,
+     * grouped by participantId.
+     *
+     * @param participantIds the participant ids
+     * @return the map of the elements associated with each participant
+     */
+    @Transactional(readOnly = true)
+    public Map<UUID, List<AutomationCompositionElement>> getAutomationCompositionElementsByParticipant(
+            @NonNull final Collection<UUID> participantIds) {
+        if (participantIds.isEmpty()) {
+            return Map.of();
+        }
+        return automationCompositionElementRepository.findByParticipantIdIn(toStrings(participantIds)).stream()
+            .map(JpaAutomationCompositionElement::toAuthorative)
+            .collect(Collectors.groupingBy(AutomationCompositionElement::getParticipantId));
+    }
+
+    /**
+     * Retrieve the node template states associated with a set of participants with a single query, grouped by
+     * participantId.
+     *
+     * @param participantIds the participant ids
+     * @return the map of the node template states associated with each participant
+     */
+    @Transactional(readOnly = true)
+    public Map<UUID, List<NodeTemplateState>> getAcNodeTemplateStatesByParticipant(
+            @NonNull final Collection<UUID> participantIds) {
+        if (participantIds.isEmpty()) {
+            return Map.of();
+        }
+        return nodeTemplateStateRepository.findByParticipantIdIn(toStrings(participantIds)).stream()
+            .map(JpaNodeTemplateState::toAuthorative)
+            .collect(Collectors.groupingBy(NodeTemplateState::getParticipantId));
+    }
+
+    /**
+     * Count the automation composition elements of each participant.
+     *
+     * @return the number of elements by participantId
+     */
+    @Transactional(readOnly = true)
+    public Map<UUID, Long> getAutomationCompositionElementCounts() {
+        return automationCompositionElementRepository.countByParticipantId().stream()
+            .collect(Collectors.toMap(view -> UUID.fromString(view.getParticipantId()),
+                AutomationCompositionElementRepository.ParticipantCountView::getCount));
+    }
+
+    /**
+     * Count the node template states of each participant.
+     *
+     * @return the number of node template states by participantId
+     */
+    @Transactional(readOnly = true)
+    public Map<UUID, Long> getAcNodeTemplateStateCounts() {
+        return nodeTemplateStateRepository.countByParticipantId().stream()
+            .collect(Collectors.toMap(view -> UUID.fromString(view.getParticipantId()),
+                NodeTemplateStateRepository.ParticipantCountView::getCount));
+    }
+
+    /**
+     * Count the automation composition elements of a participant.
+     *
+     * @param participantId the participant id
+     * @return the number of elements of the participant
+     */
+    @Transactional(readOnly = true)
+    public long getAutomationCompositionElementCount(@NonNull final UUID participantId) {
+        return automationCompositionElementRepository.countByParticipantId(participantId.toString());
+    }
+
+    /**
+     * Count the node template states of a participant.
+     *
+     * @param participantId the participant id
+     * @return the number of node template states of the participant
+     */
+    @Transactional(readOnly = true)
+    public long getAcNodeTemplateStateCount(@NonNull final UUID participantId) {
+        return nodeTemplateStateRepository.countByParticipantId(participantId.toString());
+    }
+
+    private static List<String> toStrings(Collection<UUID> ids) {
+        return ids.stream().map(UUID::toString).toList();
+    }
+
     /**
      * Get a list of compositionId associated with a participantId from ac definitions.
      * @param participantId the participant id associated with the automation composition elements
@@ -204,6 +379,12 @@ public class ParticipantProvider {
         var jpa = replicaRepository.getReferenceById(replica.getReplicaId().toString());
         jpa.fromAuthorative(replica);
         replicaRepository.save(jpa);
+        if (ParticipantState.ON_LINE.equals(replica.getParticipantState()) && jpa.getParticipantId() != null) {
+            var participantId = UUID.fromString(jpa.getParticipantId());
+            afterCommit(() -> addOnlineReplica(participantId, replica.getReplicaId()));
+        } else {
+            afterCommit(() -> removeOnlineReplica(replica.getReplicaId()));
+        }
     }
 
     /**
@@ -213,10 +394,25 @@ public class ParticipantProvider {
      */
     public void deleteParticipantReplica(@NonNull UUID replicaId) {
         replicaRepository.deleteById(replicaId.toString());
+        afterCommit(() -> removeOnlineReplica(replicaId));
     }
 
+    /**
+     * Get the replicas ON_LINE, and reload from them the participants ON_LINE, so changes done by other
+     * instances of the runtime are picked up at each scan. The supported elements are reloaded on next use.
+     *
+     * @return the replicas ON_LINE
+     */
     public List<ParticipantReplica> findReplicasOnLine() {
-        return ProviderUtils.asEntityList(replicaRepository.findByParticipantState(ParticipantState.ON_LINE));
+        var jpaReplicas = replicaRepository.findByParticipantState(ParticipantState.ON_LINE);
+        onlineReplicaMap.clear();
+        replicaParticipantMap.clear();
+        for (var jpaReplica : jpaReplicas) {
+            addOnlineReplica(UUID.fromString(jpaReplica.getParticipantId()),
+                UUID.fromString(jpaReplica.getReplicaId()));
+        }
+        supportedElementCache = null;
+        return ProviderUtils.asEntityList(jpaReplicas);
     }
 
     /**
@@ -226,14 +422,79 @@ public class ParticipantProvider {
      * @throws  PfModelRuntimeException in case the participant is offline
      */
     public void verifyParticipantState(Set<UUID> participantIds) {
-        for (UUID participantId : participantIds) {
-            var jpaParticipant = participantRepository.getReferenceById(participantId.toString());
-            var replicaOnline = jpaParticipant.getReplicas().stream()
-                    .filter(replica -> ParticipantState.ON_LINE.equals(replica.getParticipantState())).findFirst();
-            if (replicaOnline.isEmpty()) {
+        var participantIdsToCheck = participantIds.stream()
+                .filter(participantId -> !onlineReplicaMap.containsKey(participantId)).toList();
+        if (participantIdsToCheck.isEmpty()) {
+            return;
+        }
+        // not known as ON_LINE, they could have been registered by another instance of the runtime
+        var replicasOnline = replicaRepository.findByParticipantStateAndParticipantIdIn(
+                ParticipantState.ON_LINE, participantIdsToCheck.stream().map(UUID::toString).toList());
+        for (var replica : replicasOnline) {
+            addOnlineReplica(UUID.fromString(replica.getParticipantId()), UUID.fromString(replica.getReplicaId()));
+        }
+        for (UUID participantId : participantIdsToCheck) {
+            if (!onlineReplicaMap.containsKey(participantId)) {
                 throw new PfModelRuntimeException(Response.Status.CONFLICT,
                         "Participant: " + participantId + " is OFFLINE");
             }
         }
     }
+
+    private void updateRegistry(Participant participant) {
+        for (var replica : participant.getReplicas().values()) {
+            if (ParticipantState.ON_LINE.equals(replica.getParticipantState())) {
+                addOnlineReplica(participant.getParticipantId(), replica.getReplicaId());
+            } else {
+                removeOnlineReplica(replica.getReplicaId());
+            }
+        }
+        var map = supportedElementCache;
+        if (map != null) {
+            var supportedElements = participant.getParticipantSupportedElementTypes().values().stream()
+                .map(element -> new ToscaConceptIdentifier(element.getTypeName(), element.getTypeVersion()))
+                .collect(Collectors.toSet());
+            map.entrySet().removeIf(entry -> participant.getParticipantId().equals(entry.getValue())
+                && !supportedElements.contains(entry.getKey()));
+            supportedElements.forEach(supportedElement -> map.put(supportedElement, participant.getParticipantId()));
+        }
+    }
+
+    /**
+     * Run an update of the registry once the current transaction is committed, so a rolled back change is never
+     * seen; without a transaction the update is run at once.
+     *
+     * @param update the update of the registry
+     */
+    private static void afterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                update.run();
+            }
+        });
+    }
+
+    private void addOnlineReplica(UUID participantId, UUID replicaId) {
+        replicaParticipantMap.put(replicaId, participantId);
+        onlineReplicaMap.compute(participantId, (key, replicas) -> {
+            var result = replicas != null ? replicas : ConcurrentHashMap.<UUID>newKeySet();
+            result.add(replicaId);
+            return result;
+        });
+    }
+
+    private void removeOnlineReplica(UUID replicaId) {
+        var participantId = replicaParticipantMap.remove(replicaId);
+        if (participantId != null) {
+            onlineReplicaMap.computeIfPresent(participantId, (key, replicas) -> {
+                replicas.remove(replicaId);
+                return replicas.isEmpty() ? null : replicas;
+            });
+        }
+    }
 }
@@ -20,11 +20,16 @@
 
 package org.onap.policy.clamp.models.acm.persistence.repository;
 
+import java.sql.Timestamp;
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import org.onap.policy.clamp.models.acm.concepts.AcTypeState;
+import org.onap.policy.clamp.models.acm.concepts.StateChangeResult;
 import org.onap.policy.clamp.models.acm.persistence.concepts.JpaAutomationCompositionDefinition;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -32,4 +37,69 @@ public interface AutomationCompositionDefinitionRepository
         extends JpaRepository<JpaAutomationCompositionDefinition, String> {
 
     List<JpaAutomationCompositionDefinition> findByStateIn(Collection<AcTypeState> states);
+
+    Optional<StateView> findStateViewByCompositionId(String compositionId);
+
+    boolean existsByServiceTemplateContentContentHash(String contentHash);
+
+    @Query("""
+            SELECT d.compositionId AS compositionId, d.name AS name, d.version AS version, d.state AS state,
+                d.stateChangeResult AS stateChangeResult, d.lastMsg AS lastMsg, COUNT(e) AS elementCount
+            FROM JpaAutomationCompositionDefinition d LEFT JOIN d.elements e
+            WHERE (:name IS NULL OR d.name = :name) AND (:version IS NULL OR d.version = :version)
+            GROUP BY d.compositionId, d.name, d.version, d.state, d.stateChangeResult, d.lastMsg
+            ORDER BY d.name, d.version""")
+    List<SummaryView> findSummaryViews(@Param("name") String name, @Param("version") String version);
+
+    @Query("""
+            SELECT d.state AS state, d.stateChangeResult AS stateChangeResult, d.lastMsg AS lastMsg,
+                c.contentHash AS contentHash
+            FROM JpaAutomationCompositionDefinition d LEFT JOIN d.serviceTemplateContent c
+            WHERE d.compositionId = :compositionId""")
+    Optional<VersionView> findVersionViewByCompositionId(@Param("compositionId") String compositionId);
+
+    /**
+     * Projection of the state of an automation composition definition, it does not load the service template.
+     */
+    interface StateView {
+
+        AcTypeState getState();
+
+        Timestamp getLastMsg();
+    }
+
+    /**
+     * Projection of the summary of an automation composition definition, it does not load the service template.
+     */
+    interface SummaryView {
+
+        String getCompositionId();
+
+        String getName();
+
+        String getVersion();
+
+        AcTypeState getState();
+
+        StateChangeResult getStateChangeResult();
+
+        Timestamp getLastMsg();
+
+        long getElementCount();
+    }
+
+    /**
+     * Projection of the values that identify a version of an automation composition definition, the service
+     * template is identified by the hash of its content, so it is not loaded.
+     */
+    interface VersionView {
+
+        AcTypeState getState();
+
+        StateChangeResult getStateChangeResult();
+
+        Timestamp getLastMsg();
+
+        String getContentHash();
+    }
 }
@@ -20,19 +20,147 @@
 
 package org.onap.policy.clamp.models.acm.persistence.repository;
 
-import jakarta.persistence.LockModeType;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import org.onap.policy.clamp.models.acm.concepts.DeployState;
+import org.onap.policy.clamp.models.acm.concepts.LockState;
 import org.onap.policy.clamp.models.acm.persistence.concepts.JpaAutomationCompositionElement;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Lock;
-import org.springframework.lang.NonNull;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface AutomationCompositionElementRepository extends JpaRepository<JpaAutomationCompositionElement, String> {
 
-    @NonNull
-    @Override
-    @Lock(LockModeType.PESSIMISTIC_READ)
-    JpaAutomationCompositionElement getReferenceById(@NonNull String id);
-
     List<JpaAutomationCompositionElement> findByParticipantId(String participantId);
+
+    List<JpaAutomationCompositionElement> findByParticipantIdIn(Collection<String> participantIds);
+
+    List<JpaAutomationCompositionElement> findByParticipantIdOrderByElementId(String participantId,
+            Pageable pageable);
+
+    /**
+     * Find the elements of a participant ordered by elementId, starting after the elementId of the last one of the
+     * previous page.
+     *
+     * @param participantId the participantId
+     * @param lastElementId the elementId of the last element of the previous page, null for the first
+     * @param pageable the page size
+     * @return the elements found
+     */
+    @Query("""
+            SELECT e FROM JpaAutomationCompositionElement e
+            WHERE e.participantId = :participantId AND (:lastElementId IS NULL OR e.elementId > :lastElementId)
+            ORDER BY e.elementId""")
+    List<JpaAutomationCompositionElement> findPageByParticipantId(@Param("participantId") String participantId,
+            @Param("lastElementId") String lastElementId, Pageable pageable);
+
+    /**
+     * Count the elements per participant.
+     *
+     * @return the number of elements of each participant
+     */
+    @Query("""
+            SELECT e.participantId AS participantId, COUNT(e) AS count
+            FROM JpaAutomationCompositionElement e
+            WHERE e.participantId IS NOT NULL
+            GROUP BY e.participantId""")
+    List<ParticipantCountView> countByParticipantId();
+
+    long countByParticipantId(String participantId);
+
+    List<ElementStateView> findStateViewByElementIdIn(Collection<String> elementIds);
+
+    List<ElementIdView> findIdViewByElementIdIn(Collection<String> elementIds);
+
+    /**
+     * Count the elements per participant, element definition and state.
+     *
+     * @return the number of elements for each group
+     */
+    @Query("""
+            SELECT e.participantId AS participantId, e.definition.name AS definitionName,
+                e.definition.version AS definitionVersion, e.deployState AS deployState, e.lockState AS lockState,
+                COUNT(e) AS count
+            FROM JpaAutomationCompositionElement e
+            GROUP BY e.participantId, e.definition.name, e.definition.version, e.deployState, e.lockState""")
+    List<ElementStateCountView> countByParticipantIdAndState();
+
+    /**
+     * Update the states reported by the participant, without loading or locking the element. The revision is not
+     * changed, so a status report does not conflict with a concurrent update of the element.
+     *
+     * @param elementId the id of the element
+     * @param useState the use state
+     * @param operationalState the operational state
+     * @param outProperties the out properties
+     * @param outPropertiesHash the hash of the out properties
+     * @return the number of elements updated
+     */
+    @Modifying
+    @Query("""
+            UPDATE JpaAutomationCompositionElement e
+            SET e.useState = :useState, e.operationalState = :operationalState, e.outProperties = :outProperties,
+                e.outPropertiesHash = :outPropertiesHash
+            WHERE e.elementId = :elementId""")
+    int updateElementState(@Param("elementId") String elementId, @Param("useState") String useState,
+            @Param("operationalState") String operationalState,
+            @Param("outProperties") Map<String, Object> outProperties,
+            @Param("outPropertiesHash") String outPropertiesHash);
+
+    /**
+     * Projection of the states reported by the participant, it does not load the properties.
+     */
+    interface ElementStateView {
+
+        String getElementId();
+
+        String getUseState();
+
+        String getOperationalState();
+
+        String getOutPropertiesHash();
+    }
+
+    /**
+     * Projection of the ids of an element, it does not load the properties.
+     */
+    interface ElementIdView {
+
+        String getElementId();
+
+        String getInstanceId();
+
+        String getDescription();
+    }
+
+    /**
+     * Projection of the number of elements of a participant.
+     */
+    interface ParticipantCountView {
+
+        String getParticipantId();
+
+        long getCount();
+    }
+
+    /**
+     * Projection of the number of elements in a group.
+     */
+    interface ElementStateCountView {
+
+        String getParticipantId();
+
+        String getDefinitionName();
+
+        String getDefinitionVersion();
+
+        DeployState getDeployState();
+
+        LockState getLockState();
+
+        long getCount();
+    }
 }
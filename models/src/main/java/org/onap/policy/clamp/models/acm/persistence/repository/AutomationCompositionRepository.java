@@ -24,9 +24,14 @@ import java.util.Collection;
 import java.util.List;
 import org.onap.policy.clamp.models.acm.concepts.DeployState;
 import org.onap.policy.clamp.models.acm.concepts.LockState;
+import org.onap.policy.clamp.models.acm.concepts.StateChangeResult;
 import org.onap.policy.clamp.models.acm.concepts.SubState;
 import org.onap.policy.clamp.models.acm.persistence.concepts.JpaAutomationComposition;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -34,9 +39,103 @@ public interface AutomationCompositionRepository extends JpaRepository<JpaAutoma
 
     List<JpaAutomationComposition> findByCompositionId(String compositionId);
 
-    List<JpaAutomationComposition> findByDeployStateIn(Collection<DeployState> deployStates);
+    boolean existsByCompositionId(String compositionId);
 
-    List<JpaAutomationComposition> findByLockStateIn(Collection<LockState> lockStates);
+    boolean existsByNameAndVersion(String name, String version);
 
-    List<JpaAutomationComposition> findBySubStateIn(Collection<SubState> subStates);
+    /**
+     * Find the automation compositions of an automation composition definition ordered by instanceId, starting after
+     * the instanceId of the last one of the previous page. A null parameter matches any value.
+     *
+     * @param compositionId the compositionId
+     * @param name the name of the automation composition
+     * @param version the version of the automation composition
+     * @param deployState the DeployState
+     * @param lockState the LockState
+     * @param subState the SubState
+     * @param stateChangeResult the StateChangeResult
+     * @param lastInstanceId the instanceId of the last automation composition of the previous page
+     * @param pageable the page size
+     * @return the automation compositions found
+     */
+    @Query("""
+            SELECT a FROM JpaAutomationComposition a
+            WHERE a.compositionId = :compositionId
+            AND (:name IS NULL OR a.name = :name)
+            AND (:version IS NULL OR a.version = :version)
+            AND (:deployState IS NULL OR a.deployState = :deployState)
+            AND (:lockState IS NULL OR a.lockState = :lockState)
+            AND (:subState IS NULL OR a.subState = :subState)
+            AND (:stateChangeResult IS NULL OR a.stateChangeResult = :stateChangeResult)
+            AND (:lastInstanceId IS NULL OR a.instanceId > :lastInstanceId)
+            ORDER BY a.instanceId""")
+    List<JpaAutomationComposition> findPage(@Param("compositionId") String compositionId,
+            @Param("name") String name, @Param("version") String version,
+            @Param("deployState") DeployState deployState, @Param("lockState") LockState lockState,
+            @Param("subState") SubState subState, @Param("stateChangeResult") StateChangeResult stateChangeResult,
+            @Param("lastInstanceId") String lastInstanceId, Pageable pageable);
+
+    /**
+     * Find the automation compositions ordered by instanceId, starting after the instanceId of the last one of the
+     * previous page.
+     *
+     * @param lastInstanceId the instanceId of the last automation composition of the previous page, null for the first
+     * @param pageable the page size
+     * @return the automation compositions found
+     */
+    @Query("""
+            SELECT a FROM JpaAutomationComposition a
+            WHERE (:lastInstanceId IS NULL OR a.instanceId > :lastInstanceId)
+            ORDER BY a.instanceId""")
+    List<JpaAutomationComposition> findPage(@Param("lastInstanceId") String lastInstanceId, Pageable pageable);
+
+    List<JpaAutomationComposition> findByInTransitionTrue();
+
+    /**
+     * Count the automation compositions per automation composition definition and state.
+     *
+     * @return the number of automation compositions for each group
+     */
+    @Query("""
+            SELECT a.compositionId AS compositionId, a.deployState AS deployState, a.lockState AS lockState,
+                a.stateChangeResult AS stateChangeResult, COUNT(a) AS count
+            FROM JpaAutomationComposition a
+            GROUP BY a.compositionId, a.deployState, a.lockState, a.stateChangeResult""")
+    List<StateCountView> countByCompositionIdAndState();
+
+    /**
+     * Set the inTransition flag of automation compositions stored before the flag was maintained, in one statement
+     * that neither loads them nor binds their ids.
+     *
+     * @param deployStates the transitional deploy states
+     * @param lockStates the transitional lock states
+     * @param stableSubState the sub state of an automation composition not in transition
+     * @return the number of automation compositions updated
+     */
+    @Modifying
+    @Query("""
+            UPDATE JpaAutomationComposition a
+            SET a.inTransition = CASE
+                WHEN a.deployState IN :deployStates OR a.lockState IN :lockStates
+                    OR a.subState IS NULL OR a.subState <> :stableSubState THEN TRUE
+                ELSE FALSE END
+            WHERE a.inTransition IS NULL""")
+    int backfillInTransition(@Param("deployStates") Collection<DeployState> deployStates,
+            @Param("lockStates") Collection<LockState> lockStates, @Param("stableSubState") SubState stableSubState);
+
+    /**
+     * Projection of the number of automation compositions in a group.
+     */
+    interface StateCountView {
+
+        String getCompositionId();
+
+        DeployState getDeployState();
+
+        LockState getLockState();
+
+        StateChangeResult getStateChangeResult();
+
+        long getCount();
+    }
 }
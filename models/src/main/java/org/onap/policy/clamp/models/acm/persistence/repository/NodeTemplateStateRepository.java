@@ -20,9 +20,13 @@
 
 package org.onap.policy.clamp.models.acm.persistence.repository;
 
+import java.util.Collection;
 import java.util.List;
 import org.onap.policy.clamp.models.acm.persistence.concepts.JpaNodeTemplateState;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.data.repository.query.QueryByExampleExecutor;
 
 public interface NodeTemplateStateRepository extends
@@ -30,5 +34,51 @@ public interface NodeTemplateStateRepository extends
     QueryByExampleExecutor<JpaNodeTemplateState> {
 
     List<JpaNodeTemplateState> findByParticipantId(String participantId);
-}
 
+    List<JpaNodeTemplateState> findByCompositionId(String compositionId);
+
+    List<JpaNodeTemplateState> findByParticipantIdIn(Collection<String> participantIds);
+
+    List<JpaNodeTemplateState> findByParticipantIdOrderByNodeTemplateStateId(String participantId, Pageable pageable);
+
+    /**
+     * Find the node template states of a participant ordered by nodeTemplateStateId, starting after the
+     * nodeTemplateStateId of the last one of the previous page.
+     *
+     * @param participantId the participantId
+     * @param lastNodeTemplateStateId the nodeTemplateStateId of the last one of the previous page, null for the first
+     * @param pageable the page size
+     * @return the node template states found
+     */
+    @Query("""
+            SELECT n FROM JpaNodeTemplateState n
+            WHERE n.participantId = :participantId
+                AND (:lastNodeTemplateStateId IS NULL OR n.nodeTemplateStateId > :lastNodeTemplateStateId)
+            ORDER BY n.nodeTemplateStateId""")
+    List<JpaNodeTemplateState> findPageByParticipantId(@Param("participantId") String participantId,
+            @Param("lastNodeTemplateStateId") String lastNodeTemplateStateId, Pageable pageable);
+
+    /**
+     * Count the node template states per participant.
+     *
+     * @return the number of node template states of each participant
+     */
+    @Query("""
+            SELECT n.participantId AS participantId, COUNT(n) AS count
+            FROM JpaNodeTemplateState n
+            WHERE n.participantId IS NOT NULL
+            GROUP BY n.participantId""")
+    List<ParticipantCountView> countByParticipantId();
+
+    long countByParticipantId(String participantId);
+
+    /**
+     * Projection of the number of node template states of a participant.
+     */
+    interface ParticipantCountView {
+
+        String getParticipantId();
+
+        long getCount();
+    }
+}
@@ -20,6 +20,7 @@
 
 package org.onap.policy.clamp.models.acm.persistence.repository;
 
+import java.util.Collection;
 import java.util.List;
 import org.onap.policy.clamp.models.acm.concepts.ParticipantState;
 import org.onap.policy.clamp.models.acm.persistence.concepts.JpaParticipantReplica;
@@ -30,4 +31,7 @@ import org.springframework.stereotype.Repository;
 public interface ParticipantReplicaRepository extends JpaRepository<JpaParticipantReplica, String> {
 
     List<JpaParticipantReplica> findByParticipantState(ParticipantState participantState);
+
+    List<JpaParticipantReplica> findByParticipantStateAndParticipantIdIn(ParticipantState participantState,
+            Collection<String> participantIds);
 }
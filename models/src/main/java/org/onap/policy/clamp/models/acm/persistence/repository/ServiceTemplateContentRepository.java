@@ -0,0 +1,59 @@
+/*-
+ * ============LICENSE_START=======================================================
+ * Copyright (C) 2024 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.clamp.models.acm.persistence.repository;
+
+import jakarta.persistence.LockModeType;
+import java.util.Optional;
+import org.onap.policy.clamp.models.acm.persistence.concepts.JpaServiceTemplateContent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface ServiceTemplateContentRepository extends JpaRepository<JpaServiceTemplateContent, String> {
+
+    /**
+     * Find shared content and lock its row until the end of the current transaction, so it cannot be deleted while a
+     * definition is being linked to it. The content is inserted before it is locked, as locking a missing row can
+     * take a gap lock that blocks the insert from another transaction.
+     *
+     * @param contentHash the hash of the content
+     * @return the content, empty if not present
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM JpaServiceTemplateContent c WHERE c.contentHash = :contentHash")
+    Optional<JpaServiceTemplateContent> findForUpdate(@Param("contentHash") String contentHash);
+
+    /**
+     * Insert shared content in its own transaction, so a duplicate key from a concurrent insert of the same content
+     * does not roll back the caller's transaction.
+     *
+     * @param content the content to insert
+     * @return the inserted content
+     */
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    <S extends JpaServiceTemplateContent> S saveAndFlush(S content);
+}
@@ -0,0 +1,129 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2024 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.clamp.models.acm.utils;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.Getter;
+import lombok.NonNull;
+import org.onap.policy.clamp.models.acm.concepts.AcTypeState;
+import org.onap.policy.clamp.models.acm.concepts.AutomationComposition;
+import org.onap.policy.clamp.models.acm.concepts.AutomationCompositionDefinition;
+import org.onap.policy.common.parameters.BeanValidationResult;
+import org.onap.policy.common.parameters.ObjectValidationResult;
+import org.onap.policy.common.parameters.ValidationStatus;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaConceptIdentifier;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaServiceTemplate;
+
+/**
+ * Validator of automation composition instances precompiled from an automation composition definition, so the
+ * validation of an instance does not need to decode the service template again.
+ */
+public class AcDefinitionValidator {
+
+    @Getter
+    private final UUID compositionId;
+
+    @Getter
+    private final AcTypeState state;
+
+    @Getter
+    private final String lastMsg;
+
+    @Getter
+    private final Set<UUID> participantIds = new HashSet<>();
+
+    private final Map<String, UUID> participantIdMap = new HashMap<>();
+
+    private final String serviceTemplateName;
+
+    private final ToscaServiceTemplate serviceTemplate;
+
+    private final Map<String, Optional<Map<String, ToscaConceptIdentifier>>> definitionsMap =
+            new ConcurrentHashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param acDefinition the automation composition definition
+     */
+    public AcDefinitionValidator(@NonNull AutomationCompositionDefinition acDefinition) {
+        this.compositionId = acDefinition.getCompositionId();
+        this.state = acDefinition.getState();
+        this.lastMsg = acDefinition.getLastMsg();
+        this.serviceTemplate = acDefinition.getServiceTemplate();
+        this.serviceTemplateName = serviceTemplate.getName();
+        for (var entry : acDefinition.getElementStateMap().entrySet()) {
+            var participantId = entry.getValue().getParticipantId();
+            if (participantId != null) {
+                participantIdMap.put(entry.getKey(), participantId);
+                participantIds.add(participantId);
+            }
+        }
+    }
+
+    /**
+     * Check if this validator has been compiled from the current version of the automation composition definition.
+     *
+     * @param currentState the state of the automation composition definition
+     * @param currentLastMsg the lastMsg of the automation composition definition
+     * @return true if the validator is up to date
+     */
+    public boolean isUpToDate(AcTypeState currentState, String currentLastMsg) {
+        return Objects.equals(state, currentState) && Objects.equals(lastMsg, currentLastMsg);
+    }
+
+    /**
+     * Get the participantId assigned to an element definition.
+     *
+     * @param elementDefinitionName the name of the element definition
+     * @return the participantId or null if not assigned
+     */
+    public UUID getParticipantId(String elementDefinitionName) {
+        return participantIdMap.get(elementDefinitionName);
+    }
+
+    /**
+     * Validate the elements of an automation composition against the element definitions.
+     *
+     * @param automationComposition the automation composition to validate
+     * @param toscaCompositionName the type of the automation composition node template
+     * @return the result of validation
+     */
+    public BeanValidationResult validate(AutomationComposition automationComposition, String toscaCompositionName) {
+        var definitions = definitionsMap.computeIfAbsent(toscaCompositionName,
+                key -> AcmUtils.getElementDefinitions(serviceTemplate, key));
+        if (definitions.isEmpty()) {
+            var result = new BeanValidationResult(AcmUtils.ENTRY + automationComposition.getName(),
+                    automationComposition);
+            result.addResult(new ObjectValidationResult("ToscaServiceTemplate", serviceTemplateName,
+                    ValidationStatus.INVALID, "Commissioned automation composition definition not consistent"));
+            return result;
+        }
+        return AcmUtils.validateAutomationComposition(automationComposition, definitions.get());
+    }
+}
@@ -29,6 +29,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.function.Function;
 import java.util.function.UnaryOperator;
@@ -75,6 +77,9 @@ import org.slf4j.LoggerFactory;
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public final class AcmUtils {
     public static final String ENTRY = "entry ";
+    public static final Set<DeployState> TRANSITIONAL_DEPLOY_STATES = Set.of(DeployState.DEPLOYING,
+            DeployState.UNDEPLOYING, DeployState.DELETING, DeployState.UPDATING, DeployState.MIGRATING);
+    public static final Set<LockState> TRANSITIONAL_LOCK_STATES = Set.of(LockState.LOCKING, LockState.UNLOCKING);
     private static final StringToMapConverter MAP_CONVERTER = new StringToMapConverter();
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AcmUtils.class);
@@ -197,7 +202,7 @@ public final class AcmUtils {
         Map<String, NodeTemplateState> result = new HashMap<>(acElements.size());
         for (var entry : acElements) {
             var nodeTemplateState = new NodeTemplateState();
-            nodeTemplateState.setNodeTemplateStateId(UUID.randomUUID());
+            nodeTemplateState.setNodeTemplateStateId(UuidGenerator.generate());
             nodeTemplateState.setState(state);
             nodeTemplateState
                     .setNodeTemplateId(new ToscaConceptIdentifier(entry.getKey(), entry.getValue().getVersion()));
@@ -215,35 +220,57 @@ public final class AcmUtils {
      */
     public static BeanValidationResult validateAutomationComposition(AutomationComposition automationComposition,
             ToscaServiceTemplate serviceTemplate, String toscaCompositionName) {
+        var definitions = getElementDefinitions(serviceTemplate, toscaCompositionName);
+        if (definitions.isEmpty()) {
+            var result = new BeanValidationResult(ENTRY + automationComposition.getName(), automationComposition);
+            result.addResult(new ObjectValidationResult("ToscaServiceTemplate", serviceTemplate.getName(),
+                    ValidationStatus.INVALID, "Commissioned automation composition definition not consistent"));
+            return result;
+        }
+        return validateAutomationComposition(automationComposition, definitions.get());
+    }
+
+    /**
+     * Validate AutomationComposition against the element definitions already extracted from the service template.
+     *
+     * @param automationComposition AutomationComposition to validate
+     * @param definitions the map of element definitions with the name of the definition as key
+     * @return the result of validation
+     */
+    public static BeanValidationResult validateAutomationComposition(AutomationComposition automationComposition,
+            Map<String, ToscaConceptIdentifier> definitions) {
         var result = new BeanValidationResult(ENTRY + automationComposition.getName(), automationComposition);
+        for (var element : automationComposition.getElements().values()) {
+            result.addResult(validateDefinition(definitions, element.getDefinition()));
+        }
+        return result;
+    }
 
+    /**
+     * Get the element definitions of the automation composition node template in the service template.
+     *
+     * @param serviceTemplate the service template
+     * @param toscaCompositionName the type of the automation composition node template
+     * @return the map of element definitions with the name of the definition as key, empty if not consistent
+     */
+    public static Optional<Map<String, ToscaConceptIdentifier>> getElementDefinitions(
+            ToscaServiceTemplate serviceTemplate, String toscaCompositionName) {
         var map = getMapToscaNodeTemplates(serviceTemplate);
 
         var nodeTemplateGet = map.values().stream()
                 .filter(nodeTemplate -> toscaCompositionName.equals(nodeTemplate.getType())).findFirst();
 
         if (nodeTemplateGet.isEmpty()) {
-            result.addResult(new ObjectValidationResult("ToscaServiceTemplate", serviceTemplate.getName(),
-                    ValidationStatus.INVALID, "Commissioned automation composition definition not consistent"));
-        } else {
-
-            var toscaNodeTemplate = nodeTemplateGet.get();
-            var acElementDefinitions = getAutomationCompositionElementDefinitions(map, toscaNodeTemplate);
-
-            // @formatter:off
-            var definitions = acElementDefinitions
-                    .stream()
-                    .map(nodeTemplate -> nodeTemplate.getKey().asIdentifier())
-                    .collect(Collectors.toMap(ToscaConceptIdentifier::getName, UnaryOperator.identity()));
-            // @formatter:on
-
-            for (var element : automationComposition.getElements().values()) {
-                result.addResult(validateDefinition(definitions, element.getDefinition()));
-            }
+            return Optional.empty();
         }
+        var acElementDefinitions = getAutomationCompositionElementDefinitions(map, nodeTemplateGet.get());
 
-        return result;
-
+        // @formatter:off
+        return Optional.of(acElementDefinitions
+                .stream()
+                .map(nodeTemplate -> nodeTemplate.getKey().asIdentifier())
+                .collect(Collectors.toMap(ToscaConceptIdentifier::getName, UnaryOperator.identity())));
+        // @formatter:on
     }
 
     private static ValidationResult validateDefinition(Map<String, ToscaConceptIdentifier> definitions,
@@ -303,10 +330,9 @@ public final class AcmUtils {
      * @return true if there is a state in a Transitional State
      */
     public static boolean isInTransitionalState(DeployState deployState, LockState lockState, SubState subState) {
-        return DeployState.DEPLOYING.equals(deployState) || DeployState.UNDEPLOYING.equals(deployState)
-                || LockState.LOCKING.equals(lockState) || LockState.UNLOCKING.equals(lockState)
-                || DeployState.DELETING.equals(deployState) || DeployState.UPDATING.equals(deployState)
-                || DeployState.MIGRATING.equals(deployState) || !SubState.NONE.equals(subState);
+        return (deployState != null && TRANSITIONAL_DEPLOY_STATES.contains(deployState))
+                || (lockState != null && TRANSITIONAL_LOCK_STATES.contains(lockState))
+                || !SubState.NONE.equals(subState);
     }
 
     /**
@@ -0,0 +1,153 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2024 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.clamp.models.acm.utils;
+
+import jakarta.ws.rs.core.Response;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.onap.policy.common.utils.coder.Coder;
+import org.onap.policy.common.utils.coder.CoderException;
+import org.onap.policy.common.utils.coder.StandardCoder;
+import org.onap.policy.models.base.PfModelRuntimeException;
+
+/**
+ * Helper to store JSON documents in LOB columns in compressed form.
+ * Compressed values are written as "gz:" followed by the base64 of the gzip stream; values without the marker are
+ * plain JSON written before compression was introduced and are returned unchanged.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class LobCompressionHelper {
+
+    public static final String COMPRESSED_MARKER = "gz:";
+
+    // Short documents do not gain anything from compression
+    public static final int COMPRESSION_THRESHOLD = 1024;
+
+    private static final Coder coder = new StandardCoder();
+
+    /**
+     * Compress a JSON document for storage.
+     *
+     * @param json the JSON document
+     * @return the value to store in the database
+     */
+    public static String compress(String json) {
+        if (json == null || json.length() < COMPRESSION_THRESHOLD) {
+            return json;
+        }
+        var bytes = new ByteArrayOutputStream(json.length() / 4);
+        try (var gzip = new GZIPOutputStream(bytes)) {
+            gzip.write(json.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new PfModelRuntimeException(Response.Status.BAD_REQUEST, e.getMessage(), e);
+        }
+        return COMPRESSED_MARKER + Base64.getEncoder().encodeToString(bytes.toByteArray());
+    }
+
+    /**
+     * Decompress a value read from the database.
+     *
+     * @param dbData the value stored in the database
+     * @return the JSON document
+     */
+    public static String decompress(String dbData) {
+        if (dbData == null || !dbData.startsWith(COMPRESSED_MARKER)) {
+            return dbData;
+        }
+        try (var gzip = new GZIPInputStream(new ByteArrayInputStream(
+                Base64.getDecoder().decode(dbData.substring(COMPRESSED_MARKER.length()))))) {
+            return new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new PfModelRuntimeException(Response.Status.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Calculate the SHA-256 hash of a JSON document.
+     *
+     * @param json the JSON document
+     * @return the hash as hexadecimal string
+     */
+    public static String sha256(String json) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(json.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new PfModelRuntimeException(Response.Status.INTERNAL_SERVER_ERROR, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Calculate the hash of the content of a map, independent of the order of its keys.
+     * A null map has the same hash of an empty map, as it is read back from the database as an empty map.
+     *
+     * @param map the map
+     * @return the hash as hexadecimal string
+     */
+    public static String contentHash(Map<String, Object> map) {
+        try {
+            return sha256(coder.encode(canonical(map != null ? map : Map.of())));
+        } catch (CoderException e) {
+            throw new PfModelRuntimeException(Response.Status.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Calculate the hash of the content of an object as JSON document, independent of the order of the keys of its
+     * maps.
+     *
+     * @param object the object
+     * @return the hash as hexadecimal string
+     */
+    @SuppressWarnings("unchecked")
+    public static String contentHash(Object object) {
+        try {
+            return contentHash(object != null ? (Map<String, Object>) coder.convert(object, Map.class) : null);
+        } catch (CoderException e) {
+            throw new PfModelRuntimeException(Response.Status.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    private static Object canonical(Object value) {
+        if (value instanceof Map<?, ?> map) {
+            var result = new TreeMap<String, Object>();
+            map.forEach((key, item) -> result.put(String.valueOf(key), canonical(item)));
+            return result;
+        }
+        if (value instanceof List<?> list) {
+            return list.stream().map(LobCompressionHelper::canonical).toList();
+        }
+        return value;
+    }
+}
@@ -0,0 +1,109 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2024 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.clamp.models.acm.utils;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.StringJoiner;
+import java.util.UUID;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.onap.policy.clamp.models.acm.concepts.AutomationComposition;
+import org.onap.policy.clamp.models.acm.concepts.AutomationCompositionElement;
+import org.onap.policy.clamp.models.acm.concepts.AutomationCompositionElementDefinition;
+
+/**
+ * Digests of the part of automation compositions and definitions that a participant keeps in its cache. A
+ * participant restarted from a local snapshot sends the digests in the register message, so the ACM runtime can
+ * send back in the restart sync only what has changed in the meantime.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class SyncDigestHelper {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Calculate the digest of the elements of an automation composition assigned to a participant. Only the fields
+     * that both the participant cache and the runtime maintain, and that the restart sync overwrites, are part of
+     * the digest: the instance level states, subState, stateChangeResult and migration target are not kept in step
+     * by the participant and are not carried by the restart sync.
+     *
+     * @param automationComposition the automation composition
+     * @param participantId the participantId
+     * @return the digest as hexadecimal string
+     */
+    public static String instanceDigest(AutomationComposition automationComposition, UUID participantId) {
+        var joiner = new StringJoiner(SEPARATOR);
+        joiner.add(String.valueOf(automationComposition.getInstanceId()));
+        joiner.add(String.valueOf(automationComposition.getCompositionId()));
+        automationComposition.getElements().values().stream()
+                .filter(element -> participantId.equals(element.getParticipantId()))
+                .sorted(Comparator.comparing(AutomationCompositionElement::getId))
+                .forEach(element -> {
+                    joiner.add(String.valueOf(element.getId()));
+                    joiner.add(String.valueOf(element.getDefinition()));
+                    joiner.add(String.valueOf(element.getDeployState()));
+                    joiner.add(String.valueOf(element.getLockState()));
+                    joiner.add(String.valueOf(element.getOperationalState()));
+                    joiner.add(String.valueOf(element.getUseState()));
+                    joiner.add(LobCompressionHelper.contentHash(element.getProperties()));
+                    joiner.add(LobCompressionHelper.contentHash(element.getOutProperties()));
+                });
+        return LobCompressionHelper.sha256(joiner.toString());
+    }
+
+    /**
+     * Calculate the aggregate digest of the automation compositions of a composition assigned to a participant, so
+     * the register message carries one digest by composition whatever the number of instances.
+     *
+     * @param automationCompositions the automation compositions of the composition
+     * @param participantId the participantId
+     * @return the digest as hexadecimal string
+     */
+    public static String instancesDigest(Collection<AutomationComposition> automationCompositions,
+            UUID participantId) {
+        var joiner = new StringJoiner(SEPARATOR);
+        automationCompositions.stream()
+                .sorted(Comparator.comparing(AutomationComposition::getInstanceId))
+                .forEach(automationComposition -> joiner.add(instanceDigest(automationComposition, participantId)));
+        return LobCompressionHelper.sha256(joiner.toString());
+    }
+
+    /**
+     * Calculate the digest of the element definitions of a composition assigned to a participant.
+     *
+     * @param definitions the element definitions
+     * @return the digest as hexadecimal string
+     */
+    public static String definitionDigest(Collection<AutomationCompositionElementDefinition> definitions) {
+        var joiner = new StringJoiner(SEPARATOR);
+        definitions.stream()
+                .sorted(Comparator.comparing(definition -> String.valueOf(definition.getAcElementDefinitionId())))
+                .forEach(definition -> {
+                    joiner.add(String.valueOf(definition.getAcElementDefinitionId()));
+                    var nodeTemplate = definition.getAutomationCompositionElementToscaNodeTemplate();
+                    joiner.add(LobCompressionHelper.contentHash(nodeTemplate != null ? nodeTemplate.getProperties()
+                            : null));
+                    joiner.add(LobCompressionHelper.contentHash(definition.getOutProperties()));
+                });
+        return LobCompressionHelper.sha256(joiner.toString());
+    }
+}
@@ -0,0 +1,71 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2024 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.clamp.models.acm.utils;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Generator of time-ordered UUIDs (version 7, RFC 9562), used for the ids of new entities and messages.
+ * The 48 bits timestamp in milliseconds is followed by a 12 bits counter, so ids generated by the same
+ * process are strictly increasing, and the remaining 62 bits are random.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class UuidGenerator {
+
+    private static final int COUNTER_BITS = 12;
+    private static final long VERSION = 7L << COUNTER_BITS;
+    private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+    private static final long VARIANT = 0x8000000000000000L;
+    private static final long RANDOM_MASK = 0x3FFFFFFFFFFFFFFFL;
+
+    // timestamp in milliseconds and counter of the last id generated
+    private static final AtomicLong lastTimestampAndCounter = new AtomicLong();
+
+    /**
+     * Generate a new time-ordered UUID.
+     *
+     * @return the UUID
+     */
+    public static UUID generate() {
+        var now = TimestampHelper.nowEpochMilli() << COUNTER_BITS;
+        // if the clock did not move on, or moved back, the counter is increased; when the counter overflows the
+        // timestamp is moved on by one millisecond
+        var timestampAndCounter = lastTimestampAndCounter.updateAndGet(last -> Math.max(now, last + 1));
+        var timestamp = timestampAndCounter >>> COUNTER_BITS;
+        var mostSigBits = (timestamp << 16) | VERSION | (timestampAndCounter & COUNTER_MASK);
+        var leastSigBits = VARIANT | (ThreadLocalRandom.current().nextLong() & RANDOM_MASK);
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    /**
+     * Get the timestamp in milliseconds of a UUID generated by this generator.
+     *
+     * @param uuid the UUID
+     * @return the timestamp in milliseconds since epoch
+     */
+    public static long getTimestamp(UUID uuid) {
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+}
@@ -37,6 +37,8 @@ class ParticipantInformationTest {
         participantInfo1.setParticipant(participant);
         participantInfo1.setAcElementInstanceMap(new HashMap<>());
         participantInfo1.setAcNodeTemplateStateDefinitionMap(new HashMap<>());
+        participantInfo1.setAcElementInstanceCount(2);
+        participantInfo1.setAcNodeTemplateStateDefinitionCount(3);
 
         var participantInfo2 = new ParticipantInformation(participantInfo1);
         assertEquals(participantInfo1, participantInfo2);
@@ -0,0 +1,57 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2024 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.clamp.models.acm.messages.kafka.participant;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.onap.policy.clamp.models.acm.messages.kafka.participant.ParticipantMessageUtils.assertSerializable;
+import static org.onap.policy.clamp.models.acm.messages.kafka.participant.ParticipantMessageUtils.removeVariableFields;
+
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.onap.policy.common.utils.coder.CoderException;
+
+class ParticipantSyncAckTest {
+
+    @Test
+    void testCopyConstructor() throws CoderException {
+        assertThatThrownBy(() -> new ParticipantSyncAck(null)).isInstanceOf(NullPointerException.class);
+
+        final ParticipantSyncAck orig = new ParticipantSyncAck();
+
+        // verify with null values
+        assertEquals(removeVariableFields(orig.toString()),
+                removeVariableFields(new ParticipantSyncAck(orig).toString()));
+
+        // verify with all values
+        orig.setResponseTo(UUID.randomUUID());
+        orig.setParticipantId(UUID.randomUUID());
+        orig.setReplicaId(UUID.randomUUID());
+        orig.setRestartSyncId(UUID.randomUUID());
+        orig.setChunkSequence(2);
+        orig.setResult(true);
+
+        assertEquals(removeVariableFields(orig.toString()),
+                removeVariableFields(new ParticipantSyncAck(orig).toString()));
+
+        assertSerializable(orig, ParticipantSyncAck.class);
+    }
+}
@@ -77,6 +77,9 @@ class ParticipantSyncTest {
         acRestart.setAutomationCompositionId(UUID.randomUUID());
 
         orig.setAutomationcompositionList(List.of(acRestart));
+        orig.setRestartSyncId(UUID.randomUUID());
+        orig.setChunkSequence(1);
+        orig.setLastChunk(false);
 
         assertEquals(removeVariableFields(orig.toString()),
                 removeVariableFields(new ParticipantSync(orig).toString()));
@@ -221,6 +221,26 @@ class JpaAutomationCompositionTest {
         assertEquals(jpaAutomationComposition, new JpaAutomationComposition(jpaAutomationComposition));
     }
 
+    @Test
+    void testJpaAutomationCompositionInTransition() {
+        var automationComposition = createAutomationCompositionInstance();
+        automationComposition.setDeployState(DeployState.DEPLOYED);
+        automationComposition.setLockState(LockState.LOCKED);
+        automationComposition.setSubState(SubState.NONE);
+        var jpaAutomationComposition = new JpaAutomationComposition(automationComposition);
+        assertThat(jpaAutomationComposition.getInTransition()).isFalse();
+
+        jpaAutomationComposition.setLockState(LockState.UNLOCKING);
+        jpaAutomationComposition.updateInTransition();
+        assertThat(jpaAutomationComposition.getInTransition()).isTrue();
+        assertThat(new JpaAutomationComposition(jpaAutomationComposition).getInTransition()).isTrue();
+
+        automationComposition.setDeployState(DeployState.DEPLOYING);
+        automationComposition.setLockState(LockState.NONE);
+        jpaAutomationComposition.fromAuthorative(automationComposition);
+        assertThat(jpaAutomationComposition.getInTransition()).isTrue();
+    }
+
     @Test
     void testJpaAutomationCompositionLombok() {
         var ac0 = new JpaAutomationComposition();
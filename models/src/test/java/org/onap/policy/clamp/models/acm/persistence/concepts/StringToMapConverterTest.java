@@ -27,6 +27,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import java.util.List;
 import java.util.Map;
 import org.junit.jupiter.api.Test;
+import org.onap.policy.clamp.models.acm.utils.LobCompressionHelper;
 import org.onap.policy.models.base.PfModelRuntimeException;
 
 class StringToMapConverterTest {
@@ -40,6 +41,20 @@ class StringToMapConverterTest {
         assertEquals(map, result);
     }
 
+    @Test
+    void testConvertCompressed() {
+        var stringToMapConverter = new StringToMapConverter();
+        Map<String, Object> map = Map.of("key", "value".repeat(LobCompressionHelper.COMPRESSION_THRESHOLD));
+        var dbData = stringToMapConverter.convertToDatabaseColumn(map);
+        assertThat(dbData).startsWith(LobCompressionHelper.COMPRESSED_MARKER);
+        var result = stringToMapConverter.convertToEntityAttribute(dbData);
+        assertEquals(map, result);
+
+        // data stored before compression
+        result = stringToMapConverter.convertToEntityAttribute("{\"key\":\"value\"}");
+        assertEquals(Map.of("key", "value"), result);
+    }
+
     @Test
     void testNull() {
         var stringToMapConverter = new StringToMapConverter();
@@ -23,10 +23,13 @@ package org.onap.policy.clamp.models.acm.persistence.provider;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -34,6 +37,7 @@ import java.util.Optional;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.onap.policy.clamp.models.acm.concepts.AcTypeState;
 import org.onap.policy.clamp.models.acm.concepts.AutomationCompositionDefinition;
@@ -42,8 +46,10 @@ import org.onap.policy.clamp.models.acm.concepts.StateChangeResult;
 import org.onap.policy.clamp.models.acm.document.concepts.DocToscaServiceTemplate;
 import org.onap.policy.clamp.models.acm.persistence.concepts.JpaAutomationCompositionDefinition;
 import org.onap.policy.clamp.models.acm.persistence.concepts.JpaNodeTemplateState;
+import org.onap.policy.clamp.models.acm.persistence.concepts.JpaServiceTemplateContent;
 import org.onap.policy.clamp.models.acm.persistence.repository.AutomationCompositionDefinitionRepository;
 import org.onap.policy.clamp.models.acm.persistence.repository.NodeTemplateStateRepository;
+import org.onap.policy.clamp.models.acm.persistence.repository.ServiceTemplateContentRepository;
 import org.onap.policy.clamp.models.acm.utils.CommonTestData;
 import org.onap.policy.clamp.models.acm.utils.TimestampHelper;
 import org.onap.policy.models.tosca.authorative.concepts.ToscaConceptIdentifier;
@@ -67,7 +73,7 @@ class AcDefinitionProviderTest {
     @Test
     void testBadRequest() {
         var acmDefinitionRepository = mock(AutomationCompositionDefinitionRepository.class);
-        var acDefinitionProvider = new AcDefinitionProvider(acmDefinitionRepository, null);
+        var acDefinitionProvider = new AcDefinitionProvider(acmDefinitionRepository, null, null);
 
         var compositionId = UUID.randomUUID();
         var serviceTemplate = new ToscaServiceTemplate();
@@ -119,7 +125,8 @@ class AcDefinitionProviderTest {
         when(acmDefinitionRepository.save(any(JpaAutomationCompositionDefinition.class)))
                 .thenReturn(new JpaAutomationCompositionDefinition(acmDefinition));
 
-        var acDefinitionProvider = new AcDefinitionProvider(acmDefinitionRepository, null);
+        var acDefinitionProvider = new AcDefinitionProvider(acmDefinitionRepository, null,
+                mockServiceTemplateContentRepository());
         var result = acDefinitionProvider
                 .createAutomationCompositionDefinition(inputServiceTemplate, ELEMENT_NAME, NODE_TYPE);
 
@@ -131,7 +138,7 @@ class AcDefinitionProviderTest {
     void testToscaWithInvalidElement() {
         var acmDefinitionRepository = mock(AutomationCompositionDefinitionRepository.class);
 
-        var acDefinitionProvider = new AcDefinitionProvider(acmDefinitionRepository, null);
+        var acDefinitionProvider = new AcDefinitionProvider(acmDefinitionRepository, null, null);
 
         assertThatThrownBy(() -> acDefinitionProvider
                 .createAutomationCompositionDefinition(inputServiceTemplate, INVALID_ELEMENT_NAME, NODE_TYPE))
@@ -142,7 +149,7 @@ class AcDefinitionProviderTest {
     void testToscaWithInvalidNodeType() {
         var acmDefinitionRepository = mock(AutomationCompositionDefinitionRepository.class);
 
-        var acDefinitionProvider = new AcDefinitionProvider(acmDefinitionRepository, null);
+        var acDefinitionProvider = new AcDefinitionProvider(acmDefinitionRepository, null, null);
 
         assertThatThrownBy(() -> acDefinitionProvider
                 .createAutomationCompositionDefinition(inputServiceTemplate, ELEMENT_NAME, INVALID_NODE_TYPE))
@@ -159,7 +166,8 @@ class AcDefinitionProviderTest {
         when(acmDefinitionRepository.save(any(JpaAutomationCompositionDefinition.class)))
             .thenReturn(new JpaAutomationCompositionDefinition(acmDefinition));
 
-        var acDefinitionProvider = new AcDefinitionProvider(acmDefinitionRepository, null);
+        var acDefinitionProvider = new AcDefinitionProvider(acmDefinitionRepository, null,
+                mockServiceTemplateContentRepository());
         inputServiceTemplate.setMetadata(new HashMap<>());
         var result = acDefinitionProvider
                 .createAutomationCompositionDefinition(inputServiceTemplate, ELEMENT_NAME, NODE_TYPE);
@@ -171,7 +179,8 @@ class AcDefinitionProviderTest {
     @Test
     void testUpdateServiceTemplate() {
         var acmDefinitionRepository = mock(AutomationCompositionDefinitionRepository.class);
-        var acDefinitionProvider = new AcDefinitionProvider(acmDefinitionRepository, null);
+        var acDefinitionProvider = new AcDefinitionProvider(acmDefinitionRepository, null,
+                mockServiceTemplateContentRepository());
         acDefinitionProvider.updateServiceTemplate(UUID.randomUUID(), inputServiceTemplate, ELEMENT_NAME, NODE_TYPE);
         verify(acmDefinitionRepository).save(any(JpaAutomationCompositionDefinition.class));
     }
@@ -179,16 +188,90 @@ class AcDefinitionProviderTest {
     @Test
     void testUpdateAcDefinition() {
         var acmDefinitionRepository = mock(AutomationCompositionDefinitionRepository.class);
-        var acDefinitionProvider = new AcDefinitionProvider(acmDefinitionRepository, null);
+        var acDefinitionProvider = new AcDefinitionProvider(acmDefinitionRepository, null,
+                mockServiceTemplateContentRepository());
         var acmDefinition = getAcDefinition(new DocToscaServiceTemplate(inputServiceTemplate));
         acDefinitionProvider.updateAcDefinition(acmDefinition, NODE_TYPE);
         verify(acmDefinitionRepository).save(any(JpaAutomationCompositionDefinition.class));
     }
 
+    @Test
+    void testServiceTemplateContentShared() {
+        var acmDefinitionRepository = mock(AutomationCompositionDefinitionRepository.class);
+        when(acmDefinitionRepository.save(any(JpaAutomationCompositionDefinition.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        var serviceTemplateContentRepository = mockServiceTemplateContentRepository();
+        var acDefinitionProvider = new AcDefinitionProvider(acmDefinitionRepository, null,
+                serviceTemplateContentRepository);
+
+        var result1 = acDefinitionProvider
+                .createAutomationCompositionDefinition(new ToscaServiceTemplate(inputServiceTemplate), ELEMENT_NAME,
+                        NODE_TYPE);
+        var captor = ArgumentCaptor.forClass(JpaServiceTemplateContent.class);
+        verify(serviceTemplateContentRepository).saveAndFlush(captor.capture());
+        var content = captor.getValue();
+        var result2 = acDefinitionProvider
+                .createAutomationCompositionDefinition(new ToscaServiceTemplate(inputServiceTemplate), ELEMENT_NAME,
+                        NODE_TYPE);
+
+        verify(serviceTemplateContentRepository, times(1)).saveAndFlush(any(JpaServiceTemplateContent.class));
+        assertThat(result1.getServiceTemplate().getMetadata()).containsEntry("compositionId",
+                result1.getCompositionId().toString());
+        assertThat(result2.getServiceTemplate().getMetadata()).containsEntry("compositionId",
+                result2.getCompositionId().toString());
+
+        var jpa = new JpaAutomationCompositionDefinition(result2);
+        jpa.setServiceTemplateContent(content);
+        when(acmDefinitionRepository.findById(jpa.getCompositionId())).thenReturn(Optional.of(jpa));
+        when(acmDefinitionRepository.existsByServiceTemplateContentContentHash(content.getContentHash()))
+                .thenReturn(true);
+        acDefinitionProvider.deleteAcDefintion(result2.getCompositionId());
+        verify(serviceTemplateContentRepository, times(0)).delete(any(JpaServiceTemplateContent.class));
+
+        when(acmDefinitionRepository.existsByServiceTemplateContentContentHash(content.getContentHash()))
+                .thenReturn(false);
+        acDefinitionProvider.deleteAcDefintion(result2.getCompositionId());
+        verify(serviceTemplateContentRepository).delete(content);
+    }
+
+    @Test
+    void testServiceTemplateContentInsertedConcurrently() {
+        var acmDefinitionRepository = mock(AutomationCompositionDefinitionRepository.class);
+        when(acmDefinitionRepository.save(any(JpaAutomationCompositionDefinition.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        var serviceTemplateContentRepository = mock(ServiceTemplateContentRepository.class);
+        var content = new JpaServiceTemplateContent(new DocToscaServiceTemplate(inputServiceTemplate));
+        when(serviceTemplateContentRepository.findForUpdate(any())).thenReturn(Optional.of(content));
+        when(serviceTemplateContentRepository.saveAndFlush(any(JpaServiceTemplateContent.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate key"));
+        var acDefinitionProvider = new AcDefinitionProvider(acmDefinitionRepository, null,
+                serviceTemplateContentRepository);
+
+        var serviceTemplate = new ToscaServiceTemplate(inputServiceTemplate);
+        var result = acDefinitionProvider.createAutomationCompositionDefinition(serviceTemplate, ELEMENT_NAME,
+                NODE_TYPE);
+        assertThat(result.getServiceTemplate().getMetadata()).containsEntry("compositionId",
+                result.getCompositionId().toString());
+        var captor = ArgumentCaptor.forClass(JpaAutomationCompositionDefinition.class);
+        verify(acmDefinitionRepository).save(captor.capture());
+        assertThat(captor.getValue().getServiceTemplateContent()).isEqualTo(content);
+        assertThat(captor.getValue().getServiceTemplate()).isNull();
+        // the content is locked only after it has been inserted
+        var inOrder = inOrder(serviceTemplateContentRepository);
+        inOrder.verify(serviceTemplateContentRepository).saveAndFlush(any(JpaServiceTemplateContent.class));
+        inOrder.verify(serviceTemplateContentRepository).findForUpdate(content.getContentHash());
+
+        // the content deleted concurrently before it is locked is inserted again
+        when(serviceTemplateContentRepository.findForUpdate(any())).thenReturn(Optional.empty());
+        assertThatThrownBy(() -> acDefinitionProvider.createAutomationCompositionDefinition(serviceTemplate,
+                ELEMENT_NAME, NODE_TYPE)).hasMessageMatching("Service template content .* was deleted");
+        verify(serviceTemplateContentRepository, times(4)).saveAndFlush(any(JpaServiceTemplateContent.class));
+    }
+
     @Test
     void testUpdateAcDefinitionState() {
         var acmDefinitionRepository = mock(AutomationCompositionDefinitionRepository.class);
-        var acDefinitionProvider = new AcDefinitionProvider(acmDefinitionRepository, null);
+        var acDefinitionProvider = new AcDefinitionProvider(acmDefinitionRepository, null, null);
         var acmDefinition = getAcDefinition(new DocToscaServiceTemplate(inputServiceTemplate));
         acmDefinition.setState(AcTypeState.PRIMING);
         var jpa = new JpaAutomationCompositionDefinition(acmDefinition);
@@ -206,7 +289,7 @@ class AcDefinitionProviderTest {
         nodeTemplateState.setNodeTemplateStateId(UUID.randomUUID());
         nodeTemplateState.setState(AcTypeState.PRIMED);
         var nodeTemplateStateRepository = mock(NodeTemplateStateRepository.class);
-        var acDefinitionProvider = new AcDefinitionProvider(null, nodeTemplateStateRepository);
+        var acDefinitionProvider = new AcDefinitionProvider(null, nodeTemplateStateRepository, null);
         acDefinitionProvider.updateAcDefinitionElement(nodeTemplateState, UUID.randomUUID());
         verify(nodeTemplateStateRepository).save(any(JpaNodeTemplateState.class));
     }
@@ -217,7 +300,7 @@ class AcDefinitionProviderTest {
         jpa.fromAuthorative(getAcDefinition(new DocToscaServiceTemplate(inputServiceTemplate)));
         var acmDefinitionRepository = mock(AutomationCompositionDefinitionRepository.class);
         when(acmDefinitionRepository.findById(jpa.getCompositionId())).thenReturn(Optional.of(jpa));
-        var acDefinitionProvider = new AcDefinitionProvider(acmDefinitionRepository, null);
+        var acDefinitionProvider = new AcDefinitionProvider(acmDefinitionRepository, null, null);
         var result = acDefinitionProvider.getAcDefinition(UUID.fromString(jpa.getCompositionId()));
         assertThat(result).isNotNull();
     }
@@ -225,7 +308,7 @@ class AcDefinitionProviderTest {
     @Test
     void testGetAcDefinitionNotFound() {
         var acmDefinitionRepository = mock(AutomationCompositionDefinitionRepository.class);
-        var acDefinitionProvider = new AcDefinitionProvider(acmDefinitionRepository, null);
+        var acDefinitionProvider = new AcDefinitionProvider(acmDefinitionRepository, null, null);
         var compositionId = UUID.randomUUID();
         assertThatThrownBy(() -> acDefinitionProvider.getAcDefinition(compositionId))
                 .hasMessage("Get serviceTemplate \"" + compositionId + "\" failed, serviceTemplate does not exist");
@@ -237,12 +320,44 @@ class AcDefinitionProviderTest {
         jpa.fromAuthorative(getAcDefinition(new DocToscaServiceTemplate(inputServiceTemplate)));
         var acmDefinitionRepository = mock(AutomationCompositionDefinitionRepository.class);
         when(acmDefinitionRepository.findById(jpa.getCompositionId())).thenReturn(Optional.of(jpa));
-        var acDefinitionProvider = new AcDefinitionProvider(acmDefinitionRepository, null);
+        var acDefinitionProvider = new AcDefinitionProvider(acmDefinitionRepository, null, null);
         var compositionId = UUID.fromString(jpa.getCompositionId());
         var result = acDefinitionProvider.findAcDefinition(compositionId);
         assertThat(result).isNotEmpty();
     }
 
+    @Test
+    void testFindAcDefinitionValidator() {
+        var jpa = new JpaAutomationCompositionDefinition();
+        jpa.fromAuthorative(getAcDefinition(new DocToscaServiceTemplate(inputServiceTemplate)));
+        var acmDefinitionRepository = mock(AutomationCompositionDefinitionRepository.class);
+        var acDefinitionProvider = new AcDefinitionProvider(acmDefinitionRepository, null, null);
+        var compositionId = UUID.fromString(jpa.getCompositionId());
+        assertThat(acDefinitionProvider.findAcDefinitionValidator(compositionId)).isEmpty();
+
+        var stateView = mock(AutomationCompositionDefinitionRepository.StateView.class);
+        when(stateView.getState()).thenReturn(jpa.getState());
+        when(stateView.getLastMsg()).thenReturn(jpa.getLastMsg());
+        when(acmDefinitionRepository.findStateViewByCompositionId(jpa.getCompositionId()))
+                .thenReturn(Optional.of(stateView));
+        when(acmDefinitionRepository.findById(jpa.getCompositionId())).thenReturn(Optional.of(jpa));
+        var result = acDefinitionProvider.findAcDefinitionValidator(compositionId);
+        assertThat(result).isNotEmpty();
+        assertThat(result.get().getCompositionId()).isEqualTo(compositionId);
+
+        // cached validator
+        assertThat(acDefinitionProvider.findAcDefinitionValidator(compositionId)).containsSame(result.get());
+        verify(acmDefinitionRepository, times(1)).findById(jpa.getCompositionId());
+
+        // definition changed
+        when(stateView.getState()).thenReturn(AcTypeState.PRIMED);
+        jpa.setState(AcTypeState.PRIMED);
+        var resultChanged = acDefinitionProvider.findAcDefinitionValidator(compositionId);
+        assertThat(resultChanged).isNotEmpty();
+        assertThat(resultChanged.get().getState()).isEqualTo(AcTypeState.PRIMED);
+        verify(acmDefinitionRepository, times(2)).findById(jpa.getCompositionId());
+    }
+
     @Test
     void getAllAcDefinitionsInTransition() {
         var acDefinition = getAcDefinition(new DocToscaServiceTemplate(inputServiceTemplate));
@@ -252,11 +367,74 @@ class AcDefinitionProviderTest {
         var acmDefinitionRepository = mock(AutomationCompositionDefinitionRepository.class);
         when(acmDefinitionRepository.findByStateIn(List.of(AcTypeState.PRIMING, AcTypeState.DEPRIMING)))
             .thenReturn(List.of(jpa));
-        var acDefinitionProvider = new AcDefinitionProvider(acmDefinitionRepository, null);
+        var acDefinitionProvider = new AcDefinitionProvider(acmDefinitionRepository, null, null);
         var result = acDefinitionProvider.getAllAcDefinitionsInTransition();
         assertThat(result).isNotEmpty();
     }
 
+    @Test
+    void testGetAcDefinitionEtag() {
+        var jpa = new JpaAutomationCompositionDefinition();
+        jpa.fromAuthorative(getAcDefinition(new DocToscaServiceTemplate(inputServiceTemplate)));
+        var acmDefinitionRepository = mock(AutomationCompositionDefinitionRepository.class);
+        var nodeTemplateStateRepository = mock(NodeTemplateStateRepository.class);
+        var acDefinitionProvider = new AcDefinitionProvider(acmDefinitionRepository, nodeTemplateStateRepository, null);
+        var compositionId = UUID.fromString(jpa.getCompositionId());
+        assertThat(acDefinitionProvider.getAcDefinitionEtag(compositionId)).isEmpty();
+
+        var versionView = mock(AutomationCompositionDefinitionRepository.VersionView.class);
+        when(versionView.getState()).thenReturn(jpa.getState());
+        when(versionView.getLastMsg()).thenReturn(jpa.getLastMsg());
+        when(acmDefinitionRepository.findVersionViewByCompositionId(jpa.getCompositionId()))
+                .thenReturn(Optional.of(versionView));
+        // service template stored inline
+        assertThat(acDefinitionProvider.getAcDefinitionEtag(compositionId)).isEmpty();
+
+        when(versionView.getContentHash()).thenReturn("hash");
+        var element = jpa.getElements().iterator().next();
+        when(nodeTemplateStateRepository.findByCompositionId(jpa.getCompositionId()))
+                .thenAnswer(invocation -> new ArrayList<>(jpa.getElements()));
+        var etag = acDefinitionProvider.getAcDefinitionEtag(compositionId);
+        assertThat(etag).isNotEmpty();
+        assertThat(acDefinitionProvider.getAcDefinitionEtag(compositionId)).isEqualTo(etag);
+
+        element.setOutProperties(Map.of("key", "value"));
+        var etagChanged = acDefinitionProvider.getAcDefinitionEtag(compositionId);
+        assertThat(etagChanged).isNotEmpty().isNotEqualTo(etag);
+
+        when(versionView.getState()).thenReturn(AcTypeState.PRIMED);
+        assertThat(acDefinitionProvider.getAcDefinitionEtag(compositionId)).isNotEqualTo(etagChanged);
+    }
+
+    @Test
+    void testGetAcDefinitionSummaries() {
+        var jpa = new JpaAutomationCompositionDefinition();
+        jpa.fromAuthorative(getAcDefinition(new DocToscaServiceTemplate(inputServiceTemplate)));
+        var summaryView = mock(AutomationCompositionDefinitionRepository.SummaryView.class);
+        when(summaryView.getCompositionId()).thenReturn(jpa.getCompositionId());
+        when(summaryView.getName()).thenReturn(jpa.getName());
+        when(summaryView.getVersion()).thenReturn(jpa.getVersion());
+        when(summaryView.getState()).thenReturn(jpa.getState());
+        when(summaryView.getStateChangeResult()).thenReturn(StateChangeResult.NO_ERROR);
+        when(summaryView.getLastMsg()).thenReturn(jpa.getLastMsg());
+        when(summaryView.getElementCount()).thenReturn((long) jpa.getElements().size());
+        var acmDefinitionRepository = mock(AutomationCompositionDefinitionRepository.class);
+        when(acmDefinitionRepository.findSummaryViews(jpa.getName(), null)).thenReturn(List.of(summaryView));
+        var acDefinitionProvider = new AcDefinitionProvider(acmDefinitionRepository, null, null);
+
+        var result = acDefinitionProvider.getAcDefinitionSummaries(jpa.getName(), null);
+        assertThat(result).hasSize(1);
+        var summary = result.get(0);
+        assertThat(summary.getCompositionId()).hasToString(jpa.getCompositionId());
+        assertThat(summary.getName()).isEqualTo(jpa.getName());
+        assertThat(summary.getVersion()).isEqualTo(jpa.getVersion());
+        assertThat(summary.getState()).isEqualTo(jpa.getState());
+        assertThat(summary.getStateChangeResult()).isEqualTo(StateChangeResult.NO_ERROR);
+        assertThat(summary.getElementCount()).isEqualTo(jpa.getElements().size());
+        assertThat(summary.getLastMsg()).isEqualTo(jpa.getLastMsg().toString());
+        verify(acmDefinitionRepository, times(0)).findAll();
+    }
+
     @Test
     void testDeleteAcDefintion() {
         var docServiceTemplate = new DocToscaServiceTemplate(inputServiceTemplate);
@@ -266,7 +444,7 @@ class AcDefinitionProviderTest {
         when(acmDefinitionRepository.findById(acmDefinition.getCompositionId().toString()))
                 .thenReturn(Optional.of(new JpaAutomationCompositionDefinition(acmDefinition)));
 
-        var acDefinitionProvider = new AcDefinitionProvider(acmDefinitionRepository, null);
+        var acDefinitionProvider = new AcDefinitionProvider(acmDefinitionRepository, null, null);
         var result = acDefinitionProvider.deleteAcDefintion(acmDefinition.getCompositionId());
 
         assertThat(result).isEqualTo(docServiceTemplate.toAuthorative());
@@ -276,7 +454,7 @@ class AcDefinitionProviderTest {
     void testDeleteServiceTemplateEmpty() {
         var compositionId = UUID.randomUUID();
         var acmDefinitionRepository = mock(AutomationCompositionDefinitionRepository.class);
-        var acDefinitionProvider = new AcDefinitionProvider(acmDefinitionRepository, null);
+        var acDefinitionProvider = new AcDefinitionProvider(acmDefinitionRepository, null, null);
         assertThatThrownBy(() -> acDefinitionProvider.deleteAcDefintion(compositionId))
                 .hasMessage("delete of Automation Composition Definition \"" + compositionId
                         + "\" failed, Automation Composition Definition does not exist");
@@ -290,7 +468,7 @@ class AcDefinitionProviderTest {
         when(acmDefinitionRepository.findAll(Mockito.<Example<JpaAutomationCompositionDefinition>>any()))
                 .thenReturn(List.of(new JpaAutomationCompositionDefinition(acmDefinition)));
 
-        var acDefinitionProvider = new AcDefinitionProvider(acmDefinitionRepository, null);
+        var acDefinitionProvider = new AcDefinitionProvider(acmDefinitionRepository, null, null);
         var result = acDefinitionProvider.getServiceTemplateList(inputServiceTemplate.getName(),
                 inputServiceTemplate.getVersion());
 
@@ -306,7 +484,7 @@ class AcDefinitionProviderTest {
         when(acmDefinitionRepository.findAll(Mockito.<Example<JpaAutomationCompositionDefinition>>any()))
             .thenReturn(List.of(new JpaAutomationCompositionDefinition(acmDefinition)));
 
-        var acDefinitionProvider = new AcDefinitionProvider(acmDefinitionRepository, null);
+        var acDefinitionProvider = new AcDefinitionProvider(acmDefinitionRepository, null, null);
         var result = acDefinitionProvider.getServiceTemplateList(null,
             inputServiceTemplate.getVersion());
 
@@ -339,4 +517,20 @@ class AcDefinitionProviderTest {
         acmDefinition.setElementStateMap(Map.of(nodeTemplateState.getNodeTemplateId().getName(), nodeTemplateState));
         return acmDefinition;
     }
+
+    private ServiceTemplateContentRepository mockServiceTemplateContentRepository() {
+        var serviceTemplateContentRepository = mock(ServiceTemplateContentRepository.class);
+        Map<String, JpaServiceTemplateContent> stored = new HashMap<>();
+        when(serviceTemplateContentRepository.saveAndFlush(any(JpaServiceTemplateContent.class)))
+                .thenAnswer(invocation -> {
+                    JpaServiceTemplateContent content = invocation.getArgument(0);
+                    stored.put(content.getContentHash(), content);
+                    return content;
+                });
+        when(serviceTemplateContentRepository.findForUpdate(any()))
+                .thenAnswer(invocation -> Optional.ofNullable(stored.get(invocation.<String>getArgument(0))));
+        when(serviceTemplateContentRepository.existsById(any()))
+                .thenAnswer(invocation -> stored.containsKey(invocation.<String>getArgument(0)));
+        return serviceTemplateContentRepository;
+    }
 }
@@ -25,32 +25,47 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyIterable;
-import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
+import org.onap.policy.clamp.models.acm.concepts.AutomationComposition;
 import org.onap.policy.clamp.models.acm.concepts.AutomationCompositionElementInfo;
 import org.onap.policy.clamp.models.acm.concepts.AutomationCompositionInfo;
 import org.onap.policy.clamp.models.acm.concepts.AutomationCompositions;
 import org.onap.policy.clamp.models.acm.concepts.DeployState;
 import org.onap.policy.clamp.models.acm.concepts.LockState;
+import org.onap.policy.clamp.models.acm.concepts.SubState;
+import org.onap.policy.clamp.models.acm.messages.rest.instantiation.AutomationCompositionFilter;
 import org.onap.policy.clamp.models.acm.persistence.concepts.JpaAutomationComposition;
 import org.onap.policy.clamp.models.acm.persistence.concepts.JpaAutomationCompositionElement;
+import org.onap.policy.clamp.models.acm.persistence.provider.AutomationCompositionProvider.UpgradeStatesResult;
 import org.onap.policy.clamp.models.acm.persistence.repository.AutomationCompositionElementRepository;
+import org.onap.policy.clamp.models.acm.persistence.repository.AutomationCompositionElementRepository.ElementIdView;
+import org.onap.policy.clamp.models.acm.persistence.repository.AutomationCompositionElementRepository.ElementStateCountView;
+import org.onap.policy.clamp.models.acm.persistence.repository.AutomationCompositionElementRepository.ElementStateView;
 import org.onap.policy.clamp.models.acm.persistence.repository.AutomationCompositionRepository;
+import org.onap.policy.clamp.models.acm.persistence.repository.AutomationCompositionRepository.StateCountView;
+import org.onap.policy.clamp.models.acm.utils.AcmUtils;
+import org.onap.policy.clamp.models.acm.utils.LobCompressionHelper;
 import org.onap.policy.common.utils.coder.Coder;
 import org.onap.policy.common.utils.coder.StandardCoder;
 import org.onap.policy.common.utils.resources.ResourceUtils;
 import org.springframework.data.domain.Example;
+import org.springframework.data.domain.PageRequest;
 
 class AutomationCompositionProviderTest {
 
@@ -108,6 +123,66 @@ class AutomationCompositionProviderTest {
         assertEquals(inputAutomationCompositions.getAutomationCompositionList().get(0), createdAutomationComposition);
     }
 
+    @Test
+    void testAutomationCompositionUpdateRevisions() {
+        var automationCompositionRepository = mock(AutomationCompositionRepository.class);
+        var automationCompositionProvider = new AutomationCompositionProvider(automationCompositionRepository,
+                mock(AutomationCompositionElementRepository.class));
+
+        var automationComposition = inputAutomationCompositions.getAutomationCompositionList().get(0);
+        var stored = new JpaAutomationComposition(automationComposition);
+        stored.setRevision(2L);
+        stored.getElements().forEach(element -> element.setRevision(5L));
+        when(automationCompositionRepository.findById(automationComposition.getInstanceId().toString()))
+                .thenReturn(Optional.of(stored));
+        when(automationCompositionRepository.save(any(JpaAutomationComposition.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        automationCompositionProvider.updateAutomationComposition(automationComposition);
+
+        var captor = ArgumentCaptor.forClass(JpaAutomationComposition.class);
+        verify(automationCompositionRepository).save(captor.capture());
+        assertThat(captor.getValue().getRevision()).isEqualTo(2L);
+        assertThat(captor.getValue().getElements()).allMatch(element -> element.getRevision() == 5L);
+    }
+
+    @Test
+    void testAutomationCompositionUpdateStaleRevision() {
+        var automationCompositionRepository = mock(AutomationCompositionRepository.class);
+        var automationCompositionProvider = new AutomationCompositionProvider(automationCompositionRepository,
+                mock(AutomationCompositionElementRepository.class));
+
+        var automationComposition =
+                new AutomationComposition(inputAutomationCompositions.getAutomationCompositionList().get(0));
+        var stored = new JpaAutomationComposition(automationComposition);
+        stored.setRevision(2L);
+        stored.getElements().forEach(element -> element.setRevision(5L));
+        when(automationCompositionRepository.findById(automationComposition.getInstanceId().toString()))
+                .thenReturn(Optional.of(stored));
+        when(automationCompositionRepository.save(any(JpaAutomationComposition.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        automationComposition.setRevision(1L);
+        assertThatThrownBy(() -> automationCompositionProvider.updateAutomationComposition(automationComposition,
+                true)).hasMessageMatching("Automation composition .* has been modified concurrently.*");
+
+        automationComposition.setRevision(2L);
+        automationComposition.getElements().values().iterator().next().setRevision(4L);
+        assertThatThrownBy(() -> automationCompositionProvider.updateAutomationComposition(automationComposition,
+                true)).hasMessageMatching("Automation composition element .* has been modified concurrently.*");
+        verify(automationCompositionRepository, times(0)).save(any(JpaAutomationComposition.class));
+
+        // an internal update is applied to the stored revisions
+        automationCompositionProvider.updateAutomationComposition(automationComposition);
+        var captor = ArgumentCaptor.forClass(JpaAutomationComposition.class);
+        verify(automationCompositionRepository).save(captor.capture());
+        assertThat(captor.getValue().getElements()).allMatch(element -> element.getRevision() == 5L);
+
+        automationComposition.getElements().values().forEach(element -> element.setRevision(5L));
+        automationCompositionProvider.updateAutomationComposition(automationComposition, true);
+        verify(automationCompositionRepository, times(2)).save(any(JpaAutomationComposition.class));
+    }
+
     @Test
     void testGetAutomationCompositions() {
         var automationCompositionRepository = mock(AutomationCompositionRepository.class);
@@ -126,6 +201,80 @@ class AutomationCompositionProviderTest {
         assertThat(acList).hasSize(2);
     }
 
+    @Test
+    void testGetAutomationCompositionsPage() {
+        var automationCompositionRepository = mock(AutomationCompositionRepository.class);
+        var automationCompositionProvider = new AutomationCompositionProvider(automationCompositionRepository,
+                mock(AutomationCompositionElementRepository.class));
+
+        var automationComposition = inputAutomationCompositions.getAutomationCompositionList().get(0);
+        var compositionId = automationComposition.getCompositionId();
+        var filter = new AutomationCompositionFilter();
+        filter.setDeployState(DeployState.DEPLOYED);
+        var pageable = PageRequest.of(0, 10);
+        when(automationCompositionRepository.findPage(compositionId.toString(), null, null, DeployState.DEPLOYED,
+                null, null, null, automationComposition.getInstanceId().toString(), pageable))
+                .thenReturn(inputAutomationCompositionsJpa);
+        var acList = automationCompositionProvider.getAutomationCompositions(compositionId, filter,
+                automationComposition.getInstanceId(), pageable);
+        assertThat(acList).hasSize(2);
+
+        acList = automationCompositionProvider.getAutomationCompositions(compositionId, filter, null, pageable);
+        assertThat(acList).isEmpty();
+
+        when(automationCompositionRepository.findPage(null, pageable)).thenReturn(inputAutomationCompositionsJpa);
+        acList = automationCompositionProvider.getAutomationCompositions(null, pageable);
+        assertThat(acList).hasSize(2);
+        acList = automationCompositionProvider.getAutomationCompositions(automationComposition.getInstanceId(),
+                pageable);
+        assertThat(acList).isEmpty();
+    }
+
+    @Test
+    void testGetStatistics() {
+        var automationCompositionRepository = mock(AutomationCompositionRepository.class);
+        var acElementRepository = mock(AutomationCompositionElementRepository.class);
+        var automationCompositionProvider =
+                new AutomationCompositionProvider(automationCompositionRepository, acElementRepository);
+
+        var compositionId = UUID.randomUUID();
+        var stateCountView = mock(StateCountView.class);
+        when(stateCountView.getCompositionId()).thenReturn(compositionId.toString());
+        when(stateCountView.getDeployState()).thenReturn(DeployState.DEPLOYED);
+        when(stateCountView.getLockState()).thenReturn(LockState.LOCKED);
+        when(stateCountView.getCount()).thenReturn(3L);
+        when(automationCompositionRepository.countByCompositionIdAndState()).thenReturn(List.of(stateCountView));
+
+        var participantId = UUID.randomUUID();
+        var elementView1 = mockElementStateCountView(participantId, "element1", 2L);
+        var elementView2 = mockElementStateCountView(participantId, "element2", 5L);
+        when(acElementRepository.countByParticipantIdAndState()).thenReturn(List.of(elementView1, elementView2));
+
+        var statistics = automationCompositionProvider.getStatistics(false);
+        assertThat(statistics.getCompositions()).hasSize(1);
+        assertEquals(compositionId, statistics.getCompositions().get(0).getCompositionId());
+        assertEquals(3L, statistics.getCompositions().get(0).getCount());
+        assertThat(statistics.getParticipants()).hasSize(1);
+        assertEquals(participantId, statistics.getParticipants().get(0).getParticipantId());
+        assertEquals(7L, statistics.getParticipants().get(0).getCount());
+
+        statistics = automationCompositionProvider.getStatistics(true);
+        assertThat(statistics.getParticipants()).hasSize(2);
+        assertEquals("element1", statistics.getParticipants().get(0).getDefinition().getName());
+        assertEquals(2L, statistics.getParticipants().get(0).getCount());
+    }
+
+    private ElementStateCountView mockElementStateCountView(UUID participantId, String definitionName, long count) {
+        var view = mock(ElementStateCountView.class);
+        when(view.getParticipantId()).thenReturn(participantId.toString());
+        when(view.getDefinitionName()).thenReturn(definitionName);
+        when(view.getDefinitionVersion()).thenReturn("1.0.0");
+        when(view.getDeployState()).thenReturn(DeployState.DEPLOYED);
+        when(view.getLockState()).thenReturn(LockState.LOCKED);
+        when(view.getCount()).thenReturn(count);
+        return view;
+    }
+
     @Test
     void testGetAutomationComposition() {
         var automationCompositionRepository = mock(AutomationCompositionRepository.class);
@@ -193,13 +342,23 @@ class AutomationCompositionProviderTest {
         var automationCompositionRepository = mock(AutomationCompositionRepository.class);
         var automationCompositionProvider = new AutomationCompositionProvider(automationCompositionRepository,
             mock(AutomationCompositionElementRepository.class));
-        when(automationCompositionRepository.findByDeployStateIn(List.of(DeployState.DEPLOYING,
-            DeployState.UNDEPLOYING, DeployState.DELETING, DeployState.UPDATING, DeployState.MIGRATING)))
-            .thenReturn(res1);
-        when(automationCompositionRepository.findByLockStateIn(List.of(LockState.LOCKING, LockState.UNLOCKING)))
-            .thenReturn(List.of(inputAutomationCompositionsJpa.get(1)));
+        when(automationCompositionRepository.findByInTransitionTrue()).thenReturn(res1);
         var acList = automationCompositionProvider.getAcInstancesInTransition();
-        assertEquals(inputAutomationCompositions.getAutomationCompositionList(), acList);
+        assertEquals(List.of(inputAutomationCompositions.getAutomationCompositionList().get(0)), acList);
+
+        when(automationCompositionRepository.findByInTransitionTrue()).thenReturn(new ArrayList<>());
+        assertThat(automationCompositionProvider.getAcInstancesInTransition()).isEmpty();
+    }
+
+    @Test
+    void testBackfillInTransition() {
+        var automationCompositionRepository = mock(AutomationCompositionRepository.class);
+        var automationCompositionProvider = new AutomationCompositionProvider(automationCompositionRepository,
+            mock(AutomationCompositionElementRepository.class));
+        when(automationCompositionRepository.backfillInTransition(AcmUtils.TRANSITIONAL_DEPLOY_STATES,
+            AcmUtils.TRANSITIONAL_LOCK_STATES, SubState.NONE)).thenReturn(2);
+        assertThat(automationCompositionProvider.backfillInTransition()).isEqualTo(2);
+        verify(automationCompositionRepository).backfillInTransition(any(), any(), any());
     }
 
     @Test
@@ -264,23 +423,45 @@ class AutomationCompositionProviderTest {
         var result = automationCompositionProvider.validateElementIds(ac);
         assertThat(result.isValid()).isTrue();
 
-        var jpaElement = new JpaAutomationCompositionElement(ac.getElements().values().iterator().next());
-        when(acElementRepository.findAllById(anyIterable()))
-            .thenReturn(List.of(jpaElement));
+        var element = ac.getElements().values().iterator().next();
+        var elementIdView = mock(ElementIdView.class);
+        when(elementIdView.getElementId()).thenReturn(element.getId().toString());
+        when(elementIdView.getDescription()).thenReturn(element.getDescription());
+        when(acElementRepository.findIdViewByElementIdIn(anyCollection()))
+            .thenReturn(List.of(elementIdView));
 
         ac.setInstanceId(null);
         result = automationCompositionProvider.validateElementIds(ac);
         assertThat(result.isValid()).isFalse();
 
         ac.setInstanceId(UUID.randomUUID());
-        jpaElement.setInstanceId(UUID.randomUUID().toString());
+        when(elementIdView.getInstanceId()).thenReturn(UUID.randomUUID().toString());
         result = automationCompositionProvider.validateElementIds(ac);
         assertThat(result.isValid()).isFalse();
 
         ac.setInstanceId(UUID.randomUUID());
-        jpaElement.setInstanceId(ac.getInstanceId().toString());
+        when(elementIdView.getInstanceId()).thenReturn(ac.getInstanceId().toString());
         result = automationCompositionProvider.validateElementIds(ac);
         assertThat(result.isValid()).isTrue();
+        verify(acElementRepository, never()).findAllById(anyIterable());
+    }
+
+    @Test
+    void testExists() {
+        var automationCompositionRepository = mock(AutomationCompositionRepository.class);
+        var automationCompositionProvider = new AutomationCompositionProvider(automationCompositionRepository,
+            mock(AutomationCompositionElementRepository.class));
+        var ac = inputAutomationCompositions.getAutomationCompositionList().get(0);
+
+        assertThat(automationCompositionProvider.existsAcInstancesByCompositionId(ac.getCompositionId())).isFalse();
+        assertThat(automationCompositionProvider.existsAutomationComposition(ac.getKey().asIdentifier())).isFalse();
+
+        when(automationCompositionRepository.existsByCompositionId(ac.getCompositionId().toString())).thenReturn(true);
+        when(automationCompositionRepository.existsByNameAndVersion(ac.getName(), ac.getVersion())).thenReturn(true);
+        assertThat(automationCompositionProvider.existsAcInstancesByCompositionId(ac.getCompositionId())).isTrue();
+        assertThat(automationCompositionProvider.existsAutomationComposition(ac.getKey().asIdentifier())).isTrue();
+        verify(automationCompositionRepository, never()).findByCompositionId(any());
+        verify(automationCompositionRepository, never()).findOne(any());
     }
 
     @Test
@@ -298,10 +479,35 @@ class AutomationCompositionProviderTest {
         acInfo.setElements(List.of(acElementInfo));
         acElementInfo.setAutomationCompositionElementId(acElement.getId());
 
-        when(acElementRepository.getReferenceById(acElement.getId().toString()))
-            .thenReturn(new JpaAutomationCompositionElement(acElement));
-
-        automationCompositionProvider.upgradeStates(List.of(acInfo));
-        verify(acElementRepository).saveAll(anyList());
+        acElementInfo.setUseState("useState");
+        acElementInfo.setOperationalState("operationalState");
+        acElementInfo.setOutProperties(Map.of("key", "value"));
+        var outPropertiesHash = LobCompressionHelper.contentHash(acElementInfo.getOutProperties());
+
+        var stored = mock(ElementStateView.class);
+        when(stored.getElementId()).thenReturn(acElement.getId().toString());
+        when(stored.getUseState()).thenReturn("useState");
+        when(stored.getOperationalState()).thenReturn("oldOperationalState");
+        when(stored.getOutPropertiesHash()).thenReturn(outPropertiesHash);
+        when(acElementRepository.findStateViewByElementIdIn(List.of(acElement.getId().toString())))
+            .thenReturn(List.of(stored));
+
+        assertThat(automationCompositionProvider.upgradeStates(List.of(acInfo)))
+            .isEqualTo(new UpgradeStatesResult(1, 0, 0));
+        verify(acElementRepository).updateElementState(acElement.getId().toString(), "useState",
+            "operationalState", Map.of("key", "value"), outPropertiesHash);
+
+        // same states already stored
+        when(stored.getOperationalState()).thenReturn("operationalState");
+        assertThat(automationCompositionProvider.upgradeStates(List.of(acInfo)))
+            .isEqualTo(new UpgradeStatesResult(0, 1, 0));
+        verify(acElementRepository, times(1)).updateElementState(any(), any(), any(), any(), any());
+
+        // element deleted meanwhile
+        when(acElementRepository.findStateViewByElementIdIn(List.of(acElement.getId().toString())))
+            .thenReturn(List.of());
+        assertThat(automationCompositionProvider.upgradeStates(List.of(acInfo)))
+            .isEqualTo(new UpgradeStatesResult(0, 0, 1));
+        verify(acElementRepository, times(1)).updateElementState(any(), any(), any(), any(), any());
     }
 }
@@ -45,15 +45,20 @@ import org.onap.policy.clamp.models.acm.concepts.ParticipantState;
 import org.onap.policy.clamp.models.acm.persistence.concepts.JpaAutomationComposition;
 import org.onap.policy.clamp.models.acm.persistence.concepts.JpaNodeTemplateState;
 import org.onap.policy.clamp.models.acm.persistence.concepts.JpaParticipant;
+import org.onap.policy.clamp.models.acm.persistence.concepts.JpaParticipantReplica;
 import org.onap.policy.clamp.models.acm.persistence.repository.AutomationCompositionElementRepository;
 import org.onap.policy.clamp.models.acm.persistence.repository.NodeTemplateStateRepository;
 import org.onap.policy.clamp.models.acm.persistence.repository.ParticipantReplicaRepository;
 import org.onap.policy.clamp.models.acm.persistence.repository.ParticipantRepository;
 import org.onap.policy.clamp.models.acm.utils.CommonTestData;
+import org.onap.policy.clamp.models.acm.utils.TimestampHelper;
 import org.onap.policy.common.utils.coder.Coder;
 import org.onap.policy.common.utils.coder.StandardCoder;
 import org.onap.policy.common.utils.resources.ResourceUtils;
 import org.onap.policy.models.base.PfModelRuntimeException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 class ParticipantProviderTest {
 
@@ -208,6 +213,79 @@ class ParticipantProviderTest {
         assertEquals(listOfNodeTemplateState, nodeTemplateStateList);
     }
 
+    @Test
+    void testGetByParticipant() {
+        var automationCompositionElementRepository = mock(AutomationCompositionElementRepository.class);
+        var nodeTemplateStateRepository = mock(NodeTemplateStateRepository.class);
+        var participantProvider = new ParticipantProvider(mock(ParticipantRepository.class),
+            automationCompositionElementRepository, nodeTemplateStateRepository,
+            mock(ParticipantReplicaRepository.class));
+        assertThat(participantProvider.getAutomationCompositionElementsByParticipant(List.of())).isEmpty();
+        assertThat(participantProvider.getAcNodeTemplateStatesByParticipant(List.of())).isEmpty();
+
+        var acElementList = inputAutomationCompositionsJpa.get(0).getElements();
+        var participantId = UUID.fromString(acElementList.get(0).getParticipantId());
+        acElementList.forEach(element -> element.setParticipantId(participantId.toString()));
+        when(automationCompositionElementRepository.findByParticipantIdIn(List.of(participantId.toString())))
+            .thenReturn(acElementList);
+        var elementMap = participantProvider.getAutomationCompositionElementsByParticipant(List.of(participantId));
+        assertThat(elementMap).containsOnlyKeys(participantId);
+        assertThat(elementMap.get(participantId)).hasSameSizeAs(acElementList);
+
+        var nodeTemplateParticipantId = nodeTemplateStateList.get(0).getParticipantId();
+        when(nodeTemplateStateRepository.findByParticipantIdIn(List.of(nodeTemplateParticipantId.toString())))
+            .thenReturn(jpaNodeTemplateStateList);
+        var nodeTemplateStateMap =
+            participantProvider.getAcNodeTemplateStatesByParticipant(List.of(nodeTemplateParticipantId));
+        assertThat(nodeTemplateStateMap).containsEntry(nodeTemplateParticipantId, nodeTemplateStateList);
+
+        var pageable = PageRequest.of(0, 1);
+        when(automationCompositionElementRepository.findByParticipantIdOrderByElementId(participantId.toString(),
+            pageable)).thenReturn(acElementList.subList(0, 1));
+        assertThat(participantProvider.getAutomationCompositionElements(participantId, pageable)).hasSize(1);
+        when(nodeTemplateStateRepository.findByParticipantIdOrderByNodeTemplateStateId(
+            nodeTemplateParticipantId.toString(), pageable)).thenReturn(jpaNodeTemplateStateList);
+        assertThat(participantProvider.getAcNodeTemplateStates(nodeTemplateParticipantId, pageable))
+            .isEqualTo(nodeTemplateStateList);
+
+        var lastElementId = UUID.randomUUID();
+        when(automationCompositionElementRepository.findPageByParticipantId(participantId.toString(),
+            lastElementId.toString(), pageable)).thenReturn(acElementList.subList(0, 1));
+        assertThat(participantProvider.getAutomationCompositionElements(participantId, lastElementId, pageable))
+            .hasSize(1);
+        when(nodeTemplateStateRepository.findPageByParticipantId(nodeTemplateParticipantId.toString(), null,
+            pageable)).thenReturn(jpaNodeTemplateStateList);
+        assertThat(participantProvider.getAcNodeTemplateStates(nodeTemplateParticipantId, null, pageable))
+            .isEqualTo(nodeTemplateStateList);
+    }
+
+    @Test
+    void testGetCounts() {
+        var automationCompositionElementRepository = mock(AutomationCompositionElementRepository.class);
+        var nodeTemplateStateRepository = mock(NodeTemplateStateRepository.class);
+        var participantProvider = new ParticipantProvider(mock(ParticipantRepository.class),
+            automationCompositionElementRepository, nodeTemplateStateRepository,
+            mock(ParticipantReplicaRepository.class));
+
+        var participantId = UUID.randomUUID();
+        var elementCount = mock(AutomationCompositionElementRepository.ParticipantCountView.class);
+        when(elementCount.getParticipantId()).thenReturn(participantId.toString());
+        when(elementCount.getCount()).thenReturn(5L);
+        when(automationCompositionElementRepository.countByParticipantId()).thenReturn(List.of(elementCount));
+        assertThat(participantProvider.getAutomationCompositionElementCounts()).containsEntry(participantId, 5L);
+
+        var nodeTemplateStateCount = mock(NodeTemplateStateRepository.ParticipantCountView.class);
+        when(nodeTemplateStateCount.getParticipantId()).thenReturn(participantId.toString());
+        when(nodeTemplateStateCount.getCount()).thenReturn(2L);
+        when(nodeTemplateStateRepository.countByParticipantId()).thenReturn(List.of(nodeTemplateStateCount));
+        assertThat(participantProvider.getAcNodeTemplateStateCounts()).containsEntry(participantId, 2L);
+
+        when(automationCompositionElementRepository.countByParticipantId(participantId.toString())).thenReturn(5L);
+        assertThat(participantProvider.getAutomationCompositionElementCount(participantId)).isEqualTo(5L);
+        when(nodeTemplateStateRepository.countByParticipantId(participantId.toString())).thenReturn(2L);
+        assertThat(participantProvider.getAcNodeTemplateStateCount(participantId)).isEqualTo(2L);
+    }
+
     @Test
     void testNotNullExceptions() {
         var participantRepository = mock(ParticipantRepository.class);
@@ -322,20 +400,107 @@ class ParticipantProviderTest {
         var jpaParticipant = new JpaParticipant(jpaParticipantList.get(0));
         var participantId = jpaParticipant.getParticipantId();
         var participantRepository = mock(ParticipantRepository.class);
-        when(participantRepository.getReferenceById(participantId)).thenReturn(jpaParticipant);
 
         var replicaRepository = mock(ParticipantReplicaRepository.class);
         var participantProvider = new ParticipantProvider(participantRepository,
                 mock(AutomationCompositionElementRepository.class), mock(NodeTemplateStateRepository.class),
                 replicaRepository);
 
-        jpaParticipant.setReplicas(List.of());
         var set = Set.of(UUID.fromString(participantId));
         assertThatThrownBy(() -> participantProvider.verifyParticipantState(set))
                 .hasMessageMatching("Participant: " + participantId + " is OFFLINE");
 
-        when(participantRepository.getReferenceById(participantId)).thenReturn(jpaParticipantList.get(0));
+        var replica = new JpaParticipantReplica(UUID.randomUUID().toString(), participantId);
+        replica.setParticipantState(ParticipantState.ON_LINE);
+        when(replicaRepository.findByParticipantStateAndParticipantIdIn(ParticipantState.ON_LINE,
+                List.of(participantId))).thenReturn(List.of(replica));
         participantProvider.verifyParticipantState(set);
-        verify(participantRepository, times(2)).getReferenceById(participantId);
+        verify(replicaRepository, times(2)).findByParticipantStateAndParticipantIdIn(ParticipantState.ON_LINE,
+                List.of(participantId));
+
+        participantProvider.verifyParticipantState(Set.of());
+        verify(replicaRepository, times(2)).findByParticipantStateAndParticipantIdIn(any(), any());
+    }
+
+    @Test
+    void testParticipantRegistry() {
+        var participantRepository = mock(ParticipantRepository.class);
+        when(participantRepository.save(any())).thenReturn(jpaParticipantList.get(0));
+        when(participantRepository.findAll()).thenReturn(List.of());
+        var replicaRepository = mock(ParticipantReplicaRepository.class);
+        var participantProvider = new ParticipantProvider(participantRepository,
+                mock(AutomationCompositionElementRepository.class), mock(NodeTemplateStateRepository.class),
+                replicaRepository);
+        assertThat(participantProvider.getSupportedElementMap()).isEmpty();
+
+        // participant registered, no database access to verify it and to get its supported elements
+        var participant = participantProvider.saveParticipant(inputParticipants.get(0));
+        var set = Set.of(participant.getParticipantId());
+        participantProvider.verifyParticipantState(set);
+        verify(replicaRepository, times(0)).findByParticipantStateAndParticipantIdIn(any(), any());
+        assertThat(participantProvider.getSupportedElementMap()).hasSize(2)
+                .containsValue(participant.getParticipantId());
+        verify(participantRepository, times(1)).findAll();
+
+        // replica deregistered
+        var replicaId = participant.getReplicas().keySet().iterator().next();
+        participantProvider.deleteParticipantReplica(replicaId);
+        assertThatThrownBy(() -> participantProvider.verifyParticipantState(set))
+                .hasMessageMatching("Participant: " + participant.getParticipantId() + " is OFFLINE");
+
+        // replicas reloaded by the participant scanner
+        var jpaReplica = new JpaParticipantReplica(replicaId.toString(), participant.getParticipantId().toString());
+        jpaReplica.setParticipantState(ParticipantState.ON_LINE);
+        jpaReplica.setLastMsg(TimestampHelper.nowTimestamp());
+        when(replicaRepository.findByParticipantState(ParticipantState.ON_LINE)).thenReturn(List.of(jpaReplica));
+        participantProvider.findReplicasOnLine();
+        participantProvider.verifyParticipantState(set);
+        verify(replicaRepository, times(1)).findByParticipantStateAndParticipantIdIn(any(), any());
+        assertThat(participantProvider.getSupportedElementMap()).isEmpty();
+        verify(participantRepository, times(2)).findAll();
+    }
+
+    @Test
+    void testParticipantRegistryAfterCommit() {
+        var participantRepository = mock(ParticipantRepository.class);
+        when(participantRepository.save(any())).thenReturn(jpaParticipantList.get(0));
+        var replicaRepository = mock(ParticipantReplicaRepository.class);
+        var participantProvider = new ParticipantProvider(participantRepository,
+                mock(AutomationCompositionElementRepository.class), mock(NodeTemplateStateRepository.class),
+                replicaRepository);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            var participant = participantProvider.saveParticipant(inputParticipants.get(0));
+            var set = Set.of(participant.getParticipantId());
+            // not committed yet
+            assertThatThrownBy(() -> participantProvider.verifyParticipantState(set))
+                    .hasMessageMatching("Participant: " + participant.getParticipantId() + " is OFFLINE");
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            participantProvider.verifyParticipantState(set);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testSupportedElementTypesDropped() {
+        var participantRepository = mock(ParticipantRepository.class);
+        when(participantRepository.findAll()).thenReturn(List.of(jpaParticipantList.get(0)));
+        var participantProvider = new ParticipantProvider(participantRepository,
+                mock(AutomationCompositionElementRepository.class), mock(NodeTemplateStateRepository.class),
+                mock(ParticipantReplicaRepository.class));
+        assertThat(participantProvider.getSupportedElementMap()).hasSize(2);
+
+        var participant = new Participant(inputParticipants.get(0));
+        var dropped = participant.getParticipantSupportedElementTypes().keySet().iterator().next();
+        participant.getParticipantSupportedElementTypes().remove(dropped);
+        var jpaParticipant = new JpaParticipant(participant);
+        when(participantRepository.save(any())).thenReturn(jpaParticipant);
+        participantProvider.saveParticipant(participant);
+
+        assertThat(participantProvider.getSupportedElementMap()).hasSize(1);
+        verify(participantRepository, times(1)).findAll();
     }
 }
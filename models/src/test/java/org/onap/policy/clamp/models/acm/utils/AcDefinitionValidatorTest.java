@@ -0,0 +1,94 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2024 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.clamp.models.acm.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.LinkedHashMap;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.onap.policy.clamp.models.acm.concepts.AcTypeState;
+import org.onap.policy.clamp.models.acm.concepts.AutomationComposition;
+import org.onap.policy.clamp.models.acm.concepts.AutomationCompositionDefinition;
+import org.onap.policy.clamp.models.acm.concepts.AutomationCompositionElement;
+import org.onap.policy.clamp.models.acm.document.concepts.DocToscaServiceTemplate;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaConceptIdentifier;
+
+class AcDefinitionValidatorTest {
+
+    private static final String TOSCA_TEMPLATE_YAML = "clamp/acm/pmsh/funtional-pmsh-usecase.yaml";
+    private static final String ELEMENT_NAME = "org.onap.policy.clamp.acm.AutomationCompositionElement";
+    private static final String COMPOSITION_NAME = "org.onap.policy.clamp.acm.AutomationComposition";
+
+    @Test
+    void testValidate() {
+        var acDefinition = createAcDefinition();
+        var validator = new AcDefinitionValidator(acDefinition);
+        assertThat(validator.getCompositionId()).isEqualTo(acDefinition.getCompositionId());
+        assertThat(validator.getParticipantIds()).containsExactly(CommonTestData.getParticipantId());
+        assertThat(validator.isUpToDate(AcTypeState.PRIMED, acDefinition.getLastMsg())).isTrue();
+        assertThat(validator.isUpToDate(AcTypeState.DEPRIMING, acDefinition.getLastMsg())).isFalse();
+
+        var definition = AcmUtils.getElementDefinitions(acDefinition.getServiceTemplate(), COMPOSITION_NAME)
+                .orElseThrow().values().iterator().next();
+        assertThat(validator.getParticipantId(definition.getName())).isEqualTo(CommonTestData.getParticipantId());
+
+        var automationComposition = createAutomationComposition(definition);
+        assertThat(validator.validate(automationComposition, COMPOSITION_NAME).isValid()).isTrue();
+
+        automationComposition = createAutomationComposition(new ToscaConceptIdentifier(definition.getName(), "0.0.0"));
+        assertThat(validator.validate(automationComposition, COMPOSITION_NAME).isValid()).isFalse();
+
+        automationComposition = createAutomationComposition(new ToscaConceptIdentifier("NotFound", "1.0.0"));
+        assertThat(validator.validate(automationComposition, COMPOSITION_NAME).isValid()).isFalse();
+
+        automationComposition = createAutomationComposition(definition);
+        var result = validator.validate(automationComposition, "NotConsistent");
+        assertThat(result.isValid()).isFalse();
+        assertThat(result.getResult()).contains("Commissioned automation composition definition not consistent");
+    }
+
+    private AutomationCompositionDefinition createAcDefinition() {
+        var serviceTemplate = new DocToscaServiceTemplate(CommonTestData.getToscaServiceTemplate(TOSCA_TEMPLATE_YAML))
+                .toAuthorative();
+        var acDefinition = new AutomationCompositionDefinition();
+        acDefinition.setCompositionId(UUID.randomUUID());
+        acDefinition.setState(AcTypeState.PRIMED);
+        acDefinition.setLastMsg(TimestampHelper.now());
+        acDefinition.setServiceTemplate(serviceTemplate);
+        var acElements = AcmUtils.extractAcElementsFromServiceTemplate(serviceTemplate, ELEMENT_NAME);
+        acDefinition.setElementStateMap(AcmUtils.createElementStateMap(acElements, AcTypeState.PRIMED));
+        acDefinition.getElementStateMap().values()
+                .forEach(element -> element.setParticipantId(CommonTestData.getParticipantId()));
+        return acDefinition;
+    }
+
+    private AutomationComposition createAutomationComposition(ToscaConceptIdentifier definition) {
+        var element = new AutomationCompositionElement();
+        element.setId(UUID.randomUUID());
+        element.setDefinition(definition);
+        var automationComposition = new AutomationComposition();
+        automationComposition.setName("Instance");
+        automationComposition.setElements(new LinkedHashMap<>());
+        automationComposition.getElements().put(element.getId(), element);
+        return automationComposition;
+    }
+}
@@ -0,0 +1,86 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2024 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.clamp.models.acm.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.onap.policy.models.base.PfModelRuntimeException;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaConceptIdentifier;
+
+class LobCompressionHelperTest {
+
+    @Test
+    void testCompress() {
+        var json = "{\"key\":\"" + "value".repeat(LobCompressionHelper.COMPRESSION_THRESHOLD) + "\"}";
+        var dbData = LobCompressionHelper.compress(json);
+        assertThat(dbData).startsWith(LobCompressionHelper.COMPRESSED_MARKER).hasSizeLessThan(json.length());
+        assertThat(LobCompressionHelper.decompress(dbData)).isEqualTo(json);
+    }
+
+    @Test
+    void testNotCompressed() {
+        assertThat(LobCompressionHelper.compress(null)).isNull();
+        assertThat(LobCompressionHelper.decompress(null)).isNull();
+        var json = "{\"key\":\"value\"}";
+        assertThat(LobCompressionHelper.compress(json)).isEqualTo(json);
+        assertThat(LobCompressionHelper.decompress(json)).isEqualTo(json);
+        assertThatThrownBy(() -> LobCompressionHelper.decompress(LobCompressionHelper.COMPRESSED_MARKER + "1"))
+                .isInstanceOf(PfModelRuntimeException.class);
+    }
+
+    @Test
+    void testSha256() {
+        var hash = LobCompressionHelper.sha256("{}");
+        assertThat(hash).hasSize(64).isEqualTo(LobCompressionHelper.sha256("{}"));
+        assertThat(LobCompressionHelper.sha256("[]")).isNotEqualTo(hash);
+    }
+
+    @Test
+    void testContentHash() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("key1", "value1");
+        map.put("key2", Map.of("a", 1, "b", List.of("x", "y")));
+        Map<String, Object> reversed = new LinkedHashMap<>();
+        reversed.put("key2", Map.of("b", List.of("x", "y"), "a", 1));
+        reversed.put("key1", "value1");
+        assertThat(LobCompressionHelper.contentHash(map)).isEqualTo(LobCompressionHelper.contentHash(reversed));
+
+        reversed.put("key1", "value2");
+        assertThat(LobCompressionHelper.contentHash(map)).isNotEqualTo(LobCompressionHelper.contentHash(reversed));
+        assertThat(LobCompressionHelper.contentHash(null)).isEqualTo(LobCompressionHelper.contentHash(Map.of()));
+    }
+
+    @Test
+    void testContentHashObject() {
+        var identifier = new ToscaConceptIdentifier("name", "1.0.0");
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("version", "1.0.0");
+        map.put("name", "name");
+        assertThat(LobCompressionHelper.contentHash(identifier)).isEqualTo(LobCompressionHelper.contentHash(map));
+        assertThat(LobCompressionHelper.contentHash(new ToscaConceptIdentifier("name", "1.0.1")))
+                .isNotEqualTo(LobCompressionHelper.contentHash(map));
+    }
+}
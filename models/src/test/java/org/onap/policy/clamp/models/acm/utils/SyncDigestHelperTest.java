@@ -0,0 +1,130 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2024 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.clamp.models.acm.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.onap.policy.clamp.models.acm.concepts.AutomationComposition;
+import org.onap.policy.clamp.models.acm.concepts.AutomationCompositionElement;
+import org.onap.policy.clamp.models.acm.concepts.DeployState;
+import org.onap.policy.clamp.models.acm.concepts.LockState;
+import org.onap.policy.clamp.models.acm.concepts.StateChangeResult;
+import org.onap.policy.clamp.models.acm.concepts.SubState;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaConceptIdentifier;
+
+class SyncDigestHelperTest {
+
+    @Test
+    void testInstanceDigest() {
+        var participantId = CommonTestData.getParticipantId();
+        var automationComposition = new AutomationComposition();
+        automationComposition.setInstanceId(UUID.randomUUID());
+        automationComposition.setCompositionId(UUID.randomUUID());
+        automationComposition.setDeployState(DeployState.DEPLOYED);
+        automationComposition.setLockState(LockState.LOCKED);
+        automationComposition.setElements(new LinkedHashMap<>());
+        var first = createElement(participantId, Map.of("a", 1, "b", "value"));
+        var second = createElement(participantId, Map.of());
+        automationComposition.getElements().put(first.getId(), first);
+        automationComposition.getElements().put(second.getId(), second);
+
+        var digest = SyncDigestHelper.instanceDigest(automationComposition, participantId);
+        assertThat(digest).hasSize(64);
+
+        // the order of elements and properties does not matter
+        var reordered = new AutomationComposition(automationComposition);
+        reordered.setElements(new LinkedHashMap<>());
+        reordered.getElements().put(second.getId(), second);
+        var copy = new AutomationCompositionElement(first);
+        copy.setProperties(new LinkedHashMap<>(Map.of("b", "value")));
+        copy.getProperties().put("a", 1);
+        reordered.getElements().put(copy.getId(), copy);
+        assertThat(SyncDigestHelper.instanceDigest(reordered, participantId)).isEqualTo(digest);
+
+        // elements of other participants are not part of the digest
+        var other = createElement(UUID.randomUUID(), Map.of());
+        automationComposition.getElements().put(other.getId(), other);
+        assertThat(SyncDigestHelper.instanceDigest(automationComposition, participantId)).isEqualTo(digest);
+
+        // fields not maintained by the participant are not part of the digest
+        automationComposition.setDeployState(DeployState.DEPLOYING);
+        automationComposition.setLockState(LockState.NONE);
+        automationComposition.setSubState(SubState.MIGRATION_PRECHECKING);
+        automationComposition.setStateChangeResult(StateChangeResult.FAILED);
+        automationComposition.setCompositionTargetId(UUID.randomUUID());
+        first.setSubState(SubState.PREPARING);
+        assertThat(SyncDigestHelper.instanceDigest(automationComposition, participantId)).isEqualTo(digest);
+
+        second.setDeployState(DeployState.UNDEPLOYED);
+        assertThat(SyncDigestHelper.instanceDigest(automationComposition, participantId)).isNotEqualTo(digest);
+        second.setDeployState(DeployState.DEPLOYED);
+        automationComposition.setCompositionId(UUID.randomUUID());
+        assertThat(SyncDigestHelper.instanceDigest(automationComposition, participantId)).isNotEqualTo(digest);
+    }
+
+    @Test
+    void testInstancesDigest() {
+        var participantId = CommonTestData.getParticipantId();
+        var first = new AutomationComposition();
+        first.setInstanceId(UUID.randomUUID());
+        first.setElements(new LinkedHashMap<>());
+        var element = createElement(participantId, Map.of());
+        first.getElements().put(element.getId(), element);
+        var second = new AutomationComposition(first);
+        second.setInstanceId(UUID.randomUUID());
+
+        var digest = SyncDigestHelper.instancesDigest(List.of(first, second), participantId);
+        assertThat(digest).hasSize(64)
+                .isEqualTo(SyncDigestHelper.instancesDigest(List.of(second, first), participantId))
+                .isNotEqualTo(SyncDigestHelper.instancesDigest(List.of(first), participantId));
+
+        second.getElements().values().iterator().next().setUseState("IDLE");
+        assertThat(SyncDigestHelper.instancesDigest(List.of(first, second), participantId)).isNotEqualTo(digest);
+    }
+
+    @Test
+    void testDefinitionDigest() {
+        var first = CommonTestData.getAcElementDefinition(new ToscaConceptIdentifier("first", "1.0.0"));
+        var second = CommonTestData.getAcElementDefinition(new ToscaConceptIdentifier("second", "1.0.0"));
+        var digest = SyncDigestHelper.definitionDigest(List.of(first, second));
+        assertThat(digest).hasSize(64).isEqualTo(SyncDigestHelper.definitionDigest(List.of(second, first)));
+
+        second.getOutProperties().put("key", "value");
+        assertThat(SyncDigestHelper.definitionDigest(List.of(first, second))).isNotEqualTo(digest);
+        assertThat(SyncDigestHelper.definitionDigest(List.of(first))).isNotEqualTo(digest);
+    }
+
+    private AutomationCompositionElement createElement(UUID participantId, Map<String, Object> properties) {
+        var element = new AutomationCompositionElement();
+        element.setId(UUID.randomUUID());
+        element.setParticipantId(participantId);
+        element.setDefinition(new ToscaConceptIdentifier("element", "1.0.0"));
+        element.setDeployState(DeployState.DEPLOYED);
+        element.setLockState(LockState.LOCKED);
+        element.setProperties(new LinkedHashMap<>(properties));
+        return element;
+    }
+}
@@ -0,0 +1,52 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2024 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.clamp.models.acm.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class UuidGeneratorTest {
+
+    @Test
+    void testGenerate() {
+        var before = TimestampHelper.nowEpochMilli();
+        var uuid = UuidGenerator.generate();
+        assertThat(uuid.version()).isEqualTo(7);
+        assertThat(uuid.variant()).isEqualTo(2);
+        assertThat(UuidGenerator.getTimestamp(uuid)).isGreaterThanOrEqualTo(before);
+        assertThat(UUID.fromString(uuid.toString())).isEqualTo(uuid);
+    }
+
+    @Test
+    void testGenerateMonotonic() {
+        var list = new ArrayList<UUID>();
+        for (var i = 0; i < 10000; i++) {
+            list.add(UuidGenerator.generate());
+        }
+        for (var i = 1; i < list.size(); i++) {
+            assertThat(list.get(i)).isGreaterThan(list.get(i - 1));
+            assertThat(list.get(i).toString()).isGreaterThan(list.get(i - 1).toString());
+        }
+    }
+}
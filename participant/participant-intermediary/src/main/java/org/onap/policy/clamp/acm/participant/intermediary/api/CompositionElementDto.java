@@ -24,10 +24,22 @@ import java.util.Map;
 import java.util.UUID;
 import org.onap.policy.models.tosca.authorative.concepts.ToscaConceptIdentifier;
 
+/**
+ * Composition element passed to the participant. The inProperties are the properties of the node template shared by
+ * all the compositions with the same properties, so they are an unmodifiable map; the element definition id is a copy
+ * owned by the record.
+ */
 public record CompositionElementDto(UUID compositionId, ToscaConceptIdentifier elementDefinitionId,
                                     Map<String, Object> inProperties, Map<String, Object> outProperties,
                                     ElementState state) {
 
+    /**
+     * Constructor, it copies the element definition id, so the identifier shared by the cache is not exposed.
+     */
+    public CompositionElementDto {
+        elementDefinitionId = elementDefinitionId != null ? new ToscaConceptIdentifier(elementDefinitionId) : null;
+    }
+
     public CompositionElementDto(UUID compositionId, ToscaConceptIdentifier elementDefinitionId,
                                  Map<String, Object> inProperties, Map<String, Object> outProperties) {
         this(compositionId, elementDefinitionId, inProperties, outProperties, ElementState.PRESENT);
@@ -24,6 +24,10 @@ import java.util.Map;
 import java.util.UUID;
 import org.onap.policy.models.tosca.authorative.concepts.ToscaServiceTemplate;
 
+/**
+ * Instance element passed to the participant. The service template fragment is shared by all the instances with the
+ * same fragment, so it must not be changed.
+ */
 public record InstanceElementDto(UUID instanceId, UUID elementId, ToscaServiceTemplate toscaServiceTemplateFragment,
                                  Map<String, Object> inProperties, Map<String, Object> outProperties,
                                  ElementState state) {
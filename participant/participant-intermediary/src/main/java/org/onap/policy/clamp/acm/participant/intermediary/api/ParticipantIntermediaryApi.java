@@ -34,6 +34,11 @@ import org.onap.policy.models.tosca.authorative.concepts.ToscaConceptIdentifier;
 
 /**
  * This interface is used by participant implementations to use the participant intermediary.
+ *
+ * <p>The node template properties passed as inProperties of a {@link CompositionElementDto} and the service template
+ * fragment of an {@link InstanceElementDto} are shared by all the compositions and instances with the same content, so
+ * they are read-only: the properties are an unmodifiable map, and the fragment must not be changed. A participant that
+ * needs to change them works on its own copy.
  */
 public interface ParticipantIntermediaryApi {
 
@@ -52,22 +52,22 @@ public class ParticipantIntermediaryApiImpl implements ParticipantIntermediaryAp
     @Override
     public void updateAutomationCompositionElementState(UUID instance, UUID elementId, DeployState deployState,
             LockState lockState, StateChangeResult stateChangeResult, String message) {
-        automationCompositionHandler.updateAutomationCompositionElementState(instance, elementId, deployState,
-            lockState, stateChangeResult, message);
+        CacheProvider.runUpdate(() -> automationCompositionHandler.updateAutomationCompositionElementState(instance,
+                elementId, deployState, lockState, stateChangeResult, message));
     }
 
     @Override
     public void updateAutomationCompositionElementStage(UUID instance, UUID elementId,
             StateChangeResult stateChangeResult, int stage, String message) {
-        automationCompositionHandler.updateAutomationCompositionElementStage(instance, elementId, stateChangeResult,
-            stage, message);
+        CacheProvider.runUpdate(() -> automationCompositionHandler.updateAutomationCompositionElementStage(instance,
+                elementId, stateChangeResult, stage, message));
     }
 
     @Override
     public void sendAcElementInfo(UUID instance, UUID elementId, String useState,
             String operationalState, Map<String, Object> outProperties) {
-        automationCompositionHandler.sendAcElementInfo(instance, elementId, useState, operationalState,
-                outProperties);
+        CacheProvider.runUpdate(() -> automationCompositionHandler.sendAcElementInfo(instance, elementId, useState,
+                operationalState, outProperties));
     }
 
     @Override
@@ -78,7 +78,8 @@ public class ParticipantIntermediaryApiImpl implements ParticipantIntermediaryAp
     @Override
     public void updateCompositionState(UUID compositionId, AcTypeState state, StateChangeResult stateChangeResult,
             String message) {
-        automationCompositionHandler.updateCompositionState(compositionId, state, stateChangeResult, message);
+        CacheProvider.runUpdate(() -> automationCompositionHandler.updateCompositionState(compositionId, state,
+                stateChangeResult, message));
     }
 
     @Override
@@ -94,7 +95,8 @@ public class ParticipantIntermediaryApiImpl implements ParticipantIntermediaryAp
     @Override
     public void sendAcDefinitionInfo(UUID compositionId, ToscaConceptIdentifier elementId,
             Map<String, Object> outProperties) {
-        automationCompositionHandler.sendAcDefinitionInfo(compositionId, elementId, outProperties);
+        CacheProvider.runUpdate(() -> automationCompositionHandler.sendAcDefinitionInfo(compositionId, elementId,
+                outProperties));
     }
 
     @Override
@@ -22,6 +22,7 @@
 package org.onap.policy.clamp.acm.participant.intermediary.comm;
 
 import java.util.function.Consumer;
+import org.onap.policy.clamp.acm.participant.intermediary.handler.CacheProvider;
 import org.onap.policy.clamp.acm.participant.intermediary.handler.Listener;
 import org.onap.policy.clamp.acm.participant.intermediary.handler.ParticipantHandler;
 import org.onap.policy.clamp.models.acm.messages.kafka.participant.ParticipantMessage;
@@ -53,7 +54,7 @@ public abstract class ParticipantListener<T extends ParticipantMessage> extends
     @Override
     public void onTopicEvent(CommInfrastructure infra, String topic, StandardCoderObject sco, T message) {
         if (participantHandler.appliesTo(message)) {
-            consumer.accept(message);
+            CacheProvider.runUpdate(() -> consumer.accept(message));
         }
     }
 
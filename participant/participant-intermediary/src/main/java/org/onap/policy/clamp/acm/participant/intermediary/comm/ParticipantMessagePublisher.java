@@ -27,11 +27,13 @@ import java.util.List;
 import lombok.Getter;
 import org.onap.policy.clamp.acm.participant.intermediary.handler.Publisher;
 import org.onap.policy.clamp.common.acm.exception.AutomationCompositionRuntimeException;
+import org.onap.policy.clamp.common.acm.messaging.AsyncMessageSender;
 import org.onap.policy.clamp.models.acm.messages.kafka.participant.AutomationCompositionDeployAck;
 import org.onap.policy.clamp.models.acm.messages.kafka.participant.ParticipantDeregister;
 import org.onap.policy.clamp.models.acm.messages.kafka.participant.ParticipantPrimeAck;
 import org.onap.policy.clamp.models.acm.messages.kafka.participant.ParticipantRegister;
 import org.onap.policy.clamp.models.acm.messages.kafka.participant.ParticipantStatus;
+import org.onap.policy.clamp.models.acm.messages.kafka.participant.ParticipantSyncAck;
 import org.onap.policy.common.endpoints.event.comm.TopicSink;
 import org.onap.policy.common.endpoints.event.comm.client.TopicSinkClient;
 import org.slf4j.Logger;
@@ -50,6 +52,7 @@ public class ParticipantMessagePublisher implements Publisher {
     @Getter
     private boolean active = false;
     private TopicSinkClient topicSinkClient;
+    private AsyncMessageSender sender;
 
     /**
      * Constructor for instantiating ParticipantMessagePublisher.
@@ -65,6 +68,12 @@ public class ParticipantMessagePublisher implements Publisher {
         active = true;
     }
 
+    @Override
+    public void active(List<TopicSink> topicSinks, AsyncMessageSender sender) {
+        active(topicSinks);
+        this.sender = sender;
+    }
+
     /**
      * Method to send Participant Status message to clamp on demand.
      *
@@ -72,9 +81,13 @@ public class ParticipantMessagePublisher implements Publisher {
      */
     @Timed(value = "publisher.participant_status", description = "PARTICIPANT_STATUS messages published")
     public void sendParticipantStatus(final ParticipantStatus participantStatus) {
-        validate();
-        topicSinkClient.send(participantStatus);
-        LOGGER.info("Sent Participant Status message to CLAMP - {}", participantStatus);
+        send(participantStatus);
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Sent Participant Status message to CLAMP - {}", participantStatus);
+        } else {
+            LOGGER.info("Sent Participant Status message to CLAMP - participantId {}, automation compositions {}",
+                    participantStatus.getParticipantId(), participantStatus.getAutomationCompositionInfoList().size());
+        }
     }
 
     /**
@@ -84,9 +97,13 @@ public class ParticipantMessagePublisher implements Publisher {
      */
     @Timed(value = "publisher.participant_register", description = "PARTICIPANT_REGISTER messages published")
     public void sendParticipantRegister(final ParticipantRegister participantRegister) {
-        validate();
-        topicSinkClient.send(participantRegister);
-        LOGGER.info("Sent Participant Register message to CLAMP - {}", participantRegister);
+        send(participantRegister);
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Sent Participant Register message to CLAMP - {}", participantRegister);
+        } else {
+            LOGGER.info("Sent Participant Register message to CLAMP - participantId {}, compositions {}",
+                    participantRegister.getParticipantId(), participantRegister.getCompositionDigests().size());
+        }
     }
 
     /**
@@ -96,8 +113,7 @@ public class ParticipantMessagePublisher implements Publisher {
      */
     @Timed(value = "publisher.participant_deregister", description = "PARTICIPANT_DEREGISTER messages published")
     public void sendParticipantDeregister(final ParticipantDeregister participantDeregister) {
-        validate();
-        topicSinkClient.send(participantDeregister);
+        send(participantDeregister);
         LOGGER.debug("Sent Participant Deregister message to CLAMP - {}", participantDeregister);
     }
 
@@ -108,11 +124,21 @@ public class ParticipantMessagePublisher implements Publisher {
      */
     @Timed(value = "publisher.participant_prime_ack", description = "PARTICIPANT_PRIME_ACK messages published")
     public void sendParticipantPrimeAck(final ParticipantPrimeAck participantPrimeAck) {
-        validate();
-        topicSinkClient.send(participantPrimeAck);
+        send(participantPrimeAck);
         LOGGER.debug("Sent Participant Prime Ack message to CLAMP - {}", participantPrimeAck);
     }
 
+    /**
+     * Send ParticipantSyncAck to clamp on the ack of a chunk of restart sync.
+     *
+     * @param participantSyncAck ParticipantSyncAck message
+     */
+    @Timed(value = "publisher.participant_sync_ack", description = "PARTICIPANT_SYNC_ACK messages published")
+    public void sendParticipantSyncAck(final ParticipantSyncAck participantSyncAck) {
+        send(participantSyncAck);
+        LOGGER.debug("Sent Participant Sync Ack message to CLAMP - {}", participantSyncAck);
+    }
+
     /**
      * Method to send AutomationComposition Update/StateChange Ack message to runtime.
      *
@@ -121,19 +147,25 @@ public class ParticipantMessagePublisher implements Publisher {
     @Timed(value = "publisher.automation_composition_update_ack",
             description = "AUTOMATION_COMPOSITION_UPDATE_ACK/AUTOMATION_COMPOSITION_STATECHANGE_ACK messages published")
     public void sendAutomationCompositionAck(final AutomationCompositionDeployAck automationCompositionAck) {
-        validate();
-        topicSinkClient.send(automationCompositionAck);
+        send(automationCompositionAck);
         LOGGER.debug("Sent AutomationComposition Update/StateChange Ack to runtime - {}", automationCompositionAck);
     }
 
-    private void validate() {
+    private void send(Object message) {
         if (!active) {
             throw new AutomationCompositionRuntimeException(Status.NOT_ACCEPTABLE, NOT_ACTIVE_TEXT);
         }
+        var asyncSender = sender;
+        if (asyncSender != null) {
+            asyncSender.send(message, topicSinkClient::send);
+        } else {
+            topicSinkClient.send(message);
+        }
     }
 
     @Override
     public void stop() {
         active = false;
+        sender = null;
     }
 }
@@ -114,6 +114,10 @@ public class AcDefinitionHandler {
     public void handleParticipantSync(ParticipantSync participantSyncMsg) {
 
         if (participantSyncMsg.isDelete()) {
+            if (participantSyncMsg.isRestarting() && participantSyncMsg.getCompositionId() != null) {
+                // the instances restored from the local snapshot are replaced by the ones of the runtime
+                cacheProvider.removeAutomationCompositions(participantSyncMsg.getCompositionId());
+            }
             if (AcTypeState.COMMISSIONED.equals(participantSyncMsg.getState())) {
                 cacheProvider.removeElementDefinition(participantSyncMsg.getCompositionId());
             }
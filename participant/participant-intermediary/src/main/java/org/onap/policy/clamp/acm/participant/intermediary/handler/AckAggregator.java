@@ -0,0 +1,130 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2024 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.clamp.acm.participant.intermediary.handler;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.onap.policy.clamp.acm.participant.intermediary.comm.ParticipantMessagePublisher;
+import org.onap.policy.clamp.acm.participant.intermediary.parameters.ParticipantParameters;
+import org.onap.policy.clamp.models.acm.concepts.StateChangeResult;
+import org.onap.policy.clamp.models.acm.messages.kafka.participant.AutomationCompositionDeployAck;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Collect the acks of the elements of the same automation composition and message, to send them to the runtime in one
+ * message.
+ */
+@Component
+public class AckAggregator implements Closeable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AckAggregator.class);
+
+    private final ParticipantMessagePublisher publisher;
+    private final long ackCoalesceMs;
+
+    private final Map<AckKey, AutomationCompositionDeployAck> pendingAcks = new HashMap<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+    private record AckKey(UUID instanceId, UUID responseTo, StateChangeResult stateChangeResult, Integer stage) {
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param publisher the publisher
+     * @param parameters the parameters of the participant
+     */
+    public AckAggregator(ParticipantMessagePublisher publisher, ParticipantParameters parameters) {
+        this.publisher = publisher;
+        this.ackCoalesceMs = parameters.getIntermediaryParameters().getAckCoalesceMs();
+    }
+
+    /**
+     * Send the ack of an element. The ack is kept for ackCoalesceMs to add the results of the other elements of the
+     * same automation composition and message, unless all the elements have reported.
+     *
+     * @param ack the ack of an element
+     * @param complete true if all the elements of the automation composition have reported
+     */
+    public void send(AutomationCompositionDeployAck ack, boolean complete) {
+        if (ackCoalesceMs <= 0) {
+            publisher.sendAutomationCompositionAck(ack);
+            return;
+        }
+        var key = new AckKey(ack.getAutomationCompositionId(), ack.getResponseTo(), ack.getStateChangeResult(),
+                ack.getStage());
+        AutomationCompositionDeployAck ackToSend = null;
+        synchronized (pendingAcks) {
+            var pendingAck = pendingAcks.get(key);
+            if (pendingAck != null) {
+                pendingAck.getAutomationCompositionResultMap().putAll(ack.getAutomationCompositionResultMap());
+                pendingAck.setMessage(ack.getMessage());
+                ack = pendingAck;
+            }
+            if (complete) {
+                pendingAcks.remove(key);
+                ackToSend = ack;
+            } else if (pendingAck == null) {
+                pendingAcks.put(key, ack);
+                scheduler.schedule(() -> flush(key), ackCoalesceMs, TimeUnit.MILLISECONDS);
+            }
+        }
+        if (ackToSend != null) {
+            publisher.sendAutomationCompositionAck(ackToSend);
+        }
+    }
+
+    private void flush(AckKey key) {
+        AutomationCompositionDeployAck ack;
+        synchronized (pendingAcks) {
+            ack = pendingAcks.remove(key);
+        }
+        if (ack != null) {
+            sendSafely(ack);
+        }
+    }
+
+    private void sendSafely(AutomationCompositionDeployAck ack) {
+        try {
+            publisher.sendAutomationCompositionAck(ack);
+        } catch (RuntimeException e) {
+            LOGGER.error("Ack of automation composition {} not sent", ack.getAutomationCompositionId(), e);
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdown();
+        ArrayList<AutomationCompositionDeployAck> acks;
+        synchronized (pendingAcks) {
+            acks = new ArrayList<>(pendingAcks.values());
+            pendingAcks.clear();
+        }
+        acks.forEach(this::sendSafely);
+    }
+}
@@ -0,0 +1,224 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2024 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.clamp.acm.participant.intermediary.handler;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.onap.policy.common.endpoints.event.comm.Topic.CommInfrastructure;
+import org.onap.policy.common.endpoints.event.comm.TopicListener;
+import org.onap.policy.common.endpoints.listeners.MessageTypeDispatcher;
+import org.onap.policy.common.utils.coder.Coder;
+import org.onap.policy.common.utils.coder.CoderException;
+import org.onap.policy.common.utils.coder.StandardCoder;
+import org.onap.policy.common.utils.coder.StandardCoderObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Listener of a topic that moves the decoding and the handling of the messages off the thread of the topic source.
+ * The messages are decoded in parallel, then handled in the order they were received by automation composition
+ * instance, or by automation composition definition for the messages not related to an instance, so a long message
+ * does not delay the messages of the other instances. The sync messages are all handled in one lane in the order they
+ * were received, as a restart sync of a composition and the sync of one of its instances must not be reordered.
+ * At most a maximum number of messages are received and not handled yet; then the thread of the topic source waits,
+ * so the messages are left in the topic.
+ */
+class AsyncTopicDispatcher implements TopicListener {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AsyncTopicDispatcher.class);
+
+    private static final Coder CODER = new StandardCoder();
+    private static final String METRIC_PREFIX = "participant.dispatch.";
+    private static final String TOPIC_TAG = "topic";
+    private static final String INSTANCE_ID = "automationCompositionId";
+    private static final String COMPOSITION_ID = "compositionId";
+    private static final String MESSAGE_TYPE = "messageType";
+    // lane of the sync messages, whatever the instance or composition
+    private static final String SYNC_LANE = "PARTICIPANT_SYNC_MSG";
+    // lane of the messages related to the participant only
+    private static final String PARTICIPANT_LANE = "";
+    private static final long STOP_TIMEOUT_MS = 10000;
+
+    private final String topic;
+    private final MessageTypeDispatcher dispatcher;
+    private final int threads;
+    private final Timer decodeTimer;
+    private final Timer lagTimer;
+    private final Semaphore inFlight;
+
+    private ExecutorService executor;
+    // decoded messages are passed to the lanes in the order they were received
+    private CompletableFuture<Void> sequencer = CompletableFuture.completedFuture(null);
+    private final Map<String, Queue<Runnable>> lanes = new HashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param topic the topic
+     * @param dispatcher the dispatcher of the messages to the listeners
+     * @param threads the number of threads that decode and handle the messages
+     * @param maxInFlight the maximum number of messages received and not handled yet
+     */
+    AsyncTopicDispatcher(String topic, MessageTypeDispatcher dispatcher, int threads, int maxInFlight) {
+        this.topic = topic;
+        this.dispatcher = dispatcher;
+        this.threads = threads;
+        this.inFlight = new Semaphore(maxInFlight);
+        this.decodeTimer = Timer.builder(METRIC_PREFIX + "decode").tag(TOPIC_TAG, topic)
+                .register(Metrics.globalRegistry);
+        this.lagTimer = Timer.builder(METRIC_PREFIX + "lag").tag(TOPIC_TAG, topic).register(Metrics.globalRegistry);
+    }
+
+    /**
+     * Start the threads.
+     */
+    synchronized void start() {
+        executor = Executors.newFixedThreadPool(threads);
+    }
+
+    /**
+     * Stop the threads, after the messages already received are handled.
+     */
+    void stop() {
+        CompletableFuture<Void> last;
+        synchronized (this) {
+            last = sequencer;
+        }
+        var deadline = System.currentTimeMillis() + STOP_TIMEOUT_MS;
+        try {
+            last.get(STOP_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            synchronized (lanes) {
+                var remaining = deadline - System.currentTimeMillis();
+                while (!lanes.isEmpty() && remaining > 0) {
+                    lanes.wait(remaining);
+                    remaining = deadline - System.currentTimeMillis();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            LOGGER.warn("Messages of topic {} still handled at stop", topic);
+        }
+        executor.shutdown();
+    }
+
+    @Override
+    public void onTopicEvent(CommInfrastructure infra, String topicName, String event) {
+        try {
+            // the thread of the topic source waits while too many messages are not handled yet
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            LOGGER.warn("Message of topic {} not dispatched, interrupted", topic);
+            Thread.currentThread().interrupt();
+            return;
+        }
+        var received = System.nanoTime();
+        synchronized (this) {
+            var decoded = CompletableFuture.supplyAsync(() -> decode(event), executor);
+            sequencer = sequencer.thenCombine(decoded, (previous, sco) -> {
+                if (sco == null) {
+                    inFlight.release();
+                } else {
+                    dispatch(laneOf(sco), () -> {
+                        lagTimer.record(System.nanoTime() - received, TimeUnit.NANOSECONDS);
+                        dispatcher.onTopicEvent(infra, topicName, sco);
+                    });
+                }
+                return previous;
+            }).exceptionally(e -> {
+                LOGGER.error("Message of topic {} not dispatched", topic, e);
+                inFlight.release();
+                return null;
+            });
+        }
+    }
+
+    private StandardCoderObject decode(String event) {
+        var sample = Timer.start();
+        try {
+            return CODER.decode(event, StandardCoderObject.class);
+        } catch (CoderException e) {
+            LOGGER.warn("Unable to decode message of topic {}", topic, e);
+            return null;
+        } finally {
+            sample.stop(decodeTimer);
+        }
+    }
+
+    private static String laneOf(StandardCoderObject sco) {
+        if (SYNC_LANE.equals(sco.getString(MESSAGE_TYPE))) {
+            return SYNC_LANE;
+        }
+        var instanceId = sco.getString(INSTANCE_ID);
+        if (instanceId != null) {
+            return instanceId;
+        }
+        var compositionId = sco.getString(COMPOSITION_ID);
+        return compositionId != null ? compositionId : PARTICIPANT_LANE;
+    }
+
+    private void dispatch(String lane, Runnable handler) {
+        synchronized (lanes) {
+            var queue = lanes.computeIfAbsent(lane, key -> new ArrayDeque<>());
+            queue.add(handler);
+            if (queue.size() == 1) {
+                executor.execute(() -> runNext(lane));
+            }
+        }
+    }
+
+    /**
+     * Run the next message of a lane; one message per task, so a busy lane does not hold a thread.
+     */
+    private void runNext(String lane) {
+        Runnable handler;
+        synchronized (lanes) {
+            handler = lanes.get(lane).peek();
+        }
+        try {
+            handler.run();
+        } catch (RuntimeException e) {
+            LOGGER.error("Message of topic {} not handled", topic, e);
+        } finally {
+            inFlight.release();
+        }
+        synchronized (lanes) {
+            var queue = lanes.get(lane);
+            queue.poll();
+            if (queue.isEmpty()) {
+                lanes.remove(lane);
+                lanes.notifyAll();
+            } else {
+                executor.execute(() -> runNext(lane));
+            }
+        }
+    }
+}
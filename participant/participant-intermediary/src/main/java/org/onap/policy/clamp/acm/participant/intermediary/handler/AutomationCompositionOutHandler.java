@@ -55,6 +55,8 @@ public class AutomationCompositionOutHandler {
 
     private final ParticipantMessagePublisher publisher;
     private final CacheProvider cacheProvider;
+    private final AckAggregator ackAggregator;
+    private final ElementInfoAggregator elementInfoAggregator;
 
     /**
      * Handle a automation composition element stage change message.
@@ -98,8 +100,8 @@ public class AutomationCompositionOutHandler {
                 element.getUseState(), element.getOutProperties(), true, message));
         LOGGER.debug("Automation composition element {} stage changed to {}", elementId, stage);
         automationCompositionStateChangeAck.setResult(true);
-        publisher.sendAutomationCompositionAck(automationCompositionStateChangeAck);
         cacheProvider.getMsgIdentification().remove(element.getId());
+        ackAggregator.send(automationCompositionStateChangeAck, isAllReported(automationComposition));
     }
 
     private boolean validateData(UUID instance, UUID elementId, StateChangeResult stateChangeResult) {
@@ -181,8 +183,13 @@ public class AutomationCompositionOutHandler {
                         element.getUseState(), element.getOutProperties(), true, message));
         LOGGER.debug("Automation composition element {} state changed to {}", elementId, deployState);
         automationCompositionStateChangeAck.setResult(true);
-        publisher.sendAutomationCompositionAck(automationCompositionStateChangeAck);
         cacheProvider.getMsgIdentification().remove(element.getId());
+        ackAggregator.send(automationCompositionStateChangeAck, isAllReported(automationComposition));
+    }
+
+    private boolean isAllReported(AutomationComposition automationComposition) {
+        var msgIdentification = cacheProvider.getMsgIdentification();
+        return automationComposition.getElements().keySet().stream().noneMatch(msgIdentification::containsKey);
     }
 
     private void handleDeployState(AutomationComposition automationComposition, AutomationCompositionElement element,
@@ -267,10 +274,7 @@ public class AutomationCompositionOutHandler {
         acInfo.setDeployState(automationComposition.getDeployState());
         acInfo.setLockState(automationComposition.getLockState());
         acInfo.setElements(List.of(getAutomationCompositionElementInfo(element)));
-        var statusMsg = createParticipantStatus();
-        statusMsg.setCompositionId(automationComposition.getCompositionId());
-        statusMsg.setAutomationCompositionInfoList(List.of(acInfo));
-        publisher.sendParticipantStatus(statusMsg);
+        elementInfoAggregator.send(automationComposition.getCompositionId(), acInfo);
     }
 
     /**
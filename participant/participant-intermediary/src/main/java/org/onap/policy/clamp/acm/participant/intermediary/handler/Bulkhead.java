@@ -0,0 +1,116 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2024 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.clamp.acm.participant.intermediary.handler;
+
+import java.util.PriorityQueue;
+import java.util.concurrent.Executor;
+import lombok.Getter;
+import org.onap.policy.clamp.acm.participant.intermediary.parameters.BulkheadParameters;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaConceptIdentifier;
+
+/**
+ * Limit of the operations running at the same time for an element type and operations, with a bounded queue ordered
+ * by priority for the operations waiting.
+ */
+class Bulkhead {
+
+    @Getter
+    private final String name;
+
+    private final BulkheadParameters parameters;
+    private final Executor executor;
+    private final PriorityQueue<OperationTask> queue = new PriorityQueue<>();
+    private int running = 0;
+
+    /**
+     * Constructor.
+     *
+     * @param parameters the parameters of the bulkhead
+     * @param executor the executor that runs the operations
+     */
+    Bulkhead(BulkheadParameters parameters, Executor executor) {
+        this.name = parameters.getName();
+        this.parameters = parameters;
+        this.executor = executor;
+    }
+
+    /**
+     * Check if an operation is limited by this bulkhead.
+     *
+     * @param operation the operation
+     * @param elementDefinitionId the element definition, null for a composition
+     * @return true if the operation is limited by this bulkhead
+     */
+    boolean matches(ElementOperation operation, ToscaConceptIdentifier elementDefinitionId) {
+        if (parameters.getElementType() != null && (elementDefinitionId == null
+                || !parameters.getElementType().equals(elementDefinitionId.getName()))) {
+            return false;
+        }
+        return parameters.getOperations().isEmpty() || parameters.getOperations().contains(operation);
+    }
+
+    /**
+     * Run an operation if the limit is not reached, or queue it.
+     *
+     * @param task the operation
+     * @return false if the queue is full and the operation is rejected
+     */
+    synchronized boolean offer(OperationTask task) {
+        if (running < parameters.getMaxConcurrent()) {
+            running++;
+            executor.execute(task);
+            return true;
+        }
+        if (queue.size() >= parameters.getMaxQueued()) {
+            return false;
+        }
+        queue.add(task);
+        return true;
+    }
+
+    /**
+     * Release the place of an operation completed, and run the next operation queued.
+     */
+    synchronized void release() {
+        var next = queue.poll();
+        while (next != null && next.isCancelled()) {
+            next = queue.poll();
+        }
+        if (next != null) {
+            executor.execute(next);
+        } else {
+            running--;
+        }
+    }
+
+    /**
+     * Remove an operation cancelled while queued.
+     *
+     * @param task the operation
+     */
+    synchronized void remove(OperationTask task) {
+        queue.remove(task);
+    }
+
+    synchronized int getQueueSize() {
+        return queue.size();
+    }
+}
@@ -20,12 +20,21 @@
 
 package org.onap.policy.clamp.acm.participant.intermediary.handler;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.Setter;
@@ -43,6 +52,7 @@ import org.onap.policy.clamp.models.acm.concepts.ParticipantDeploy;
 import org.onap.policy.clamp.models.acm.concepts.ParticipantRestartAc;
 import org.onap.policy.clamp.models.acm.concepts.ParticipantSupportedElementType;
 import org.onap.policy.clamp.models.acm.concepts.SubState;
+import org.onap.policy.clamp.models.acm.utils.SyncDigestHelper;
 import org.onap.policy.models.base.PfUtils;
 import org.onap.policy.models.tosca.authorative.concepts.ToscaConceptIdentifier;
 import org.onap.policy.models.tosca.authorative.concepts.ToscaServiceTemplate;
@@ -51,6 +61,22 @@ import org.springframework.stereotype.Component;
 @Component
 public class CacheProvider {
 
+    private static final String METRIC_NAME = "participant.cache.size";
+    private static final String CACHE_TAG = "cache";
+
+    // equal identifiers, common properties and service template fragments are shared by all instances and compositions,
+    // each interner keeps its own copy so the messages decoded can not change the instances shared
+    private static final Interner<ToscaConceptIdentifier> IDENTIFIERS = new Interner<>();
+    private static final Interner<Map<String, Object>> PROPERTIES = new Interner<>();
+    private static final Interner<ToscaServiceTemplate> FRAGMENTS = new Interner<>();
+
+    // the message lanes and the participant threads change the cache concurrently holding the shared lock, the local
+    // snapshot holds the exclusive lock while it copies the cache
+    private static final ReadWriteLock UPDATE_LOCK = new ReentrantReadWriteLock();
+
+    // number of changes of the cache, so the local snapshot is not copied when nothing has changed
+    private static final AtomicLong MODIFICATIONS = new AtomicLong();
+
     @Getter
     private final UUID participantId;
 
@@ -85,6 +111,65 @@ public class CacheProvider {
         this.participantId = parameters.getIntermediaryParameters().getParticipantId();
         this.supportedAcElementTypes = parameters.getIntermediaryParameters().getParticipantSupportedElementTypes();
         this.replicaId = UUID.randomUUID();
+        registerGauge("instances", cache -> cache.automationCompositions.size());
+        registerGauge("elements", CacheProvider::countElements);
+        registerGauge("definitions", cache -> cache.acElementsDefinitions.values().stream().mapToInt(Map::size).sum());
+        registerGauge("fragments", cache -> cache.serviceTemplateFragmentMap.size());
+        registerGauge("interned", cache -> IDENTIFIERS.size() + PROPERTIES.size() + FRAGMENTS.size());
+    }
+
+    /**
+     * Run a change of the cache; changes run concurrently, but not while the local snapshot copies the cache.
+     *
+     * @param update the change of the cache
+     */
+    public static void runUpdate(Runnable update) {
+        UPDATE_LOCK.readLock().lock();
+        try {
+            update.run();
+        } finally {
+            MODIFICATIONS.incrementAndGet();
+            UPDATE_LOCK.readLock().unlock();
+        }
+    }
+
+    /**
+     * Get the number of changes of the cache run so far; read while holding the exclusive lock, it matches the
+     * content of the cache.
+     *
+     * @return the number of changes
+     */
+    static long getModificationCount() {
+        return MODIFICATIONS.get();
+    }
+
+    /**
+     * Copy the cache while no change is running.
+     *
+     * @param copier the copy of the cache
+     * @return the copy
+     */
+    static <T> T copyExclusive(Supplier<T> copier) {
+        UPDATE_LOCK.writeLock().lock();
+        try {
+            return copier.get();
+        } finally {
+            UPDATE_LOCK.writeLock().unlock();
+        }
+    }
+
+    private void registerGauge(String cache, ToDoubleFunction<CacheProvider> size) {
+        Gauge.builder(METRIC_NAME, this, size).tag(CACHE_TAG, cache).register(Metrics.globalRegistry);
+    }
+
+    /**
+     * Count the elements of all the automation compositions in the cache.
+     *
+     * @return the number of elements
+     */
+    int countElements() {
+        return automationCompositions.values().stream()
+                .mapToInt(automationComposition -> automationComposition.getElements().size()).sum();
     }
 
     public List<ParticipantSupportedElementType> getSupportedAcElementTypes() {
@@ -110,6 +195,16 @@ public class CacheProvider {
         automationCompositions.remove(automationCompositionId);
     }
 
+    /**
+     * Remove all the AutomationCompositions of a composition.
+     *
+     * @param compositionId the composition Id
+     */
+    public void removeAutomationCompositions(@NonNull UUID compositionId) {
+        automationCompositions.values()
+                .removeIf(automationComposition -> compositionId.equals(automationComposition.getCompositionId()));
+    }
+
     /**
      * Add ElementDefinition.
      *
@@ -119,11 +214,74 @@ public class CacheProvider {
     public void addElementDefinition(@NonNull UUID compositionId, List<AutomationCompositionElementDefinition> list) {
         Map<ToscaConceptIdentifier, AutomationCompositionElementDefinition> map = new HashMap<>();
         for (var acElementDefinition : list) {
-            map.put(acElementDefinition.getAcElementDefinitionId(), acElementDefinition);
+            var definitionId =
+                    IDENTIFIERS.intern(acElementDefinition.getAcElementDefinitionId(), ToscaConceptIdentifier::new);
+            acElementDefinition.setAcElementDefinitionId(definitionId);
+            var nodeTemplate = acElementDefinition.getAutomationCompositionElementToscaNodeTemplate();
+            if (nodeTemplate != null && nodeTemplate.getProperties() != null) {
+                nodeTemplate.setProperties(PROPERTIES.intern(nodeTemplate.getProperties(),
+                        properties -> Collections.unmodifiableMap(new LinkedHashMap<>(properties))));
+            }
+            map.put(definitionId, acElementDefinition);
         }
         acElementsDefinitions.put(compositionId, map);
     }
 
+    /**
+     * Restore the service template fragment of a composition from the local snapshot.
+     *
+     * @param compositionId the composition Id
+     * @param serviceTemplateFragment the service template fragment
+     */
+    void restoreServiceTemplateFragment(@NonNull UUID compositionId, ToscaServiceTemplate serviceTemplateFragment) {
+        serviceTemplateFragmentMap.put(compositionId,
+                FRAGMENTS.intern(serviceTemplateFragment, ToscaServiceTemplate::new));
+    }
+
+    /**
+     * Restore an AutomationComposition from the local snapshot.
+     *
+     * @param automationComposition the AutomationComposition
+     */
+    void restoreAutomationComposition(@NonNull AutomationComposition automationComposition) {
+        for (var element : automationComposition.getElements().values()) {
+            element.setDefinition(IDENTIFIERS.intern(element.getDefinition(), ToscaConceptIdentifier::new));
+        }
+        automationCompositions.put(automationComposition.getInstanceId(), automationComposition);
+    }
+
+    /**
+     * Get the digests of the element definitions in the cache, used by the runtime to sync only what has changed.
+     *
+     * @return the digests by compositionId
+     */
+    public Map<UUID, String> getCompositionDigests() {
+        Map<UUID, String> digests = new LinkedHashMap<>();
+        acElementsDefinitions.forEach((compositionId, map) ->
+                digests.put(compositionId, SyncDigestHelper.definitionDigest(map.values())));
+        return digests;
+    }
+
+    /**
+     * Get the aggregate digests of the automation compositions in the cache, used by the runtime to sync only the
+     * compositions whose instances have changed.
+     *
+     * @return the digests by compositionId
+     */
+    public Map<UUID, String> getCompositionInstanceDigests() {
+        Map<UUID, List<AutomationComposition>> byComposition = new LinkedHashMap<>();
+        for (var automationComposition : automationCompositions.values()) {
+            if (automationComposition.getCompositionId() != null) {
+                byComposition.computeIfAbsent(automationComposition.getCompositionId(), key -> new ArrayList<>())
+                        .add(automationComposition);
+            }
+        }
+        Map<UUID, String> digests = new LinkedHashMap<>();
+        byComposition.forEach((compositionId, list) ->
+                digests.put(compositionId, SyncDigestHelper.instancesDigest(list, participantId)));
+        return digests;
+    }
+
     public void removeElementDefinition(@NonNull UUID compositionId) {
         acElementsDefinitions.remove(compositionId);
         serviceTemplateFragmentMap.remove(compositionId);
@@ -193,7 +351,8 @@ public class CacheProvider {
                 acElement.setOperationalState(acElementLast.getOperationalState());
                 acElement.setUseState(acElementLast.getUseState());
                 if (element.getToscaServiceTemplateFragment() != null) {
-                    serviceTemplateFragmentMap.put(compositionId, element.getToscaServiceTemplateFragment());
+                    serviceTemplateFragmentMap.put(compositionId,
+                            FRAGMENTS.intern(element.getToscaServiceTemplateFragment(), ToscaServiceTemplate::new));
                 }
             }
             acElementMap.put(element.getId(), acElement);
@@ -223,7 +382,7 @@ public class CacheProvider {
             var acElement = new AutomationCompositionElement();
             acElement.setId(element.getId());
             acElement.setParticipantId(getParticipantId());
-            acElement.setDefinition(element.getDefinition());
+            acElement.setDefinition(IDENTIFIERS.intern(element.getDefinition(), ToscaConceptIdentifier::new));
             acElement.setDeployState(element.getDeployState());
             acElement.setLockState(element.getLockState());
             acElement.setSubState(SubState.NONE);
@@ -233,7 +392,8 @@ public class CacheProvider {
             acElement.setOutProperties(element.getOutProperties());
             acElementMap.put(element.getId(), acElement);
             if (element.getToscaServiceTemplateFragment() != null) {
-                serviceTemplateFragmentMap.put(compositionId, element.getToscaServiceTemplateFragment());
+                serviceTemplateFragmentMap.put(compositionId,
+                        FRAGMENTS.intern(element.getToscaServiceTemplateFragment(), ToscaServiceTemplate::new));
             }
         }
 
@@ -255,7 +415,7 @@ public class CacheProvider {
     public static AutomationCompositionElement createAutomationCompositionElement(AcElementDeploy element) {
         var acElement = new AutomationCompositionElement();
         acElement.setId(element.getId());
-        acElement.setDefinition(element.getDefinition());
+        acElement.setDefinition(IDENTIFIERS.intern(element.getDefinition(), ToscaConceptIdentifier::new));
         acElement.setProperties(element.getProperties());
         acElement.setSubState(SubState.NONE);
         acElement.setLockState(LockState.LOCKED);
@@ -0,0 +1,185 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2024 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.clamp.acm.participant.intermediary.handler;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.onap.policy.clamp.acm.participant.intermediary.parameters.ParticipantParameters;
+import org.onap.policy.clamp.models.acm.concepts.AutomationComposition;
+import org.onap.policy.clamp.models.acm.concepts.AutomationCompositionElementDefinition;
+import org.onap.policy.clamp.models.acm.utils.LobCompressionHelper;
+import org.onap.policy.common.utils.coder.Coder;
+import org.onap.policy.common.utils.coder.CoderException;
+import org.onap.policy.common.utils.coder.StandardCoder;
+import org.onap.policy.models.base.PfUtils;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaServiceTemplate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Local snapshot of the cache of the participant. The element definitions, the service template fragments and the
+ * automation compositions are saved periodically in background, and loaded when the participant starts, so the
+ * runtime has to send in the restart sync only what has changed in the meantime.
+ */
+@Component
+public class CacheSnapshot implements Closeable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CacheSnapshot.class);
+    private static final Coder CODER = new StandardCoder();
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final CacheProvider cacheProvider;
+    private final Path path;
+    private final ScheduledExecutorService scheduler;
+
+    // hash of the last snapshot saved, to skip the write when the cache has not changed
+    private String lastHash;
+
+    // number of changes of the cache at the last snapshot, to skip the copy when no change has run since; no snapshot
+    // is taken yet, so the first one is always copied
+    private long lastModificationCount = -1;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    static class Snapshot {
+        private UUID participantId;
+        private Map<UUID, List<AutomationCompositionElementDefinition>> definitions = new LinkedHashMap<>();
+        private Map<UUID, ToscaServiceTemplate> fragments = new LinkedHashMap<>();
+        private List<AutomationComposition> automationCompositions = new ArrayList<>();
+    }
+
+    private record CopiedSnapshot(Snapshot snapshot, long modificationCount) {
+    }
+
+    /**
+     * Constructor, the cache is loaded from the snapshot if present.
+     *
+     * @param cacheProvider the cache provider
+     * @param parameters the parameters of the participant
+     */
+    public CacheSnapshot(CacheProvider cacheProvider, ParticipantParameters parameters) {
+        this.cacheProvider = cacheProvider;
+        var snapshotParameters = parameters.getIntermediaryParameters().getSnapshot();
+        if (snapshotParameters.getPath().isBlank()) {
+            this.path = null;
+            this.scheduler = null;
+            return;
+        }
+        this.path = Path.of(snapshotParameters.getPath());
+        load();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor();
+        scheduler.scheduleWithFixedDelay(this::save, snapshotParameters.getIntervalMs(),
+                snapshotParameters.getIntervalMs(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Load the cache from the snapshot; a missing, unreadable or foreign snapshot leaves the cache empty.
+     */
+    void load() {
+        if (!Files.exists(path)) {
+            LOGGER.info("Snapshot {} not present, the cache starts empty", path);
+            return;
+        }
+        Snapshot snapshot;
+        try {
+            snapshot = CODER.decode(Files.readString(path, StandardCharsets.UTF_8), Snapshot.class);
+        } catch (IOException | CoderException e) {
+            LOGGER.warn("Snapshot {} not readable, the cache starts empty", path, e);
+            return;
+        }
+        if (!cacheProvider.getParticipantId().equals(snapshot.getParticipantId())) {
+            LOGGER.warn("Snapshot {} saved by participant {}, the cache starts empty", path,
+                    snapshot.getParticipantId());
+            return;
+        }
+        snapshot.getDefinitions().forEach(cacheProvider::addElementDefinition);
+        snapshot.getFragments().forEach(cacheProvider::restoreServiceTemplateFragment);
+        snapshot.getAutomationCompositions().forEach(cacheProvider::restoreAutomationComposition);
+        LOGGER.info("Cache loaded from snapshot {}: {} compositions, {} instances", path,
+                snapshot.getDefinitions().size(), snapshot.getAutomationCompositions().size());
+    }
+
+    /**
+     * Save the cache to the snapshot, if it has changed since the last save. When no change of the cache has run since
+     * the last snapshot, the cache is neither copied nor encoded. The snapshot is written to a temporary file and then
+     * moved in place, so a crash during the write never leaves a partial snapshot.
+     */
+    synchronized void save() {
+        try {
+            if (CacheProvider.getModificationCount() == lastModificationCount) {
+                return;
+            }
+            var copied = createSnapshot();
+            var json = CODER.encode(copied.snapshot());
+            var hash = LobCompressionHelper.sha256(json);
+            if (!hash.equals(lastHash)) {
+                var tempPath = path.resolveSibling(path.getFileName() + TEMP_SUFFIX);
+                Files.writeString(tempPath, json, StandardCharsets.UTF_8);
+                Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                lastHash = hash;
+                LOGGER.debug("Cache saved to snapshot {}", path);
+            }
+            lastModificationCount = copied.modificationCount();
+        } catch (IOException | CoderException | RuntimeException e) {
+            LOGGER.warn("Cache not saved to snapshot {}", path, e);
+        }
+    }
+
+    private CopiedSnapshot createSnapshot() {
+        // copies taken while no change is running, the encoding then runs without blocking the changes; the
+        // fragments are interned and never changed, so they are not copied
+        return CacheProvider.copyExclusive(() -> {
+            var snapshot = new Snapshot();
+            snapshot.setParticipantId(cacheProvider.getParticipantId());
+            cacheProvider.getAcElementsDefinitions().forEach((compositionId, map) -> snapshot.getDefinitions()
+                    .put(compositionId, PfUtils.mapList(new ArrayList<>(map.values()),
+                            AutomationCompositionElementDefinition::new)));
+            snapshot.getFragments().putAll(cacheProvider.getServiceTemplateFragmentMap());
+            cacheProvider.getAutomationCompositions().values().forEach(automationComposition ->
+                    snapshot.getAutomationCompositions().add(new AutomationComposition(automationComposition)));
+            return new CopiedSnapshot(snapshot, CacheProvider.getModificationCount());
+        });
+    }
+
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            save();
+        }
+    }
+}
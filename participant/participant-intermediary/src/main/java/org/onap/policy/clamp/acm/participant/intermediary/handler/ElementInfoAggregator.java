@@ -0,0 +1,164 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2024 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.clamp.acm.participant.intermediary.handler;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.onap.policy.clamp.acm.participant.intermediary.comm.ParticipantMessagePublisher;
+import org.onap.policy.clamp.acm.participant.intermediary.parameters.ParticipantParameters;
+import org.onap.policy.clamp.models.acm.concepts.AutomationCompositionElementInfo;
+import org.onap.policy.clamp.models.acm.concepts.AutomationCompositionInfo;
+import org.onap.policy.clamp.models.acm.concepts.ParticipantState;
+import org.onap.policy.clamp.models.acm.messages.kafka.participant.ParticipantStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Collect the updates of useState, operationalState and outProperties of the elements, to send them to the runtime
+ * in one ParticipantStatus message for each automation composition definition. Only the latest update of an element
+ * is sent.
+ */
+@Component
+public class ElementInfoAggregator implements Closeable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ElementInfoAggregator.class);
+
+    private final ParticipantMessagePublisher publisher;
+    private final CacheProvider cacheProvider;
+    private final long maxDelayMs;
+    private final int maxSize;
+
+    // pending updates by instanceId
+    private final Map<UUID, PendingInfo> pendingInfoMap = new LinkedHashMap<>();
+    private int pendingSize = 0;
+    private boolean flushScheduled = false;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+    private record PendingInfo(UUID compositionId, AutomationCompositionInfo acInfo,
+            Map<UUID, AutomationCompositionElementInfo> elements) {
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param publisher the publisher
+     * @param cacheProvider the cache provider
+     * @param parameters the parameters of the participant
+     */
+    public ElementInfoAggregator(ParticipantMessagePublisher publisher, CacheProvider cacheProvider,
+            ParticipantParameters parameters) {
+        this.publisher = publisher;
+        this.cacheProvider = cacheProvider;
+        this.maxDelayMs = parameters.getIntermediaryParameters().getElementInfoMaxDelayMs();
+        this.maxSize = parameters.getIntermediaryParameters().getElementInfoMaxSize();
+    }
+
+    /**
+     * Send the info of an element. The info is kept up to maxDelayMs, or until maxSize elements are pending, to send
+     * it with the info of the other elements.
+     *
+     * @param compositionId the compositionId of the automation composition
+     * @param acInfo the AutomationCompositionInfo with the info of the element
+     */
+    public void send(UUID compositionId, AutomationCompositionInfo acInfo) {
+        if (maxDelayMs <= 0) {
+            publisher.sendParticipantStatus(createParticipantStatus(compositionId, List.of(acInfo)));
+            return;
+        }
+        boolean flushNow;
+        synchronized (pendingInfoMap) {
+            var pendingInfo = pendingInfoMap.get(acInfo.getAutomationCompositionId());
+            if (pendingInfo == null) {
+                pendingInfo = new PendingInfo(compositionId, acInfo, new LinkedHashMap<>());
+                pendingInfoMap.put(acInfo.getAutomationCompositionId(), pendingInfo);
+            } else {
+                pendingInfo.acInfo().setDeployState(acInfo.getDeployState());
+                pendingInfo.acInfo().setLockState(acInfo.getLockState());
+            }
+            for (var element : acInfo.getElements()) {
+                if (pendingInfo.elements().put(element.getAutomationCompositionElementId(), element) == null) {
+                    pendingSize++;
+                }
+            }
+            flushNow = pendingSize >= maxSize;
+            if (!flushNow && !flushScheduled) {
+                flushScheduled = true;
+                scheduler.schedule(this::scheduledFlush, maxDelayMs, TimeUnit.MILLISECONDS);
+            }
+        }
+        if (flushNow) {
+            flush();
+        }
+    }
+
+    private void scheduledFlush() {
+        synchronized (pendingInfoMap) {
+            flushScheduled = false;
+        }
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            LOGGER.error("Info of automation composition elements not sent", e);
+        }
+    }
+
+    /**
+     * Send all pending info, in one ParticipantStatus message for each automation composition definition.
+     */
+    public void flush() {
+        var acInfoMap = new LinkedHashMap<UUID, List<AutomationCompositionInfo>>();
+        synchronized (pendingInfoMap) {
+            for (var pendingInfo : pendingInfoMap.values()) {
+                var acInfo = pendingInfo.acInfo();
+                acInfo.setElements(new ArrayList<>(pendingInfo.elements().values()));
+                acInfoMap.computeIfAbsent(pendingInfo.compositionId(), key -> new ArrayList<>()).add(acInfo);
+            }
+            pendingInfoMap.clear();
+            pendingSize = 0;
+        }
+        acInfoMap.forEach((compositionId, acInfoList) ->
+                publisher.sendParticipantStatus(createParticipantStatus(compositionId, acInfoList)));
+    }
+
+    private ParticipantStatus createParticipantStatus(UUID compositionId, List<AutomationCompositionInfo> acInfoList) {
+        var statusMsg = new ParticipantStatus();
+        statusMsg.setParticipantId(cacheProvider.getParticipantId());
+        statusMsg.setReplicaId(cacheProvider.getReplicaId());
+        statusMsg.setState(ParticipantState.ON_LINE);
+        statusMsg.setParticipantSupportedElementType(cacheProvider.getSupportedAcElementTypes());
+        statusMsg.setCompositionId(compositionId);
+        statusMsg.setAutomationCompositionInfoList(acInfoList);
+        return statusMsg;
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdown();
+        flush();
+    }
+}
@@ -0,0 +1,40 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2024 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.clamp.acm.participant.intermediary.handler;
+
+/**
+ * Operations run by the ThreadHandler, in order of priority: operations that release resources or unblock the runtime
+ * run ahead of deploys.
+ */
+public enum ElementOperation {
+    DELETE,
+    UNDEPLOY,
+    DEPRIME,
+    PRIME,
+    UNLOCK,
+    LOCK,
+    UPDATE,
+    MIGRATE_PRECHECK,
+    MIGRATE,
+    REVIEW,
+    PREPARE,
+    DEPLOY
+}
@@ -21,15 +21,22 @@
 
 package org.onap.policy.clamp.acm.participant.intermediary.handler;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
 import java.io.Closeable;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Timer;
 import java.util.TimerTask;
 import lombok.Getter;
+import org.onap.policy.clamp.acm.participant.intermediary.parameters.OutboundParameters;
+import org.onap.policy.clamp.acm.participant.intermediary.parameters.ParticipantIntermediaryParameters;
 import org.onap.policy.clamp.acm.participant.intermediary.parameters.ParticipantParameters;
 import org.onap.policy.clamp.acm.participant.intermediary.parameters.Topics;
+import org.onap.policy.clamp.common.acm.messaging.AsyncMessageSender;
 import org.onap.policy.common.endpoints.event.comm.TopicEndpointManager;
+import org.onap.policy.common.endpoints.event.comm.TopicListener;
 import org.onap.policy.common.endpoints.event.comm.TopicSink;
 import org.onap.policy.common.endpoints.event.comm.TopicSource;
 import org.onap.policy.common.endpoints.listeners.MessageTypeDispatcher;
@@ -46,6 +53,8 @@ import org.springframework.stereotype.Component;
 public class IntermediaryActivator extends ServiceManagerContainer implements Closeable {
 
     private static final String[] MSG_TYPE_NAMES = {"messageType"};
+    private static final String OUTBOUND_METRIC_PREFIX = "participant.outbound.";
+    private static final String SENDER_TAG = "sender";
 
     // Topics from which the participant receives and to which the participant sends messages
     private final List<TopicSink> topicSinks;
@@ -53,12 +62,21 @@ public class IntermediaryActivator extends ServiceManagerContainer implements Cl
 
     private final ParticipantHandler participantHandler;
 
+    // Queue of the messages sent to the runtime, null if the messages are sent on the publishing thread
+    private AsyncMessageSender sender;
+    private final List<Gauge> senderGauges = new ArrayList<>();
+
     @Getter
     private final MessageTypeDispatcher msgDispatcher;
 
     @Getter
     private final MessageTypeDispatcher syncMsgDispatcher;
 
+    // Listeners registered with the topic sources, the dispatchers or the async dispatchers that wrap them
+    private final TopicListener msgListener;
+    private final TopicListener syncMsgListener;
+    private final List<AsyncTopicDispatcher> asyncDispatchers = new ArrayList<>();
+
     /**
      * Instantiate the activator for participant.
      *
@@ -81,6 +99,11 @@ public class IntermediaryActivator extends ServiceManagerContainer implements Cl
 
         syncMsgDispatcher = new MessageTypeDispatcher(MSG_TYPE_NAMES);
 
+        var topics = parameters.getIntermediaryParameters().getTopics();
+        var intermediaryParameters = parameters.getIntermediaryParameters();
+        msgListener = createListener(topics.getOperationTopic(), msgDispatcher, intermediaryParameters);
+        syncMsgListener = createListener(topics.getSyncTopic(), syncMsgDispatcher, intermediaryParameters);
+
         // @formatter:off
         addAction("Topic endpoint management",
             () -> TopicEndpointManager.getManager().start(),
@@ -96,18 +119,50 @@ public class IntermediaryActivator extends ServiceManagerContainer implements Cl
                         () -> syncMsgDispatcher.register(listener.getType(), listener.getScoListener()),
                         () -> syncMsgDispatcher.unregister(listener.getType())));
 
+        var outbound = parameters.getIntermediaryParameters().getOutbound();
+        addAction("Outbound queue", () -> startSender(outbound), this::stopSender);
+
         publishers.forEach(publisher ->
             addAction("Publisher " + publisher.getClass().getSimpleName(),
-                () -> publisher.active(topicSinks),
+                () -> publisher.active(topicSinks, sender),
                 publisher::stop));
 
-        var topics = parameters.getIntermediaryParameters().getTopics();
-
         addAction("Topic Message Dispatcher", () -> this.registerMsgDispatcher(topics),
                 () -> this.unregisterMsgDispatcher(topics));
         // @formatter:on
     }
 
+    private TopicListener createListener(String topic, MessageTypeDispatcher dispatcher,
+            ParticipantIntermediaryParameters intermediaryParameters) {
+        if (intermediaryParameters.getDispatchThreads() <= 0) {
+            return dispatcher;
+        }
+        var asyncDispatcher = new AsyncTopicDispatcher(topic, dispatcher, intermediaryParameters.getDispatchThreads(),
+                intermediaryParameters.getDispatchMaxInFlight());
+        asyncDispatchers.add(asyncDispatcher);
+        return asyncDispatcher;
+    }
+
+    private void startSender(OutboundParameters outbound) {
+        if (outbound.getQueueSize() > 0) {
+            sender = new AsyncMessageSender("participant", outbound.getQueueSize(), outbound.getOfferTimeoutMs());
+            senderGauges.add(Gauge.builder(OUTBOUND_METRIC_PREFIX + "queued", sender, AsyncMessageSender::getQueueSize)
+                    .tag(SENDER_TAG, sender.getName()).register(Metrics.globalRegistry));
+            senderGauges.add(Gauge.builder(OUTBOUND_METRIC_PREFIX + "backpressured", sender,
+                    s -> s.isBackpressured() ? 1 : 0).tag(SENDER_TAG, sender.getName())
+                    .register(Metrics.globalRegistry));
+        }
+    }
+
+    private void stopSender() {
+        senderGauges.forEach(Metrics.globalRegistry::remove);
+        senderGauges.clear();
+        if (sender != null) {
+            sender.close();
+            sender = null;
+        }
+    }
+
     /**
      * Handle ContextRefreshEvent.
      *
@@ -148,11 +203,12 @@ public class IntermediaryActivator extends ServiceManagerContainer implements Cl
      * Registers the dispatcher with the topic source(s).
      */
     private void registerMsgDispatcher(Topics topics) {
+        asyncDispatchers.forEach(AsyncTopicDispatcher::start);
         for (final var source : topicSources) {
             if (source.getTopic().equals(topics.getOperationTopic())) {
-                source.register(msgDispatcher);
+                source.register(msgListener);
             } else if (source.getTopic().equals(topics.getSyncTopic())) {
-                source.register(syncMsgDispatcher);
+                source.register(syncMsgListener);
             }
         }
     }
@@ -163,11 +219,12 @@ public class IntermediaryActivator extends ServiceManagerContainer implements Cl
     private void unregisterMsgDispatcher(Topics topics) {
         for (final var source : topicSources) {
             if (source.getTopic().equals(topics.getOperationTopic())) {
-                source.unregister(msgDispatcher);
+                source.unregister(msgListener);
             } else if (source.getTopic().equals(topics.getSyncTopic())) {
-                source.unregister(syncMsgDispatcher);
+                source.unregister(syncMsgListener);
             }
         }
+        asyncDispatchers.forEach(AsyncTopicDispatcher::stop);
     }
 
     @Override
@@ -0,0 +1,67 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2024 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.clamp.acm.participant.intermediary.handler;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * Pool of canonical instances of values, so equal values kept in the cache share the same instance. A value is
+ * removed from the pool when it is not referenced anymore. The pool keeps a private copy of each new value, so later
+ * changes of the value passed do not reach the instances shared; the instances returned must not be changed.
+ *
+ * @param <T> the type of the values
+ */
+class Interner<T> {
+
+    private final Map<T, WeakReference<T>> pool = new WeakHashMap<>();
+
+    /**
+     * Get the canonical instance of a value.
+     *
+     * @param value the value
+     * @param copier the function that copies the value, applied only when it is not in the pool yet
+     * @return the instance in the pool equal to the value, or a copy of the value added to the pool if not present
+     */
+    synchronized T intern(T value, UnaryOperator<T> copier) {
+        if (value == null) {
+            return null;
+        }
+        var reference = pool.get(value);
+        var canonical = reference != null ? reference.get() : null;
+        if (canonical == null) {
+            canonical = copier.apply(value);
+            pool.put(canonical, new WeakReference<>(canonical));
+        }
+        return canonical;
+    }
+
+    /**
+     * Get the number of values in the pool.
+     *
+     * @return the number of values
+     */
+    synchronized int size() {
+        return pool.size();
+    }
+}
@@ -0,0 +1,114 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2024 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.clamp.acm.participant.intermediary.handler;
+
+import io.micrometer.core.instrument.Timer;
+import java.util.List;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.Getter;
+
+/**
+ * Operation queued in the ThreadHandler, ordered by priority of the operation and then by arrival.
+ */
+class OperationTask extends FutureTask<Void> implements Comparable<OperationTask> {
+
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    @Getter
+    private final ElementOperation operation;
+
+    private final List<Object> request;
+    private final long sequence = SEQUENCE.getAndIncrement();
+    private final long createdNanos = System.nanoTime();
+    private final Timer waitTimer;
+    private final Bulkhead bulkhead;
+
+    /**
+     * Constructor.
+     *
+     * @param operation the operation
+     * @param request what identifies the request
+     * @param process the process to run
+     * @param waitTimer the timer of the time spent in queue
+     * @param bulkhead the bulkhead that limits the operation, or null
+     */
+    OperationTask(ElementOperation operation, List<Object> request, Runnable process, Timer waitTimer,
+            Bulkhead bulkhead) {
+        super(process, null);
+        this.operation = operation;
+        this.request = request;
+        this.waitTimer = waitTimer;
+        this.bulkhead = bulkhead;
+    }
+
+    @Override
+    public void run() {
+        try {
+            if (!isCancelled()) {
+                waitTimer.record(System.nanoTime() - createdNanos, TimeUnit.NANOSECONDS);
+            }
+            super.run();
+        } finally {
+            if (bulkhead != null) {
+                bulkhead.release();
+            }
+        }
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        var cancelled = super.cancel(mayInterruptIfRunning);
+        if (cancelled && bulkhead != null) {
+            // a task still queued would count against the queue limit until polled
+            bulkhead.remove(this);
+        }
+        return cancelled;
+    }
+
+    /**
+     * Check if a request is the same operation of this task, resent.
+     *
+     * @param otherOperation the operation requested
+     * @param otherRequest what identifies the request
+     * @return true if it is the same request
+     */
+    boolean isSameRequest(ElementOperation otherOperation, List<Object> otherRequest) {
+        return operation == otherOperation && request.equals(otherRequest);
+    }
+
+    @Override
+    public int compareTo(OperationTask other) {
+        var result = operation.compareTo(other.operation);
+        return result != 0 ? result : Long.compare(sequence, other.sequence);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return this == obj;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(sequence);
+    }
+}
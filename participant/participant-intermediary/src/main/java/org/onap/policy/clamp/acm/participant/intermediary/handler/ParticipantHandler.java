@@ -23,6 +23,11 @@
 package org.onap.policy.clamp.acm.participant.intermediary.handler;
 
 import io.micrometer.core.annotation.Timed;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import org.onap.policy.clamp.acm.participant.intermediary.comm.ParticipantMessagePublisher;
 import org.onap.policy.clamp.models.acm.concepts.ParticipantState;
@@ -40,6 +45,7 @@ import org.onap.policy.clamp.models.acm.messages.kafka.participant.ParticipantRe
 import org.onap.policy.clamp.models.acm.messages.kafka.participant.ParticipantStatus;
 import org.onap.policy.clamp.models.acm.messages.kafka.participant.ParticipantStatusReq;
 import org.onap.policy.clamp.models.acm.messages.kafka.participant.ParticipantSync;
+import org.onap.policy.clamp.models.acm.messages.kafka.participant.ParticipantSyncAck;
 import org.onap.policy.clamp.models.acm.messages.kafka.participant.PropertiesUpdate;
 import org.onap.policy.clamp.models.acm.messages.rest.instantiation.DeployOrder;
 import org.slf4j.Logger;
@@ -53,6 +59,7 @@ import org.springframework.stereotype.Component;
 @RequiredArgsConstructor
 public class ParticipantHandler {
     private static final Logger LOGGER = LoggerFactory.getLogger(ParticipantHandler.class);
+    private static final int MAX_RESTART_SYNCS = 1000;
 
     private final AutomationCompositionHandler automationCompositionHandler;
     private final AcLockHandler acLockHandler;
@@ -61,6 +68,16 @@ public class ParticipantHandler {
     private final ParticipantMessagePublisher publisher;
     private final CacheProvider cacheProvider;
 
+    // chunks applied of the last restart syncs, as a chunk is sent again when its ack is late or lost
+    private final Map<UUID, Set<Integer>> appliedChunks = new LinkedHashMap<>() {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UUID, Set<Integer>> eldest) {
+            return size() > MAX_RESTART_SYNCS;
+        }
+    };
+
     /**
      * Method which handles a participant health check event from clamp.
      *
@@ -158,6 +175,8 @@ public class ParticipantHandler {
         participantRegister.setParticipantId(cacheProvider.getParticipantId());
         participantRegister.setReplicaId(cacheProvider.getReplicaId());
         participantRegister.setParticipantSupportedElementType(cacheProvider.getSupportedAcElementTypes());
+        participantRegister.setCompositionDigests(cacheProvider.getCompositionDigests());
+        participantRegister.setCompositionInstanceDigests(cacheProvider.getCompositionInstanceDigests());
 
         publisher.sendParticipantRegister(participantRegister);
     }
@@ -219,7 +238,50 @@ public class ParticipantHandler {
             return;
         }
         LOGGER.debug("ParticipantSync message received for participantId {}", participantSyncMsg.getParticipantId());
+        if (participantSyncMsg.getRestartSyncId() != null && !markChunkApplied(participantSyncMsg)) {
+            LOGGER.debug("Chunk {} of restart sync {} already applied", participantSyncMsg.getChunkSequence(),
+                    participantSyncMsg.getRestartSyncId());
+            sendParticipantSyncAck(participantSyncMsg);
+            return;
+        }
         acDefinitionHandler.handleParticipantSync(participantSyncMsg);
+        if (participantSyncMsg.getRestartSyncId() != null) {
+            sendParticipantSyncAck(participantSyncMsg);
+        }
+    }
+
+    /**
+     * Mark a chunk of restart sync as applied. A chunk received again is not applied twice, and a delete chunk
+     * received after a later chunk of the same restart sync is not applied, as it would remove what has been synced.
+     *
+     * @param participantSyncMsg the chunk
+     * @return true if the chunk has to be applied
+     */
+    private boolean markChunkApplied(ParticipantSync participantSyncMsg) {
+        var chunkSequence = participantSyncMsg.getChunkSequence();
+        synchronized (appliedChunks) {
+            var applied = appliedChunks.computeIfAbsent(participantSyncMsg.getRestartSyncId(), key -> new HashSet<>());
+            if (!applied.add(chunkSequence)) {
+                return false;
+            }
+            return !participantSyncMsg.isDelete() || applied.stream().noneMatch(sequence -> sequence > chunkSequence);
+        }
+    }
+
+    private void sendParticipantSyncAck(ParticipantSync participantSyncMsg) {
+        if (participantSyncMsg.isLastChunk()) {
+            LOGGER.info("Restart sync {} completed after {} chunks", participantSyncMsg.getRestartSyncId(),
+                    participantSyncMsg.getChunkSequence() + 1);
+        }
+        var participantSyncAck = new ParticipantSyncAck();
+        participantSyncAck.setResponseTo(participantSyncMsg.getMessageId());
+        participantSyncAck.setParticipantId(cacheProvider.getParticipantId());
+        participantSyncAck.setReplicaId(cacheProvider.getReplicaId());
+        participantSyncAck.setCompositionId(participantSyncMsg.getCompositionId());
+        participantSyncAck.setRestartSyncId(participantSyncMsg.getRestartSyncId());
+        participantSyncAck.setChunkSequence(participantSyncMsg.getChunkSequence());
+        participantSyncAck.setResult(true);
+        publisher.sendParticipantSyncAck(participantSyncAck);
     }
 
     /**
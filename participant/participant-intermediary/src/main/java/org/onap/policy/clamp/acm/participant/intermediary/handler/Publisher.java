@@ -21,6 +21,7 @@
 package org.onap.policy.clamp.acm.participant.intermediary.handler;
 
 import java.util.List;
+import org.onap.policy.clamp.common.acm.messaging.AsyncMessageSender;
 import org.onap.policy.common.endpoints.event.comm.TopicSink;
 
 /**
@@ -30,5 +31,15 @@ public interface Publisher {
 
     void active(List<TopicSink> topicSinks);
 
+    /**
+     * Activate the publisher, sending the messages through an outbound queue.
+     *
+     * @param topicSinks the topic sinks
+     * @param sender the sender of the outbound queue, null to send the messages on the publishing thread
+     */
+    default void active(List<TopicSink> topicSinks, AsyncMessageSender sender) {
+        active(topicSinks);
+    }
+
     void stop();
 }
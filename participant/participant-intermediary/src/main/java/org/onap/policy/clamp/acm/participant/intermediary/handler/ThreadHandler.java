@@ -20,43 +20,153 @@
 
 package org.onap.policy.clamp.acm.participant.intermediary.handler;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import io.opentelemetry.context.Context;
 import java.io.Closeable;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
-import lombok.RequiredArgsConstructor;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import org.onap.policy.clamp.acm.participant.intermediary.api.AutomationCompositionElementListener;
 import org.onap.policy.clamp.acm.participant.intermediary.api.CompositionDto;
 import org.onap.policy.clamp.acm.participant.intermediary.api.CompositionElementDto;
 import org.onap.policy.clamp.acm.participant.intermediary.api.InstanceElementDto;
 import org.onap.policy.clamp.acm.participant.intermediary.api.ParticipantIntermediaryApi;
+import org.onap.policy.clamp.acm.participant.intermediary.parameters.ParticipantParameters;
+import org.onap.policy.clamp.acm.participant.intermediary.parameters.ThreadPoolParameters;
 import org.onap.policy.clamp.models.acm.concepts.AcTypeState;
 import org.onap.policy.clamp.models.acm.concepts.DeployState;
 import org.onap.policy.clamp.models.acm.concepts.LockState;
 import org.onap.policy.clamp.models.acm.concepts.StateChangeResult;
 import org.onap.policy.models.base.PfModelException;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaConceptIdentifier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
 @Component
-@RequiredArgsConstructor
 public class ThreadHandler implements Closeable {
     private static final Logger LOGGER = LoggerFactory.getLogger(ThreadHandler.class);
+    private static final String METRIC_PREFIX = "participant.operation.";
+    private static final String OPERATION_TAG = "operation";
+    private static final String BULKHEAD_TAG = "bulkhead";
+    private static final String DEFAULT_BULKHEAD = "default";
 
     private final AutomationCompositionElementListener listener;
     private final ParticipantIntermediaryApi intermediaryApi;
     private final CacheProvider cacheProvider;
 
-    private final Map<UUID, Future<?>> executionMap = new ConcurrentHashMap<>();
+    private final Map<UUID, OperationTask> executionMap = new ConcurrentHashMap<>();
 
-    private final ExecutorService executor =
-            Context.taskWrapping(Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors()));
+    private final ExecutorService executor;
+
+    private final List<Bulkhead> bulkheads = new ArrayList<>();
+    private final List<Gauge> gauges = new ArrayList<>();
+
+    /**
+     * Constructor.
+     *
+     * @param listener the AutomationComposition ElementListener
+     * @param intermediaryApi the ParticipantIntermediaryApi
+     * @param cacheProvider the CacheProvider
+     * @param parameters the parameters of the participant
+     */
+    public ThreadHandler(AutomationCompositionElementListener listener, ParticipantIntermediaryApi intermediaryApi,
+            CacheProvider cacheProvider, ParticipantParameters parameters) {
+        this.listener = listener;
+        this.intermediaryApi = intermediaryApi;
+        this.cacheProvider = cacheProvider;
+        var threadPool = parameters.getIntermediaryParameters().getThreadPool();
+        this.executor = createExecutor(threadPool);
+        for (var bulkheadParameters : threadPool.getBulkheads()) {
+            var bulkhead = new Bulkhead(bulkheadParameters, executor);
+            gauges.add(Gauge.builder(METRIC_PREFIX + "queued", bulkhead, Bulkhead::getQueueSize)
+                    .tag(BULKHEAD_TAG, bulkhead.getName()).register(Metrics.globalRegistry));
+            bulkheads.add(bulkhead);
+        }
+    }
+
+    private static ExecutorService createExecutor(ThreadPoolParameters threadPool) {
+        if (threadPool.isVirtualThreads()) {
+            // each operation gets its own thread at once, so only the operations queued in a bulkhead wait by priority
+            LOGGER.warn("Virtual threads: the operations not limited by a bulkhead are not ordered by priority");
+            try {
+                // virtual threads are available from Java 21, the participants are still built for Java 17
+                var method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+                return (ExecutorService) method.invoke(null);
+            } catch (ReflectiveOperationException e) {
+                LOGGER.warn("Virtual threads not supported by this JVM, a cached thread pool is used");
+                return Executors.newCachedThreadPool();
+            }
+        }
+        var size = threadPool.getSize() > 0 ? threadPool.getSize() : Runtime.getRuntime().availableProcessors();
+        // operations waiting for a thread are ordered by priority
+        return new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS, new PriorityBlockingQueue<>());
+    }
+
+    /**
+     * Get what identifies a request on an element, its outProperties are not part of it as they are updated by the
+     * participant while the operation runs.
+     */
+    private static List<Object> requestOf(CompositionElementDto compositionElement,
+            InstanceElementDto instanceElement, Object... values) {
+        var request = new ArrayList<>(Arrays.asList(compositionElement.compositionId(),
+            compositionElement.elementDefinitionId(), instanceElement.instanceId(), instanceElement.inProperties()));
+        request.addAll(Arrays.asList(values));
+        return request;
+    }
+
+    private void execute(UUID execIdentificationId, UUID messageId, ElementOperation operation,
+            ToscaConceptIdentifier elementDefinitionId, List<Object> request, Runnable process, Runnable reject) {
+        var current = executionMap.get(execIdentificationId);
+        if (current != null && !current.isDone() && current.isSameRequest(operation, request)) {
+            // resent by the runtime while the operation is still running: the ack goes to the latest message
+            LOGGER.info("{} of {} already running, messageId {} correlated to it", operation, execIdentificationId,
+                    messageId);
+            cacheProvider.getMsgIdentification().put(execIdentificationId, messageId);
+            return;
+        }
+        cleanExecution(execIdentificationId, messageId);
+        var bulkhead = bulkheads.stream().filter(b -> b.matches(operation, elementDefinitionId)).findFirst()
+                .orElse(null);
+        var bulkheadName = bulkhead != null ? bulkhead.getName() : DEFAULT_BULKHEAD;
+        var waitTimer = Timer.builder(METRIC_PREFIX + "wait").tag(OPERATION_TAG, operation.name())
+                .tag(BULKHEAD_TAG, bulkheadName).register(Metrics.globalRegistry);
+        var task = new OperationTask(operation, request, Context.current().wrap(process), waitTimer, bulkhead);
+        executionMap.put(execIdentificationId, task);
+        if (bulkhead == null) {
+            executor.execute(task);
+        } else if (!bulkhead.offer(task)) {
+            executionMap.remove(execIdentificationId, task);
+            Metrics.counter(METRIC_PREFIX + "rejected", OPERATION_TAG, operation.name(), BULKHEAD_TAG, bulkheadName)
+                    .increment();
+            LOGGER.warn("{} of {} rejected, queue of bulkhead {} is full", operation, execIdentificationId,
+                    bulkheadName);
+            reject.run();
+        }
+    }
+
+    private void rejectElement(InstanceElementDto instanceElement, DeployState deployState, LockState lockState,
+            String operation) {
+        intermediaryApi.updateAutomationCompositionElementState(instanceElement.instanceId(),
+            instanceElement.elementId(), deployState, lockState, StateChangeResult.FAILED,
+            "Automation composition element " + operation + " rejected, too many operations queued");
+    }
+
+    private void rejectComposition(CompositionDto composition, AcTypeState state, String operation) {
+        intermediaryApi.updateCompositionState(composition.compositionId(), state, StateChangeResult.FAILED,
+            "Composition Defintion " + operation + " rejected, too many operations queued");
+    }
 
     /**
      * Handle a deploy on a automation composition element.
@@ -66,9 +176,10 @@ public class ThreadHandler implements Closeable {
      * @param instanceElement the information of the Automation Composition Instance Element
      */
     public void deploy(UUID messageId, CompositionElementDto compositionElement, InstanceElementDto instanceElement) {
-        cleanExecution(instanceElement.elementId(), messageId);
-        var result = executor.submit(() -> this.deployProcess(compositionElement, instanceElement));
-        executionMap.put(instanceElement.elementId(), result);
+        execute(instanceElement.elementId(), messageId, ElementOperation.DEPLOY,
+            compositionElement.elementDefinitionId(), requestOf(compositionElement, instanceElement),
+            () -> this.deployProcess(compositionElement, instanceElement),
+            () -> rejectElement(instanceElement, DeployState.UNDEPLOYED, null, "deploy"));
     }
 
     private void deployProcess(CompositionElementDto compositionElement, InstanceElementDto instanceElement) {
@@ -92,9 +203,10 @@ public class ThreadHandler implements Closeable {
      * @param instanceElement the information of the Automation Composition Instance Element
      */
     public void undeploy(UUID messageId, CompositionElementDto compositionElement, InstanceElementDto instanceElement) {
-        cleanExecution(instanceElement.elementId(), messageId);
-        var result = executor.submit(() -> this.undeployProcess(compositionElement, instanceElement));
-        executionMap.put(instanceElement.elementId(), result);
+        execute(instanceElement.elementId(), messageId, ElementOperation.UNDEPLOY,
+            compositionElement.elementDefinitionId(), requestOf(compositionElement, instanceElement),
+            () -> this.undeployProcess(compositionElement, instanceElement),
+            () -> rejectElement(instanceElement, DeployState.DEPLOYED, null, "undeploy"));
     }
 
     private void undeployProcess(CompositionElementDto compositionElement, InstanceElementDto instanceElement) {
@@ -118,9 +230,10 @@ public class ThreadHandler implements Closeable {
      * @param instanceElement the information of the Automation Composition Instance Element
      */
     public void lock(UUID messageId, CompositionElementDto compositionElement, InstanceElementDto instanceElement) {
-        cleanExecution(instanceElement.elementId(), messageId);
-        var result = executor.submit(() -> this.lockProcess(compositionElement, instanceElement));
-        executionMap.put(instanceElement.elementId(), result);
+        execute(instanceElement.elementId(), messageId, ElementOperation.LOCK,
+            compositionElement.elementDefinitionId(), requestOf(compositionElement, instanceElement),
+            () -> this.lockProcess(compositionElement, instanceElement),
+            () -> rejectElement(instanceElement, null, LockState.UNLOCKED, "lock"));
     }
 
     private void lockProcess(CompositionElementDto compositionElement, InstanceElementDto instanceElement) {
@@ -144,9 +257,10 @@ public class ThreadHandler implements Closeable {
      * @param instanceElement the information of the Automation Composition Instance Element
      */
     public void unlock(UUID messageId, CompositionElementDto compositionElement, InstanceElementDto instanceElement) {
-        cleanExecution(instanceElement.elementId(), messageId);
-        var result = executor.submit(() -> this.unlockProcess(compositionElement, instanceElement));
-        executionMap.put(instanceElement.elementId(), result);
+        execute(instanceElement.elementId(), messageId, ElementOperation.UNLOCK,
+            compositionElement.elementDefinitionId(), requestOf(compositionElement, instanceElement),
+            () -> this.unlockProcess(compositionElement, instanceElement),
+            () -> rejectElement(instanceElement, null, LockState.LOCKED, "unlock"));
     }
 
     private void unlockProcess(CompositionElementDto compositionElement, InstanceElementDto instanceElement) {
@@ -170,9 +284,10 @@ public class ThreadHandler implements Closeable {
      * @param instanceElement the information of the Automation Composition Instance Element
      */
     public void delete(UUID messageId, CompositionElementDto compositionElement, InstanceElementDto instanceElement) {
-        cleanExecution(instanceElement.elementId(), messageId);
-        var result = executor.submit(() -> this.deleteProcess(compositionElement, instanceElement));
-        executionMap.put(instanceElement.elementId(), result);
+        execute(instanceElement.elementId(), messageId, ElementOperation.DELETE,
+            compositionElement.elementDefinitionId(), requestOf(compositionElement, instanceElement),
+            () -> this.deleteProcess(compositionElement, instanceElement),
+            () -> rejectElement(instanceElement, DeployState.UNDEPLOYED, null, "delete"));
     }
 
     private void deleteProcess(CompositionElementDto compositionElement, InstanceElementDto instanceElement) {
@@ -198,10 +313,11 @@ public class ThreadHandler implements Closeable {
      */
     public void update(UUID messageId, CompositionElementDto compositionElement, InstanceElementDto instanceElement,
                        InstanceElementDto instanceElementUpdated) {
-        cleanExecution(instanceElement.elementId(), messageId);
-        var result = executor.submit(() ->
-            this.updateProcess(compositionElement, instanceElement, instanceElementUpdated));
-        executionMap.put(instanceElement.elementId(), result);
+        execute(instanceElement.elementId(), messageId, ElementOperation.UPDATE,
+            compositionElement.elementDefinitionId(),
+            requestOf(compositionElement, instanceElement, instanceElementUpdated.inProperties()),
+            () -> this.updateProcess(compositionElement, instanceElement, instanceElementUpdated),
+            () -> rejectElement(instanceElement, DeployState.DEPLOYED, null, "update"));
     }
 
     private void updateProcess(CompositionElementDto compositionElement, InstanceElementDto instanceElement,
@@ -236,9 +352,9 @@ public class ThreadHandler implements Closeable {
      * @param composition the composition
      */
     public void prime(UUID messageId, CompositionDto composition) {
-        cleanExecution(composition.compositionId(), messageId);
-        var result = executor.submit(() -> this.primeProcess(composition));
-        executionMap.put(composition.compositionId(), result);
+        execute(composition.compositionId(), messageId, ElementOperation.PRIME, null, List.of(),
+            () -> this.primeProcess(composition),
+            () -> rejectComposition(composition, AcTypeState.COMMISSIONED, "prime"));
     }
 
     private void primeProcess(CompositionDto composition) {
@@ -259,9 +375,9 @@ public class ThreadHandler implements Closeable {
      * @param composition the composition
      */
     public void deprime(UUID messageId, CompositionDto composition) {
-        cleanExecution(composition.compositionId(), messageId);
-        var result = executor.submit(() -> this.deprimeProcess(composition));
-        executionMap.put(composition.compositionId(), result);
+        execute(composition.compositionId(), messageId, ElementOperation.DEPRIME, null, List.of(),
+            () -> this.deprimeProcess(composition),
+            () -> rejectComposition(composition, AcTypeState.PRIMED, "deprime"));
     }
 
     private void deprimeProcess(CompositionDto composition) {
@@ -284,6 +400,8 @@ public class ThreadHandler implements Closeable {
      */
     @Override
     public void close() throws IOException {
+        gauges.forEach(Metrics.globalRegistry::remove);
+        gauges.clear();
         executor.shutdown();
     }
 
@@ -300,11 +418,12 @@ public class ThreadHandler implements Closeable {
     public void migrate(UUID messageId, CompositionElementDto compositionElement,
         CompositionElementDto compositionElementTarget, InstanceElementDto instanceElement,
         InstanceElementDto instanceElementMigrate, int stage) {
-        cleanExecution(instanceElement.elementId(), messageId);
-        var result = executor.submit(() ->
-            this.migrateProcess(compositionElement, compositionElementTarget,
-                instanceElement, instanceElementMigrate, stage));
-        executionMap.put(instanceElement.elementId(), result);
+        execute(instanceElement.elementId(), messageId, ElementOperation.MIGRATE,
+            compositionElement.elementDefinitionId(), requestOf(compositionElement, instanceElement,
+                compositionElementTarget.compositionId(), instanceElementMigrate.inProperties(), stage),
+            () -> this.migrateProcess(compositionElement, compositionElementTarget,
+                instanceElement, instanceElementMigrate, stage),
+            () -> rejectElement(instanceElement, DeployState.DEPLOYED, null, "migrate"));
     }
 
     private void migrateProcess(CompositionElementDto compositionElement,
@@ -335,11 +454,12 @@ public class ThreadHandler implements Closeable {
     public void migratePrecheck(UUID messageId, CompositionElementDto compositionElement,
         CompositionElementDto compositionElementTarget, InstanceElementDto instanceElement,
         InstanceElementDto instanceElementMigrate) {
-        cleanExecution(instanceElement.elementId(), messageId);
-        var result = executor.submit(() ->
-            this.migratePrecheckProcess(compositionElement, compositionElementTarget, instanceElement,
-                instanceElementMigrate));
-        executionMap.put(instanceElement.elementId(), result);
+        execute(instanceElement.elementId(), messageId, ElementOperation.MIGRATE_PRECHECK,
+            compositionElement.elementDefinitionId(), requestOf(compositionElement, instanceElement,
+                compositionElementTarget.compositionId(), instanceElementMigrate.inProperties()),
+            () -> this.migratePrecheckProcess(compositionElement, compositionElementTarget, instanceElement,
+                instanceElementMigrate),
+            () -> rejectElement(instanceElement, DeployState.DEPLOYED, null, "migrate precheck"));
     }
 
     private void migratePrecheckProcess(CompositionElementDto compositionElement,
@@ -367,9 +487,10 @@ public class ThreadHandler implements Closeable {
      */
     public void review(UUID messageId, CompositionElementDto compositionElement,
         InstanceElementDto instanceElement) {
-        cleanExecution(instanceElement.elementId(), messageId);
-        var result = executor.submit(() -> this.reviewProcess(compositionElement, instanceElement));
-        executionMap.put(instanceElement.elementId(), result);
+        execute(instanceElement.elementId(), messageId, ElementOperation.REVIEW,
+            compositionElement.elementDefinitionId(), requestOf(compositionElement, instanceElement),
+            () -> this.reviewProcess(compositionElement, instanceElement),
+            () -> rejectElement(instanceElement, DeployState.DEPLOYED, null, "Review"));
     }
 
     private void reviewProcess(CompositionElementDto compositionElement, InstanceElementDto instanceElement) {
@@ -394,9 +515,10 @@ public class ThreadHandler implements Closeable {
      */
     public void prepare(UUID messageId, CompositionElementDto compositionElement,
         InstanceElementDto instanceElement) {
-        cleanExecution(instanceElement.elementId(), messageId);
-        var result = executor.submit(() -> this.prepareProcess(compositionElement, instanceElement));
-        executionMap.put(instanceElement.elementId(), result);
+        execute(instanceElement.elementId(), messageId, ElementOperation.PREPARE,
+            compositionElement.elementDefinitionId(), requestOf(compositionElement, instanceElement),
+            () -> this.prepareProcess(compositionElement, instanceElement),
+            () -> rejectElement(instanceElement, DeployState.UNDEPLOYED, null, "prepare Pre Deploy"));
     }
 
     private void prepareProcess(CompositionElementDto compositionElement, InstanceElementDto instanceElement) {
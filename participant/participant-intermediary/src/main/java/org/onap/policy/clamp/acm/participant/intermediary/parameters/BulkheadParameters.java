@@ -0,0 +1,56 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2024 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.clamp.acm.participant.intermediary.parameters;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+import org.onap.policy.clamp.acm.participant.intermediary.handler.ElementOperation;
+
+/**
+ * Class to hold the parameters of a bulkhead, that limits the operations running at the same time on an element type.
+ */
+@Getter
+@Setter
+public class BulkheadParameters {
+
+    @NotBlank
+    private String name;
+
+    // The name of the element type, null for all element types and compositions
+    private String elementType;
+
+    // The operations limited, empty for all operations
+    @NotNull
+    private List<ElementOperation> operations = new ArrayList<>();
+
+    @Positive
+    private int maxConcurrent = 1;
+
+    // The number of operations that can wait, more operations are rejected
+    @PositiveOrZero
+    private int maxQueued = 1000;
+}
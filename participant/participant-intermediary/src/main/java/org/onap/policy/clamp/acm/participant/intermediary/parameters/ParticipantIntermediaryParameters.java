@@ -24,6 +24,7 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import java.util.List;
 import java.util.UUID;
 import lombok.Getter;
@@ -52,6 +53,29 @@ public class ParticipantIntermediaryParameters {
     @Positive
     private long reportingTimeIntervalMs;
 
+    // The time to wait for the acks of the other elements of an automation composition, to send them in one message;
+    // 0 to send the ack of each element at once
+    @PositiveOrZero
+    private long ackCoalesceMs = 0;
+
+    // The maximum time and number of elements to collect the updates of the info of the elements, to send them in one
+    // message; 0 to send the info of each element at once
+    @PositiveOrZero
+    private long elementInfoMaxDelayMs = 0;
+
+    @Positive
+    private int elementInfoMaxSize = 100;
+
+    // The number of threads that decode and handle the messages received, in order by automation composition;
+    // 0 to decode and handle the messages on the thread of the topic source
+    @PositiveOrZero
+    private int dispatchThreads = 0;
+
+    // The maximum number of messages received and not handled yet, when they are handled by the dispatch threads;
+    // then the topic source waits before receiving more messages
+    @Positive
+    private int dispatchMaxInFlight = 1000;
+
     @NotNull
     @ParameterGroupConstraint
     private TopicParameterGroup clampAutomationCompositionTopics;
@@ -64,4 +88,16 @@ public class ParticipantIntermediaryParameters {
     @Valid
     private Topics topics = new Topics();
 
+    @NotNull
+    @Valid
+    private ThreadPoolParameters threadPool = new ThreadPoolParameters();
+
+    @NotNull
+    @Valid
+    private OutboundParameters outbound = new OutboundParameters();
+
+    @NotNull
+    @Valid
+    private SnapshotParameters snapshot = new SnapshotParameters();
+
 }
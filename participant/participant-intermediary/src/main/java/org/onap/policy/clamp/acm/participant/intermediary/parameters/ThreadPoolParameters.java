@@ -0,0 +1,50 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2024 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.clamp.acm.participant.intermediary.parameters;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Class to hold the parameters of the threads that run the operations on automation composition elements.
+ */
+@Getter
+@Setter
+public class ThreadPoolParameters {
+
+    // Run each operation in its own virtual thread, for participants where the operations mostly wait on I/O; the
+    // operations start at once, so only those queued in a bulkhead are ordered by priority
+    private boolean virtualThreads = false;
+
+    // The number of platform threads when virtual threads are not used, 0 for the number of available processors
+    @PositiveOrZero
+    private int size = 0;
+
+    // Limits of the operations running at the same time, the first bulkhead that matches an operation is used
+    @NotNull
+    @Valid
+    private List<BulkheadParameters> bulkheads = new ArrayList<>();
+}
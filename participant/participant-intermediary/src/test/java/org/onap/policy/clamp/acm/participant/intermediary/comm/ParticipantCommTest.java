@@ -25,7 +25,10 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 import java.util.Collections;
 import java.util.List;
@@ -34,6 +37,7 @@ import org.mockito.Mockito;
 import org.onap.policy.clamp.acm.participant.intermediary.handler.ParticipantHandler;
 import org.onap.policy.clamp.acm.participant.intermediary.main.parameters.CommonTestData;
 import org.onap.policy.clamp.common.acm.exception.AutomationCompositionRuntimeException;
+import org.onap.policy.clamp.common.acm.messaging.AsyncMessageSender;
 import org.onap.policy.clamp.models.acm.messages.kafka.participant.AutomationCompositionDeployAck;
 import org.onap.policy.clamp.models.acm.messages.kafka.participant.ParticipantDeregister;
 import org.onap.policy.clamp.models.acm.messages.kafka.participant.ParticipantMessageType;
@@ -113,6 +117,23 @@ class ParticipantCommTest {
         assertDoesNotThrow(() -> publisher.sendAutomationCompositionAck(automationCompositionAck));
     }
 
+    @Test
+    void participantMessagePublisherAsyncTest() {
+        var publisher = new ParticipantMessagePublisher();
+        var topicSink = mock(TopicSink.class);
+        var sender = new AsyncMessageSender("test", 10, 1000);
+        publisher.active(List.of(topicSink), sender);
+        assertDoesNotThrow(() -> publisher.sendParticipantStatus(new ParticipantStatus()));
+        assertDoesNotThrow(() -> publisher.sendParticipantPrimeAck(new ParticipantPrimeAck()));
+        publisher.stop();
+        sender.close();
+        verify(topicSink, times(2)).send(anyString());
+
+        var participantStatus = new ParticipantStatus();
+        assertThrows(AutomationCompositionRuntimeException.class,
+                () -> publisher.sendParticipantStatus(participantStatus));
+    }
+
     @Test
     void participantMessagePublisherExceptionsTest() {
         var publisher = new ParticipantMessagePublisher();
@@ -23,6 +23,7 @@ package org.onap.policy.clamp.acm.participant.intermediary.handler;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -126,4 +127,20 @@ class AcDefinitionHandlerTest {
         verify(cacheProvider).removeElementDefinition(participantSyncMsg.getCompositionId());
         verify(cacheProvider).removeAutomationComposition(restartAc.getAutomationCompositionId());
     }
+
+    @Test
+    void syncRestartDeleteTest() {
+        var participantSyncMsg = new ParticipantSync();
+        participantSyncMsg.setState(AcTypeState.PRIMED);
+        participantSyncMsg.setDelete(true);
+        participantSyncMsg.setRestarting(true);
+        participantSyncMsg.setCompositionId(UUID.randomUUID());
+
+        var cacheProvider = mock(CacheProvider.class);
+        var ach = new AcDefinitionHandler(cacheProvider, mock(ParticipantMessagePublisher.class),
+                mock(ThreadHandler.class));
+        ach.handleParticipantSync(participantSyncMsg);
+        verify(cacheProvider).removeAutomationCompositions(participantSyncMsg.getCompositionId());
+        verify(cacheProvider, times(0)).removeElementDefinition(any());
+    }
 }
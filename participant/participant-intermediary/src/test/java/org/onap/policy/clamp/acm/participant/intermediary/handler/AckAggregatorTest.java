@@ -0,0 +1,110 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2024 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.clamp.acm.participant.intermediary.handler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.onap.policy.clamp.acm.participant.intermediary.comm.ParticipantMessagePublisher;
+import org.onap.policy.clamp.acm.participant.intermediary.main.parameters.CommonTestData;
+import org.onap.policy.clamp.models.acm.concepts.AcElementDeployAck;
+import org.onap.policy.clamp.models.acm.concepts.DeployState;
+import org.onap.policy.clamp.models.acm.concepts.LockState;
+import org.onap.policy.clamp.models.acm.concepts.StateChangeResult;
+import org.onap.policy.clamp.models.acm.messages.kafka.participant.AutomationCompositionDeployAck;
+import org.onap.policy.clamp.models.acm.messages.kafka.participant.ParticipantMessageType;
+
+class AckAggregatorTest {
+
+    private static final long ACK_COALESCE_MS = 200;
+
+    @Test
+    void testSendAtOnce() {
+        var publisher = mock(ParticipantMessagePublisher.class);
+        try (var ackAggregator = new AckAggregator(publisher, CommonTestData.getParticipantParameters())) {
+            var instanceId = UUID.randomUUID();
+            var messageId = UUID.randomUUID();
+            ackAggregator.send(createAck(instanceId, messageId), false);
+            ackAggregator.send(createAck(instanceId, messageId), false);
+            verify(publisher, times(2)).sendAutomationCompositionAck(any(AutomationCompositionDeployAck.class));
+        }
+    }
+
+    @Test
+    void testCoalesce() {
+        var publisher = mock(ParticipantMessagePublisher.class);
+        try (var ackAggregator = createAckAggregator(publisher)) {
+            var instanceId = UUID.randomUUID();
+            var messageId = UUID.randomUUID();
+            ackAggregator.send(createAck(instanceId, messageId), false);
+            ackAggregator.send(createAck(instanceId, messageId), false);
+            verify(publisher, times(0)).sendAutomationCompositionAck(any(AutomationCompositionDeployAck.class));
+
+            var captor = ArgumentCaptor.forClass(AutomationCompositionDeployAck.class);
+            verify(publisher, timeout(ACK_COALESCE_MS * 10)).sendAutomationCompositionAck(captor.capture());
+            assertThat(captor.getValue().getAutomationCompositionId()).isEqualTo(instanceId);
+            assertThat(captor.getValue().getAutomationCompositionResultMap()).hasSize(2);
+        }
+    }
+
+    @Test
+    void testComplete() {
+        var publisher = mock(ParticipantMessagePublisher.class);
+        try (var ackAggregator = createAckAggregator(publisher)) {
+            var instanceId = UUID.randomUUID();
+            var messageId = UUID.randomUUID();
+            ackAggregator.send(createAck(instanceId, messageId), false);
+            ackAggregator.send(createAck(UUID.randomUUID(), messageId), false);
+            ackAggregator.send(createAck(instanceId, messageId), true);
+
+            var captor = ArgumentCaptor.forClass(AutomationCompositionDeployAck.class);
+            verify(publisher).sendAutomationCompositionAck(captor.capture());
+            assertThat(captor.getValue().getAutomationCompositionId()).isEqualTo(instanceId);
+            assertThat(captor.getValue().getAutomationCompositionResultMap()).hasSize(2);
+        }
+        // the pending ack of the other instance is sent on close
+        verify(publisher, times(2)).sendAutomationCompositionAck(any(AutomationCompositionDeployAck.class));
+    }
+
+    private AckAggregator createAckAggregator(ParticipantMessagePublisher publisher) {
+        var parameters = CommonTestData.getParticipantParameters();
+        parameters.getIntermediaryParameters().setAckCoalesceMs(ACK_COALESCE_MS);
+        return new AckAggregator(publisher, parameters);
+    }
+
+    private AutomationCompositionDeployAck createAck(UUID instanceId, UUID messageId) {
+        var ack = new AutomationCompositionDeployAck(ParticipantMessageType.AUTOMATION_COMPOSITION_STATECHANGE_ACK);
+        ack.setAutomationCompositionId(instanceId);
+        ack.setResponseTo(messageId);
+        ack.setStateChangeResult(StateChangeResult.NO_ERROR);
+        ack.setResult(true);
+        ack.getAutomationCompositionResultMap().put(UUID.randomUUID(),
+                new AcElementDeployAck(DeployState.DEPLOYED, LockState.LOCKED, null, null, null, true, "Deployed"));
+        return ack;
+    }
+}
@@ -0,0 +1,156 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2024 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.clamp.acm.participant.intermediary.handler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.onap.policy.common.endpoints.event.comm.Topic.CommInfrastructure;
+import org.onap.policy.common.endpoints.listeners.MessageTypeDispatcher;
+import org.onap.policy.common.utils.coder.StandardCoderObject;
+
+class AsyncTopicDispatcherTest {
+
+    private static final String TOPIC = "topic";
+
+    @Test
+    void testOrderByInstance() {
+        var dispatcher = mock(MessageTypeDispatcher.class);
+        Map<String, List<String>> received = new ConcurrentHashMap<>();
+        doAnswer(invocation -> {
+            StandardCoderObject sco = invocation.getArgument(2);
+            var lane = sco.getString("automationCompositionId");
+            received.computeIfAbsent(lane == null ? "" : lane, key -> new ArrayList<>())
+                    .add(sco.getString("messageId"));
+            return null;
+        }).when(dispatcher).onTopicEvent(any(), eq(TOPIC), any(StandardCoderObject.class));
+
+        var asyncDispatcher = new AsyncTopicDispatcher(TOPIC, dispatcher, 4, 1000);
+        asyncDispatcher.start();
+        var instances = List.of(UUID.randomUUID().toString(), UUID.randomUUID().toString());
+        List<String> expected = new ArrayList<>();
+        for (var i = 0; i < 50; i++) {
+            for (var instance : instances) {
+                var event = "{\"messageType\":\"AUTOMATION_COMPOSITION_DEPLOY\",\"messageId\":\"" + i
+                        + "\",\"automationCompositionId\":\"" + instance + "\"}";
+                asyncDispatcher.onTopicEvent(CommInfrastructure.NOOP, TOPIC, event);
+            }
+            expected.add(String.valueOf(i));
+        }
+        asyncDispatcher.onTopicEvent(CommInfrastructure.NOOP, TOPIC, "{\"messageType\":\"PARTICIPANT_STATUS_REQ\"}");
+        asyncDispatcher.onTopicEvent(CommInfrastructure.NOOP, TOPIC, "not a json");
+        asyncDispatcher.stop();
+
+        verify(dispatcher, times(101)).onTopicEvent(any(), eq(TOPIC), any(StandardCoderObject.class));
+        for (var instance : instances) {
+            assertThat(received.get(instance)).isEqualTo(expected);
+        }
+        assertThat(received.get("")).hasSize(1);
+    }
+
+    @Test
+    void testHandlerException() {
+        var dispatcher = mock(MessageTypeDispatcher.class);
+        doAnswer(invocation -> {
+            throw new IllegalStateException();
+        }).when(dispatcher).onTopicEvent(any(), eq(TOPIC), any(StandardCoderObject.class));
+
+        var asyncDispatcher = new AsyncTopicDispatcher(TOPIC, dispatcher, 1, 1000);
+        asyncDispatcher.start();
+        var event = "{\"messageType\":\"PARTICIPANT_PRIME\",\"compositionId\":\"" + UUID.randomUUID() + "\"}";
+        asyncDispatcher.onTopicEvent(CommInfrastructure.NOOP, TOPIC, event);
+        asyncDispatcher.onTopicEvent(CommInfrastructure.NOOP, TOPIC, event);
+        asyncDispatcher.stop();
+
+        verify(dispatcher, times(2)).onTopicEvent(any(), eq(TOPIC), any(StandardCoderObject.class));
+    }
+
+    @Test
+    void testSyncOrdered() {
+        var dispatcher = mock(MessageTypeDispatcher.class);
+        List<String> received = Collections.synchronizedList(new ArrayList<>());
+        doAnswer(invocation -> {
+            StandardCoderObject sco = invocation.getArgument(2);
+            received.add(sco.getString("messageId"));
+            return null;
+        }).when(dispatcher).onTopicEvent(any(), eq(TOPIC), any(StandardCoderObject.class));
+
+        var asyncDispatcher = new AsyncTopicDispatcher(TOPIC, dispatcher, 4, 1000);
+        asyncDispatcher.start();
+        var compositionId = UUID.randomUUID().toString();
+        List<String> expected = new ArrayList<>();
+        for (var i = 0; i < 50; i++) {
+            // restart sync chunks of the composition and syncs of its instances
+            var event = "{\"messageType\":\"PARTICIPANT_SYNC_MSG\",\"messageId\":\"" + i
+                    + "\",\"compositionId\":\"" + compositionId + "\""
+                    + (i % 2 == 0 ? "" : ",\"automationCompositionId\":\"" + UUID.randomUUID() + "\"") + "}";
+            asyncDispatcher.onTopicEvent(CommInfrastructure.NOOP, TOPIC, event);
+            expected.add(String.valueOf(i));
+        }
+        asyncDispatcher.stop();
+
+        assertThat(received).isEqualTo(expected);
+    }
+
+    @Test
+    void testMaxInFlight() throws InterruptedException {
+        var dispatcher = mock(MessageTypeDispatcher.class);
+        var blocked = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            blocked.countDown();
+            release.await();
+            return null;
+        }).when(dispatcher).onTopicEvent(any(), eq(TOPIC), any(StandardCoderObject.class));
+
+        var asyncDispatcher = new AsyncTopicDispatcher(TOPIC, dispatcher, 2, 1);
+        asyncDispatcher.start();
+        var event = "{\"messageType\":\"PARTICIPANT_PRIME\",\"compositionId\":\"" + UUID.randomUUID() + "\"}";
+        asyncDispatcher.onTopicEvent(CommInfrastructure.NOOP, TOPIC, event);
+        assertThat(blocked.await(10, TimeUnit.SECONDS)).isTrue();
+
+        // the source thread waits until the message in flight is handled
+        var source = new Thread(() -> asyncDispatcher.onTopicEvent(CommInfrastructure.NOOP, TOPIC, event));
+        source.start();
+        source.join(200);
+        assertThat(source.isAlive()).isTrue();
+        release.countDown();
+        source.join(10000);
+        assertThat(source.isAlive()).isFalse();
+        asyncDispatcher.stop();
+
+        verify(dispatcher, times(2)).onTopicEvent(any(), eq(TOPIC), any(StandardCoderObject.class));
+    }
+}
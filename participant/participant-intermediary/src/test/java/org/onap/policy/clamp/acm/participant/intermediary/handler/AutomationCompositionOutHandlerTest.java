@@ -50,7 +50,7 @@ class AutomationCompositionOutHandlerTest {
     void updateAutomationCompositionElementStateNullTest() {
         var cacheProvider = mock(CacheProvider.class);
         var publisher = mock(ParticipantMessagePublisher.class);
-        var acOutHandler = new AutomationCompositionOutHandler(publisher, cacheProvider);
+        var acOutHandler = createAcOutHandler(publisher, cacheProvider);
 
         assertDoesNotThrow(
                 () -> acOutHandler.updateAutomationCompositionElementState(null, null, null, null, null, null));
@@ -108,7 +108,7 @@ class AutomationCompositionOutHandlerTest {
     void updateAutomationCompositionElementStageTest() {
         var publisher = mock(ParticipantMessagePublisher.class);
         var cacheProvider = mock(CacheProvider.class);
-        var acOutHandler = new AutomationCompositionOutHandler(publisher, cacheProvider);
+        var acOutHandler = createAcOutHandler(publisher, cacheProvider);
         var automationComposition = CommonTestData.getTestAutomationCompositionMap().values().iterator().next();
         when(cacheProvider.getAutomationComposition(automationComposition.getInstanceId()))
                 .thenReturn(automationComposition);
@@ -122,7 +122,7 @@ class AutomationCompositionOutHandlerTest {
     void updateAutomationCompositionElementStateDeployedTest() {
         var publisher = mock(ParticipantMessagePublisher.class);
         var cacheProvider = mock(CacheProvider.class);
-        var acOutHandler = new AutomationCompositionOutHandler(publisher, cacheProvider);
+        var acOutHandler = createAcOutHandler(publisher, cacheProvider);
 
         var automationComposition = CommonTestData.getTestAutomationCompositionMap().values().iterator().next();
         when(cacheProvider.getAutomationComposition(automationComposition.getInstanceId()))
@@ -144,7 +144,7 @@ class AutomationCompositionOutHandlerTest {
         element.setSubState(SubState.PREPARING);
         var elementId = element.getId();
         var publisher = mock(ParticipantMessagePublisher.class);
-        var acOutHandler = new AutomationCompositionOutHandler(publisher, cacheProvider);
+        var acOutHandler = createAcOutHandler(publisher, cacheProvider);
         acOutHandler.updateAutomationCompositionElementState(automationComposition.getInstanceId(), elementId,
                 DeployState.DEPLOYED, null, StateChangeResult.NO_ERROR, "Prepare completed");
         verify(publisher).sendAutomationCompositionAck(any(AutomationCompositionDeployAck.class));
@@ -154,7 +154,7 @@ class AutomationCompositionOutHandlerTest {
     void updateAutomationCompositionElementStateLockTest() {
         var publisher = mock(ParticipantMessagePublisher.class);
         var cacheProvider = mock(CacheProvider.class);
-        var acOutHandler = new AutomationCompositionOutHandler(publisher, cacheProvider);
+        var acOutHandler = createAcOutHandler(publisher, cacheProvider);
 
         var automationComposition = CommonTestData.getTestAutomationCompositionMap().values().iterator().next();
         when(cacheProvider.getAutomationComposition(automationComposition.getInstanceId()))
@@ -169,7 +169,7 @@ class AutomationCompositionOutHandlerTest {
     void updateAutomationCompositionElementStateDeleteTest() {
         var publisher = mock(ParticipantMessagePublisher.class);
         var cacheProvider = mock(CacheProvider.class);
-        var acOutHandler = new AutomationCompositionOutHandler(publisher, cacheProvider);
+        var acOutHandler = createAcOutHandler(publisher, cacheProvider);
 
         var automationComposition = CommonTestData.getTestAutomationCompositionMap().values().iterator().next();
         when(cacheProvider.getAutomationComposition(automationComposition.getInstanceId()))
@@ -187,7 +187,7 @@ class AutomationCompositionOutHandlerTest {
     void sendAcElementInfoTestNull() {
         var publisher = mock(ParticipantMessagePublisher.class);
         var cacheProvider = mock(CacheProvider.class);
-        var acOutHandler = new AutomationCompositionOutHandler(publisher, cacheProvider);
+        var acOutHandler = createAcOutHandler(publisher, cacheProvider);
 
         assertDoesNotThrow(() -> acOutHandler.sendAcElementInfo(null, null, null, null, null));
         assertDoesNotThrow(() -> acOutHandler.sendAcElementInfo(UUID.randomUUID(), null, null, null, null));
@@ -205,7 +205,7 @@ class AutomationCompositionOutHandlerTest {
     void sendAcElementInfoTest() {
         var publisher = mock(ParticipantMessagePublisher.class);
         var cacheProvider = mock(CacheProvider.class);
-        var acOutHandler = new AutomationCompositionOutHandler(publisher, cacheProvider);
+        var acOutHandler = createAcOutHandler(publisher, cacheProvider);
 
         var automationComposition = CommonTestData.getTestAutomationCompositionMap().values().iterator().next();
         when(cacheProvider.getAutomationComposition(automationComposition.getInstanceId()))
@@ -219,7 +219,7 @@ class AutomationCompositionOutHandlerTest {
     void updateCompositionStateNullTest() {
         var publisher = mock(ParticipantMessagePublisher.class);
         var cacheProvider = mock(CacheProvider.class);
-        var acOutHandler = new AutomationCompositionOutHandler(publisher, cacheProvider);
+        var acOutHandler = createAcOutHandler(publisher, cacheProvider);
 
         assertDoesNotThrow(
                 () -> acOutHandler.updateCompositionState(null, null, null, null));
@@ -242,7 +242,7 @@ class AutomationCompositionOutHandlerTest {
         var cacheProvider = mock(CacheProvider.class);
         when(cacheProvider.getParticipantId()).thenReturn(UUID.randomUUID());
         var publisher = mock(ParticipantMessagePublisher.class);
-        var acOutHandler = new AutomationCompositionOutHandler(publisher, cacheProvider);
+        var acOutHandler = createAcOutHandler(publisher, cacheProvider);
         var compositionId = UUID.randomUUID();
         acOutHandler.updateCompositionState(compositionId, AcTypeState.PRIMED, StateChangeResult.NO_ERROR, "Primed");
         verify(publisher).sendParticipantPrimeAck(any(ParticipantPrimeAck.class));
@@ -254,7 +254,7 @@ class AutomationCompositionOutHandlerTest {
         var cacheProvider = mock(CacheProvider.class);
         when(cacheProvider.getParticipantId()).thenReturn(UUID.randomUUID());
         var publisher = mock(ParticipantMessagePublisher.class);
-        var acOutHandler = new AutomationCompositionOutHandler(publisher, cacheProvider);
+        var acOutHandler = createAcOutHandler(publisher, cacheProvider);
         var compositionId = UUID.randomUUID();
         acOutHandler.updateCompositionState(compositionId, AcTypeState.COMMISSIONED, StateChangeResult.NO_ERROR,
                 "Deprimed");
@@ -272,7 +272,7 @@ class AutomationCompositionOutHandlerTest {
                 Map.of(compositionId, Map.of(elementId, new AutomationCompositionElementDefinition()));
         when(cacheProvider.getAcElementsDefinitions()).thenReturn(mapAcElementsDefinitions);
         var publisher = mock(ParticipantMessagePublisher.class);
-        var acOutHandler = new AutomationCompositionOutHandler(publisher, cacheProvider);
+        var acOutHandler = createAcOutHandler(publisher, cacheProvider);
 
         acOutHandler.sendAcDefinitionInfo(null, null, Map.of());
         verify(publisher, times(0)).sendParticipantStatus(any(ParticipantStatus.class));
@@ -292,7 +292,7 @@ class AutomationCompositionOutHandlerTest {
         var cacheProvider = mock(CacheProvider.class);
         when(cacheProvider.getParticipantId()).thenReturn(UUID.randomUUID());
         var publisher = mock(ParticipantMessagePublisher.class);
-        var acOutHandler = new AutomationCompositionOutHandler(publisher, cacheProvider);
+        var acOutHandler = createAcOutHandler(publisher, cacheProvider);
 
         var automationComposition = CommonTestData.getTestAutomationCompositionMap().values().iterator().next();
         when(cacheProvider.getAutomationComposition(automationComposition.getInstanceId()))
@@ -311,4 +311,11 @@ class AutomationCompositionOutHandlerTest {
                 .sendAutomationCompositionAck(any(AutomationCompositionDeployAck.class));
         assertEquals(compositionTarget, automationComposition.getCompositionId());
     }
+
+    private AutomationCompositionOutHandler createAcOutHandler(ParticipantMessagePublisher publisher,
+            CacheProvider cacheProvider) {
+        var parameters = CommonTestData.getParticipantParameters();
+        return new AutomationCompositionOutHandler(publisher, cacheProvider, new AckAggregator(publisher, parameters),
+                new ElementInfoAggregator(publisher, cacheProvider, parameters));
+    }
 }
@@ -109,10 +109,65 @@ class CacheProviderTest {
         cacheProvider.removeAutomationComposition(automationComposition.getInstanceId());
         assertThat(cacheProvider.getAutomationCompositions()).isEmpty();
 
+        cacheProvider.initializeAutomationComposition(compositionId, automationComposition.getInstanceId(),
+                participantDeploy);
+        cacheProvider.removeAutomationCompositions(UUID.randomUUID());
+        assertThat(cacheProvider.getAutomationCompositions()).hasSize(1);
+        cacheProvider.removeAutomationCompositions(compositionId);
+        assertThat(cacheProvider.getAutomationCompositions()).isEmpty();
+
         cacheProvider.removeElementDefinition(compositionId);
         assertThat(cacheProvider.getAcElementsDefinitions()).isEmpty();
     }
 
+    @Test
+    void testCompactCache() {
+        var automationComposition =
+                CommonTestData.getTestAutomationCompositions().getAutomationCompositionList().get(0);
+        var cacheProvider = new CacheProvider(CommonTestData.getParticipantParameters());
+        var compositionId1 = UUID.randomUUID();
+        cacheProvider.addElementDefinition(compositionId1,
+                CommonTestData.createAutomationCompositionElementDefinitionList(automationComposition));
+        var compositionId2 = UUID.randomUUID();
+        cacheProvider.addElementDefinition(compositionId2,
+                CommonTestData.createAutomationCompositionElementDefinitionList(automationComposition));
+
+        var participantDeploy =
+                CommonTestData.createparticipantDeploy(cacheProvider.getParticipantId(), automationComposition);
+        var instanceId1 = UUID.randomUUID();
+        cacheProvider.initializeAutomationComposition(compositionId1, instanceId1, participantDeploy);
+        // the same instance decoded again, so with equal but not identical definitions
+        var automationComposition2 =
+                CommonTestData.getTestAutomationCompositions().getAutomationCompositionList().get(0);
+        var instanceId2 = UUID.randomUUID();
+        cacheProvider.initializeAutomationComposition(compositionId2, instanceId2,
+                CommonTestData.createparticipantDeploy(cacheProvider.getParticipantId(), automationComposition2));
+
+        var elementId = automationComposition.getElements().keySet().iterator().next();
+        var definition1 = cacheProvider.getAutomationComposition(instanceId1).getElements().get(elementId)
+                .getDefinition();
+        var definition2 = cacheProvider.getAutomationComposition(instanceId2).getElements().get(elementId)
+                .getDefinition();
+        assertThat(definition1).isSameAs(definition2);
+        // the cache keeps its own copy, so the decoded message can not change the identifier shared
+        var decodedDefinition = participantDeploy.getAcElementList().stream()
+                .filter(element -> elementId.equals(element.getId())).findFirst().orElseThrow().getDefinition();
+        assertThat(definition1).isNotSameAs(decodedDefinition).isEqualTo(decodedDefinition);
+        decodedDefinition.setVersion("9.9.9");
+        assertThat(definition1.getVersion()).isNotEqualTo("9.9.9");
+        var compositionElement = cacheProvider.getCompositionElementDtoMap(
+                cacheProvider.getAutomationComposition(instanceId2), compositionId2).get(elementId);
+        assertThat(compositionElement.elementDefinitionId()).isNotSameAs(definition2).isEqualTo(definition2);
+
+        var commonProperties1 = cacheProvider.getCommonProperties(compositionId1, definition1);
+        var commonProperties2 = cacheProvider.getCommonProperties(compositionId2, definition2);
+        assertThat(commonProperties1).isSameAs(commonProperties2).containsEntry("key", "value");
+        assertThatThrownBy(() -> commonProperties1.put("key", "other"))
+                .isInstanceOf(UnsupportedOperationException.class);
+
+        assertThat(cacheProvider.countElements()).isEqualTo(2 * automationComposition.getElements().size());
+    }
+
     @Test
     void testDeply() {
         var automationComposition =
@@ -0,0 +1,237 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2024 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.clamp.acm.participant.intermediary.handler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.Mockito.mock;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.onap.policy.clamp.acm.participant.intermediary.main.parameters.CommonTestData;
+import org.onap.policy.clamp.acm.participant.intermediary.comm.ParticipantMessagePublisher;
+import org.onap.policy.clamp.acm.participant.intermediary.parameters.ParticipantParameters;
+import org.onap.policy.clamp.models.acm.concepts.AutomationComposition;
+import org.onap.policy.clamp.models.acm.concepts.DeployState;
+import org.onap.policy.clamp.models.acm.concepts.LockState;
+import org.onap.policy.clamp.models.acm.concepts.StateChangeResult;
+import org.onap.policy.clamp.models.acm.utils.SyncDigestHelper;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaServiceTemplate;
+
+class CacheSnapshotTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testSaveAndLoad() {
+        var parameters = getParameters(tempDir.resolve("cache.json"));
+        var cacheProvider = new CacheProvider(parameters);
+        var automationComposition =
+                CommonTestData.getTestAutomationCompositions().getAutomationCompositionList().get(0);
+        var compositionId = UUID.randomUUID();
+        cacheProvider.addElementDefinition(compositionId,
+                CommonTestData.createAutomationCompositionElementDefinitionList(automationComposition));
+        var fragment = new ToscaServiceTemplate();
+        fragment.setName("fragment");
+        cacheProvider.restoreServiceTemplateFragment(compositionId, fragment);
+        var instanceId = UUID.randomUUID();
+        cacheProvider.initializeAutomationComposition(compositionId, instanceId,
+                CommonTestData.createparticipantDeploy(cacheProvider.getParticipantId(), automationComposition));
+
+        var cacheSnapshot = new CacheSnapshot(cacheProvider, parameters);
+        cacheSnapshot.close();
+        assertThat(tempDir.resolve("cache.json")).exists();
+        assertThat(tempDir.resolve("cache.json.tmp")).doesNotExist();
+
+        var restoredCacheProvider = new CacheProvider(parameters);
+        var restoredSnapshot = new CacheSnapshot(restoredCacheProvider, parameters);
+        assertThat(restoredCacheProvider.getCompositionDigests()).isEqualTo(cacheProvider.getCompositionDigests())
+                .containsOnlyKeys(compositionId);
+        assertThat(restoredCacheProvider.getCompositionInstanceDigests())
+                .isEqualTo(cacheProvider.getCompositionInstanceDigests()).containsOnlyKeys(compositionId);
+        assertThat(restoredCacheProvider.getServiceTemplateFragmentMap().get(compositionId).getName())
+                .isEqualTo("fragment");
+        assertThat(restoredCacheProvider.getAutomationComposition(instanceId).getCompositionId())
+                .isEqualTo(compositionId);
+        restoredSnapshot.close();
+    }
+
+    @Test
+    void testDeploySnapshotRegisterDigest() {
+        var parameters = getParameters(tempDir.resolve("cache.json"));
+        var cacheProvider = new CacheProvider(parameters);
+        var automationComposition =
+                CommonTestData.getTestAutomationCompositions().getAutomationCompositionList().get(0);
+        var compositionId = UUID.randomUUID();
+        var instanceId = UUID.randomUUID();
+        cacheProvider.addElementDefinition(compositionId,
+                CommonTestData.createAutomationCompositionElementDefinitionList(automationComposition));
+        cacheProvider.initializeAutomationComposition(compositionId, instanceId,
+                CommonTestData.createparticipantDeploy(cacheProvider.getParticipantId(), automationComposition));
+        var acOutHandler = new AutomationCompositionOutHandler(mock(ParticipantMessagePublisher.class),
+                cacheProvider, mock(AckAggregator.class), mock(ElementInfoAggregator.class));
+        for (var elementId : automationComposition.getElements().keySet()) {
+            acOutHandler.updateAutomationCompositionElementState(instanceId, elementId, DeployState.DEPLOYED, null,
+                    StateChangeResult.NO_ERROR, "Deployed");
+        }
+
+        new CacheSnapshot(cacheProvider, parameters).close();
+        var restoredCacheProvider = new CacheProvider(parameters);
+        new CacheSnapshot(restoredCacheProvider, parameters).close();
+
+        // the same instance as kept by the runtime once deployed
+        var runtimeAc = new AutomationComposition(automationComposition);
+        runtimeAc.setInstanceId(instanceId);
+        runtimeAc.setCompositionId(compositionId);
+        runtimeAc.setDeployState(DeployState.DEPLOYED);
+        runtimeAc.setLockState(LockState.LOCKED);
+        runtimeAc.setStateChangeResult(StateChangeResult.NO_ERROR);
+        for (var element : runtimeAc.getElements().values()) {
+            element.setParticipantId(cacheProvider.getParticipantId());
+            element.setDeployState(DeployState.DEPLOYED);
+            element.setLockState(LockState.LOCKED);
+            element.setMessage("Deployed");
+        }
+        assertThat(restoredCacheProvider.getCompositionInstanceDigests()).containsExactly(entry(compositionId,
+                SyncDigestHelper.instancesDigest(List.of(runtimeAc), cacheProvider.getParticipantId())));
+    }
+
+    @Test
+    void testSaveWaitsForUpdate() throws Exception {
+        var parameters = getParameters(tempDir.resolve("cache.json"));
+        var cacheProvider = new CacheProvider(parameters);
+        var automationComposition =
+                CommonTestData.getTestAutomationCompositions().getAutomationCompositionList().get(0);
+        var instanceId = UUID.randomUUID();
+        cacheProvider.initializeAutomationComposition(UUID.randomUUID(), instanceId,
+                CommonTestData.createparticipantDeploy(cacheProvider.getParticipantId(), automationComposition));
+        var cacheSnapshot = new CacheSnapshot(cacheProvider, parameters);
+
+        var inUpdate = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var update = CompletableFuture.runAsync(() -> CacheProvider.runUpdate(() -> {
+            cacheProvider.getAutomationComposition(instanceId).setDeployState(DeployState.DEPLOYED);
+            inUpdate.countDown();
+            awaitQuietly(release);
+            cacheProvider.getAutomationComposition(instanceId).getElements().values()
+                    .forEach(element -> element.setUseState("updated"));
+        }));
+        assertThat(inUpdate.await(10, TimeUnit.SECONDS)).isTrue();
+
+        // the snapshot is not taken in the middle of the change
+        var save = CompletableFuture.runAsync(cacheSnapshot::save);
+        assertThatThrownBy(() -> save.get(200, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+        release.countDown();
+        update.get(10, TimeUnit.SECONDS);
+        save.get(10, TimeUnit.SECONDS);
+        cacheSnapshot.close();
+
+        var restoredCacheProvider = new CacheProvider(parameters);
+        new CacheSnapshot(restoredCacheProvider, parameters).close();
+        var restored = restoredCacheProvider.getAutomationComposition(instanceId);
+        assertThat(restored.getDeployState()).isEqualTo(DeployState.DEPLOYED);
+        assertThat(restored.getElements().values()).allMatch(element -> "updated".equals(element.getUseState()));
+    }
+
+    @Test
+    void testSaveSkippedWhenUnchanged() throws IOException {
+        var path = tempDir.resolve("cache.json");
+        var parameters = getParameters(path);
+        var cacheProvider = new CacheProvider(parameters);
+        var cacheSnapshot = new CacheSnapshot(cacheProvider, parameters);
+        cacheSnapshot.save();
+        assertThat(path).exists();
+
+        // no change of the cache, the snapshot is not taken again
+        Files.delete(path);
+        cacheSnapshot.save();
+        assertThat(path).doesNotExist();
+
+        var compositionId = UUID.randomUUID();
+        CacheProvider.runUpdate(() -> cacheProvider.addElementDefinition(compositionId,
+                CommonTestData.createAutomationCompositionElementDefinitionList(
+                        CommonTestData.getTestAutomationCompositions().getAutomationCompositionList().get(0))));
+        cacheSnapshot.close();
+        assertThat(path).exists();
+
+        var restoredCacheProvider = new CacheProvider(parameters);
+        new CacheSnapshot(restoredCacheProvider, parameters).close();
+        assertThat(restoredCacheProvider.getAcElementsDefinitions()).containsOnlyKeys(compositionId);
+    }
+
+    @Test
+    void testNotLoaded() throws IOException {
+        var path = tempDir.resolve("cache.json");
+        var parameters = getParameters(path);
+        var cacheProvider = new CacheProvider(parameters);
+        cacheProvider.addElementDefinition(UUID.randomUUID(),
+                CommonTestData.createAutomationCompositionElementDefinitionList(
+                        CommonTestData.getTestAutomationCompositions().getAutomationCompositionList().get(0)));
+        new CacheSnapshot(cacheProvider, parameters).close();
+
+        // snapshot saved by another participant
+        var otherParameters = getParameters(path);
+        otherParameters.getIntermediaryParameters().setParticipantId(UUID.randomUUID());
+        var otherCacheProvider = new CacheProvider(otherParameters);
+        new CacheSnapshot(otherCacheProvider, otherParameters).close();
+        assertThat(otherCacheProvider.getAcElementsDefinitions()).isEmpty();
+
+        // snapshot not readable
+        Files.writeString(path, "{");
+        var emptyCacheProvider = new CacheProvider(parameters);
+        new CacheSnapshot(emptyCacheProvider, parameters).close();
+        assertThat(emptyCacheProvider.getAcElementsDefinitions()).isEmpty();
+    }
+
+    @Test
+    void testDisabled() {
+        var parameters = CommonTestData.getParticipantParameters();
+        var cacheProvider = new CacheProvider(parameters);
+        new CacheSnapshot(cacheProvider, parameters).close();
+        assertThat(tempDir).isEmptyDirectory();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private ParticipantParameters getParameters(Path path) {
+        var parameters = CommonTestData.getParticipantParameters();
+        parameters.getIntermediaryParameters().getSnapshot().setPath(path.toString());
+        parameters.getIntermediaryParameters().getSnapshot().setIntervalMs(60000);
+        return parameters;
+    }
+}
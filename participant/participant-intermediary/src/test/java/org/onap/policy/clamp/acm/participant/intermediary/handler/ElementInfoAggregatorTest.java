@@ -0,0 +1,116 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2024 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.clamp.acm.participant.intermediary.handler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.onap.policy.clamp.acm.participant.intermediary.comm.ParticipantMessagePublisher;
+import org.onap.policy.clamp.acm.participant.intermediary.main.parameters.CommonTestData;
+import org.onap.policy.clamp.models.acm.concepts.AutomationCompositionElementInfo;
+import org.onap.policy.clamp.models.acm.concepts.AutomationCompositionInfo;
+import org.onap.policy.clamp.models.acm.messages.kafka.participant.ParticipantStatus;
+
+class ElementInfoAggregatorTest {
+
+    private static final long MAX_DELAY_MS = 200;
+
+    @Test
+    void testSendAtOnce() {
+        var publisher = mock(ParticipantMessagePublisher.class);
+        var cacheProvider = mock(CacheProvider.class);
+        try (var aggregator = new ElementInfoAggregator(publisher, cacheProvider,
+                CommonTestData.getParticipantParameters())) {
+            var instanceId = UUID.randomUUID();
+            var elementId = UUID.randomUUID();
+            aggregator.send(UUID.randomUUID(), createAcInfo(instanceId, elementId, "first"));
+            aggregator.send(UUID.randomUUID(), createAcInfo(instanceId, elementId, "second"));
+            verify(publisher, times(2)).sendParticipantStatus(any(ParticipantStatus.class));
+        }
+    }
+
+    @Test
+    void testLatestWins() {
+        var publisher = mock(ParticipantMessagePublisher.class);
+        var cacheProvider = mock(CacheProvider.class);
+        try (var aggregator = createAggregator(publisher, cacheProvider, 100)) {
+            var compositionId = UUID.randomUUID();
+            var instanceId = UUID.randomUUID();
+            var elementId = UUID.randomUUID();
+            aggregator.send(compositionId, createAcInfo(instanceId, elementId, "first"));
+            aggregator.send(compositionId, createAcInfo(instanceId, UUID.randomUUID(), "other"));
+            aggregator.send(compositionId, createAcInfo(instanceId, elementId, "second"));
+            verify(publisher, times(0)).sendParticipantStatus(any(ParticipantStatus.class));
+
+            var captor = ArgumentCaptor.forClass(ParticipantStatus.class);
+            verify(publisher, timeout(MAX_DELAY_MS * 10)).sendParticipantStatus(captor.capture());
+            var statusMsg = captor.getValue();
+            assertThat(statusMsg.getCompositionId()).isEqualTo(compositionId);
+            assertThat(statusMsg.getAutomationCompositionInfoList()).hasSize(1);
+            var elements = statusMsg.getAutomationCompositionInfoList().get(0).getElements();
+            assertThat(elements).hasSize(2);
+            assertThat(elements.get(0).getAutomationCompositionElementId()).isEqualTo(elementId);
+            assertThat(elements.get(0).getOperationalState()).isEqualTo("second");
+        }
+    }
+
+    @Test
+    void testMaxSize() {
+        var publisher = mock(ParticipantMessagePublisher.class);
+        var cacheProvider = mock(CacheProvider.class);
+        try (var aggregator = createAggregator(publisher, cacheProvider, 2)) {
+            var compositionId = UUID.randomUUID();
+            aggregator.send(compositionId, createAcInfo(UUID.randomUUID(), UUID.randomUUID(), "first"));
+            aggregator.send(UUID.randomUUID(), createAcInfo(UUID.randomUUID(), UUID.randomUUID(), "other"));
+            verify(publisher, times(2)).sendParticipantStatus(any(ParticipantStatus.class));
+
+            aggregator.send(compositionId, createAcInfo(UUID.randomUUID(), UUID.randomUUID(), "second"));
+        }
+        // the pending info is sent on close
+        verify(publisher, times(3)).sendParticipantStatus(any(ParticipantStatus.class));
+    }
+
+    private ElementInfoAggregator createAggregator(ParticipantMessagePublisher publisher, CacheProvider cacheProvider,
+            int maxSize) {
+        var parameters = CommonTestData.getParticipantParameters();
+        parameters.getIntermediaryParameters().setElementInfoMaxDelayMs(MAX_DELAY_MS);
+        parameters.getIntermediaryParameters().setElementInfoMaxSize(maxSize);
+        return new ElementInfoAggregator(publisher, cacheProvider, parameters);
+    }
+
+    private AutomationCompositionInfo createAcInfo(UUID instanceId, UUID elementId, String operationalState) {
+        var elementInfo = new AutomationCompositionElementInfo();
+        elementInfo.setAutomationCompositionElementId(elementId);
+        elementInfo.setOperationalState(operationalState);
+        var acInfo = new AutomationCompositionInfo();
+        acInfo.setAutomationCompositionId(instanceId);
+        acInfo.setElements(List.of(elementInfo));
+        return acInfo;
+    }
+}
@@ -20,17 +20,22 @@
 
 package org.onap.policy.clamp.acm.participant.intermediary.handler;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.notNull;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.onap.policy.clamp.acm.participant.intermediary.comm.ParticipantStatusReqListener;
@@ -78,8 +83,8 @@ class IntermediaryActivatorTest {
             // repeat start - should throw an exception
             assertThatIllegalStateException().isThrownBy(activator::start);
             assertTrue(activator.isAlive());
-            verify(publisherFirst, times(1)).active(anyList());
-            verify(publisherSecond, times(1)).active(anyList());
+            verify(publisherFirst, times(1)).active(anyList(), isNull());
+            verify(publisherSecond, times(1)).active(anyList(), isNull());
 
             var sco = CODER.decode("{messageType:" + TOPIC_FIRST + "}", StandardCoderObject.class);
             activator.getMsgDispatcher().onTopicEvent(null, "msg", sco);
@@ -100,4 +105,27 @@ class IntermediaryActivatorTest {
             assertDoesNotThrow(() -> activator.handleContextClosedEvent(mock(ContextClosedEvent.class)));
         }
     }
+
+    @Test
+    void testOutboundQueueGauges() throws Exception {
+        var parameters = CommonTestData.getParticipantParameters();
+        parameters.getIntermediaryParameters().getOutbound().setQueueSize(10);
+        var publisher = mock(Publisher.class);
+        var registry = new SimpleMeterRegistry();
+        Metrics.globalRegistry.add(registry);
+        try (var activator = new IntermediaryActivator(parameters, mock(ParticipantHandler.class),
+                List.of(publisher), List.of())) {
+            activator.start();
+            verify(publisher).active(anyList(), notNull());
+            assertThat(registry.get("participant.outbound.queued").tag("sender", "participant").gauge().value())
+                    .isZero();
+            assertThat(registry.get("participant.outbound.backpressured").tag("sender", "participant").gauge()
+                    .value()).isZero();
+
+            activator.stop();
+            assertThat(registry.find("participant.outbound.queued").gauge()).isNull();
+        } finally {
+            Metrics.globalRegistry.remove(registry);
+        }
+    }
 }
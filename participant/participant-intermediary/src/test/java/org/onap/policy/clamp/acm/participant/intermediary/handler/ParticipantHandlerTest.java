@@ -21,17 +21,20 @@
 package org.onap.policy.clamp.acm.participant.intermediary.handler;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.clearInvocations;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.List;
 import java.util.UUID;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.onap.policy.clamp.acm.participant.intermediary.comm.ParticipantMessagePublisher;
 import org.onap.policy.clamp.acm.participant.intermediary.main.parameters.CommonTestData;
 import org.onap.policy.clamp.models.acm.concepts.AcTypeState;
@@ -50,6 +53,7 @@ import org.onap.policy.clamp.models.acm.messages.kafka.participant.ParticipantRe
 import org.onap.policy.clamp.models.acm.messages.kafka.participant.ParticipantStatus;
 import org.onap.policy.clamp.models.acm.messages.kafka.participant.ParticipantStatusReq;
 import org.onap.policy.clamp.models.acm.messages.kafka.participant.ParticipantSync;
+import org.onap.policy.clamp.models.acm.messages.kafka.participant.ParticipantSyncAck;
 import org.onap.policy.clamp.models.acm.messages.kafka.participant.PropertiesUpdate;
 import org.onap.policy.clamp.models.acm.messages.rest.instantiation.DeployOrder;
 import org.onap.policy.clamp.models.acm.messages.rest.instantiation.LockOrder;
@@ -229,6 +233,74 @@ class ParticipantHandlerTest {
 
         participantHandler.handleParticipantSync(participantSyncMsg);
         verify(acHandler).handleParticipantSync(participantSyncMsg);
+        verify(publisher, times(0)).sendParticipantSyncAck(any());
+    }
+
+    @Test
+    void handleParticipantRestartChunkTest() {
+        var participantSyncMsg = new ParticipantSync();
+        participantSyncMsg.setMessageId(UUID.randomUUID());
+        participantSyncMsg.setState(AcTypeState.PRIMED);
+        participantSyncMsg.setCompositionId(UUID.randomUUID());
+        participantSyncMsg.setReplicaId(CommonTestData.getReplicaId());
+        participantSyncMsg.setRestartSyncId(UUID.randomUUID());
+        participantSyncMsg.setChunkSequence(1);
+        participantSyncMsg.setLastChunk(false);
+
+        var cacheProvider = mock(CacheProvider.class);
+        when(cacheProvider.getReplicaId()).thenReturn(CommonTestData.getReplicaId());
+        when(cacheProvider.getParticipantId()).thenReturn(CommonTestData.getParticipantId());
+        var publisher = mock(ParticipantMessagePublisher.class);
+        var acHandler = mock(AcDefinitionHandler.class);
+        var participantHandler = new ParticipantHandler(mock(AutomationCompositionHandler.class),
+            mock(AcLockHandler.class), mock(AcSubStateHandler.class), acHandler, publisher, cacheProvider);
+
+        participantHandler.handleParticipantSync(participantSyncMsg);
+        participantSyncMsg.setLastChunk(true);
+        participantHandler.handleParticipantSync(participantSyncMsg);
+        // the chunk received again is acknowledged, but not applied twice
+        verify(acHandler).handleParticipantSync(participantSyncMsg);
+        var captor = ArgumentCaptor.forClass(ParticipantSyncAck.class);
+        verify(publisher, times(2)).sendParticipantSyncAck(captor.capture());
+        var participantSyncAck = captor.getValue();
+        assertEquals(participantSyncMsg.getMessageId(), participantSyncAck.getResponseTo());
+        assertEquals(CommonTestData.getReplicaId(), participantSyncAck.getReplicaId());
+        assertEquals(participantSyncMsg.getRestartSyncId(), participantSyncAck.getRestartSyncId());
+        assertEquals(1, participantSyncAck.getChunkSequence());
+    }
+
+    @Test
+    void handleParticipantRestartChunkResentTest() {
+        var restartSyncId = UUID.randomUUID();
+        var compositionId = UUID.randomUUID();
+        var deleteChunk = createChunk(restartSyncId, compositionId, 0);
+        deleteChunk.setDelete(true);
+        var instancesChunk = createChunk(restartSyncId, compositionId, 1);
+
+        var cacheProvider = mock(CacheProvider.class);
+        when(cacheProvider.getReplicaId()).thenReturn(CommonTestData.getReplicaId());
+        var publisher = mock(ParticipantMessagePublisher.class);
+        var acHandler = mock(AcDefinitionHandler.class);
+        var participantHandler = new ParticipantHandler(mock(AutomationCompositionHandler.class),
+            mock(AcLockHandler.class), mock(AcSubStateHandler.class), acHandler, publisher, cacheProvider);
+
+        participantHandler.handleParticipantSync(deleteChunk);
+        participantHandler.handleParticipantSync(instancesChunk);
+        // the ack of the delete chunk was late, the chunk sent again must not remove the instances synced
+        participantHandler.handleParticipantSync(new ParticipantSync(deleteChunk));
+        verify(acHandler).handleParticipantSync(deleteChunk);
+        verify(acHandler).handleParticipantSync(instancesChunk);
+        verify(acHandler, times(2)).handleParticipantSync(any());
+        verify(publisher, times(3)).sendParticipantSyncAck(any());
+
+        // a delete chunk lost and received after a later chunk is not applied either
+        var otherSyncId = UUID.randomUUID();
+        var lateDeleteChunk = createChunk(otherSyncId, compositionId, 0);
+        lateDeleteChunk.setDelete(true);
+        participantHandler.handleParticipantSync(createChunk(otherSyncId, compositionId, 1));
+        participantHandler.handleParticipantSync(lateDeleteChunk);
+        verify(acHandler, times(0)).handleParticipantSync(lateDeleteChunk);
+        verify(publisher, times(5)).sendParticipantSyncAck(any());
     }
 
     @Test
@@ -250,4 +322,16 @@ class ParticipantHandlerTest {
         participantHandler.sendHeartbeat();
         verify(publisher).sendParticipantStatus(any(ParticipantStatus.class));
     }
+
+    private ParticipantSync createChunk(UUID restartSyncId, UUID compositionId, int chunkSequence) {
+        var chunk = new ParticipantSync();
+        chunk.setMessageId(UUID.randomUUID());
+        chunk.setState(AcTypeState.PRIMED);
+        chunk.setCompositionId(compositionId);
+        chunk.setReplicaId(CommonTestData.getReplicaId());
+        chunk.setRestarting(true);
+        chunk.setRestartSyncId(restartSyncId);
+        chunk.setChunkSequence(chunkSequence);
+        return chunk;
+    }
 }
@@ -20,22 +20,37 @@
 
 package org.onap.policy.clamp.acm.participant.intermediary.handler;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.ws.rs.core.Response.Status;
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.Test;
 import org.onap.policy.clamp.acm.participant.intermediary.api.AutomationCompositionElementListener;
 import org.onap.policy.clamp.acm.participant.intermediary.api.CompositionDto;
 import org.onap.policy.clamp.acm.participant.intermediary.api.CompositionElementDto;
 import org.onap.policy.clamp.acm.participant.intermediary.api.InstanceElementDto;
 import org.onap.policy.clamp.acm.participant.intermediary.api.ParticipantIntermediaryApi;
+import org.onap.policy.clamp.acm.participant.intermediary.main.parameters.CommonTestData;
+import org.onap.policy.clamp.acm.participant.intermediary.parameters.BulkheadParameters;
 import org.onap.policy.clamp.models.acm.concepts.AcElementDeploy;
 import org.onap.policy.clamp.models.acm.concepts.AcTypeState;
 import org.onap.policy.clamp.models.acm.concepts.DeployState;
@@ -52,7 +67,8 @@ class ThreadHandlerTest {
     void testPrime() throws PfModelException, IOException {
         var listener = mock(AutomationCompositionElementListener.class);
         var intermediaryApi = mock(ParticipantIntermediaryApi.class);
-        try (var threadHandler = new ThreadHandler(listener, intermediaryApi, mock(CacheProvider.class))) {
+        try (var threadHandler = new ThreadHandler(listener, intermediaryApi, mock(CacheProvider.class),
+                CommonTestData.getParticipantParameters())) {
 
             var compositionId = UUID.randomUUID();
             var messageId = UUID.randomUUID();
@@ -70,7 +86,8 @@ class ThreadHandlerTest {
     void testPrimeException() throws PfModelException, IOException {
         var listener = mock(AutomationCompositionElementListener.class);
         var intermediaryApi = mock(ParticipantIntermediaryApi.class);
-        try (var threadHandler = new ThreadHandler(listener, intermediaryApi, mock(CacheProvider.class))) {
+        try (var threadHandler = new ThreadHandler(listener, intermediaryApi, mock(CacheProvider.class),
+                CommonTestData.getParticipantParameters())) {
 
             var compositionId = UUID.randomUUID();
             var composition = new CompositionDto(compositionId, Map.of(), Map.of());
@@ -92,7 +109,8 @@ class ThreadHandlerTest {
     void testDeploy() throws PfModelException, IOException {
         var listener = mock(AutomationCompositionElementListener.class);
         var intermediaryApi = mock(ParticipantIntermediaryApi.class);
-        try (var threadHandler = new ThreadHandler(listener, intermediaryApi, mock(CacheProvider.class))) {
+        try (var threadHandler = new ThreadHandler(listener, intermediaryApi, mock(CacheProvider.class),
+                CommonTestData.getParticipantParameters())) {
 
             Map<String, Object> properties = Map.of("key", "value");
             var compositionElement = new CompositionElementDto(UUID.randomUUID(), new ToscaConceptIdentifier(),
@@ -135,7 +153,8 @@ class ThreadHandlerTest {
     void testDeployException() throws PfModelException, IOException {
         var listener = mock(AutomationCompositionElementListener.class);
         var intermediaryApi = mock(ParticipantIntermediaryApi.class);
-        try (var threadHandler = new ThreadHandler(listener, intermediaryApi, mock(CacheProvider.class))) {
+        try (var threadHandler = new ThreadHandler(listener, intermediaryApi, mock(CacheProvider.class),
+                CommonTestData.getParticipantParameters())) {
 
             Map<String, Object> properties = Map.of("key", "value");
             var compositionElement = new CompositionElementDto(UUID.randomUUID(), new ToscaConceptIdentifier(),
@@ -197,7 +216,8 @@ class ThreadHandlerTest {
     void testLock() throws PfModelException, IOException {
         var listener = mock(AutomationCompositionElementListener.class);
         var intermediaryApi = mock(ParticipantIntermediaryApi.class);
-        try (var threadHandler = new ThreadHandler(listener, intermediaryApi, mock(CacheProvider.class))) {
+        try (var threadHandler = new ThreadHandler(listener, intermediaryApi, mock(CacheProvider.class),
+                CommonTestData.getParticipantParameters())) {
 
             Map<String, Object> properties = Map.of("key", "value");
             var compositionElement = new CompositionElementDto(UUID.randomUUID(), new ToscaConceptIdentifier(),
@@ -222,7 +242,8 @@ class ThreadHandlerTest {
     void testLockException() throws PfModelException, IOException {
         var listener = mock(AutomationCompositionElementListener.class);
         var intermediaryApi = mock(ParticipantIntermediaryApi.class);
-        try (var threadHandler = new ThreadHandler(listener, intermediaryApi, mock(CacheProvider.class))) {
+        try (var threadHandler = new ThreadHandler(listener, intermediaryApi, mock(CacheProvider.class),
+                CommonTestData.getParticipantParameters())) {
 
             Map<String, Object> properties = Map.of("key", "value");
             var compositionElement = new CompositionElementDto(UUID.randomUUID(), new ToscaConceptIdentifier(),
@@ -252,7 +273,8 @@ class ThreadHandlerTest {
     void testSubState() throws PfModelException, IOException {
         var listener = mock(AutomationCompositionElementListener.class);
         var intermediaryApi = mock(ParticipantIntermediaryApi.class);
-        try (var threadHandler = new ThreadHandler(listener, intermediaryApi, mock(CacheProvider.class))) {
+        try (var threadHandler = new ThreadHandler(listener, intermediaryApi, mock(CacheProvider.class),
+                CommonTestData.getParticipantParameters())) {
 
             Map<String, Object> properties = Map.of("key", "value");
             var compositionElement = new CompositionElementDto(UUID.randomUUID(), new ToscaConceptIdentifier(),
@@ -284,7 +306,8 @@ class ThreadHandlerTest {
     void testSubStateException() throws PfModelException, IOException {
         var listener = mock(AutomationCompositionElementListener.class);
         var intermediaryApi = mock(ParticipantIntermediaryApi.class);
-        try (var threadHandler = new ThreadHandler(listener, intermediaryApi, mock(CacheProvider.class))) {
+        try (var threadHandler = new ThreadHandler(listener, intermediaryApi, mock(CacheProvider.class),
+                CommonTestData.getParticipantParameters())) {
 
             Map<String, Object> properties = Map.of("key", "value");
             var compositionElement = new CompositionElementDto(UUID.randomUUID(), new ToscaConceptIdentifier(),
@@ -325,4 +348,242 @@ class ThreadHandlerTest {
                 "Automation composition element migrate precheck failed");
         }
     }
+
+    @Test
+    void testVirtualThreads() throws PfModelException, IOException, InterruptedException {
+        var listener = mock(AutomationCompositionElementListener.class);
+        var intermediaryApi = mock(ParticipantIntermediaryApi.class);
+        var parameters = CommonTestData.getParticipantParameters();
+        parameters.getIntermediaryParameters().getThreadPool().setVirtualThreads(true);
+        try (var threadHandler = new ThreadHandler(listener, intermediaryApi, mock(CacheProvider.class),
+                parameters)) {
+
+            // operations blocked on I/O do not wait for a free thread
+            var size = Runtime.getRuntime().availableProcessors() * 4;
+            var started = new CountDownLatch(size);
+            var release = new CountDownLatch(1);
+            doAnswer(invocation -> {
+                started.countDown();
+                release.await();
+                return null;
+            }).when(listener).deploy(any(), any());
+            var compositionElement = new CompositionElementDto(UUID.randomUUID(), new ToscaConceptIdentifier(),
+                Map.of(), Map.of());
+            for (var i = 0; i < size; i++) {
+                var instanceElement = new InstanceElementDto(UUID.randomUUID(), UUID.randomUUID(), null, Map.of(),
+                    Map.of());
+                threadHandler.deploy(UUID.randomUUID(), compositionElement, instanceElement);
+            }
+            assertThat(started.await(TIMEOUT * 10L, TimeUnit.MILLISECONDS)).isTrue();
+
+            // a new operation on the same element cancels the running one
+            var instanceElement = new InstanceElementDto(UUID.randomUUID(), UUID.randomUUID(), null, Map.of(),
+                Map.of());
+            var interrupted = new CountDownLatch(1);
+            doAnswer(invocation -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                }
+                return null;
+            }).when(listener).deploy(compositionElement, instanceElement);
+            threadHandler.deploy(UUID.randomUUID(), compositionElement, instanceElement);
+            verify(listener, timeout(TIMEOUT)).deploy(compositionElement, instanceElement);
+            threadHandler.undeploy(UUID.randomUUID(), compositionElement, instanceElement);
+            assertThat(interrupted.await(TIMEOUT, TimeUnit.MILLISECONDS)).isTrue();
+            verify(listener, timeout(TIMEOUT)).undeploy(compositionElement, instanceElement);
+            release.countDown();
+        }
+    }
+
+    @Test
+    void testPriority() throws PfModelException, IOException, InterruptedException {
+        var listener = mock(AutomationCompositionElementListener.class);
+        var intermediaryApi = mock(ParticipantIntermediaryApi.class);
+        var parameters = CommonTestData.getParticipantParameters();
+        parameters.getIntermediaryParameters().getThreadPool().setSize(1);
+        try (var threadHandler = new ThreadHandler(listener, intermediaryApi, mock(CacheProvider.class),
+                parameters)) {
+
+            var compositionElement = new CompositionElementDto(UUID.randomUUID(), new ToscaConceptIdentifier(),
+                Map.of(), Map.of());
+            var running = createInstanceElement();
+            var started = new CountDownLatch(1);
+            var release = new CountDownLatch(1);
+            doAnswer(invocation -> {
+                started.countDown();
+                release.await();
+                return null;
+            }).when(listener).deploy(compositionElement, running);
+            threadHandler.deploy(UUID.randomUUID(), compositionElement, running);
+            assertThat(started.await(TIMEOUT, TimeUnit.MILLISECONDS)).isTrue();
+
+            // the undeploy queued after the deploy runs first
+            var deploy = createInstanceElement();
+            threadHandler.deploy(UUID.randomUUID(), compositionElement, deploy);
+            var undeploy = createInstanceElement();
+            threadHandler.undeploy(UUID.randomUUID(), compositionElement, undeploy);
+            release.countDown();
+            var inOrder = inOrder(listener);
+            inOrder.verify(listener, timeout(TIMEOUT)).undeploy(compositionElement, undeploy);
+            inOrder.verify(listener, timeout(TIMEOUT)).deploy(compositionElement, deploy);
+        }
+    }
+
+    @Test
+    void testBulkhead() throws PfModelException, IOException, InterruptedException {
+        var listener = mock(AutomationCompositionElementListener.class);
+        var intermediaryApi = mock(ParticipantIntermediaryApi.class);
+        var bulkheadParameters = new BulkheadParameters();
+        bulkheadParameters.setName("helm");
+        bulkheadParameters.setElementType("org.onap.policy.clamp.acm.HelmElement");
+        bulkheadParameters.setOperations(List.of(ElementOperation.DEPLOY));
+        bulkheadParameters.setMaxConcurrent(1);
+        bulkheadParameters.setMaxQueued(1);
+        var parameters = CommonTestData.getParticipantParameters();
+        parameters.getIntermediaryParameters().getThreadPool().setSize(2);
+        parameters.getIntermediaryParameters().getThreadPool().setBulkheads(List.of(bulkheadParameters));
+        var registry = new SimpleMeterRegistry();
+        Metrics.globalRegistry.add(registry);
+        try (var threadHandler = new ThreadHandler(listener, intermediaryApi, mock(CacheProvider.class),
+                parameters)) {
+
+            var compositionElement = new CompositionElementDto(UUID.randomUUID(),
+                new ToscaConceptIdentifier("org.onap.policy.clamp.acm.HelmElement", "1.0.0"), Map.of(), Map.of());
+            var started = new CountDownLatch(1);
+            var release = new CountDownLatch(1);
+            doAnswer(invocation -> {
+                started.countDown();
+                release.await();
+                return null;
+            }).when(listener).deploy(any(), any());
+            var running = createInstanceElement();
+            threadHandler.deploy(UUID.randomUUID(), compositionElement, running);
+            assertThat(started.await(TIMEOUT, TimeUnit.MILLISECONDS)).isTrue();
+            var queued = createInstanceElement();
+            threadHandler.deploy(UUID.randomUUID(), compositionElement, queued);
+
+            // the queue of the bulkhead is full
+            var rejected = createInstanceElement();
+            threadHandler.deploy(UUID.randomUUID(), compositionElement, rejected);
+            verify(intermediaryApi).updateAutomationCompositionElementState(rejected.instanceId(),
+                rejected.elementId(), DeployState.UNDEPLOYED, null, StateChangeResult.FAILED,
+                "Automation composition element deploy rejected, too many operations queued");
+            assertThat(registry.get("participant.operation.rejected").tag("bulkhead", "helm").counter().count())
+                .isEqualTo(1.0);
+
+            // other operations and element types are not limited by the bulkhead
+            var other = createInstanceElement();
+            threadHandler.undeploy(UUID.randomUUID(), compositionElement, other);
+            verify(listener, timeout(TIMEOUT)).undeploy(compositionElement, other);
+
+            release.countDown();
+            verify(listener, timeout(TIMEOUT)).deploy(compositionElement, queued);
+            verify(listener, never()).deploy(compositionElement, rejected);
+        } finally {
+            Metrics.globalRegistry.remove(registry);
+        }
+    }
+
+    @Test
+    void testBulkheadCancelQueued() throws PfModelException, IOException, InterruptedException {
+        var listener = mock(AutomationCompositionElementListener.class);
+        var intermediaryApi = mock(ParticipantIntermediaryApi.class);
+        var bulkheadParameters = new BulkheadParameters();
+        bulkheadParameters.setName("helm");
+        bulkheadParameters.setMaxConcurrent(1);
+        bulkheadParameters.setMaxQueued(1);
+        var parameters = CommonTestData.getParticipantParameters();
+        parameters.getIntermediaryParameters().getThreadPool().setBulkheads(List.of(bulkheadParameters));
+        var registry = new SimpleMeterRegistry();
+        Metrics.globalRegistry.add(registry);
+        try (var threadHandler = new ThreadHandler(listener, intermediaryApi, mock(CacheProvider.class),
+                parameters)) {
+
+            var compositionElement = new CompositionElementDto(UUID.randomUUID(), new ToscaConceptIdentifier(),
+                Map.of(), Map.of());
+            var started = new CountDownLatch(1);
+            var release = new CountDownLatch(1);
+            doAnswer(invocation -> {
+                started.countDown();
+                release.await();
+                return null;
+            }).when(listener).deploy(any(), any());
+            threadHandler.deploy(UUID.randomUUID(), compositionElement, createInstanceElement());
+            assertThat(started.await(TIMEOUT, TimeUnit.MILLISECONDS)).isTrue();
+            var queued = createInstanceElement();
+            threadHandler.deploy(UUID.randomUUID(), compositionElement, queued);
+            var queueSize = registry.get("participant.operation.queued").tag("bulkhead", "helm").gauge();
+            assertThat(queueSize.value()).isEqualTo(1.0);
+
+            // the queued deploy replaced by a new order is removed from the queue, so the new order is not rejected
+            var changed = new InstanceElementDto(queued.instanceId(), queued.elementId(), null,
+                Map.of("key", "changed"), Map.of());
+            threadHandler.deploy(UUID.randomUUID(), compositionElement, changed);
+            assertThat(queueSize.value()).isEqualTo(1.0);
+            verify(intermediaryApi, never()).updateAutomationCompositionElementState(any(), any(), any(), any(),
+                any(), any());
+
+            release.countDown();
+            verify(listener, timeout(TIMEOUT)).deploy(compositionElement, changed);
+            verify(listener, never()).deploy(compositionElement, queued);
+
+            // the gauges of the bulkheads are removed when closed, so a new handler registers its own
+            threadHandler.close();
+            assertThat(registry.find("participant.operation.queued").gauges()).isEmpty();
+        } finally {
+            Metrics.globalRegistry.remove(registry);
+        }
+    }
+
+    @Test
+    void testResend() throws PfModelException, IOException, InterruptedException {
+        var listener = mock(AutomationCompositionElementListener.class);
+        var intermediaryApi = mock(ParticipantIntermediaryApi.class);
+        var cacheProvider = mock(CacheProvider.class);
+        var msgIdentification = new HashMap<UUID, UUID>();
+        when(cacheProvider.getMsgIdentification()).thenReturn(msgIdentification);
+        try (var threadHandler = new ThreadHandler(listener, intermediaryApi, cacheProvider,
+                CommonTestData.getParticipantParameters())) {
+
+            var compositionElement = new CompositionElementDto(UUID.randomUUID(), new ToscaConceptIdentifier(),
+                Map.of(), Map.of());
+            var instanceElement = new InstanceElementDto(UUID.randomUUID(), UUID.randomUUID(), null,
+                Map.of("key", "value"), Map.of());
+            var interrupted = new CountDownLatch(1);
+            var release = new CountDownLatch(1);
+            doAnswer(invocation -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                }
+                return null;
+            }).when(listener).deploy(any(), any());
+            threadHandler.deploy(UUID.randomUUID(), compositionElement, instanceElement);
+            verify(listener, timeout(TIMEOUT)).deploy(compositionElement, instanceElement);
+
+            // the same deploy resent, with outProperties updated while running, keeps the running execution
+            var resent = new InstanceElementDto(instanceElement.instanceId(), instanceElement.elementId(), null,
+                Map.of("key", "value"), Map.of("status", "installing"));
+            var messageId = UUID.randomUUID();
+            threadHandler.deploy(messageId, compositionElement, resent);
+            assertThat(msgIdentification).containsEntry(instanceElement.elementId(), messageId);
+            assertThat(interrupted.await(TIMEOUT, TimeUnit.MILLISECONDS)).isFalse();
+            verify(listener, times(1)).deploy(any(), any());
+
+            // a deploy with different properties is a new order
+            var changed = new InstanceElementDto(instanceElement.instanceId(), instanceElement.elementId(), null,
+                Map.of("key", "changed"), Map.of());
+            threadHandler.deploy(UUID.randomUUID(), compositionElement, changed);
+            assertThat(interrupted.await(TIMEOUT, TimeUnit.MILLISECONDS)).isTrue();
+            verify(listener, timeout(TIMEOUT)).deploy(compositionElement, changed);
+            release.countDown();
+        }
+    }
+
+    private InstanceElementDto createInstanceElement() {
+        return new InstanceElementDto(UUID.randomUUID(), UUID.randomUUID(), null, Map.of(), Map.of());
+    }
 }
@@ -24,6 +24,8 @@ package org.onap.policy.clamp.acm.runtime.commissioning;
 import io.opentelemetry.context.Context;
 import jakarta.ws.rs.core.Response.Status;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -32,6 +34,7 @@ import org.onap.policy.clamp.acm.runtime.main.parameters.AcRuntimeParameterGroup
 import org.onap.policy.clamp.acm.runtime.supervision.comm.ParticipantPrimePublisher;
 import org.onap.policy.clamp.models.acm.concepts.AcTypeState;
 import org.onap.policy.clamp.models.acm.concepts.AutomationCompositionDefinition;
+import org.onap.policy.clamp.models.acm.concepts.AutomationCompositionDefinitionSummary;
 import org.onap.policy.clamp.models.acm.concepts.StateChangeResult;
 import org.onap.policy.clamp.models.acm.messages.rest.commissioning.AcTypeStateUpdate;
 import org.onap.policy.clamp.models.acm.messages.rest.commissioning.CommissioningResponse;
@@ -168,13 +171,37 @@ public class CommissioningProvider {
         return acDefinitionProvider.getAcDefinition(compositionId);
     }
 
+    /**
+     * Get the summaries of automation composition definitions, without the service templates.
+     *
+     * @param acName the name of the automation composition, null for all
+     * @param acVersion the version of the automation composition, null for all
+     * @return the summaries of the automation composition definitions
+     */
+    @Transactional(readOnly = true)
+    public List<AutomationCompositionDefinitionSummary> getAutomationCompositionDefinitionSummaries(String acName,
+            String acVersion) {
+        return acDefinitionProvider.getAcDefinitionSummaries(acName, acVersion);
+    }
+
+    /**
+     * Get the entity tag of the current version of an automation composition definition.
+     *
+     * @param compositionId the compositionId
+     * @return the entity tag, empty if not available
+     */
+    @Transactional(readOnly = true)
+    public Optional<String> getAutomationCompositionDefinitionEtag(UUID compositionId) {
+        return acDefinitionProvider.getAcDefinitionEtag(compositionId);
+    }
+
     /**
      * Validates to see if there is any instance saved.
      *
      * @return true if exists instance
      */
     private boolean verifyIfInstanceExists(UUID compositionId) {
-        return !acProvider.getAcInstancesByCompositionId(compositionId).isEmpty();
+        return acProvider.existsAcInstancesByCompositionId(compositionId);
     }
 
     /**
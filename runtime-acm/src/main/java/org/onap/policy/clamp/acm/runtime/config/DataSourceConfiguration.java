@@ -0,0 +1,93 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2024 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.clamp.acm.runtime.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Configuration of a read replica, enabled by setting spring.datasource.replica.url. Read-only transactions use the
+ * replica, all the other transactions use the primary configured by spring.datasource.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = DataSourceConfiguration.REPLICA_PREFIX, name = "url")
+public class DataSourceConfiguration {
+
+    static final String REPLICA_PREFIX = "spring.datasource.replica";
+
+    /**
+     * Create the connection pool of the primary.
+     *
+     * @param properties the properties of spring.datasource
+     * @return the DataSource
+     */
+    @Bean
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return createDataSource(properties, "primary");
+    }
+
+    /**
+     * Create the connection pool of the read replica.
+     *
+     * @param environment the environment
+     * @return the DataSource
+     */
+    @Bean
+    @ConfigurationProperties(prefix = REPLICA_PREFIX + ".hikari")
+    public HikariDataSource replicaDataSource(Environment environment) {
+        var properties = Binder.get(environment).bind(REPLICA_PREFIX, DataSourceProperties.class).get();
+        return createDataSource(properties, "replica");
+    }
+
+    /**
+     * Create the DataSource used by JPA. The connection is fetched at the first statement, when the read-only flag
+     * of the transaction is known.
+     *
+     * @param primary the primary DataSource
+     * @param replica the read replica DataSource
+     * @return the DataSource
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica) {
+        var routingDataSource = new ReadWriteRoutingDataSource(primary, replica);
+        routingDataSource.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    private static HikariDataSource createDataSource(DataSourceProperties properties, String poolName) {
+        var dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName(poolName);
+        return dataSource;
+    }
+}
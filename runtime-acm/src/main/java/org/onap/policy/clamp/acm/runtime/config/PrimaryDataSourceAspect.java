@@ -0,0 +1,48 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2024 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.clamp.acm.runtime.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+@Aspect
+@Component
+public class PrimaryDataSourceAspect {
+
+    /**
+     * Force the primary DataSource while running methods annotated with UsePrimaryDataSource.
+     *
+     * @param joinPoint the method to run
+     * @return the result of the method
+     * @throws Throwable if the method fails
+     */
+    @Around("@annotation(UsePrimaryDataSource) || @within(UsePrimaryDataSource)")
+    public Object usePrimary(ProceedingJoinPoint joinPoint) throws Throwable {
+        var previous = ReadWriteRoutingDataSource.setPrimaryOnly(true);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            ReadWriteRoutingDataSource.setPrimaryOnly(previous);
+        }
+    }
+}
@@ -22,12 +22,17 @@
 package org.onap.policy.clamp.acm.runtime.config.messaging;
 
 import java.io.Closeable;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 import lombok.Getter;
 import org.onap.policy.clamp.acm.runtime.main.parameters.AcRuntimeParameterGroup;
+import org.onap.policy.clamp.acm.runtime.main.parameters.OutboundParameters;
 import org.onap.policy.clamp.common.acm.exception.AutomationCompositionRuntimeException;
+import org.onap.policy.clamp.common.acm.messaging.AsyncMessageSender;
 import org.onap.policy.common.endpoints.event.comm.Topic;
 import org.onap.policy.common.endpoints.event.comm.TopicEndpointManager;
 import org.onap.policy.common.endpoints.event.comm.TopicSink;
@@ -48,6 +53,9 @@ public class MessageDispatcherActivator extends ServiceManagerContainer implemen
     private List<TopicSink> topicSinks;
     private List<TopicSource> topicSources;
 
+    // Queues of the messages sent to the participants by topic, empty if the messages are sent on the publishing thread
+    private final Map<String, AsyncMessageSender> senders = new HashMap<>();
+
     @Getter
     private final MessageTypeDispatcher msgDispatcher;
 
@@ -80,11 +88,15 @@ public class MessageDispatcherActivator extends ServiceManagerContainer implemen
             () -> TopicEndpointManager.getManager().start(),
             () -> TopicEndpointManager.getManager().shutdown());
 
-        publishers.forEach(publisher ->
+        var outbound = acRuntimeParameterGroup.getOutboundParameters();
+        addAction("Outbound queues", () -> startSenders(outbound, topicMap.keySet()), this::stopSenders);
+
+        publishers.forEach(publisher -> {
+            var topic = publisher.isDefaultTopic() ? topics.getOperationTopic() : topics.getSyncTopic();
             addAction("Publisher " + publisher.getClass().getSimpleName(),
-                () -> publisher.active(publisher.isDefaultTopic() ? topicMap.get(topics.getOperationTopic())
-                        : topicMap.get(topics.getSyncTopic())),
-                publisher::stop));
+                () -> publisher.active(topicMap.get(topic), senders.get(topic)),
+                publisher::stop);
+        });
 
         listeners.forEach(listener ->
             addAction("Listener " + listener.getClass().getSimpleName(),
@@ -95,6 +107,18 @@ public class MessageDispatcherActivator extends ServiceManagerContainer implemen
         // @formatter:on
     }
 
+    private void startSenders(OutboundParameters outbound, Collection<String> topics) {
+        if (outbound.getQueueSize() > 0) {
+            topics.forEach(topic -> senders.put(topic, new AsyncMessageSender(topic, outbound.getQueueSize(),
+                    outbound.getOfferTimeoutMs())));
+        }
+    }
+
+    private void stopSenders() {
+        senders.values().forEach(AsyncMessageSender::close);
+        senders.clear();
+    }
+
     /**
      * Registers the dispatcher with the topic source(s).
      */
@@ -20,6 +20,7 @@
 
 package org.onap.policy.clamp.acm.runtime.config.messaging;
 
+import org.onap.policy.clamp.common.acm.messaging.AsyncMessageSender;
 import org.onap.policy.common.endpoints.event.comm.TopicSink;
 
 /**
@@ -29,6 +30,16 @@ public interface Publisher {
 
     void active(TopicSink topicSink);
 
+    /**
+     * Activate the publisher, sending the messages through an outbound queue.
+     *
+     * @param topicSink the topic sink
+     * @param sender the sender of the outbound queue, null to send the messages on the publishing thread
+     */
+    default void active(TopicSink topicSink, AsyncMessageSender sender) {
+        active(topicSink);
+    }
+
     void stop();
 
     boolean isDefaultTopic();
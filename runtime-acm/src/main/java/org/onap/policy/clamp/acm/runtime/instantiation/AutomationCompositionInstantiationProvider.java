@@ -24,7 +24,10 @@ package org.onap.policy.clamp.acm.runtime.instantiation;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.core.Response.Status;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
@@ -32,6 +35,7 @@ import org.onap.policy.clamp.acm.runtime.main.parameters.AcRuntimeParameterGroup
 import org.onap.policy.clamp.acm.runtime.supervision.SupervisionAcHandler;
 import org.onap.policy.clamp.models.acm.concepts.AcTypeState;
 import org.onap.policy.clamp.models.acm.concepts.AutomationComposition;
+import org.onap.policy.clamp.models.acm.concepts.AutomationCompositionStatistics;
 import org.onap.policy.clamp.models.acm.concepts.AutomationCompositions;
 import org.onap.policy.clamp.models.acm.concepts.DeployState;
 import org.onap.policy.clamp.models.acm.concepts.LockState;
@@ -39,6 +43,7 @@ import org.onap.policy.clamp.models.acm.concepts.NodeTemplateState;
 import org.onap.policy.clamp.models.acm.concepts.StateChangeResult;
 import org.onap.policy.clamp.models.acm.concepts.SubState;
 import org.onap.policy.clamp.models.acm.messages.rest.instantiation.AcInstanceStateUpdate;
+import org.onap.policy.clamp.models.acm.messages.rest.instantiation.AutomationCompositionFilter;
 import org.onap.policy.clamp.models.acm.messages.rest.instantiation.DeployOrder;
 import org.onap.policy.clamp.models.acm.messages.rest.instantiation.InstantiationResponse;
 import org.onap.policy.clamp.models.acm.messages.rest.instantiation.LockOrder;
@@ -48,6 +53,7 @@ import org.onap.policy.clamp.models.acm.persistence.provider.AcInstanceStateReso
 import org.onap.policy.clamp.models.acm.persistence.provider.AutomationCompositionProvider;
 import org.onap.policy.clamp.models.acm.persistence.provider.ParticipantProvider;
 import org.onap.policy.clamp.models.acm.utils.AcmUtils;
+import org.onap.policy.clamp.models.acm.utils.TimestampHelper;
 import org.onap.policy.common.parameters.BeanValidationResult;
 import org.onap.policy.common.parameters.ObjectValidationResult;
 import org.onap.policy.common.parameters.ValidationStatus;
@@ -56,7 +62,10 @@ import org.onap.policy.models.base.PfKey;
 import org.onap.policy.models.base.PfModelRuntimeException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -70,6 +79,7 @@ public class AutomationCompositionInstantiationProvider {
     private static final String ELEMENT_ID_NOT_PRESENT = "Element id not present ";
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AutomationCompositionInstantiationProvider.class);
+    private static final int EXPORT_PAGE_SIZE = 100;
 
     private final AutomationCompositionProvider automationCompositionProvider;
     private final AcDefinitionProvider acDefinitionProvider;
@@ -77,6 +87,7 @@ public class AutomationCompositionInstantiationProvider {
     private final SupervisionAcHandler supervisionAcHandler;
     private final ParticipantProvider participantProvider;
     private final AcRuntimeParameterGroup acRuntimeParameterGroup;
+    private final Map<Boolean, CachedStatistics> statisticsCache = new ConcurrentHashMap<>();
 
     /**
      * Create automation composition.
@@ -91,9 +102,7 @@ public class AutomationCompositionInstantiationProvider {
             throw new PfModelRuntimeException(Status.BAD_REQUEST,
                     automationComposition.getCompositionId() + DO_NOT_MATCH + compositionId);
         }
-        var checkAutomationCompositionOpt =
-                automationCompositionProvider.findAutomationComposition(automationComposition.getKey().asIdentifier());
-        if (checkAutomationCompositionOpt.isPresent()) {
+        if (automationCompositionProvider.existsAutomationComposition(automationComposition.getKey().asIdentifier())) {
             throw new PfModelRuntimeException(Status.BAD_REQUEST,
                     automationComposition.getKey().asIdentifier() + " already defined");
         }
@@ -129,6 +138,10 @@ public class AutomationCompositionInstantiationProvider {
             throw new PfModelRuntimeException(Status.BAD_REQUEST,
                     automationComposition.getCompositionId() + DO_NOT_MATCH + compositionId);
         }
+        if (automationComposition.getRevision() != null) {
+            // the update fails if the instance changed since the client read it
+            acToUpdate.setRevision(automationComposition.getRevision());
+        }
         if (DeployState.UNDEPLOYED.equals(acToUpdate.getDeployState())) {
             acToUpdate.setElements(automationComposition.getElements());
             acToUpdate.setName(automationComposition.getName());
@@ -139,7 +152,7 @@ public class AutomationCompositionInstantiationProvider {
             if (!validationResult.isValid()) {
                 throw new PfModelRuntimeException(Status.BAD_REQUEST, validationResult.getResult());
             }
-            automationComposition = automationCompositionProvider.updateAutomationComposition(acToUpdate);
+            automationComposition = automationCompositionProvider.updateAutomationComposition(acToUpdate, true);
             return createInstantiationResponse(automationComposition);
 
         }
@@ -198,7 +211,7 @@ public class AutomationCompositionInstantiationProvider {
         // Publish property update event to the participants
         supervisionAcHandler.update(acToBeUpdated);
 
-        automationComposition = automationCompositionProvider.updateAutomationComposition(acToBeUpdated);
+        automationComposition = automationCompositionProvider.updateAutomationComposition(acToBeUpdated, true);
         return createInstantiationResponse(automationComposition);
     }
 
@@ -240,7 +253,7 @@ public class AutomationCompositionInstantiationProvider {
         // Publish migrate event to the participants
         supervisionAcHandler.migrate(acToBeUpdated, acDefinition.getServiceTemplate());
 
-        var ac = automationCompositionProvider.updateAutomationComposition(acToBeUpdated);
+        var ac = automationCompositionProvider.updateAutomationComposition(acToBeUpdated, true);
         elementsRemoved.forEach(automationCompositionProvider::deleteAutomationCompositionElement);
         return createInstantiationResponse(ac);
     }
@@ -303,7 +316,8 @@ public class AutomationCompositionInstantiationProvider {
             SubState.MIGRATION_PRECHECKING);
         acToBeUpdated.setStateChangeResult(StateChangeResult.NO_ERROR);
 
-        return createInstantiationResponse(automationCompositionProvider.updateAutomationComposition(acToBeUpdated));
+        return createInstantiationResponse(
+                automationCompositionProvider.updateAutomationComposition(acToBeUpdated, true));
     }
 
     private BeanValidationResult validateAutomationComposition(AutomationComposition automationComposition) {
@@ -321,33 +335,29 @@ public class AutomationCompositionInstantiationProvider {
             UUID compositionId) {
 
         var result = new BeanValidationResult("AutomationComposition", automationComposition);
-        var acDefinitionOpt = acDefinitionProvider.findAcDefinition(compositionId);
-        if (acDefinitionOpt.isEmpty()) {
+        var validatorOpt = acDefinitionProvider.findAcDefinitionValidator(compositionId);
+        if (validatorOpt.isEmpty()) {
             result.addResult(new ObjectValidationResult("ServiceTemplate", compositionId, ValidationStatus.INVALID,
                     "Commissioned automation composition definition not found"));
             return result;
         }
-        if (!AcTypeState.PRIMED.equals(acDefinitionOpt.get().getState())) {
-            result.addResult(new ObjectValidationResult("ServiceTemplate.state", acDefinitionOpt.get().getState(),
+        var validator = validatorOpt.get();
+        if (!AcTypeState.PRIMED.equals(validator.getState())) {
+            result.addResult(new ObjectValidationResult("ServiceTemplate.state", validator.getState(),
                     ValidationStatus.INVALID, "Commissioned automation composition definition not primed"));
             return result;
         }
-        var participantIds = acDefinitionOpt.get().getElementStateMap().values().stream()
-                .map(NodeTemplateState::getParticipantId).collect(Collectors.toSet());
 
-        participantProvider.verifyParticipantState(participantIds);
+        participantProvider.verifyParticipantState(validator.getParticipantIds());
 
-        result.addResult(AcmUtils.validateAutomationComposition(automationComposition,
-                acDefinitionOpt.get().getServiceTemplate(),
+        result.addResult(validator.validate(automationComposition,
                 acRuntimeParameterGroup.getAcmParameters().getToscaCompositionName()));
 
         result.addResult(automationCompositionProvider.validateElementIds(automationComposition));
 
         if (result.isValid()) {
             for (var element : automationComposition.getElements().values()) {
-                var name = element.getDefinition().getName();
-                var participantId = acDefinitionOpt.get().getElementStateMap().get(name).getParticipantId();
-                element.setParticipantId(participantId);
+                element.setParticipantId(validator.getParticipantId(element.getDefinition().getName()));
             }
         }
 
@@ -422,6 +432,78 @@ public class AutomationCompositionInstantiationProvider {
         return automationCompositions;
     }
 
+    /**
+     * Get a page of the automation compositions of an automation composition definition, ordered by instanceId.
+     *
+     * @param compositionId the compositionId of the automation composition definition
+     * @param filter the filter on name, version and states of the automation compositions
+     * @param pageSize the maximum number of automation compositions to get, null for all automation compositions
+     * @param continuationToken the instanceId of the last automation composition of the previous page, or null
+     * @return the automation compositions
+     */
+    @Transactional(readOnly = true)
+    public AutomationCompositions getAutomationCompositions(@NonNull UUID compositionId,
+            @NonNull AutomationCompositionFilter filter, Integer pageSize, String continuationToken) {
+        if (pageSize != null && pageSize < 1) {
+            throw new PfModelRuntimeException(Status.BAD_REQUEST, "pageSize must be greater than 0");
+        }
+        UUID lastInstanceId = null;
+        if (continuationToken != null) {
+            try {
+                lastInstanceId = UUID.fromString(continuationToken);
+            } catch (IllegalArgumentException e) {
+                throw new PfModelRuntimeException(Status.BAD_REQUEST,
+                        "Invalid continuationToken " + continuationToken, e);
+            }
+        }
+        var pageable = pageSize != null ? PageRequest.of(0, pageSize) : Pageable.unpaged();
+        var automationCompositions = new AutomationCompositions();
+        automationCompositions.setAutomationCompositionList(
+                automationCompositionProvider.getAutomationCompositions(compositionId, filter, lastInstanceId,
+                        pageable));
+        return automationCompositions;
+    }
+
+    /**
+     * Get the statistics of automation compositions and their elements, cached for a short time so frequent
+     * monitoring requests do not run the queries each time.
+     *
+     * @param byElementDefinition true to count the elements also per element definition
+     * @return the statistics
+     */
+    @Transactional(readOnly = true)
+    public AutomationCompositionStatistics getStatistics(boolean byElementDefinition) {
+        var now = TimestampHelper.nowEpochMilli();
+        var cached = statisticsCache.get(byElementDefinition);
+        if (cached != null
+                && now - cached.timestamp() < acRuntimeParameterGroup.getAcmParameters().getStatisticsCacheMs()) {
+            return cached.statistics();
+        }
+        var statistics = automationCompositionProvider.getStatistics(byElementDefinition);
+        statisticsCache.put(byElementDefinition, new CachedStatistics(now, statistics));
+        return statistics;
+    }
+
+    /**
+     * Export all automation compositions, reading them one page at a time, each page in its own transaction, so the
+     * automation compositions already exported are not kept in memory.
+     *
+     * @param consumer the consumer of the automation compositions
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void exportAutomationCompositions(@NonNull Consumer<AutomationComposition> consumer) {
+        var pageable = PageRequest.of(0, EXPORT_PAGE_SIZE);
+        UUID lastInstanceId = null;
+        List<AutomationComposition> page;
+        do {
+            page = automationCompositionProvider.getAutomationCompositions(lastInstanceId, pageable);
+            page.forEach(consumer);
+            if (!page.isEmpty()) {
+                lastInstanceId = page.get(page.size() - 1).getInstanceId();
+            }
+        } while (page.size() == EXPORT_PAGE_SIZE);
+    }
+
     /**
      * Handle Composition Instance State.
      *
@@ -475,4 +557,7 @@ public class AutomationCompositionInstantiationProvider {
                 throw new PfModelRuntimeException(Status.BAD_REQUEST, "Not valid " + acInstanceStateUpdate);
         }
     }
+
+    private record CachedStatistics(long timestamp, AutomationCompositionStatistics statistics) {
+    }
 }
@@ -54,4 +54,8 @@ public class AcRuntimeParameterGroup {
     @Valid
     @NotNull
     private Topics topics = new Topics();
+
+    @Valid
+    @NotNull
+    private OutboundParameters outboundParameters = new OutboundParameters();
 }
@@ -18,6 +18,7 @@
 
 package org.onap.policy.clamp.acm.runtime.main.parameters;
 
+import jakarta.validation.constraints.Min;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.validation.annotation.Validated;
@@ -35,4 +36,8 @@ public class AcmParameters {
 
     private String toscaCompositionName = "org.onap.policy.clamp.acm.AutomationComposition";
 
+    // Time to live of the statistics of automation compositions
+    @Min(0)
+    private long statisticsCacheMs = 5000;
+
 }
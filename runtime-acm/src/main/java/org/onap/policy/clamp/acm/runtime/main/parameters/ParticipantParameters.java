@@ -36,4 +36,22 @@ public class ParticipantParameters {
 
     @Min(100)
     private long maxStatusWaitMs;
+
+    // The maximum number of instances in a restart sync message, 0 to send all the instances of a composition in one
+    // message. The acks of the chunks are expected by the runtime instance that has sent them: a replica whose acks
+    // are consumed by another runtime instance is synced without chunks after a failed restart sync
+    @Min(0)
+    private int restartSyncChunkSize = 0;
+
+    // The maximum number of chunks of restart sync sent to a participant replica and not acknowledged yet
+    @Min(1)
+    private int restartSyncWindow = 4;
+
+    // The time to wait for the ack of a chunk, checked at each scan of the participants
+    @Min(0)
+    private long restartSyncAckTimeoutMs = 30000;
+
+    // The maximum number of chunks sent again for a restart sync, before falling back to a full restart sync
+    @Min(0)
+    private int restartSyncMaxRetries = 3;
 }
@@ -21,17 +21,20 @@
 package org.onap.policy.clamp.acm.runtime.main.rest;
 
 import jakarta.validation.Valid;
+import java.util.List;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import org.onap.policy.clamp.acm.runtime.commissioning.CommissioningProvider;
 import org.onap.policy.clamp.acm.runtime.main.rest.gen.AutomationCompositionDefinitionApi;
 import org.onap.policy.clamp.acm.runtime.main.web.AbstractRestController;
 import org.onap.policy.clamp.models.acm.concepts.AutomationCompositionDefinition;
+import org.onap.policy.clamp.models.acm.concepts.AutomationCompositionDefinitionSummary;
 import org.onap.policy.clamp.models.acm.messages.rest.commissioning.AcTypeStateUpdate;
 import org.onap.policy.clamp.models.acm.messages.rest.commissioning.CommissioningResponse;
 import org.onap.policy.models.tosca.authorative.concepts.ToscaServiceTemplate;
 import org.onap.policy.models.tosca.authorative.concepts.ToscaServiceTemplates;
 import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -91,10 +94,38 @@ public class CommissioningController extends AbstractRestController implements A
         return ResponseEntity.ok().body(provider.getAutomationCompositionDefinitions(name, version));
     }
 
+    /**
+     * Queries the summaries of all or specific automation composition definitions.
+     *
+     * @param name the name of the automation composition definition to get, null for all definitions
+     * @param version the version of the automation composition definition to get, null for all definitions
+     * @param requestId request ID used in ONAP logging
+     * @return the summaries of the automation composition definitions
+     */
+    @Override
+    public ResponseEntity<List<AutomationCompositionDefinitionSummary>> queryCompositionDefinitionSummaries(
+        String name, String version, UUID requestId) {
+        return ResponseEntity.ok().body(provider.getAutomationCompositionDefinitionSummaries(name, version));
+    }
+
+    /**
+     * Gets an automation composition definition, or Not Modified if the client already has its current version.
+     *
+     * @param compositionId the compositionId
+     * @param requestId request ID used in ONAP logging
+     * @param ifNoneMatch the entity tag of the version that the client has
+     * @return the automation composition definition
+     */
     @Override
     public ResponseEntity<AutomationCompositionDefinition> getCompositionDefinition(UUID compositionId,
-        UUID requestId) {
-        return ResponseEntity.ok().body(provider.getAutomationCompositionDefinition(compositionId));
+        UUID requestId, String ifNoneMatch) {
+        var etag = provider.getAutomationCompositionDefinitionEtag(compositionId);
+        if (etag.isPresent() && isNotModified(ifNoneMatch, etag.get())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag.get()).build();
+        }
+        var response = ResponseEntity.ok();
+        etag.ifPresent(response::eTag);
+        return response.body(provider.getAutomationCompositionDefinition(compositionId));
     }
 
     @Override
@@ -28,12 +28,19 @@ import org.onap.policy.clamp.acm.runtime.instantiation.AutomationCompositionInst
 import org.onap.policy.clamp.acm.runtime.main.rest.gen.AutomationCompositionInstanceApi;
 import org.onap.policy.clamp.acm.runtime.main.web.AbstractRestController;
 import org.onap.policy.clamp.models.acm.concepts.AutomationComposition;
+import org.onap.policy.clamp.models.acm.concepts.AutomationCompositionStatistics;
 import org.onap.policy.clamp.models.acm.concepts.AutomationCompositions;
+import org.onap.policy.clamp.models.acm.concepts.DeployState;
+import org.onap.policy.clamp.models.acm.concepts.LockState;
+import org.onap.policy.clamp.models.acm.concepts.StateChangeResult;
+import org.onap.policy.clamp.models.acm.concepts.SubState;
 import org.onap.policy.clamp.models.acm.messages.rest.instantiation.AcInstanceStateUpdate;
+import org.onap.policy.clamp.models.acm.messages.rest.instantiation.AutomationCompositionFilter;
 import org.onap.policy.clamp.models.acm.messages.rest.instantiation.InstantiationResponse;
 import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * Class to provide REST end points for creating, deleting, query and commanding a automation composition definition.
@@ -43,6 +50,8 @@ import org.springframework.web.bind.annotation.RestController;
 @Profile("default")
 public class InstantiationController extends AbstractRestController implements AutomationCompositionInstanceApi {
 
+    public static final String CONTINUATION_TOKEN = "X-ContinuationToken";
+
     // The Automation Composition provider for instantiation requests
     private final AutomationCompositionInstantiationProvider provider;
 
@@ -88,14 +97,63 @@ public class InstantiationController extends AbstractRestController implements A
      * @param compositionId The UUID of the automation composition definition
      * @param name the name of the automation composition to get, null for all automation compositions
      * @param version the version of the automation composition to get, null for all automation compositions
+     * @param deployState the deploy state of the automation compositions to get, null for any
+     * @param lockState the lock state of the automation compositions to get, null for any
+     * @param subState the sub state of the automation compositions to get, null for any
+     * @param stateChangeResult the state change result of the automation compositions to get, null for any
+     * @param pageSize the maximum number of automation compositions to get, null for all automation compositions
+     * @param continuationToken the token returned with the previous page, null for the first page
      * @param requestId request ID used in ONAP logging
      * @return the automation compositions
      */
     @Override
     public ResponseEntity<AutomationCompositions> queryCompositionInstances(UUID compositionId, String name,
-            String version, UUID requestId) {
+            String version, DeployState deployState, LockState lockState, SubState subState,
+            StateChangeResult stateChangeResult, Integer pageSize, String continuationToken, UUID requestId) {
+
+        if (deployState == null && lockState == null && subState == null && stateChangeResult == null
+                && pageSize == null && continuationToken == null) {
+            return ResponseEntity.ok().body(provider.getAutomationCompositions(compositionId, name, version));
+        }
+        var filter = new AutomationCompositionFilter();
+        filter.setName(name);
+        filter.setVersion(version);
+        filter.setDeployState(deployState);
+        filter.setLockState(lockState);
+        filter.setSubState(subState);
+        filter.setStateChangeResult(stateChangeResult);
+        var automationCompositions =
+                provider.getAutomationCompositions(compositionId, filter, pageSize, continuationToken);
+        var list = automationCompositions.getAutomationCompositionList();
+        var response = ResponseEntity.ok();
+        if (pageSize != null && list.size() == pageSize) {
+            response.header(CONTINUATION_TOKEN, list.get(list.size() - 1).getInstanceId().toString());
+        }
+        return response.body(automationCompositions);
+    }
+
+    /**
+     * Queries the statistics of automation compositions and their elements.
+     *
+     * @param byElementDefinition true to count the elements also per element definition
+     * @param requestId request ID used in ONAP logging
+     * @return the statistics
+     */
+    @Override
+    public ResponseEntity<AutomationCompositionStatistics> queryStatistics(Boolean byElementDefinition,
+            UUID requestId) {
+        return ResponseEntity.ok().body(provider.getStatistics(Boolean.TRUE.equals(byElementDefinition)));
+    }
 
-        return ResponseEntity.ok().body(provider.getAutomationCompositions(compositionId, name, version));
+    /**
+     * Exports all automation compositions, one JSON document per line.
+     *
+     * @param requestId request ID used in ONAP logging
+     * @return the automation compositions streamed
+     */
+    @Override
+    public ResponseEntity<StreamingResponseBody> exportCompositionInstances(UUID requestId) {
+        return createNdjsonResponse(provider::exportAutomationCompositions);
     }
 
     /**
@@ -31,6 +31,7 @@ import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequiredArgsConstructor
@@ -40,8 +41,10 @@ public class ParticipantController extends AbstractRestController implements Par
     private final AcmParticipantProvider acmParticipantProvider;
 
     @Override
-    public ResponseEntity<ParticipantInformation> getParticipant(UUID participantId, UUID requestId) {
-        var participantInformation = acmParticipantProvider.getParticipantById(participantId);
+    public ResponseEntity<ParticipantInformation> getParticipant(UUID participantId, Boolean countsOnly,
+            Integer pageNumber, Integer pageSize, UUID requestId) {
+        var participantInformation = acmParticipantProvider.getParticipantById(participantId,
+                Boolean.TRUE.equals(countsOnly), pageNumber, pageSize);
         return ResponseEntity.ok().body(participantInformation);
     }
 
@@ -57,10 +60,22 @@ public class ParticipantController extends AbstractRestController implements Par
         return new ResponseEntity<>(HttpStatus.ACCEPTED);
     }
 
+    /**
+     * Exports all participants with their elements and node template states, one JSON document per line.
+     *
+     * @param requestId request ID used in ONAP logging
+     * @return the participants streamed
+     */
+    @Override
+    public ResponseEntity<StreamingResponseBody> exportParticipants(UUID requestId) {
+        return createNdjsonResponse(acmParticipantProvider::exportParticipants);
+    }
+
     @Override
     public ResponseEntity<List<ParticipantInformation>> queryParticipants(String name, String version,
-                                                                          UUID requestId) {
-        var participantInformationList = acmParticipantProvider.getAllParticipants();
+            Boolean countsOnly, Integer pageNumber, Integer pageSize, UUID requestId) {
+        var participantInformationList = acmParticipantProvider.getAllParticipants(Boolean.TRUE.equals(countsOnly),
+                pageNumber, pageSize);
         return ResponseEntity.ok().body(participantInformationList);
     }
 }
@@ -20,11 +20,14 @@
 
 package org.onap.policy.clamp.acm.runtime.main.rest.stub;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import org.onap.policy.clamp.acm.runtime.main.rest.gen.AutomationCompositionDefinitionApi;
 import org.onap.policy.clamp.acm.runtime.main.web.AbstractRestController;
 import org.onap.policy.clamp.models.acm.concepts.AutomationCompositionDefinition;
+import org.onap.policy.clamp.models.acm.concepts.AutomationCompositionDefinitionSummary;
 import org.onap.policy.clamp.models.acm.messages.rest.commissioning.AcTypeStateUpdate;
 import org.onap.policy.clamp.models.acm.messages.rest.commissioning.CommissioningResponse;
 import org.onap.policy.models.tosca.authorative.concepts.ToscaServiceTemplate;
@@ -51,6 +54,9 @@ public class CommissioningControllerStub extends AbstractRestController implemen
     @Value("${stub.getSingleCompositionDefinition}")
     private String pathToSingleDefinition;
 
+    @Value("${stub.getCompositionDefinitionSummaries}")
+    private String pathToDefinitionSummaries;
+
     @Value("${stub.postCommissionResponse}")
     private String pathToPostResponse;
 
@@ -75,10 +81,18 @@ public class CommissioningControllerStub extends AbstractRestController implemen
 
     @Override
     public ResponseEntity<AutomationCompositionDefinition> getCompositionDefinition(UUID compositionId,
-            UUID xonaprequestid) {
+            UUID xonaprequestid, String ifNoneMatch) {
         return stubUtils.getResponse(pathToSingleDefinition, AutomationCompositionDefinition.class);
     }
 
+    @Override
+    public ResponseEntity<List<AutomationCompositionDefinitionSummary>> queryCompositionDefinitionSummaries(
+            String name, String version, UUID xonaprequestid) {
+        List<AutomationCompositionDefinitionSummary> summaries = new ArrayList<>();
+        return (ResponseEntity<List<AutomationCompositionDefinitionSummary>>) stubUtils
+            .getResponse(pathToDefinitionSummaries, summaries.getClass());
+    }
+
     @Override
     public ResponseEntity<ToscaServiceTemplates> queryCompositionDefinitions(String name, String version,
             UUID xonaprequestid) {
@@ -26,7 +26,12 @@ import lombok.RequiredArgsConstructor;
 import org.onap.policy.clamp.acm.runtime.main.rest.gen.AutomationCompositionInstanceApi;
 import org.onap.policy.clamp.acm.runtime.main.web.AbstractRestController;
 import org.onap.policy.clamp.models.acm.concepts.AutomationComposition;
+import org.onap.policy.clamp.models.acm.concepts.AutomationCompositionStatistics;
 import org.onap.policy.clamp.models.acm.concepts.AutomationCompositions;
+import org.onap.policy.clamp.models.acm.concepts.DeployState;
+import org.onap.policy.clamp.models.acm.concepts.LockState;
+import org.onap.policy.clamp.models.acm.concepts.StateChangeResult;
+import org.onap.policy.clamp.models.acm.concepts.SubState;
 import org.onap.policy.clamp.models.acm.messages.rest.instantiation.AcInstanceStateUpdate;
 import org.onap.policy.clamp.models.acm.messages.rest.instantiation.InstantiationResponse;
 import org.springframework.beans.factory.annotation.Value;
@@ -34,6 +39,7 @@ import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @Profile("stub")
@@ -54,6 +60,9 @@ public class InstantiationControllerStub extends AbstractRestController implemen
     @Value("${stub.postInstanceResponse}")
     private String pathPostInstance;
 
+    @Value("${stub.getStatisticsResponse}")
+    private String pathToStatistics;
+
     @Value("${stub.postCompositionInstanceUpdateResponse}")
     private String pathToPutUpdate;
 
@@ -81,10 +90,27 @@ public class InstantiationControllerStub extends AbstractRestController implemen
 
     @Override
     public ResponseEntity<AutomationCompositions> queryCompositionInstances(UUID compositionId, String name,
-            String version, UUID xonaprequestid) {
+            String version, DeployState deployState, LockState lockState, SubState subState,
+            StateChangeResult stateChangeResult, Integer pageSize, String continuationToken, UUID xonaprequestid) {
         return stubUtils.getResponse(pathToAllInstances, AutomationCompositions.class);
     }
 
+    @Override
+    public ResponseEntity<AutomationCompositionStatistics> queryStatistics(Boolean byElementDefinition,
+            UUID xonaprequestid) {
+        return stubUtils.getResponse(pathToStatistics, AutomationCompositionStatistics.class);
+    }
+
+    @Override
+    public ResponseEntity<StreamingResponseBody> exportCompositionInstances(UUID xonaprequestid) {
+        var automationCompositions = stubUtils.getResponse(pathToAllInstances, AutomationCompositions.class).getBody();
+        return createNdjsonResponse(consumer -> {
+            if (automationCompositions != null) {
+                automationCompositions.getAutomationCompositionList().forEach(consumer);
+            }
+        });
+    }
+
     @Override
     public ResponseEntity<Void> compositionInstanceState(UUID compositionId, UUID instanceId,
             @Valid AcInstanceStateUpdate body, UUID requestId) {
@@ -21,6 +21,7 @@
 package org.onap.policy.clamp.acm.runtime.main.rest.stub;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
@@ -32,6 +33,7 @@ import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @Profile("stub")
@@ -46,7 +48,8 @@ public class ParticipantControllerStub extends AbstractRestController implements
     private String pathToParticipantList;
 
     @Override
-    public ResponseEntity<ParticipantInformation> getParticipant(UUID participantId, UUID xonaprequestid) {
+    public ResponseEntity<ParticipantInformation> getParticipant(UUID participantId, Boolean countsOnly,
+            Integer pageNumber, Integer pageSize, UUID xonaprequestid) {
         return stubUtils.getResponse(pathToSingleParticipant, ParticipantInformation.class);
     }
 
@@ -60,9 +63,19 @@ public class ParticipantControllerStub extends AbstractRestController implements
         return new ResponseEntity<>(HttpStatus.ACCEPTED);
     }
 
+    @Override
+    public ResponseEntity<StreamingResponseBody> exportParticipants(UUID xonaprequestid) {
+        var participants = stubUtils.getResponse(pathToParticipantList, ParticipantInformation[].class).getBody();
+        return createNdjsonResponse(consumer -> {
+            if (participants != null) {
+                Arrays.asList(participants).forEach(consumer);
+            }
+        });
+    }
+
     @Override
     public ResponseEntity<List<ParticipantInformation>> queryParticipants(String name, String version,
-                                                                          UUID xonaprequestid) {
+            Boolean countsOnly, Integer pageNumber, Integer pageSize, UUID xonaprequestid) {
         List<ParticipantInformation> participantInformationList = new ArrayList<>();
         return (ResponseEntity<List<ParticipantInformation>>) stubUtils
             .getResponse(pathToParticipantList, participantInformationList.getClass());
@@ -22,10 +22,22 @@ package org.onap.policy.clamp.acm.runtime.main.web;
 
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
 import org.onap.policy.clamp.common.acm.exception.AutomationCompositionRuntimeException;
+import org.onap.policy.common.utils.coder.Coder;
+import org.onap.policy.common.utils.coder.CoderException;
+import org.onap.policy.common.utils.coder.StandardCoder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * Common superclass to provide REST endpoints for the participant simulator.
@@ -34,6 +46,9 @@ import org.springframework.web.bind.annotation.RequestMapping;
     produces = {MediaType.APPLICATION_JSON, AbstractRestController.APPLICATION_YAML})
 public abstract class AbstractRestController {
     public static final String APPLICATION_YAML = "application/yaml";
+    public static final String APPLICATION_NDJSON = "application/x-ndjson";
+
+    private static final Coder CODER = new StandardCoder();
 
     /**
      * Constructor.
@@ -41,6 +56,54 @@ public abstract class AbstractRestController {
     protected AbstractRestController() {
     }
 
+    /**
+     * Create a response that streams the objects produced, one JSON document per line, while they are produced.
+     *
+     * @param producer the producer that passes each object to the consumer given
+     * @return the response
+     */
+    protected <T> ResponseEntity<StreamingResponseBody> createNdjsonResponse(Consumer<Consumer<T>> producer) {
+        StreamingResponseBody body = outputStream -> {
+            var writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            producer.accept(object -> {
+                try {
+                    writer.write(CODER.encode(object));
+                    writer.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                } catch (CoderException e) {
+                    throw new AutomationCompositionRuntimeException(Response.Status.INTERNAL_SERVER_ERROR,
+                            e.getMessage());
+                }
+            });
+            writer.flush();
+        };
+        return ResponseEntity.ok().header(HttpHeaders.CONTENT_TYPE, APPLICATION_NDJSON).body(body);
+    }
+
+    /**
+     * Check if the entity tag of the current version of a resource matches the If-None-Match header of a request.
+     *
+     * @param ifNoneMatch the value of the If-None-Match header, may be null
+     * @param etag the entity tag of the current version, without quotes
+     * @return true if the client already has the current version
+     */
+    protected boolean isNotModified(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (var tag : ifNoneMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if ("*".equals(tag) || ('"' + etag + '"').equals(tag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     protected URI createUri(String str) {
         try {
             return new URI(str);
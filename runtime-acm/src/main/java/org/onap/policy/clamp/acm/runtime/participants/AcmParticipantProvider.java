@@ -20,21 +20,29 @@
 
 package org.onap.policy.clamp.acm.runtime.participants;
 
+import jakarta.ws.rs.core.Response.Status;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.function.Consumer;
+import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.collections4.MapUtils;
 import org.onap.policy.clamp.acm.runtime.supervision.comm.ParticipantStatusReqPublisher;
 import org.onap.policy.clamp.models.acm.concepts.AutomationCompositionElement;
 import org.onap.policy.clamp.models.acm.concepts.NodeTemplateState;
+import org.onap.policy.clamp.models.acm.concepts.Participant;
 import org.onap.policy.clamp.models.acm.concepts.ParticipantInformation;
 import org.onap.policy.clamp.models.acm.persistence.provider.ParticipantProvider;
+import org.onap.policy.models.base.PfModelRuntimeException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
@@ -43,44 +51,128 @@ import org.springframework.transaction.annotation.Transactional;
 public class AcmParticipantProvider {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AcmParticipantProvider.class);
+    private static final int EXPORT_PAGE_SIZE = 100;
     private final ParticipantProvider participantProvider;
     private final ParticipantStatusReqPublisher participantStatusReqPublisher;
 
     /**
-     * Get all participants.
+     * Get all participants, with the counts of their elements and node template states, and optionally a page of
+     * them. The elements and node template states of all participants are fetched with one query per table.
      *
+     * @param countsOnly true to get only the counts of elements and node template states
+     * @param pageNumber the page of elements and node template states of each participant, null for all
+     * @param pageSize the size of the page, null for all
      * @return A list of available participants
      */
-    public List<ParticipantInformation> getAllParticipants() {
+    @Transactional(readOnly = true)
+    public List<ParticipantInformation> getAllParticipants(boolean countsOnly, Integer pageNumber,
+            Integer pageSize) {
+        var pageable = getPageable(pageNumber, pageSize);
         var participants = this.participantProvider.getParticipants();
-
-        List<ParticipantInformation> participantInformationList = new ArrayList<>();
-        participants.forEach(participant -> {
-            ParticipantInformation participantInformation = new ParticipantInformation();
+        var elementCounts = participantProvider.getAutomationCompositionElementCounts();
+        var nodeTemplateStateCounts = participantProvider.getAcNodeTemplateStateCounts();
+
+        Map<UUID, List<AutomationCompositionElement>> elementMap = Map.of();
+        Map<UUID, List<NodeTemplateState>> nodeTemplateStateMap = Map.of();
+        if (!countsOnly && pageable.isUnpaged()) {
+            var participantIds = participants.stream().map(Participant::getParticipantId).toList();
+            elementMap = participantProvider.getAutomationCompositionElementsByParticipant(participantIds);
+            nodeTemplateStateMap = participantProvider.getAcNodeTemplateStatesByParticipant(participantIds);
+        }
+
+        List<ParticipantInformation> participantInformationList = new ArrayList<>(participants.size());
+        for (var participant : participants) {
+            var participantId = participant.getParticipantId();
+            var participantInformation = new ParticipantInformation();
             participantInformation.setParticipant(participant);
-            participantInformation.setAcElementInstanceMap(getAutomationCompositionElementsForParticipant(participant
-                .getParticipantId()));
-            participantInformation.setAcNodeTemplateStateDefinitionMap(getNodeTemplateStatesForParticipant(participant
-                .getParticipantId()));
+            participantInformation.setAcElementInstanceCount(elementCounts.getOrDefault(participantId, 0L));
+            participantInformation
+                .setAcNodeTemplateStateDefinitionCount(nodeTemplateStateCounts.getOrDefault(participantId, 0L));
+            if (pageable.isPaged() && !countsOnly) {
+                setMaps(participantInformation,
+                    participantProvider.getAutomationCompositionElements(participantId, pageable),
+                    participantProvider.getAcNodeTemplateStates(participantId, pageable));
+            } else {
+                setMaps(participantInformation, elementMap.getOrDefault(participantId, List.of()),
+                    nodeTemplateStateMap.getOrDefault(participantId, List.of()));
+            }
             participantInformationList.add(participantInformation);
-        });
+        }
         return participantInformationList;
     }
 
     /**
-     * Get a participant.
+     * Export all participants, reading the elements and node template states of a participant one page at a time,
+     * each page in its own transaction, so they are not kept in memory. The pages start after the last id of the
+     * previous page, so a page costs the same whatever its position and rows changed concurrently do not shift the
+     * following pages. A participant with more elements or node template states than a page is exported as several
+     * participant informations, each with a page of them.
+     *
+     * @param consumer the consumer of the participants
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void exportParticipants(@NonNull Consumer<ParticipantInformation> consumer) {
+        var elementCounts = participantProvider.getAutomationCompositionElementCounts();
+        var nodeTemplateStateCounts = participantProvider.getAcNodeTemplateStateCounts();
+        var pageable = PageRequest.of(0, EXPORT_PAGE_SIZE);
+        for (var participant : participantProvider.getParticipants()) {
+            var participantId = participant.getParticipantId();
+            UUID lastElementId = null;
+            UUID lastNodeTemplateStateId = null;
+            var moreElements = true;
+            var moreNodeTemplateStates = true;
+            do {
+                List<AutomationCompositionElement> elements = moreElements
+                    ? participantProvider.getAutomationCompositionElements(participantId, lastElementId, pageable)
+                    : List.of();
+                List<NodeTemplateState> nodeTemplateStates = moreNodeTemplateStates
+                    ? participantProvider.getAcNodeTemplateStates(participantId, lastNodeTemplateStateId, pageable)
+                    : List.of();
+                var participantInformation = new ParticipantInformation();
+                participantInformation.setParticipant(participant);
+                participantInformation.setAcElementInstanceCount(elementCounts.getOrDefault(participantId, 0L));
+                participantInformation.setAcNodeTemplateStateDefinitionCount(
+                    nodeTemplateStateCounts.getOrDefault(participantId, 0L));
+                setMaps(participantInformation, elements, nodeTemplateStates);
+                consumer.accept(participantInformation);
+                moreElements = elements.size() == EXPORT_PAGE_SIZE;
+                if (moreElements) {
+                    lastElementId = elements.get(elements.size() - 1).getId();
+                }
+                moreNodeTemplateStates = nodeTemplateStates.size() == EXPORT_PAGE_SIZE;
+                if (moreNodeTemplateStates) {
+                    lastNodeTemplateStateId = nodeTemplateStates.get(nodeTemplateStates.size() - 1)
+                        .getNodeTemplateStateId();
+                }
+            } while (moreElements || moreNodeTemplateStates);
+        }
+    }
+
+    /**
+     * Get a participant, with the counts of its elements and node template states, and optionally a page of them.
      *
      * @param participantId The UUID of the participant to get
+     * @param countsOnly true to get only the counts of elements and node template states
+     * @param pageNumber the page of elements and node template states, null for all
+     * @param pageSize the size of the page, null for all
      * @return The participant
      */
-    public ParticipantInformation getParticipantById(UUID participantId) {
+    @Transactional(readOnly = true)
+    public ParticipantInformation getParticipantById(UUID participantId, boolean countsOnly, Integer pageNumber,
+            Integer pageSize) {
+        var pageable = getPageable(pageNumber, pageSize);
         var participant = this.participantProvider.getParticipantById(participantId);
         var participantInformation = new ParticipantInformation();
         participantInformation.setParticipant(participant);
-
-        participantInformation.setAcElementInstanceMap(getAutomationCompositionElementsForParticipant(participantId));
-        participantInformation.setAcNodeTemplateStateDefinitionMap(getNodeTemplateStatesForParticipant(participantId));
-
+        participantInformation.setAcElementInstanceCount(
+            participantProvider.getAutomationCompositionElementCount(participantId));
+        participantInformation.setAcNodeTemplateStateDefinitionCount(
+            participantProvider.getAcNodeTemplateStateCount(participantId));
+        if (!countsOnly) {
+            setMaps(participantInformation,
+                participantProvider.getAutomationCompositionElements(participantId, pageable),
+                participantProvider.getAcNodeTemplateStates(participantId, pageable));
+        }
         return participantInformation;
     }
 
@@ -105,20 +197,30 @@ public class AcmParticipantProvider {
         this.participantStatusReqPublisher.send((UUID) null);
     }
 
-    private Map<UUID, AutomationCompositionElement> getAutomationCompositionElementsForParticipant(UUID participantId) {
-        var automationCompositionElements = participantProvider
-            .getAutomationCompositionElements(participantId);
-        Map<UUID, AutomationCompositionElement> map = new HashMap<>();
-        MapUtils.populateMap(map, automationCompositionElements, AutomationCompositionElement::getId);
-
-        return map;
+    private void setMaps(ParticipantInformation participantInformation,
+            List<AutomationCompositionElement> automationCompositionElements,
+            List<NodeTemplateState> acNodeTemplateStates) {
+        Map<UUID, AutomationCompositionElement> elementMap = new LinkedHashMap<>();
+        MapUtils.populateMap(elementMap, automationCompositionElements, AutomationCompositionElement::getId);
+        participantInformation.setAcElementInstanceMap(elementMap);
+        Map<UUID, NodeTemplateState> nodeTemplateStateMap = new LinkedHashMap<>();
+        MapUtils.populateMap(nodeTemplateStateMap, acNodeTemplateStates, NodeTemplateState::getNodeTemplateStateId);
+        participantInformation.setAcNodeTemplateStateDefinitionMap(nodeTemplateStateMap);
     }
 
-    private Map<UUID, NodeTemplateState> getNodeTemplateStatesForParticipant(UUID participantId) {
-        var acNodeTemplateStates = participantProvider.getAcNodeTemplateStates(participantId);
-        Map<UUID, NodeTemplateState> map = new HashMap<>();
-        MapUtils.populateMap(map, acNodeTemplateStates, NodeTemplateState::getNodeTemplateStateId);
-
-        return map;
+    private Pageable getPageable(Integer pageNumber, Integer pageSize) {
+        if (pageSize == null) {
+            if (pageNumber != null) {
+                throw new PfModelRuntimeException(Status.BAD_REQUEST, "pageNumber requires pageSize");
+            }
+            return Pageable.unpaged();
+        }
+        if (pageSize < 1) {
+            throw new PfModelRuntimeException(Status.BAD_REQUEST, "pageSize must be greater than 0");
+        }
+        if (pageNumber != null && pageNumber < 0) {
+            throw new PfModelRuntimeException(Status.BAD_REQUEST, "pageNumber must not be negative");
+        }
+        return PageRequest.of(pageNumber != null ? pageNumber : 0, pageSize);
     }
 }
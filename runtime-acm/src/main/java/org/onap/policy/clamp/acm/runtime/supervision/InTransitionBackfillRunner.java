@@ -0,0 +1,51 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2024 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.clamp.acm.runtime.supervision;
+
+import lombok.RequiredArgsConstructor;
+import org.onap.policy.clamp.acm.runtime.config.UsePrimaryDataSource;
+import org.onap.policy.clamp.models.acm.persistence.provider.AutomationCompositionProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Set once at startup the inTransition flag of automation compositions stored before it existed, so the supervision
+ * scan only has to select instances in transition by index.
+ */
+@Component
+@UsePrimaryDataSource
+@RequiredArgsConstructor
+public class InTransitionBackfillRunner implements ApplicationRunner {
+    private static final Logger LOGGER = LoggerFactory.getLogger(InTransitionBackfillRunner.class);
+
+    private final AutomationCompositionProvider automationCompositionProvider;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        var updated = automationCompositionProvider.backfillInTransition();
+        if (updated > 0) {
+            LOGGER.info("inTransition flag set on {} automation compositions", updated);
+        }
+    }
+}
@@ -28,6 +28,7 @@ import java.util.UUID;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import lombok.AllArgsConstructor;
+import org.onap.policy.clamp.acm.runtime.config.UsePrimaryDataSource;
 import org.onap.policy.clamp.acm.runtime.supervision.comm.AcElementPropertiesPublisher;
 import org.onap.policy.clamp.acm.runtime.supervision.comm.AcPreparePublisher;
 import org.onap.policy.clamp.acm.runtime.supervision.comm.AutomationCompositionDeployPublisher;
@@ -36,6 +37,7 @@ import org.onap.policy.clamp.acm.runtime.supervision.comm.AutomationCompositionS
 import org.onap.policy.clamp.acm.runtime.supervision.comm.ParticipantSyncPublisher;
 import org.onap.policy.clamp.models.acm.concepts.AcElementDeployAck;
 import org.onap.policy.clamp.models.acm.concepts.AutomationComposition;
+import org.onap.policy.clamp.models.acm.concepts.AutomationCompositionElement;
 import org.onap.policy.clamp.models.acm.concepts.AutomationCompositionDefinition;
 import org.onap.policy.clamp.models.acm.concepts.DeployState;
 import org.onap.policy.clamp.models.acm.concepts.LockState;
@@ -49,6 +51,7 @@ import org.onap.policy.clamp.models.acm.utils.AcmUtils;
 import org.onap.policy.models.tosca.authorative.concepts.ToscaServiceTemplate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Component;
 
 /**
@@ -56,9 +59,11 @@ import org.springframework.stereotype.Component;
  * at a time.
  */
 @Component
+@UsePrimaryDataSource
 @AllArgsConstructor
 public class SupervisionAcHandler {
     private static final Logger LOGGER = LoggerFactory.getLogger(SupervisionAcHandler.class);
+    private static final int MAX_UPDATE_ATTEMPTS = 3;
 
     private final AutomationCompositionProvider automationCompositionProvider;
     private final AcDefinitionProvider acDefinitionProvider;
@@ -321,7 +326,7 @@ public class SupervisionAcHandler {
         for (var element : automationComposition.getElements().values()) {
             if (element.getParticipantId().equals(participantId)) {
                 element.setDeployState(DeployState.DELETED);
-                automationCompositionProvider.updateAutomationCompositionElement(element);
+                updateAutomationCompositionElement(element);
             }
         }
     }
@@ -349,13 +354,30 @@ public class SupervisionAcHandler {
                 element.setDeployState(acElementAck.getValue().getDeployState());
                 element.setLockState(acElementAck.getValue().getLockState());
                 element.setStage(stage);
-                automationCompositionProvider.updateAutomationCompositionElement(element);
+                updateAutomationCompositionElement(element);
             }
         }
 
         return updated;
     }
 
+    private void updateAutomationCompositionElement(AutomationCompositionElement element) {
+        // the element could be updated concurrently by a participant status, the update is applied again on the
+        // element read in a new transaction
+        for (var attempt = 1; ; attempt++) {
+            try {
+                automationCompositionProvider.updateAutomationCompositionElement(element);
+                return;
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= MAX_UPDATE_ATTEMPTS) {
+                    throw e;
+                }
+                LOGGER.debug("Concurrent update of AutomationCompositionElement {}, attempt {}", element.getId(),
+                        attempt);
+            }
+        }
+    }
+
     /**
      * Handle Migration of an AutomationComposition instance to other ACM Definition.
      *
@@ -23,6 +23,7 @@ package org.onap.policy.clamp.acm.runtime.supervision;
 
 import io.micrometer.core.annotation.Timed;
 import lombok.AllArgsConstructor;
+import org.onap.policy.clamp.acm.runtime.config.UsePrimaryDataSource;
 import org.onap.policy.clamp.acm.runtime.supervision.comm.ParticipantSyncPublisher;
 import org.onap.policy.clamp.models.acm.concepts.AcTypeState;
 import org.onap.policy.clamp.models.acm.concepts.AutomationCompositionDefinition;
@@ -40,6 +41,7 @@ import org.springframework.stereotype.Component;
  * at a time.
  */
 @Component
+@UsePrimaryDataSource
 @AllArgsConstructor
 public class SupervisionHandler {
     private static final Logger LOGGER = LoggerFactory.getLogger(SupervisionHandler.class);
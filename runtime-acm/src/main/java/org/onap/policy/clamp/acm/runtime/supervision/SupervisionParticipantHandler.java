@@ -21,12 +21,18 @@
 package org.onap.policy.clamp.acm.runtime.supervision;
 
 import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Metrics;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 import lombok.AllArgsConstructor;
 import org.apache.commons.collections4.MapUtils;
+import org.onap.policy.clamp.acm.runtime.config.UsePrimaryDataSource;
 import org.onap.policy.clamp.acm.runtime.main.parameters.AcRuntimeParameterGroup;
 import org.onap.policy.clamp.acm.runtime.supervision.comm.ParticipantDeregisterAckPublisher;
 import org.onap.policy.clamp.acm.runtime.supervision.comm.ParticipantRegisterAckPublisher;
@@ -42,9 +48,12 @@ import org.onap.policy.clamp.models.acm.concepts.ParticipantSupportedElementType
 import org.onap.policy.clamp.models.acm.messages.kafka.participant.ParticipantDeregister;
 import org.onap.policy.clamp.models.acm.messages.kafka.participant.ParticipantRegister;
 import org.onap.policy.clamp.models.acm.messages.kafka.participant.ParticipantStatus;
+import org.onap.policy.clamp.models.acm.messages.kafka.participant.ParticipantSyncAck;
 import org.onap.policy.clamp.models.acm.persistence.provider.AcDefinitionProvider;
 import org.onap.policy.clamp.models.acm.persistence.provider.AutomationCompositionProvider;
 import org.onap.policy.clamp.models.acm.persistence.provider.ParticipantProvider;
+import org.onap.policy.clamp.models.acm.utils.AcmUtils;
+import org.onap.policy.clamp.models.acm.utils.SyncDigestHelper;
 import org.onap.policy.clamp.models.acm.utils.TimestampHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -54,9 +63,12 @@ import org.springframework.stereotype.Component;
  * This class handles supervision of participant status.
  */
 @Component
+@UsePrimaryDataSource
 @AllArgsConstructor
 public class SupervisionParticipantHandler {
     private static final Logger LOGGER = LoggerFactory.getLogger(SupervisionParticipantHandler.class);
+    private static final String ELEMENT_STATE_UPDATES = "listener.participant_status.element_updates";
+    private static final String RESULT_TAG = "result";
 
     private final ParticipantProvider participantProvider;
     private final ParticipantRegisterAckPublisher participantRegisterAckPublisher;
@@ -73,9 +85,13 @@ public class SupervisionParticipantHandler {
      */
     @Timed(value = "listener.participant_register", description = "PARTICIPANT_REGISTER messages received")
     public void handleParticipantMessage(ParticipantRegister participantRegisterMsg) {
-        saveIfNotPresent(participantRegisterMsg.getReplicaId(),
+        var replicaId = saveIfNotPresent(participantRegisterMsg.getReplicaId(),
                 participantRegisterMsg.getParticipantId(),
-                participantRegisterMsg.getParticipantSupportedElementType(), true);
+                participantRegisterMsg.getParticipantSupportedElementType());
+        participantSyncPublisher.resetRestartSync(replicaId);
+        handleRestart(participantRegisterMsg.getParticipantId(), replicaId,
+                MapUtils.emptyIfNull(participantRegisterMsg.getCompositionDigests()),
+                MapUtils.emptyIfNull(participantRegisterMsg.getCompositionInstanceDigests()));
 
         participantRegisterAckPublisher.send(participantRegisterMsg.getMessageId(),
                 participantRegisterMsg.getParticipantId(), participantRegisterMsg.getReplicaId());
@@ -94,10 +110,40 @@ public class SupervisionParticipantHandler {
         if (replicaOpt.isPresent()) {
             participantProvider.deleteParticipantReplica(replicaId);
         }
+        participantSyncPublisher.resetRestartSync(replicaId);
 
         participantDeregisterAckPublisher.send(participantDeregisterMsg.getMessageId());
     }
 
+    /**
+     * Handle a ParticipantSyncAck message from a participant, for a chunk of restart sync.
+     *
+     * @param participantSyncAckMsg the ParticipantSyncAck message received from a participant
+     */
+    @Timed(value = "listener.participant_sync_ack", description = "PARTICIPANT_SYNC_ACK messages received")
+    public void handleParticipantMessage(ParticipantSyncAck participantSyncAckMsg) {
+        var replicaId = participantSyncAckMsg.getReplicaId() != null
+                ? participantSyncAckMsg.getReplicaId() : participantSyncAckMsg.getParticipantId();
+        participantSyncPublisher.acknowledge(replicaId, participantSyncAckMsg.getResponseTo());
+    }
+
+    /**
+     * Send again the chunks of restart sync not acknowledged in time; a replica that has not acknowledged a restart
+     * sync after the retries gets a full restart sync without chunks, as its cache is no longer known.
+     */
+    public void checkRestartSyncTimeouts() {
+        Map<UUID, UUID> failedReplicas = new LinkedHashMap<>();
+        for (var chunk : participantSyncPublisher.checkRestartSyncTimeouts()) {
+            failedReplicas.put(chunk.getReplicaId(), chunk.getParticipantId());
+        }
+        failedReplicas.forEach((replicaId, participantId) -> {
+            if (participantProvider.findParticipantReplica(replicaId).isPresent()) {
+                LOGGER.warn("Full restart sync of replica {} of participant {}", replicaId, participantId);
+                handleRestart(participantId, replicaId, Map.of(), Map.of());
+            }
+        });
+    }
+
     /**
      * Handle a ParticipantStatus message from a participant.
      *
@@ -106,10 +152,14 @@ public class SupervisionParticipantHandler {
     @Timed(value = "listener.participant_status", description = "PARTICIPANT_STATUS messages received")
     public void handleParticipantMessage(ParticipantStatus participantStatusMsg) {
         saveIfNotPresent(participantStatusMsg.getReplicaId(), participantStatusMsg.getParticipantId(),
-                participantStatusMsg.getParticipantSupportedElementType(), false);
+                participantStatusMsg.getParticipantSupportedElementType());
 
         if (!participantStatusMsg.getAutomationCompositionInfoList().isEmpty()) {
-            automationCompositionProvider.upgradeStates(participantStatusMsg.getAutomationCompositionInfoList());
+            var result = automationCompositionProvider.upgradeStates(
+                    participantStatusMsg.getAutomationCompositionInfoList());
+            Metrics.counter(ELEMENT_STATE_UPDATES, RESULT_TAG, "applied").increment(result.updated());
+            Metrics.counter(ELEMENT_STATE_UPDATES, RESULT_TAG, "skipped").increment(result.unchanged());
+            Metrics.counter(ELEMENT_STATE_UPDATES, RESULT_TAG, "not_found").increment(result.notFound());
         }
         if (!participantStatusMsg.getParticipantDefinitionUpdates().isEmpty()
                 && participantStatusMsg.getCompositionId() != null) {
@@ -118,8 +168,8 @@ public class SupervisionParticipantHandler {
         }
     }
 
-    private void saveIfNotPresent(UUID msgReplicaId, UUID participantId,
-            List<ParticipantSupportedElementType> participantSupportedElementType, boolean registration) {
+    private UUID saveIfNotPresent(UUID msgReplicaId, UUID participantId,
+            List<ParticipantSupportedElementType> participantSupportedElementType) {
         var replicaId = msgReplicaId != null ? msgReplicaId : participantId;
         var replicaOpt = participantProvider.findParticipantReplica(replicaId);
         if (replicaOpt.isPresent()) {
@@ -130,9 +180,7 @@ public class SupervisionParticipantHandler {
             participant.getReplicas().put(replicaId, createReplica(replicaId));
             participantProvider.saveParticipant(participant);
         }
-        if (registration) {
-            handleRestart(participantId, replicaId);
-        }
+        return replicaId;
     }
 
     private Participant getParticipant(UUID participantId,
@@ -178,27 +226,69 @@ public class SupervisionParticipantHandler {
         participantProvider.saveParticipantReplica(replica);
     }
 
-    private void handleRestart(UUID participantId, UUID replicaId) {
+    private void handleRestart(UUID participantId, UUID replicaId, Map<UUID, String> compositionDigests,
+            Map<UUID, String> compositionInstanceDigests) {
         var compositionIds = participantProvider.getCompositionIds(participantId);
+        Set<UUID> syncedCompositionIds = new HashSet<>();
         for (var compositionId : compositionIds) {
             var acDefinition = acDefinitionProvider.getAcDefinition(compositionId);
             LOGGER.debug("Scan Composition {} for restart", acDefinition.getCompositionId());
-            handleSyncRestart(participantId, replicaId, acDefinition);
+            if (handleSyncRestart(participantId, replicaId, acDefinition, compositionDigests,
+                    compositionInstanceDigests)) {
+                syncedCompositionIds.add(compositionId);
+            }
+        }
+
+        // compositions restored by the participant from its local snapshot, that have been deleted in the meantime,
+        // the participant removes their instances too
+        Set<UUID> restoredCompositionIds = new HashSet<>(compositionDigests.keySet());
+        restoredCompositionIds.addAll(compositionInstanceDigests.keySet());
+        for (var compositionId : restoredCompositionIds) {
+            if (!syncedCompositionIds.contains(compositionId)) {
+                participantSyncPublisher.sendRestartDeleteMsg(participantId, replicaId, compositionId, List.of());
+            }
         }
     }
 
-    private void handleSyncRestart(final UUID participantId, UUID replicaId,
-            AutomationCompositionDefinition acDefinition) {
+    private boolean handleSyncRestart(final UUID participantId, UUID replicaId,
+            AutomationCompositionDefinition acDefinition, Map<UUID, String> compositionDigests,
+            Map<UUID, String> compositionInstanceDigests) {
         if (AcTypeState.COMMISSIONED.equals(acDefinition.getState())) {
             LOGGER.debug("Composition {} COMMISSIONED", acDefinition.getCompositionId());
-            return;
+            return false;
         }
-        LOGGER.debug("Composition to be send in Restart message {}", acDefinition.getCompositionId());
         var automationCompositionList =
                 automationCompositionProvider.getAcInstancesByCompositionId(acDefinition.getCompositionId());
         var automationCompositions = automationCompositionList.stream()
                 .filter(ac -> isAcToBeSyncRestarted(participantId, ac)).toList();
-        participantSyncPublisher.sendRestartMsg(participantId, replicaId, acDefinition, automationCompositions);
+
+        var compositionDigest = compositionDigests.get(acDefinition.getCompositionId());
+        if (compositionDigest == null) {
+            LOGGER.debug("Composition to be send in Restart message {}", acDefinition.getCompositionId());
+            participantSyncPublisher.sendRestartMsg(participantId, replicaId, acDefinition, automationCompositions);
+            return true;
+        }
+
+        // the participant has restored the composition from its local snapshot, only the differences are sent:
+        // if any instance has changed, all the instances of the composition replace the ones restored
+        var instancesDigest = automationCompositions.isEmpty() ? null
+                : SyncDigestHelper.instancesDigest(automationCompositions, participantId);
+        var restoredDigest = compositionInstanceDigests.get(acDefinition.getCompositionId());
+        var instancesChanged = !Objects.equals(instancesDigest, restoredDigest);
+        var definitions = AcmUtils.prepareParticipantRestarting(participantId, acDefinition,
+                acRuntimeParameterGroup.getAcmParameters().getToscaElementName()).stream()
+                .flatMap(participantDefinition ->
+                        participantDefinition.getAutomationCompositionElementDefinitionList().stream())
+                .toList();
+        var withDefinitions = !compositionDigest.equals(SyncDigestHelper.definitionDigest(definitions));
+        if (withDefinitions || instancesChanged) {
+            var changedCompositions = instancesChanged ? automationCompositions : List.<AutomationComposition>of();
+            LOGGER.debug("Composition to be send in Restart message {} with {} changed instances",
+                    acDefinition.getCompositionId(), changedCompositions.size());
+            participantSyncPublisher.sendRestartMsg(participantId, replicaId, acDefinition, changedCompositions,
+                    withDefinitions, instancesChanged && restoredDigest != null);
+        }
+        return true;
     }
 
     private boolean isAcToBeSyncRestarted(UUID participantId, AutomationComposition automationComposition) {
@@ -20,6 +20,7 @@
 
 package org.onap.policy.clamp.acm.runtime.supervision;
 
+import org.onap.policy.clamp.acm.runtime.config.UsePrimaryDataSource;
 import org.onap.policy.clamp.acm.runtime.main.parameters.AcRuntimeParameterGroup;
 import org.onap.policy.clamp.models.acm.concepts.ParticipantReplica;
 import org.onap.policy.clamp.models.acm.persistence.provider.ParticipantProvider;
@@ -32,22 +33,27 @@ import org.springframework.stereotype.Component;
  * This class is used to scan the automation compositions in the database and check if they are in the correct state.
  */
 @Component
+@UsePrimaryDataSource
 public class SupervisionParticipantScanner {
     private static final Logger LOGGER = LoggerFactory.getLogger(SupervisionParticipantScanner.class);
 
     private final long maxWaitMs;
 
     private final ParticipantProvider participantProvider;
+    private final SupervisionParticipantHandler supervisionParticipantHandler;
 
     /**
      * Constructor for instantiating SupervisionParticipantScanner.
      *
      * @param participantProvider the Participant Provider
+     * @param supervisionParticipantHandler the handler of the participant messages
      * @param acRuntimeParameterGroup the parameters for the automation composition runtime
      */
     public SupervisionParticipantScanner(final ParticipantProvider participantProvider,
+            final SupervisionParticipantHandler supervisionParticipantHandler,
             final AcRuntimeParameterGroup acRuntimeParameterGroup) {
         this.participantProvider = participantProvider;
+        this.supervisionParticipantHandler = supervisionParticipantHandler;
         this.maxWaitMs = acRuntimeParameterGroup.getParticipantParameters().getMaxStatusWaitMs();
     }
 
@@ -57,6 +63,7 @@ public class SupervisionParticipantScanner {
     public void run() {
         LOGGER.debug("Scanning participants in the database . . .");
         participantProvider.findReplicasOnLine().forEach(this::scanParticipantReplicaStatus);
+        supervisionParticipantHandler.checkRestartSyncTimeouts();
         LOGGER.debug("Participants scan complete . . .");
     }
 
@@ -25,6 +25,7 @@ package org.onap.policy.clamp.acm.runtime.supervision;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.UUID;
+import org.onap.policy.clamp.acm.runtime.config.UsePrimaryDataSource;
 import org.onap.policy.clamp.acm.runtime.main.parameters.AcRuntimeParameterGroup;
 import org.onap.policy.clamp.acm.runtime.supervision.comm.AutomationCompositionDeployPublisher;
 import org.onap.policy.clamp.acm.runtime.supervision.comm.AutomationCompositionMigrationPublisher;
@@ -50,6 +51,7 @@ import org.springframework.stereotype.Component;
  * This class is used to scan the automation compositions in the database and check if they are in the correct state.
  */
 @Component
+@UsePrimaryDataSource
 public class SupervisionScanner {
     private static final Logger LOGGER = LoggerFactory.getLogger(SupervisionScanner.class);
 
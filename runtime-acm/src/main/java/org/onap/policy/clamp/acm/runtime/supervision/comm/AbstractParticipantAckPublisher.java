@@ -23,6 +23,7 @@ package org.onap.policy.clamp.acm.runtime.supervision.comm;
 import jakarta.ws.rs.core.Response.Status;
 import org.onap.policy.clamp.acm.runtime.config.messaging.Publisher;
 import org.onap.policy.clamp.common.acm.exception.AutomationCompositionRuntimeException;
+import org.onap.policy.clamp.common.acm.messaging.AsyncMessageSender;
 import org.onap.policy.clamp.models.acm.messages.kafka.participant.ParticipantAckMessage;
 import org.onap.policy.common.endpoints.event.comm.TopicSink;
 import org.onap.policy.common.endpoints.event.comm.client.TopicSinkClient;
@@ -30,6 +31,7 @@ import org.onap.policy.common.endpoints.event.comm.client.TopicSinkClient;
 public abstract class AbstractParticipantAckPublisher<E extends ParticipantAckMessage> implements Publisher {
 
     private TopicSinkClient topicSinkClient;
+    private AsyncMessageSender sender;
     private boolean active = false;
 
     /**
@@ -41,7 +43,12 @@ public abstract class AbstractParticipantAckPublisher<E extends ParticipantAckMe
         if (!active) {
             throw new AutomationCompositionRuntimeException(Status.NOT_ACCEPTABLE, "Not Active!");
         }
-        topicSinkClient.send(participantMessage);
+        var asyncSender = sender;
+        if (asyncSender != null) {
+            asyncSender.send(participantMessage, topicSinkClient::send);
+        } else {
+            topicSinkClient.send(participantMessage);
+        }
     }
 
 
@@ -51,9 +58,16 @@ public abstract class AbstractParticipantAckPublisher<E extends ParticipantAckMe
         active = true;
     }
 
+    @Override
+    public void active(TopicSink topicSink, AsyncMessageSender sender) {
+        active(topicSink);
+        this.sender = sender;
+    }
+
     @Override
     public void stop() {
         active = false;
+        sender = null;
     }
 
     /**
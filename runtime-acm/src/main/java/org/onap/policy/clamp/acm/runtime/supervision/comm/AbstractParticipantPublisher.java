@@ -23,6 +23,7 @@ package org.onap.policy.clamp.acm.runtime.supervision.comm;
 import jakarta.ws.rs.core.Response.Status;
 import org.onap.policy.clamp.acm.runtime.config.messaging.Publisher;
 import org.onap.policy.clamp.common.acm.exception.AutomationCompositionRuntimeException;
+import org.onap.policy.clamp.common.acm.messaging.AsyncMessageSender;
 import org.onap.policy.clamp.models.acm.messages.kafka.participant.ParticipantMessage;
 import org.onap.policy.common.endpoints.event.comm.TopicSink;
 import org.onap.policy.common.endpoints.event.comm.client.TopicSinkClient;
@@ -31,6 +32,7 @@ import org.onap.policy.common.endpoints.event.comm.client.TopicSinkClient;
 public abstract class AbstractParticipantPublisher<E extends ParticipantMessage> implements Publisher {
 
     private TopicSinkClient topicSinkClient;
+    private AsyncMessageSender sender;
     private boolean active = false;
 
     /**
@@ -42,7 +44,12 @@ public abstract class AbstractParticipantPublisher<E extends ParticipantMessage>
         if (!active) {
             throw new AutomationCompositionRuntimeException(Status.NOT_ACCEPTABLE, "Not Active!");
         }
-        topicSinkClient.send(participantMessage);
+        var asyncSender = sender;
+        if (asyncSender != null) {
+            asyncSender.send(participantMessage, topicSinkClient::send);
+        } else {
+            topicSinkClient.send(participantMessage);
+        }
     }
 
 
@@ -52,9 +59,16 @@ public abstract class AbstractParticipantPublisher<E extends ParticipantMessage>
         active = true;
     }
 
+    @Override
+    public void active(TopicSink topicSink, AsyncMessageSender sender) {
+        active(topicSink);
+        this.sender = sender;
+    }
+
     @Override
     public void stop() {
         active = false;
+        sender = null;
     }
 
     /**
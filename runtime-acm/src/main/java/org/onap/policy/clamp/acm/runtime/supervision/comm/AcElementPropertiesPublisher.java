@@ -22,12 +22,12 @@ package org.onap.policy.clamp.acm.runtime.supervision.comm;
 
 import io.micrometer.core.annotation.Timed;
 import java.time.Instant;
-import java.util.UUID;
 import lombok.AllArgsConstructor;
 import org.onap.policy.clamp.models.acm.concepts.AutomationComposition;
 import org.onap.policy.clamp.models.acm.messages.kafka.participant.PropertiesUpdate;
 import org.onap.policy.clamp.models.acm.messages.rest.instantiation.DeployOrder;
 import org.onap.policy.clamp.models.acm.utils.AcmUtils;
+import org.onap.policy.clamp.models.acm.utils.UuidGenerator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
@@ -51,7 +51,7 @@ public class AcElementPropertiesPublisher extends AbstractParticipantPublisher<P
         var propertiesUpdate = new PropertiesUpdate();
         propertiesUpdate.setCompositionId(automationComposition.getCompositionId());
         propertiesUpdate.setAutomationCompositionId(automationComposition.getInstanceId());
-        propertiesUpdate.setMessageId(UUID.randomUUID());
+        propertiesUpdate.setMessageId(UuidGenerator.generate());
         propertiesUpdate.setTimestamp(Instant.now());
         propertiesUpdate.setParticipantUpdatesList(
                 AcmUtils.createParticipantDeployList(automationComposition, DeployOrder.UPDATE));
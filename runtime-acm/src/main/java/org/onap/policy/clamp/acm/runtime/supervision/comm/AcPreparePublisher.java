@@ -28,6 +28,7 @@ import org.onap.policy.clamp.models.acm.concepts.AutomationComposition;
 import org.onap.policy.clamp.models.acm.messages.kafka.participant.AutomationCompositionPrepare;
 import org.onap.policy.clamp.models.acm.messages.rest.instantiation.DeployOrder;
 import org.onap.policy.clamp.models.acm.utils.AcmUtils;
+import org.onap.policy.clamp.models.acm.utils.UuidGenerator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
@@ -71,7 +72,7 @@ public class AcPreparePublisher extends AbstractParticipantPublisher<AutomationC
         var acPrepare = new AutomationCompositionPrepare();
         acPrepare.setCompositionId(compositionId);
         acPrepare.setAutomationCompositionId(instanceId);
-        acPrepare.setMessageId(UUID.randomUUID());
+        acPrepare.setMessageId(UuidGenerator.generate());
         acPrepare.setTimestamp(Instant.now());
         return acPrepare;
     }
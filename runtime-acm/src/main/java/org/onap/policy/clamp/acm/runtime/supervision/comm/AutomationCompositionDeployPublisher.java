@@ -36,6 +36,7 @@ import org.onap.policy.clamp.models.acm.concepts.ParticipantDeploy;
 import org.onap.policy.clamp.models.acm.messages.kafka.participant.AutomationCompositionDeploy;
 import org.onap.policy.clamp.models.acm.messages.rest.instantiation.DeployOrder;
 import org.onap.policy.clamp.models.acm.utils.AcmUtils;
+import org.onap.policy.clamp.models.acm.utils.UuidGenerator;
 import org.onap.policy.models.tosca.authorative.concepts.ToscaServiceTemplate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -83,7 +84,7 @@ public class AutomationCompositionDeployPublisher extends AbstractParticipantPub
         acDeployMsg.setStartPhase(startPhase);
         acDeployMsg.setFirstStartPhase(firstStartPhase);
         acDeployMsg.setAutomationCompositionId(automationComposition.getInstanceId());
-        acDeployMsg.setMessageId(UUID.randomUUID());
+        acDeployMsg.setMessageId(UuidGenerator.generate());
         acDeployMsg.setTimestamp(Instant.now());
         acDeployMsg.setParticipantUpdatesList(participantDeploys);
 
@@ -21,11 +21,11 @@
 package org.onap.policy.clamp.acm.runtime.supervision.comm;
 
 import io.micrometer.core.annotation.Timed;
-import java.util.UUID;
 import org.onap.policy.clamp.models.acm.concepts.AutomationComposition;
 import org.onap.policy.clamp.models.acm.messages.kafka.participant.AutomationCompositionMigration;
 import org.onap.policy.clamp.models.acm.messages.rest.instantiation.DeployOrder;
 import org.onap.policy.clamp.models.acm.utils.AcmUtils;
+import org.onap.policy.clamp.models.acm.utils.UuidGenerator;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -46,7 +46,7 @@ public class AutomationCompositionMigrationPublisher
         acMigration.setPrecheck(Boolean.TRUE.equals(automationComposition.getPrecheck()));
         acMigration.setCompositionId(automationComposition.getCompositionId());
         acMigration.setAutomationCompositionId(automationComposition.getInstanceId());
-        acMigration.setMessageId(UUID.randomUUID());
+        acMigration.setMessageId(UuidGenerator.generate());
         acMigration.setCompositionTargetId(automationComposition.getCompositionTargetId());
         acMigration.setStage(stage);
         acMigration.setParticipantUpdatesList(
@@ -21,10 +21,10 @@
 package org.onap.policy.clamp.acm.runtime.supervision.comm;
 
 import io.micrometer.core.annotation.Timed;
-import java.util.UUID;
 import org.onap.policy.clamp.models.acm.concepts.AutomationComposition;
 import org.onap.policy.clamp.models.acm.messages.kafka.participant.AutomationCompositionStateChange;
 import org.onap.policy.clamp.models.acm.utils.AcmUtils;
+import org.onap.policy.clamp.models.acm.utils.UuidGenerator;
 import org.springframework.stereotype.Component;
 
 /**
@@ -47,7 +47,7 @@ public class AutomationCompositionStateChangePublisher
         var acsc = new AutomationCompositionStateChange();
         acsc.setCompositionId(automationComposition.getCompositionId());
         acsc.setAutomationCompositionId(automationComposition.getInstanceId());
-        acsc.setMessageId(UUID.randomUUID());
+        acsc.setMessageId(UuidGenerator.generate());
         acsc.setDeployOrderedState(AcmUtils.stateDeployToOrder(automationComposition.getDeployState()));
         acsc.setLockOrderedState(AcmUtils.stateLockToOrder(automationComposition.getLockState()));
         acsc.setStartPhase(startPhase);
@@ -0,0 +1,68 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2024 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.clamp.acm.runtime.supervision.comm;
+
+import org.onap.policy.clamp.acm.runtime.config.messaging.Listener;
+import org.onap.policy.clamp.acm.runtime.supervision.SupervisionParticipantHandler;
+import org.onap.policy.clamp.models.acm.messages.kafka.participant.ParticipantMessageType;
+import org.onap.policy.clamp.models.acm.messages.kafka.participant.ParticipantSyncAck;
+import org.onap.policy.common.endpoints.event.comm.Topic.CommInfrastructure;
+import org.onap.policy.common.endpoints.listeners.ScoListener;
+import org.onap.policy.common.utils.coder.StandardCoderObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Listener for ParticipantSyncAck messages sent by participants.
+ */
+@Component
+public class ParticipantSyncAckListener extends ScoListener<ParticipantSyncAck>
+                implements Listener<ParticipantSyncAck> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ParticipantSyncAckListener.class);
+
+    private final SupervisionParticipantHandler supervisionHandler;
+
+    /**
+     * Constructs the object.
+     */
+    public ParticipantSyncAckListener(SupervisionParticipantHandler supervisionHandler) {
+        super(ParticipantSyncAck.class);
+        this.supervisionHandler = supervisionHandler;
+    }
+
+    @Override
+    public void onTopicEvent(final CommInfrastructure infra, final String topic, final StandardCoderObject sco,
+            final ParticipantSyncAck participantSyncAckMessage) {
+        LOGGER.debug("ParticipantSyncAck message received from participant - {}", participantSyncAckMessage);
+        supervisionHandler.handleParticipantMessage(participantSyncAckMessage);
+    }
+
+    @Override
+    public String getType() {
+        return ParticipantMessageType.PARTICIPANT_SYNC_ACK.name();
+    }
+
+    @Override
+    public ScoListener<ParticipantSyncAck> getScoListener() {
+        return this;
+    }
+}
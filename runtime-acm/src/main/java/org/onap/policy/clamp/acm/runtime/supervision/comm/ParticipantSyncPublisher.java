@@ -22,9 +22,12 @@ package org.onap.policy.clamp.acm.runtime.supervision.comm;
 
 import io.micrometer.core.annotation.Timed;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
-import lombok.AllArgsConstructor;
+import java.util.concurrent.ConcurrentHashMap;
 import org.onap.policy.clamp.acm.runtime.main.parameters.AcRuntimeParameterGroup;
 import org.onap.policy.clamp.models.acm.concepts.AcTypeState;
 import org.onap.policy.clamp.models.acm.concepts.AutomationComposition;
@@ -33,17 +36,36 @@ import org.onap.policy.clamp.models.acm.concepts.DeployState;
 import org.onap.policy.clamp.models.acm.concepts.ParticipantRestartAc;
 import org.onap.policy.clamp.models.acm.messages.kafka.participant.ParticipantSync;
 import org.onap.policy.clamp.models.acm.utils.AcmUtils;
+import org.onap.policy.clamp.models.acm.utils.UuidGenerator;
 import org.onap.policy.models.tosca.authorative.concepts.ToscaServiceTemplate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
 @Component
-@AllArgsConstructor
 public class ParticipantSyncPublisher extends AbstractParticipantPublisher<ParticipantSync> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ParticipantSyncPublisher.class);
     private final AcRuntimeParameterGroup acRuntimeParameterGroup;
+    private final int restartSyncChunkSize;
+    private final RestartSyncFlowControl flowControl;
+
+    // replicas that have failed a restart sync in chunks since they registered, synced in full without flow control
+    private final Set<UUID> unchunkedReplicas = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Constructor.
+     *
+     * @param acRuntimeParameterGroup the parameters for the automation composition runtime
+     */
+    public ParticipantSyncPublisher(AcRuntimeParameterGroup acRuntimeParameterGroup) {
+        this.acRuntimeParameterGroup = acRuntimeParameterGroup;
+        var participantParameters = acRuntimeParameterGroup.getParticipantParameters();
+        this.restartSyncChunkSize = participantParameters.getRestartSyncChunkSize();
+        this.flowControl = new RestartSyncFlowControl(participantParameters.getRestartSyncWindow(),
+                participantParameters.getRestartSyncAckTimeoutMs(), participantParameters.getRestartSyncMaxRetries(),
+                super::send);
+    }
 
     /**
      * Send Restart sync msg to Participant by participantId.
@@ -53,29 +75,144 @@ public class ParticipantSyncPublisher extends AbstractParticipantPublisher<Parti
      * @param acmDefinition the AutomationComposition Definition
      * @param automationCompositions the list of automationCompositions
      */
-    @Timed(value = "publisher.participant_sync_msg", description = "Participant Sync published")
     public void sendRestartMsg(UUID participantId, UUID replicaId, AutomationCompositionDefinition acmDefinition,
                      List<AutomationComposition> automationCompositions) {
+        sendRestartMsg(participantId, replicaId, acmDefinition, automationCompositions, true, false);
+    }
 
-        var message = new ParticipantSync();
-        message.setParticipantId(participantId);
-        message.setReplicaId(replicaId);
-        message.setRestarting(true);
-        message.setCompositionId(acmDefinition.getCompositionId());
-        message.setMessageId(UUID.randomUUID());
-        message.setTimestamp(Instant.now());
+    /**
+     * Send Restart sync msg to Participant by participantId, with or without the element definitions.
+     *
+     * @param participantId the participantId
+     * @param replicaId the replicaId
+     * @param acmDefinition the AutomationComposition Definition
+     * @param automationCompositions the list of automationCompositions
+     * @param withDefinitions false if the participant has already the element definitions
+     * @param replaceInstances true if the participant has to remove first the instances of the composition it has
+     */
+    @Timed(value = "publisher.participant_sync_msg", description = "Participant Sync published")
+    public void sendRestartMsg(UUID participantId, UUID replicaId, AutomationCompositionDefinition acmDefinition,
+            List<AutomationComposition> automationCompositions, boolean withDefinitions, boolean replaceInstances) {
+
+        List<ParticipantSync> messages = new ArrayList<>();
+        if (replaceInstances) {
+            var deleteMessage = createRestartMsg(participantId, replicaId, acmDefinition.getCompositionId());
+            deleteMessage.setDelete(true);
+            deleteMessage.setState(acmDefinition.getState());
+            messages.add(deleteMessage);
+        }
+        var message = createRestartMsg(participantId, replicaId, acmDefinition.getCompositionId());
         message.setState(acmDefinition.getState());
-        message.setParticipantDefinitionUpdates(AcmUtils.prepareParticipantRestarting(participantId, acmDefinition,
-                acRuntimeParameterGroup.getAcmParameters().getToscaElementName()));
+        if (withDefinitions) {
+            message.setParticipantDefinitionUpdates(AcmUtils.prepareParticipantRestarting(participantId,
+                    acmDefinition, acRuntimeParameterGroup.getAcmParameters().getToscaElementName()));
+        }
+        messages.add(message);
         var toscaServiceTemplateFragment = AcmUtils.getToscaServiceTemplateFragment(acmDefinition.getServiceTemplate());
 
         for (var automationComposition : automationCompositions) {
+            if (restartSyncChunkSize > 0 && message.getAutomationcompositionList().size() >= restartSyncChunkSize) {
+                message = createRestartMsg(participantId, replicaId, acmDefinition.getCompositionId());
+                message.setState(acmDefinition.getState());
+                messages.add(message);
+            }
             var syncAc = AcmUtils.createAcRestart(automationComposition, participantId, toscaServiceTemplateFragment);
             message.getAutomationcompositionList().add(syncAc);
         }
 
-        LOGGER.debug("Participant Restarting Sync sent {}", message);
-        super.send(message);
+        sendRestart(replicaId, messages);
+    }
+
+    /**
+     * Send Restart sync msg to Participant by participantId, to delete from its cache a composition and instances
+     * that are no longer present in the runtime. The participant removes also all the instances of the composition.
+     *
+     * @param participantId the participantId
+     * @param replicaId the replicaId
+     * @param compositionId the compositionId, or null to delete only instances
+     * @param instanceIds the ids of the instances to delete
+     */
+    @Timed(value = "publisher.participant_sync_msg", description = "Participant Sync published")
+    public void sendRestartDeleteMsg(UUID participantId, UUID replicaId, UUID compositionId,
+            Collection<UUID> instanceIds) {
+        var message = createRestartMsg(participantId, replicaId, compositionId);
+        message.setDelete(true);
+        if (compositionId != null) {
+            message.setState(AcTypeState.COMMISSIONED);
+        }
+        for (var instanceId : instanceIds) {
+            var syncAc = new ParticipantRestartAc();
+            syncAc.setAutomationCompositionId(instanceId);
+            message.getAutomationcompositionList().add(syncAc);
+        }
+        sendRestart(replicaId, List.of(message));
+    }
+
+    private ParticipantSync createRestartMsg(UUID participantId, UUID replicaId, UUID compositionId) {
+        var message = new ParticipantSync();
+        message.setParticipantId(participantId);
+        message.setReplicaId(replicaId);
+        message.setRestarting(true);
+        message.setCompositionId(compositionId);
+        message.setMessageId(UuidGenerator.generate());
+        message.setTimestamp(Instant.now());
+        return message;
+    }
+
+    private void sendRestart(UUID replicaId, List<ParticipantSync> messages) {
+        if (restartSyncChunkSize <= 0 || unchunkedReplicas.contains(replicaId)) {
+            for (var message : messages) {
+                LOGGER.debug("Participant Restarting Sync sent {}", message);
+                super.send(message);
+            }
+            return;
+        }
+        // the chunks are numbered and the last one marks the completion, the participant acknowledges each chunk
+        var restartSyncId = UuidGenerator.generate();
+        for (var i = 0; i < messages.size(); i++) {
+            var message = messages.get(i);
+            message.setRestartSyncId(restartSyncId);
+            message.setChunkSequence(i);
+            message.setLastChunk(i == messages.size() - 1);
+        }
+        LOGGER.debug("Participant Restarting Sync {} queued in {} chunks for replica {}", restartSyncId,
+                messages.size(), replicaId);
+        flowControl.submit(replicaId, messages);
+    }
+
+    /**
+     * Handle the ack of a chunk of restart sync from a participant replica, to send the next chunks.
+     *
+     * @param replicaId the replicaId
+     * @param messageId the messageId of the chunk
+     */
+    public void acknowledge(UUID replicaId, UUID messageId) {
+        flowControl.acknowledge(replicaId, messageId);
+    }
+
+    /**
+     * Send again the chunks of restart sync that the replicas have not acknowledged in time. A replica whose restart
+     * sync has failed is synced without chunks until it registers again: a participant that does not acknowledge the
+     * chunks, or whose acks are consumed by another runtime instance, does not fail the next restart sync again.
+     *
+     * @return a chunk of each restart sync failed after the retries, to identify the replicas to sync again in full
+     */
+    public List<ParticipantSync> checkRestartSyncTimeouts() {
+        var failed = flowControl.checkTimeouts();
+        for (var chunk : failed) {
+            unchunkedReplicas.add(chunk.getReplicaId());
+        }
+        return failed;
+    }
+
+    /**
+     * Reset the restart sync of a participant replica that registers or deregisters, so that its next restart sync
+     * is sent in chunks again.
+     *
+     * @param replicaId the replicaId
+     */
+    public void resetRestartSync(UUID replicaId) {
+        unchunkedReplicas.remove(replicaId);
     }
 
     /**
@@ -101,7 +238,7 @@ public class ParticipantSyncPublisher extends AbstractParticipantPublisher<Parti
             message.getExcludeReplicas().add(excludeReplicaId);
         }
         message.setState(acDefinition.getState());
-        message.setMessageId(UUID.randomUUID());
+        message.setMessageId(UuidGenerator.generate());
         message.setTimestamp(Instant.now());
         if (AcTypeState.COMMISSIONED.equals(acDefinition.getState())) {
             message.setDelete(true);
@@ -125,7 +262,7 @@ public class ParticipantSyncPublisher extends AbstractParticipantPublisher<Parti
         message.setCompositionId(automationComposition.getCompositionId());
         message.setAutomationCompositionId(automationComposition.getInstanceId());
         message.setState(AcTypeState.PRIMED);
-        message.setMessageId(UUID.randomUUID());
+        message.setMessageId(UuidGenerator.generate());
         message.setTimestamp(Instant.now());
         var syncAc = new ParticipantRestartAc();
         syncAc.setAutomationCompositionId(automationComposition.getInstanceId());
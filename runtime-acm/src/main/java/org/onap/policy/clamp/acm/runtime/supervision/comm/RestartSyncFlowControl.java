@@ -0,0 +1,173 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2024 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.clamp.acm.runtime.supervision.comm;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+import org.onap.policy.clamp.models.acm.messages.kafka.participant.ParticipantSync;
+import org.onap.policy.clamp.models.acm.utils.TimestampHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Flow control of the chunks of restart sync sent to the participant replicas. At most a window of chunks is sent
+ * to a replica before it acknowledges them; a chunk not acknowledged in time is sent again, up to a maximum number of
+ * retries for each restart sync. After that the restart sync of the replica has failed: its pending chunks are
+ * dropped, and the replica is returned to the caller that falls back to a full restart sync without chunks.
+ * The state is kept in memory of the runtime instance that sends the chunks: an ack consumed by another runtime
+ * instance is not expected there and is ignored, the sender sees the chunk as not acknowledged.
+ */
+class RestartSyncFlowControl {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RestartSyncFlowControl.class);
+
+    private final int window;
+    private final long ackTimeoutMs;
+    private final int maxRetries;
+    private final Consumer<ParticipantSync> sender;
+
+    private final Map<UUID, ReplicaSync> replicas = new HashMap<>();
+
+    private static class ReplicaSync {
+        private final Deque<ParticipantSync> queued = new ArrayDeque<>();
+
+        // chunks not acknowledged yet, by messageId
+        private final Map<UUID, InFlight> inFlight = new LinkedHashMap<>();
+
+        // number of chunks sent again, by restartSyncId
+        private final Map<UUID, Integer> retries = new HashMap<>();
+    }
+
+    private static class InFlight {
+        private final ParticipantSync chunk;
+        private long sentTime;
+
+        InFlight(ParticipantSync chunk) {
+            this.chunk = chunk;
+            this.sentTime = TimestampHelper.nowEpochMilli();
+        }
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param window the maximum number of chunks sent to a replica and not acknowledged
+     * @param ackTimeoutMs the time to wait for the ack of a chunk
+     * @param maxRetries the maximum number of chunks sent again for each restart sync
+     * @param sender the sender of the chunks
+     */
+    RestartSyncFlowControl(int window, long ackTimeoutMs, int maxRetries, Consumer<ParticipantSync> sender) {
+        this.window = window;
+        this.ackTimeoutMs = ackTimeoutMs;
+        this.maxRetries = maxRetries;
+        this.sender = sender;
+    }
+
+    /**
+     * Queue the chunks of a restart sync for a replica, and send them as the window allows.
+     *
+     * @param replicaId the replicaId
+     * @param chunks the chunks in order
+     */
+    synchronized void submit(UUID replicaId, List<ParticipantSync> chunks) {
+        var replica = replicas.computeIfAbsent(replicaId, key -> new ReplicaSync());
+        replica.queued.addAll(chunks);
+        sendQueued(replicaId, replica);
+    }
+
+    /**
+     * Handle the ack of a chunk, and send the next chunks.
+     *
+     * @param replicaId the replicaId
+     * @param messageId the messageId of the chunk
+     */
+    synchronized void acknowledge(UUID replicaId, UUID messageId) {
+        var replica = replicas.get(replicaId);
+        if (replica == null || replica.inFlight.remove(messageId) == null) {
+            LOGGER.debug("Ack of restart sync {} from replica {} not expected", messageId, replicaId);
+            return;
+        }
+        sendQueued(replicaId, replica);
+    }
+
+    /**
+     * Send again the chunks not acknowledged in time; the restart sync of a replica fails when a chunk is not
+     * acknowledged after the retries.
+     *
+     * @return a chunk of each restart sync failed, to identify the participant replicas to sync again in full
+     */
+    synchronized List<ParticipantSync> checkTimeouts() {
+        var now = TimestampHelper.nowEpochMilli();
+        var expired = now - ackTimeoutMs;
+        List<ParticipantSync> failed = new ArrayList<>();
+        for (var entry : List.copyOf(replicas.entrySet())) {
+            var replicaId = entry.getKey();
+            var replica = entry.getValue();
+            for (var inFlight : List.copyOf(replica.inFlight.values())) {
+                if (inFlight.sentTime >= expired) {
+                    continue;
+                }
+                var restartSyncId = inFlight.chunk.getRestartSyncId();
+                var retries = replica.retries.merge(restartSyncId, 1, Integer::sum);
+                if (retries > maxRetries) {
+                    LOGGER.warn("Restart sync {} not acknowledged by replica {} after {} retries", restartSyncId,
+                            replicaId, maxRetries);
+                    replicas.remove(replicaId);
+                    failed.add(inFlight.chunk);
+                    break;
+                }
+                LOGGER.warn("Chunk {} of restart sync {} not acknowledged in time by replica {}, sent again",
+                        inFlight.chunk.getChunkSequence(), restartSyncId, replicaId);
+                inFlight.sentTime = now;
+                sender.accept(inFlight.chunk);
+            }
+        }
+        return failed;
+    }
+
+    /**
+     * Get the number of chunks queued or not acknowledged for a replica.
+     *
+     * @param replicaId the replicaId
+     * @return the number of chunks pending
+     */
+    synchronized int getPending(UUID replicaId) {
+        var replica = replicas.get(replicaId);
+        return replica != null ? replica.queued.size() + replica.inFlight.size() : 0;
+    }
+
+    private void sendQueued(UUID replicaId, ReplicaSync replica) {
+        while (replica.inFlight.size() < window && !replica.queued.isEmpty()) {
+            var chunk = replica.queued.poll();
+            replica.inFlight.put(chunk.getMessageId(), new InFlight(chunk));
+            sender.accept(chunk);
+        }
+        if (replica.queued.isEmpty() && replica.inFlight.isEmpty()) {
+            replicas.remove(replicaId);
+        }
+    }
+}
@@ -27,6 +27,7 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -40,7 +41,6 @@ import org.onap.policy.clamp.acm.runtime.main.parameters.AcRuntimeParameterGroup
 import org.onap.policy.clamp.acm.runtime.supervision.comm.ParticipantPrimePublisher;
 import org.onap.policy.clamp.acm.runtime.util.CommonTestData;
 import org.onap.policy.clamp.models.acm.concepts.AcTypeState;
-import org.onap.policy.clamp.models.acm.concepts.AutomationComposition;
 import org.onap.policy.clamp.models.acm.concepts.AutomationCompositionDefinition;
 import org.onap.policy.clamp.models.acm.messages.rest.commissioning.AcTypeStateUpdate;
 import org.onap.policy.clamp.models.acm.messages.rest.commissioning.PrimeOrder;
@@ -124,12 +124,13 @@ class CommissioningProviderTest {
         var acProvider = mock(AutomationCompositionProvider.class);
 
         var compositionId = UUID.randomUUID();
-        when(acProvider.getAcInstancesByCompositionId(compositionId)).thenReturn(List.of(new AutomationComposition()));
+        when(acProvider.existsAcInstancesByCompositionId(compositionId)).thenReturn(true);
 
         var provider = new CommissioningProvider(acDefinitionProvider, acProvider, null, null, null, null);
 
         assertThatThrownBy(() -> provider.deleteAutomationCompositionDefinition(compositionId))
             .hasMessageMatching("Delete instances, to commission automation composition definitions");
+        verify(acProvider, never()).getAcInstancesByCompositionId(compositionId);
     }
 
     @Test
@@ -204,7 +205,7 @@ class CommissioningProviderTest {
             mock(AcRuntimeParameterGroup.class));
 
         var compositionId = UUID.randomUUID();
-        when(acProvider.getAcInstancesByCompositionId(compositionId)).thenReturn(List.of(new AutomationComposition()));
+        when(acProvider.existsAcInstancesByCompositionId(compositionId)).thenReturn(true);
 
         var toscaServiceTemplate = new ToscaServiceTemplate();
         assertThatThrownBy(() -> provider.updateCompositionDefinition(compositionId, toscaServiceTemplate))
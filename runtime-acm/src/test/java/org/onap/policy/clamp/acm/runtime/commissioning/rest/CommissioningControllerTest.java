@@ -30,6 +30,7 @@ import static org.onap.policy.clamp.acm.runtime.util.CommonTestData.TOSCA_SERVIC
 import static org.onap.policy.clamp.acm.runtime.util.CommonTestData.TOSCA_VERSIONING;
 
 import jakarta.ws.rs.client.Entity;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.Response;
 import java.util.HashMap;
 import java.util.Map;
@@ -42,7 +43,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.onap.policy.clamp.acm.runtime.instantiation.InstantiationUtils;
 import org.onap.policy.clamp.acm.runtime.util.CommonTestData;
 import org.onap.policy.clamp.acm.runtime.util.rest.CommonRestController;
+import org.onap.policy.clamp.models.acm.concepts.AcTypeState;
 import org.onap.policy.clamp.models.acm.concepts.AutomationCompositionDefinition;
+import org.onap.policy.clamp.models.acm.concepts.AutomationCompositionDefinitionSummary;
+import org.onap.policy.clamp.models.acm.concepts.StateChangeResult;
 import org.onap.policy.clamp.models.acm.messages.rest.commissioning.AcTypeStateUpdate;
 import org.onap.policy.clamp.models.acm.messages.rest.commissioning.CommissioningResponse;
 import org.onap.policy.clamp.models.acm.messages.rest.commissioning.PrimeOrder;
@@ -245,6 +249,50 @@ class CommissioningControllerTest extends CommonRestController {
         rawresp.close();
     }
 
+    @Test
+    void testQuerySummaries() {
+        var compositionId = createEntryInDB("forQuerySummaries");
+
+        var invocationBuilder = super.sendRequest(COMMISSIONING_ENDPOINT + "/summaries?name=forQuerySummaries");
+        var rawresp = invocationBuilder.buildGet().invoke();
+        assertEquals(Response.Status.OK.getStatusCode(), rawresp.getStatus());
+        var summaries = rawresp.readEntity(AutomationCompositionDefinitionSummary[].class);
+        assertThat(summaries).hasSize(1);
+        assertEquals(compositionId, summaries[0].getCompositionId());
+        assertEquals("forQuerySummaries", summaries[0].getName());
+        assertEquals(AcTypeState.COMMISSIONED, summaries[0].getState());
+        assertThat(summaries[0].getElementCount()).isPositive();
+        rawresp.close();
+    }
+
+    @Test
+    void testGetEtag() {
+        var compositionId = createEntryInDB("forGetEtag");
+
+        var invocationBuilder = super.sendRequest(COMMISSIONING_ENDPOINT + "/" + compositionId);
+        var rawresp = invocationBuilder.buildGet().invoke();
+        assertEquals(Response.Status.OK.getStatusCode(), rawresp.getStatus());
+        var etag = rawresp.getHeaderString(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        rawresp.close();
+
+        invocationBuilder = super.sendRequest(COMMISSIONING_ENDPOINT + "/" + compositionId)
+                .header(HttpHeaders.IF_NONE_MATCH, etag);
+        rawresp = invocationBuilder.buildGet().invoke();
+        assertEquals(Response.Status.NOT_MODIFIED.getStatusCode(), rawresp.getStatus());
+        rawresp.close();
+
+        acDefinitionProvider.updateAcDefinitionState(compositionId, AcTypeState.PRIMED, StateChangeResult.NO_ERROR);
+        invocationBuilder = super.sendRequest(COMMISSIONING_ENDPOINT + "/" + compositionId)
+                .header(HttpHeaders.IF_NONE_MATCH, etag);
+        rawresp = invocationBuilder.buildGet().invoke();
+        assertEquals(Response.Status.OK.getStatusCode(), rawresp.getStatus());
+        assertThat(rawresp.getHeaderString(HttpHeaders.ETAG)).isNotEqualTo(etag);
+        var acDefinition = rawresp.readEntity(AutomationCompositionDefinition.class);
+        assertEquals(AcTypeState.PRIMED, acDefinition.getState());
+        rawresp.close();
+    }
+
     @Test
     void testDeleteBadRequest() {
         createEntryInDB("DeleteBadRequest");
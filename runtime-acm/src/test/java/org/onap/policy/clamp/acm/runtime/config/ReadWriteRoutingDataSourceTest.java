@@ -0,0 +1,70 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2024 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.clamp.acm.runtime.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import javax.sql.DataSource;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.onap.policy.clamp.acm.runtime.config.ReadWriteRoutingDataSource.Route;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class ReadWriteRoutingDataSourceTest {
+
+    @AfterEach
+    void clear() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        ReadWriteRoutingDataSource.setPrimaryOnly(false);
+    }
+
+    @Test
+    void testRouting() {
+        var dataSource = new ReadWriteRoutingDataSource(mock(DataSource.class), mock(DataSource.class));
+        assertThat(dataSource.determineCurrentLookupKey()).isEqualTo(Route.PRIMARY);
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertThat(dataSource.determineCurrentLookupKey()).isEqualTo(Route.REPLICA);
+
+        assertThat(ReadWriteRoutingDataSource.setPrimaryOnly(true)).isFalse();
+        assertThat(dataSource.determineCurrentLookupKey()).isEqualTo(Route.PRIMARY);
+    }
+
+    @Test
+    void testAspect() throws Throwable {
+        var dataSource = new ReadWriteRoutingDataSource(mock(DataSource.class), mock(DataSource.class));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        var joinPoint = mock(ProceedingJoinPoint.class);
+        when(joinPoint.proceed()).thenAnswer(invocation -> dataSource.determineCurrentLookupKey());
+
+        var aspect = new PrimaryDataSourceAspect();
+        assertThat(aspect.usePrimary(joinPoint)).isEqualTo(Route.PRIMARY);
+        assertThat(dataSource.determineCurrentLookupKey()).isEqualTo(Route.REPLICA);
+
+        when(joinPoint.proceed()).thenThrow(new IllegalStateException("Error"));
+        assertThatThrownBy(() -> aspect.usePrimary(joinPoint)).hasMessage("Error");
+        assertThat(dataSource.determineCurrentLookupKey()).isEqualTo(Route.REPLICA);
+    }
+}
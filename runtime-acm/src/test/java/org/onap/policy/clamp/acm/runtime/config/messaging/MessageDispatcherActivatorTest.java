@@ -25,6 +25,8 @@ import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.notNull;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -77,8 +79,8 @@ class MessageDispatcherActivatorTest {
             // repeat start - should throw an exception
             assertThatIllegalStateException().isThrownBy(activator::start);
             assertTrue(activator.isAlive());
-            verify(publisherFirst, times(1)).active(any());
-            verify(publisherSecond, times(1)).active(any());
+            verify(publisherFirst, times(1)).active(any(), isNull());
+            verify(publisherSecond, times(1)).active(any(), isNull());
 
             var sco = CODER.decode("{messageType:" + TOPIC_FIRST + "}", StandardCoderObject.class);
             activator.getMsgDispatcher().onTopicEvent(null, "msg", sco);
@@ -96,4 +98,23 @@ class MessageDispatcherActivatorTest {
             assertFalse(activator.isAlive());
         }
     }
+
+    @Test
+    void testOutboundQueues() {
+        var parameterGroup = CommonTestData.geParameterGroup("dbtest");
+        parameterGroup.getOutboundParameters().setQueueSize(10);
+        var operationTopic = parameterGroup.getTopicParameterGroup().getTopicSinks().get(0).getTopic();
+        parameterGroup.getTopics().setOperationTopic(operationTopic);
+
+        var publisher = mock(Publisher.class);
+        when(publisher.isDefaultTopic()).thenReturn(true);
+        List<Listener<ParticipantStatus>> listeners = List.of();
+
+        try (var activator = new MessageDispatcherActivator(parameterGroup, List.of(publisher), listeners)) {
+            activator.start();
+            verify(publisher, times(1)).active(any(), notNull());
+            activator.stop();
+            verify(publisher, times(1)).stop();
+        }
+    }
 }
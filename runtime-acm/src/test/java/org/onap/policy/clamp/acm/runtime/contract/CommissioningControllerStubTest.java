@@ -59,6 +59,13 @@ class CommissioningControllerStubTest extends CommonRestController {
         assertThat(Response.Status.OK.getStatusCode()).isEqualTo(respPost.getStatus());
     }
 
+    @Test
+    void testQuerySummaries() {
+        var invocationBuilder = super.sendRequest(COMMISSIONING_ENDPOINT + "/summaries");
+        var respPost = invocationBuilder.get();
+        assertThat(Response.Status.OK.getStatusCode()).isEqualTo(respPost.getStatus());
+    }
+
     @Test
     void testGet() {
         var invocationBuilder = super.sendRequest(COMMISSIONING_ENDPOINT + "/" + COMPOSITION_ID);
@@ -101,4 +101,11 @@ class InstantiationControllerStubTest extends CommonRestController {
         var respPost = invocationBuilder.delete();
         assertThat(Response.Status.OK.getStatusCode()).isEqualTo(respPost.getStatus());
     }
+
+    @Test
+    void testStatistics() {
+        var invocationBuilder = super.sendRequest("statistics");
+        var respPost = invocationBuilder.get();
+        assertThat(Response.Status.OK.getStatusCode()).isEqualTo(respPost.getStatus());
+    }
 }
@@ -25,8 +25,10 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.onap.policy.clamp.acm.runtime.util.CommonTestData.TOSCA_SERVICE_TEMPLATE_YAML;
@@ -45,6 +47,7 @@ import org.onap.policy.clamp.models.acm.concepts.AcTypeState;
 import org.onap.policy.clamp.models.acm.concepts.AutomationComposition;
 import org.onap.policy.clamp.models.acm.concepts.AutomationCompositionDefinition;
 import org.onap.policy.clamp.models.acm.concepts.AutomationCompositionElement;
+import org.onap.policy.clamp.models.acm.concepts.AutomationCompositionStatistics;
 import org.onap.policy.clamp.models.acm.concepts.DeployState;
 import org.onap.policy.clamp.models.acm.concepts.LockState;
 import org.onap.policy.clamp.models.acm.concepts.StateChangeResult;
@@ -58,6 +61,7 @@ import org.onap.policy.clamp.models.acm.persistence.provider.AcInstanceStateReso
 import org.onap.policy.clamp.models.acm.persistence.provider.AutomationCompositionProvider;
 import org.onap.policy.clamp.models.acm.persistence.provider.ParticipantProvider;
 import org.onap.policy.clamp.models.acm.persistence.provider.ProviderUtils;
+import org.onap.policy.clamp.models.acm.utils.AcDefinitionValidator;
 import org.onap.policy.clamp.models.acm.utils.AcmUtils;
 import org.onap.policy.models.base.PfConceptKey;
 import org.onap.policy.models.tosca.authorative.concepts.ToscaConceptIdentifier;
@@ -103,12 +107,18 @@ class AutomationCompositionInstantiationProviderTest {
         serviceTemplate = jpa.toAuthorative();
     }
 
+    private static void mockFindAcDefinitionValidator(AcDefinitionProvider acDefinitionProvider,
+            AutomationCompositionDefinition acDefinition) {
+        when(acDefinitionProvider.findAcDefinitionValidator(acDefinition.getCompositionId()))
+                .thenAnswer(invocation -> Optional.of(new AcDefinitionValidator(acDefinition)));
+    }
+
     @Test
     void testInstantiationCrud() {
         var acDefinitionProvider = mock(AcDefinitionProvider.class);
         var acDefinition = CommonTestData.createAcDefinition(serviceTemplate, AcTypeState.PRIMED);
         var compositionId = acDefinition.getCompositionId();
-        when(acDefinitionProvider.findAcDefinition(compositionId)).thenReturn(Optional.of(acDefinition));
+        mockFindAcDefinitionValidator(acDefinitionProvider, acDefinition);
         when(acDefinitionProvider.getAcDefinition(compositionId)).thenReturn(acDefinition);
         var acProvider = mock(AutomationCompositionProvider.class);
         var supervisionAcHandler = mock(SupervisionAcHandler.class);
@@ -141,14 +151,14 @@ class AutomationCompositionInstantiationProviderTest {
         automationCompositionUpdate.setCompositionId(compositionId);
         when(acProvider.getAutomationComposition(automationCompositionUpdate.getInstanceId()))
                 .thenReturn(automationCompositionUpdate);
-        when(acProvider.updateAutomationComposition(automationCompositionUpdate))
+        when(acProvider.updateAutomationComposition(automationCompositionUpdate, true))
                 .thenReturn(automationCompositionUpdate);
 
         instantiationResponse = instantiationProvider.updateAutomationComposition(
                 automationCompositionUpdate.getCompositionId(), automationCompositionUpdate);
         InstantiationUtils.assertInstantiationResponse(instantiationResponse, automationCompositionUpdate);
 
-        verify(acProvider).updateAutomationComposition(automationCompositionUpdate);
+        verify(acProvider).updateAutomationComposition(automationCompositionUpdate, true);
 
         when(acProvider.deleteAutomationComposition(automationCompositionUpdate.getInstanceId()))
                 .thenReturn(automationCompositionUpdate);
@@ -164,7 +174,7 @@ class AutomationCompositionInstantiationProviderTest {
         var acDefinitionProvider = mock(AcDefinitionProvider.class);
         var acDefinition = CommonTestData.createAcDefinition(serviceTemplate, AcTypeState.PRIMED);
         var compositionId = acDefinition.getCompositionId();
-        when(acDefinitionProvider.findAcDefinition(compositionId)).thenReturn(Optional.of(acDefinition));
+        mockFindAcDefinitionValidator(acDefinitionProvider, acDefinition);
 
         var automationCompositionUpdate =
                 InstantiationUtils.getAutomationCompositionFromResource(AC_INSTANTIATION_UPDATE_JSON, "Crud");
@@ -175,7 +185,7 @@ class AutomationCompositionInstantiationProviderTest {
         var acProvider = mock(AutomationCompositionProvider.class);
         var acmFromDb = new AutomationComposition(automationCompositionUpdate);
         when(acProvider.getAutomationComposition(automationCompositionUpdate.getInstanceId())).thenReturn(acmFromDb);
-        when(acProvider.updateAutomationComposition(acmFromDb)).thenReturn(acmFromDb);
+        when(acProvider.updateAutomationComposition(acmFromDb, true)).thenReturn(acmFromDb);
 
         var supervisionAcHandler = mock(SupervisionAcHandler.class);
         var participantProvider = mock(ParticipantProvider.class);
@@ -186,7 +196,7 @@ class AutomationCompositionInstantiationProviderTest {
                 automationCompositionUpdate.getCompositionId(), automationCompositionUpdate);
 
         verify(supervisionAcHandler).update(any());
-        verify(acProvider).updateAutomationComposition(acmFromDb);
+        verify(acProvider).updateAutomationComposition(acmFromDb, true);
         InstantiationUtils.assertInstantiationResponse(instantiationResponse, automationCompositionUpdate);
 
         var elements = new ArrayList<>(automationCompositionUpdate.getElements().values());
@@ -230,12 +240,30 @@ class AutomationCompositionInstantiationProviderTest {
                                 "Not allowed to MIGRATE in the state " + automationCompositionUpdate.getDeployState());
     }
 
+    @Test
+    void testGetStatistics() {
+        var acProvider = mock(AutomationCompositionProvider.class);
+        var statistics = new AutomationCompositionStatistics();
+        when(acProvider.getStatistics(false)).thenReturn(statistics);
+        var acRuntimeParameterGroup = CommonTestData.getTestParamaterGroup();
+        var instantiationProvider = new AutomationCompositionInstantiationProvider(acProvider,
+                mock(AcDefinitionProvider.class), null, null, null, acRuntimeParameterGroup);
+
+        assertThat(instantiationProvider.getStatistics(false)).isEqualTo(statistics);
+        assertThat(instantiationProvider.getStatistics(false)).isEqualTo(statistics);
+        verify(acProvider).getStatistics(false);
+
+        acRuntimeParameterGroup.getAcmParameters().setStatisticsCacheMs(0);
+        instantiationProvider.getStatistics(false);
+        verify(acProvider, times(2)).getStatistics(false);
+    }
+
     @Test
     void testMigrationAddRemoveElements() {
         var acDefinitionProvider = mock(AcDefinitionProvider.class);
         var acDefinition = CommonTestData.createAcDefinition(serviceTemplate, AcTypeState.PRIMED);
         var compositionId = acDefinition.getCompositionId();
-        when(acDefinitionProvider.findAcDefinition(compositionId)).thenReturn(Optional.of(acDefinition));
+        mockFindAcDefinitionValidator(acDefinitionProvider, acDefinition);
         var instanceId = UUID.randomUUID();
 
         var automationComposition =
@@ -273,9 +301,9 @@ class AutomationCompositionInstantiationProviderTest {
         var acDefinitionTarget = CommonTestData.createAcDefinition(serviceTemplate, AcTypeState.PRIMED);
         var compositionTargetId = acDefinitionTarget.getCompositionId();
         automationCompositionTarget.setCompositionTargetId(compositionTargetId);
-        when(acDefinitionProvider.findAcDefinition(compositionTargetId)).thenReturn(Optional.of(acDefinitionTarget));
+        mockFindAcDefinitionValidator(acDefinitionProvider, acDefinitionTarget);
         when(acDefinitionProvider.getAcDefinition(compositionTargetId)).thenReturn(acDefinitionTarget);
-        when(acProvider.updateAutomationComposition(any())).thenReturn(automationCompositionTarget);
+        when(acProvider.updateAutomationComposition(any(), eq(true))).thenReturn(automationCompositionTarget);
 
         var supervisionAcHandler = mock(SupervisionAcHandler.class);
         var participantProvider = mock(ParticipantProvider.class);
@@ -331,7 +359,7 @@ class AutomationCompositionInstantiationProviderTest {
         var acDefinitionProvider = mock(AcDefinitionProvider.class);
         var acDefinition = CommonTestData.createAcDefinition(serviceTemplate, AcTypeState.PRIMED);
         var compositionId = acDefinition.getCompositionId();
-        when(acDefinitionProvider.findAcDefinition(compositionId)).thenReturn(Optional.of(acDefinition));
+        mockFindAcDefinitionValidator(acDefinitionProvider, acDefinition);
 
         var automationComposition =
                 InstantiationUtils.getAutomationCompositionFromResource(AC_INSTANTIATION_UPDATE_JSON, "Crud");
@@ -342,7 +370,7 @@ class AutomationCompositionInstantiationProviderTest {
         var acProvider = mock(AutomationCompositionProvider.class);
         when(acProvider.getAutomationComposition(automationComposition.getInstanceId()))
                 .thenReturn(automationComposition);
-        when(acProvider.updateAutomationComposition(automationComposition)).thenReturn(automationComposition);
+        when(acProvider.updateAutomationComposition(automationComposition, true)).thenReturn(automationComposition);
 
         var supervisionAcHandler = mock(SupervisionAcHandler.class);
         var participantProvider = mock(ParticipantProvider.class);
@@ -356,7 +384,7 @@ class AutomationCompositionInstantiationProviderTest {
 
         var acDefinitionTarget = CommonTestData.createAcDefinition(serviceTemplate, AcTypeState.PRIMED);
         var compositionTargetId = acDefinitionTarget.getCompositionId();
-        when(acDefinitionProvider.findAcDefinition(compositionTargetId)).thenReturn(Optional.of(acDefinitionTarget));
+        mockFindAcDefinitionValidator(acDefinitionProvider, acDefinitionTarget);
         when(acDefinitionProvider.getAcDefinition(compositionTargetId)).thenReturn(acDefinitionTarget);
 
         automationComposition.setCompositionTargetId(compositionTargetId);
@@ -365,7 +393,7 @@ class AutomationCompositionInstantiationProviderTest {
                 .updateAutomationComposition(automationComposition.getCompositionId(), automationComposition);
 
         verify(supervisionAcHandler).migrate(any(), any());
-        verify(acProvider).updateAutomationComposition(automationComposition);
+        verify(acProvider).updateAutomationComposition(automationComposition, true);
         InstantiationUtils.assertInstantiationResponse(instantiationResponse, automationComposition);
     }
 
@@ -374,7 +402,7 @@ class AutomationCompositionInstantiationProviderTest {
         var acDefinitionProvider = mock(AcDefinitionProvider.class);
         var acDefinition = CommonTestData.createAcDefinition(serviceTemplate, AcTypeState.PRIMED);
         var compositionId = acDefinition.getCompositionId();
-        when(acDefinitionProvider.findAcDefinition(compositionId)).thenReturn(Optional.of(acDefinition));
+        mockFindAcDefinitionValidator(acDefinitionProvider, acDefinition);
 
         var automationComposition =
             InstantiationUtils.getAutomationCompositionFromResource(AC_INSTANTIATION_UPDATE_JSON, "Crud");
@@ -386,7 +414,7 @@ class AutomationCompositionInstantiationProviderTest {
         var acProvider = mock(AutomationCompositionProvider.class);
         when(acProvider.getAutomationComposition(automationComposition.getInstanceId()))
             .thenReturn(automationComposition);
-        when(acProvider.updateAutomationComposition(automationComposition)).thenReturn(automationComposition);
+        when(acProvider.updateAutomationComposition(automationComposition, true)).thenReturn(automationComposition);
 
         var supervisionAcHandler = mock(SupervisionAcHandler.class);
         var acmParticipantProvider = mock(ParticipantProvider.class);
@@ -400,7 +428,7 @@ class AutomationCompositionInstantiationProviderTest {
 
         var acDefinitionTarget = CommonTestData.createAcDefinition(serviceTemplate, AcTypeState.PRIMED);
         var compositionTargetId = acDefinitionTarget.getCompositionId();
-        when(acDefinitionProvider.findAcDefinition(compositionTargetId)).thenReturn(Optional.of(acDefinitionTarget));
+        mockFindAcDefinitionValidator(acDefinitionProvider, acDefinitionTarget);
 
         automationComposition.setCompositionTargetId(compositionTargetId);
 
@@ -408,7 +436,7 @@ class AutomationCompositionInstantiationProviderTest {
             .updateAutomationComposition(automationComposition.getCompositionId(), automationComposition);
 
         verify(supervisionAcHandler).migratePrecheck(any());
-        verify(acProvider).updateAutomationComposition(automationComposition);
+        verify(acProvider).updateAutomationComposition(automationComposition, true);
         InstantiationUtils.assertInstantiationResponse(instantiationResponse, automationComposition);
     }
 
@@ -417,7 +445,7 @@ class AutomationCompositionInstantiationProviderTest {
         var acDefinitionProvider = mock(AcDefinitionProvider.class);
         var acDefinition = CommonTestData.createAcDefinition(serviceTemplate, AcTypeState.PRIMED);
         var compositionId = acDefinition.getCompositionId();
-        when(acDefinitionProvider.findAcDefinition(compositionId)).thenReturn(Optional.of(acDefinition));
+        mockFindAcDefinitionValidator(acDefinitionProvider, acDefinition);
 
         var automationComposition =
                 InstantiationUtils.getAutomationCompositionFromResource(AC_INSTANTIATION_UPDATE_JSON, "Crud");
@@ -427,11 +455,11 @@ class AutomationCompositionInstantiationProviderTest {
         var acProvider = mock(AutomationCompositionProvider.class);
         when(acProvider.getAutomationComposition(automationComposition.getInstanceId()))
                 .thenReturn(automationComposition);
-        when(acProvider.updateAutomationComposition(automationComposition)).thenReturn(automationComposition);
+        when(acProvider.updateAutomationComposition(automationComposition, true)).thenReturn(automationComposition);
 
         var acDefinitionTarget = CommonTestData.createAcDefinition(serviceTemplate, AcTypeState.PRIMED);
         var compositionTargetId = acDefinitionTarget.getCompositionId();
-        when(acDefinitionProvider.findAcDefinition(compositionTargetId)).thenReturn(Optional.of(acDefinitionTarget));
+        mockFindAcDefinitionValidator(acDefinitionProvider, acDefinitionTarget);
 
         var acMigrate = new AutomationComposition(automationComposition);
         acMigrate.setCompositionTargetId(compositionTargetId);
@@ -453,7 +481,7 @@ class AutomationCompositionInstantiationProviderTest {
         var acDefinitionProvider = mock(AcDefinitionProvider.class);
         var acDefinition = CommonTestData.createAcDefinition(serviceTemplate, AcTypeState.PRIMED);
         var compositionId = acDefinition.getCompositionId();
-        when(acDefinitionProvider.findAcDefinition(compositionId)).thenReturn(Optional.of(acDefinition));
+        mockFindAcDefinitionValidator(acDefinitionProvider, acDefinition);
 
         var automationComposition =
                 InstantiationUtils.getAutomationCompositionFromResource(AC_INSTANTIATION_UPDATE_JSON, "Crud");
@@ -464,11 +492,11 @@ class AutomationCompositionInstantiationProviderTest {
         var acProvider = mock(AutomationCompositionProvider.class);
         when(acProvider.getAutomationComposition(automationComposition.getInstanceId()))
                 .thenReturn(automationComposition);
-        when(acProvider.updateAutomationComposition(automationComposition)).thenReturn(automationComposition);
+        when(acProvider.updateAutomationComposition(automationComposition, true)).thenReturn(automationComposition);
 
         var acDefinitionTarget = CommonTestData.createAcDefinition(serviceTemplate, AcTypeState.PRIMED);
         var compositionTargetId = acDefinitionTarget.getCompositionId();
-        when(acDefinitionProvider.findAcDefinition(compositionTargetId)).thenReturn(Optional.of(acDefinitionTarget));
+        mockFindAcDefinitionValidator(acDefinitionProvider, acDefinitionTarget);
 
         var acMigrate = new AutomationComposition(automationComposition);
         acMigrate.setCompositionTargetId(compositionTargetId);
@@ -551,7 +579,7 @@ class AutomationCompositionInstantiationProviderTest {
         var acDefinitionProvider = mock(AcDefinitionProvider.class);
         var acDefinition = CommonTestData.createAcDefinition(serviceTemplate, AcTypeState.PRIMED);
         var compositionId = acDefinition.getCompositionId();
-        when(acDefinitionProvider.findAcDefinition(compositionId)).thenReturn(Optional.of(acDefinition));
+        mockFindAcDefinitionValidator(acDefinitionProvider, acDefinition);
 
         var automationCompositionCreate =
                 InstantiationUtils.getAutomationCompositionFromResource(AC_INSTANTIATION_CREATE_JSON, "NoDuplicates");
@@ -571,8 +599,8 @@ class AutomationCompositionInstantiationProviderTest {
                 automationCompositionCreate.getCompositionId(), automationCompositionCreate);
         InstantiationUtils.assertInstantiationResponse(instantiationResponse, automationCompositionCreate);
 
-        when(acProvider.findAutomationComposition(automationCompositionCreate.getKey().asIdentifier()))
-                .thenReturn(Optional.of(automationCompositionCreate));
+        when(acProvider.existsAutomationComposition(automationCompositionCreate.getKey().asIdentifier()))
+                .thenReturn(true);
 
         assertThatThrownBy(
                 () -> instantiationProvider.createAutomationComposition(compositionId, automationCompositionCreate))
@@ -585,7 +613,7 @@ class AutomationCompositionInstantiationProviderTest {
         var participantProvider = mock(ParticipantProvider.class);
         var acDefinition = CommonTestData.createAcDefinition(serviceTemplate, AcTypeState.PRIMED);
         var compositionId = acDefinition.getCompositionId();
-        when(acDefinitionProvider.findAcDefinition(compositionId)).thenReturn(Optional.of(acDefinition));
+        mockFindAcDefinitionValidator(acDefinitionProvider, acDefinition);
         var automationComposition = InstantiationUtils.getAutomationCompositionFromResource(
                 AC_INSTANTIATION_DEFINITION_NAME_NOT_FOUND_JSON, "AcElementNotFound");
         automationComposition.setCompositionId(compositionId);
@@ -666,7 +694,7 @@ class AutomationCompositionInstantiationProviderTest {
         var acDefinitionProvider = mock(AcDefinitionProvider.class);
         var acDefinition = CommonTestData.createAcDefinition(serviceTemplate, AcTypeState.COMMISSIONED);
         var compositionId = acDefinition.getCompositionId();
-        when(acDefinitionProvider.findAcDefinition(compositionId)).thenReturn(Optional.of(acDefinition));
+        mockFindAcDefinitionValidator(acDefinitionProvider, acDefinition);
         var acProvider = mock(AutomationCompositionProvider.class);
         var provider =
                 new AutomationCompositionInstantiationProvider(acProvider, acDefinitionProvider, null, null, null,
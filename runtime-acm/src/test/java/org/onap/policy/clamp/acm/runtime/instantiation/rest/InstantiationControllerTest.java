@@ -30,6 +30,7 @@ import static org.onap.policy.clamp.acm.runtime.util.CommonTestData.TOSCA_VERSIO
 
 import jakarta.ws.rs.client.Entity;
 import jakarta.ws.rs.core.Response;
+import java.util.HashSet;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
@@ -38,10 +39,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.onap.policy.clamp.acm.runtime.instantiation.AutomationCompositionInstantiationProvider;
 import org.onap.policy.clamp.acm.runtime.instantiation.InstantiationUtils;
 import org.onap.policy.clamp.acm.runtime.main.rest.InstantiationController;
+import org.onap.policy.clamp.acm.runtime.main.web.AbstractRestController;
 import org.onap.policy.clamp.acm.runtime.util.CommonTestData;
 import org.onap.policy.clamp.acm.runtime.util.rest.CommonRestController;
 import org.onap.policy.clamp.models.acm.concepts.AcTypeState;
 import org.onap.policy.clamp.models.acm.concepts.AutomationComposition;
+import org.onap.policy.clamp.models.acm.concepts.AutomationCompositionStatistics;
 import org.onap.policy.clamp.models.acm.concepts.AutomationCompositions;
 import org.onap.policy.clamp.models.acm.concepts.DeployState;
 import org.onap.policy.clamp.models.acm.messages.rest.instantiation.AcInstanceStateUpdate;
@@ -49,6 +52,9 @@ import org.onap.policy.clamp.models.acm.messages.rest.instantiation.DeployOrder;
 import org.onap.policy.clamp.models.acm.messages.rest.instantiation.InstantiationResponse;
 import org.onap.policy.clamp.models.acm.persistence.provider.AcDefinitionProvider;
 import org.onap.policy.clamp.models.acm.persistence.provider.ParticipantProvider;
+import org.onap.policy.common.utils.coder.Coder;
+import org.onap.policy.common.utils.coder.CoderException;
+import org.onap.policy.common.utils.coder.StandardCoder;
 import org.onap.policy.models.tosca.authorative.concepts.ToscaServiceTemplate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -78,6 +84,8 @@ class InstantiationControllerTest extends CommonRestController {
 
     private static final String NODE_TYPE = "org.onap.policy.clamp.acm.AutomationComposition";
 
+    private static final Coder CODER = new StandardCoder();
+
     @Autowired
     private AcDefinitionProvider acDefinitionProvider;
 
@@ -208,6 +216,23 @@ class InstantiationControllerTest extends CommonRestController {
         assertThat(resp.getAutomationCompositionList()).isEmpty();
     }
 
+    @Test
+    void testStatistics() {
+        var compositionId = createAcDefinitionInDB("Statistics");
+        var automationComposition =
+                InstantiationUtils.getAutomationCompositionFromResource(AC_INSTANTIATION_CREATE_JSON, "Statistics");
+        automationComposition.setCompositionId(compositionId);
+        instantiationProvider.createAutomationComposition(compositionId, automationComposition);
+
+        var invocationBuilder = super.sendRequest("statistics?byElementDefinition=true");
+        var rawresp = invocationBuilder.buildGet().invoke();
+        assertEquals(Response.Status.OK.getStatusCode(), rawresp.getStatus());
+        var statistics = rawresp.readEntity(AutomationCompositionStatistics.class);
+        assertThat(statistics.getCompositions())
+                .anyMatch(count -> compositionId.equals(count.getCompositionId()) && count.getCount() == 1);
+        assertThat(statistics.getParticipants()).isNotEmpty();
+    }
+
     @Test
     void testQuery() {
         var compositionId = createAcDefinitionInDB("Query");
@@ -229,6 +254,63 @@ class InstantiationControllerTest extends CommonRestController {
         assertEquals(automationComposition, automationCompositionRc);
     }
 
+    @Test
+    void testQueryPage() {
+        var compositionId = createAcDefinitionInDB("QueryPage");
+        for (var i = 0; i < 3; i++) {
+            var automationComposition = InstantiationUtils
+                    .getAutomationCompositionFromResource(AC_INSTANTIATION_CREATE_JSON, "QueryPage" + i);
+            automationComposition.setCompositionId(compositionId);
+            instantiationProvider.createAutomationComposition(compositionId, automationComposition);
+        }
+
+        var invocationBuilder = super.sendRequest(getInstanceEndPoint(compositionId) + "?pageSize=2");
+        var rawresp = invocationBuilder.buildGet().invoke();
+        assertEquals(Response.Status.OK.getStatusCode(), rawresp.getStatus());
+        var firstPage = rawresp.readEntity(AutomationCompositions.class).getAutomationCompositionList();
+        assertThat(firstPage).hasSize(2);
+        var continuationToken = rawresp.getHeaderString(InstantiationController.CONTINUATION_TOKEN);
+        assertEquals(firstPage.get(1).getInstanceId().toString(), continuationToken);
+
+        invocationBuilder = super.sendRequest(
+                getInstanceEndPoint(compositionId) + "?pageSize=2&continuationToken=" + continuationToken);
+        rawresp = invocationBuilder.buildGet().invoke();
+        assertEquals(Response.Status.OK.getStatusCode(), rawresp.getStatus());
+        var secondPage = rawresp.readEntity(AutomationCompositions.class).getAutomationCompositionList();
+        assertThat(secondPage).hasSize(1);
+        assertThat(secondPage.get(0).getInstanceId()).isGreaterThan(firstPage.get(1).getInstanceId());
+        assertNull(rawresp.getHeaderString(InstantiationController.CONTINUATION_TOKEN));
+
+        invocationBuilder = super.sendRequest(getInstanceEndPoint(compositionId) + "?deployState=DEPLOYED");
+        rawresp = invocationBuilder.buildGet().invoke();
+        assertEquals(Response.Status.OK.getStatusCode(), rawresp.getStatus());
+        assertThat(rawresp.readEntity(AutomationCompositions.class).getAutomationCompositionList()).isEmpty();
+
+        invocationBuilder = super.sendRequest(getInstanceEndPoint(compositionId) + "?continuationToken=invalid");
+        rawresp = invocationBuilder.buildGet().invoke();
+        assertEquals(Response.Status.BAD_REQUEST.getStatusCode(), rawresp.getStatus());
+    }
+
+    @Test
+    void testExport() throws CoderException {
+        var compositionId = createAcDefinitionInDB("Export");
+        var automationComposition =
+                InstantiationUtils.getAutomationCompositionFromResource(AC_INSTANTIATION_CREATE_JSON, "Export");
+        automationComposition.setCompositionId(compositionId);
+        var instantiationResponse =
+                instantiationProvider.createAutomationComposition(compositionId, automationComposition);
+
+        var invocationBuilder =
+                super.sendRequest("export/instances").accept(AbstractRestController.APPLICATION_NDJSON);
+        var rawresp = invocationBuilder.buildGet().invoke();
+        assertEquals(Response.Status.OK.getStatusCode(), rawresp.getStatus());
+        var instanceIds = new HashSet<UUID>();
+        for (var line : rawresp.readEntity(String.class).lines().toList()) {
+            instanceIds.add(CODER.decode(line, AutomationComposition.class).getInstanceId());
+        }
+        assertThat(instanceIds).contains(instantiationResponse.getInstanceId());
+    }
+
     @Test
     void testGet() {
         var compositionId = createAcDefinitionInDB("Get");
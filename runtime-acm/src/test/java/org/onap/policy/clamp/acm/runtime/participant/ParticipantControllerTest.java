@@ -29,6 +29,7 @@ import jakarta.ws.rs.core.GenericType;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -37,6 +38,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.onap.policy.clamp.acm.runtime.main.rest.ParticipantController;
+import org.onap.policy.clamp.acm.runtime.main.web.AbstractRestController;
 import org.onap.policy.clamp.acm.runtime.util.rest.CommonRestController;
 import org.onap.policy.clamp.models.acm.concepts.Participant;
 import org.onap.policy.clamp.models.acm.concepts.ParticipantInformation;
@@ -136,6 +138,48 @@ class ParticipantControllerTest extends CommonRestController {
         }
     }
 
+    @Test
+    void testQueryParticipantsCountsAndPage() {
+        inputParticipants.forEach(p -> participantProvider.saveParticipant(p));
+        var invocationBuilder = super.sendRequest(PARTICIPANTS_ENDPOINT + "?countsOnly=true");
+        try (var response = invocationBuilder.buildGet().invoke()) {
+            assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
+            List<ParticipantInformation> entityList = response.readEntity(new GenericType<>() {});
+            assertThat(entityList).isNotEmpty().allMatch(info -> info.getAcElementInstanceMap().isEmpty()
+                    && info.getAcNodeTemplateStateDefinitionMap().isEmpty());
+        }
+
+        var participantId = inputParticipants.get(0).getParticipantId();
+        invocationBuilder = super.sendRequest(PARTICIPANTS_ENDPOINT + "/" + participantId + "?pageNumber=0&pageSize=1");
+        try (var response = invocationBuilder.buildGet().invoke()) {
+            assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
+            var participantInformation = response.readEntity(ParticipantInformation.class);
+            assertThat(participantInformation.getAcElementInstanceMap()).hasSizeLessThanOrEqualTo(1);
+        }
+
+        invocationBuilder = super.sendRequest(PARTICIPANTS_ENDPOINT + "?pageNumber=1");
+        try (var response = invocationBuilder.buildGet().invoke()) {
+            assertEquals(Response.Status.BAD_REQUEST.getStatusCode(), response.getStatus());
+        }
+    }
+
+    @Test
+    void testExportParticipants() throws CoderException {
+        inputParticipants.forEach(p -> participantProvider.saveParticipant(p));
+        var invocationBuilder = super.sendRequest("export/" + PARTICIPANTS_ENDPOINT)
+                .accept(AbstractRestController.APPLICATION_NDJSON);
+        try (var response = invocationBuilder.buildGet().invoke()) {
+            assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
+            var lines = response.readEntity(String.class).lines().toList();
+            var participantIds = new HashSet<UUID>();
+            for (var line : lines) {
+                participantIds.add(CODER.decode(line, ParticipantInformation.class).getParticipant()
+                        .getParticipantId());
+            }
+            inputParticipants.forEach(p -> assertThat(participantIds).contains(p.getParticipantId()));
+        }
+    }
+
     @Test
     void testOrderParticipantReport() {
         participantProvider.saveParticipant(inputParticipants.get(0));
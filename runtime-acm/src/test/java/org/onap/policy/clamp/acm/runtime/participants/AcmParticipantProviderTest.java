@@ -0,0 +1,70 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2024 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.clamp.acm.runtime.participants;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.onap.policy.clamp.acm.runtime.supervision.comm.ParticipantStatusReqPublisher;
+import org.onap.policy.clamp.acm.runtime.util.CommonTestData;
+import org.onap.policy.clamp.models.acm.concepts.AutomationCompositionElement;
+import org.onap.policy.clamp.models.acm.concepts.ParticipantInformation;
+import org.onap.policy.clamp.models.acm.persistence.provider.ParticipantProvider;
+import org.springframework.data.domain.PageRequest;
+
+class AcmParticipantProviderTest {
+
+    @Test
+    void testExportParticipantsPaged() {
+        var participantProvider = mock(ParticipantProvider.class);
+        var participantId = CommonTestData.getParticipantId();
+        var participant = CommonTestData.createParticipant(participantId);
+        when(participantProvider.getParticipants()).thenReturn(List.of(participant));
+        when(participantProvider.getAutomationCompositionElementCounts()).thenReturn(Map.of(participantId, 101L));
+        var firstPage = IntStream.range(0, 100).mapToObj(i -> new AutomationCompositionElement()).toList();
+        var pageable = PageRequest.of(0, 100);
+        when(participantProvider.getAutomationCompositionElements(participantId, null, pageable))
+                .thenReturn(firstPage);
+        when(participantProvider.getAutomationCompositionElements(participantId, firstPage.get(99).getId(), pageable))
+                .thenReturn(List.of(new AutomationCompositionElement()));
+        when(participantProvider.getAcNodeTemplateStates(any(), any(), any())).thenReturn(List.of());
+        var provider = new AcmParticipantProvider(participantProvider, mock(ParticipantStatusReqPublisher.class));
+
+        var exported = new ArrayList<ParticipantInformation>();
+        provider.exportParticipants(exported::add);
+
+        assertThat(exported).hasSize(2);
+        assertThat(exported.get(0).getAcElementInstanceMap()).hasSize(100);
+        assertThat(exported.get(1).getAcElementInstanceMap()).hasSize(1);
+        assertThat(exported).allMatch(info -> info.getAcElementInstanceCount() == 101L
+                && info.getParticipant().getParticipantId().equals(participantId));
+        verify(participantProvider, times(1)).getAcNodeTemplateStates(any(), any(), any());
+    }
+}
@@ -23,6 +23,7 @@ package org.onap.policy.clamp.acm.runtime.supervision;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
@@ -54,6 +55,7 @@ import org.onap.policy.clamp.models.acm.messages.kafka.participant.AutomationCom
 import org.onap.policy.clamp.models.acm.messages.kafka.participant.ParticipantMessageType;
 import org.onap.policy.clamp.models.acm.persistence.provider.AcDefinitionProvider;
 import org.onap.policy.clamp.models.acm.persistence.provider.AutomationCompositionProvider;
+import org.springframework.dao.OptimisticLockingFailureException;
 
 class SupervisionAcHandlerTest {
     private static final String AC_INSTANTIATION_CREATE_JSON = "src/test/resources/rest/acm/AutomationComposition.json";
@@ -121,6 +123,39 @@ class SupervisionAcHandlerTest {
                 .updateAutomationCompositionElement(any(AutomationCompositionElement.class));
     }
 
+    @Test
+    void testHandleAckMessageConcurrentUpdate() {
+        var automationComposition =
+                InstantiationUtils.getAutomationCompositionFromResource(AC_INSTANTIATION_CREATE_JSON, "Crud");
+        automationComposition.setInstanceId(IDENTIFIER);
+        var automationCompositionProvider = mock(AutomationCompositionProvider.class);
+        when(automationCompositionProvider.findAutomationComposition(IDENTIFIER))
+                .thenReturn(Optional.of(automationComposition));
+        when(automationCompositionProvider.updateAcState(any(AutomationComposition.class)))
+                .thenReturn(automationComposition);
+        doThrow(new OptimisticLockingFailureException("Concurrent update")).doNothing()
+                .when(automationCompositionProvider).updateAutomationCompositionElement(any());
+
+        var acDefinitionProvider = mock(AcDefinitionProvider.class);
+        when(acDefinitionProvider.getAcDefinition(automationComposition.getCompositionId()))
+                .thenReturn(new AutomationCompositionDefinition());
+
+        var handler = new SupervisionAcHandler(automationCompositionProvider, acDefinitionProvider,
+                mock(AutomationCompositionDeployPublisher.class), mock(AutomationCompositionStateChangePublisher.class),
+                mock(AcElementPropertiesPublisher.class), null,
+                mock(ParticipantSyncPublisher.class), null);
+
+        var automationCompositionAckMessage =
+                getAutomationCompositionDeployAck(ParticipantMessageType.AUTOMATION_COMPOSITION_STATECHANGE_ACK,
+                        automationComposition, DeployState.MIGRATING, LockState.LOCKED);
+        automationCompositionAckMessage.setStage(1);
+        handler.handleAutomationCompositionStateChangeAckMessage(automationCompositionAckMessage);
+
+        // the first element is updated again after the concurrent update
+        verify(automationCompositionProvider, times(4))
+                .updateAutomationCompositionElement(any(AutomationCompositionElement.class));
+    }
+
     @Test
     void testHandleAutomationCompositionStateChangeAckMessage() {
         var automationComposition =
@@ -20,13 +20,17 @@
 
 package org.onap.policy.clamp.acm.runtime.supervision;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -40,6 +44,7 @@ import org.onap.policy.clamp.acm.runtime.supervision.comm.ParticipantRegisterAck
 import org.onap.policy.clamp.acm.runtime.supervision.comm.ParticipantSyncPublisher;
 import org.onap.policy.clamp.acm.runtime.util.CommonTestData;
 import org.onap.policy.clamp.models.acm.concepts.AcTypeState;
+import org.onap.policy.clamp.models.acm.concepts.AutomationComposition;
 import org.onap.policy.clamp.models.acm.concepts.AutomationCompositionDefinition;
 import org.onap.policy.clamp.models.acm.concepts.AutomationCompositionElementDefinition;
 import org.onap.policy.clamp.models.acm.concepts.AutomationCompositionInfo;
@@ -51,9 +56,14 @@ import org.onap.policy.clamp.models.acm.concepts.ParticipantState;
 import org.onap.policy.clamp.models.acm.messages.kafka.participant.ParticipantDeregister;
 import org.onap.policy.clamp.models.acm.messages.kafka.participant.ParticipantRegister;
 import org.onap.policy.clamp.models.acm.messages.kafka.participant.ParticipantStatus;
+import org.onap.policy.clamp.models.acm.messages.kafka.participant.ParticipantSync;
+import org.onap.policy.clamp.models.acm.messages.kafka.participant.ParticipantSyncAck;
 import org.onap.policy.clamp.models.acm.persistence.provider.AcDefinitionProvider;
 import org.onap.policy.clamp.models.acm.persistence.provider.AutomationCompositionProvider;
+import org.onap.policy.clamp.models.acm.persistence.provider.AutomationCompositionProvider.UpgradeStatesResult;
 import org.onap.policy.clamp.models.acm.persistence.provider.ParticipantProvider;
+import org.onap.policy.clamp.models.acm.utils.AcmUtils;
+import org.onap.policy.clamp.models.acm.utils.SyncDigestHelper;
 import org.onap.policy.models.tosca.authorative.concepts.ToscaConceptIdentifier;
 
 class SupervisionParticipantHandlerTest {
@@ -73,15 +83,17 @@ class SupervisionParticipantHandlerTest {
         participantDeregisterMessage.setParticipantId(CommonTestData.getParticipantId());
         participantDeregisterMessage.setReplicaId(replica.getReplicaId());
         var participantDeregisterAckPublisher = mock(ParticipantDeregisterAckPublisher.class);
+        var participantSyncPublisher = mock(ParticipantSyncPublisher.class);
         var handler =
                 new SupervisionParticipantHandler(participantProvider, mock(ParticipantRegisterAckPublisher.class),
                         participantDeregisterAckPublisher, mock(AutomationCompositionProvider.class),
-                        mock(AcDefinitionProvider.class), mock(ParticipantSyncPublisher.class),
+                        mock(AcDefinitionProvider.class), participantSyncPublisher,
                         mock(AcRuntimeParameterGroup.class));
 
         handler.handleParticipantMessage(participantDeregisterMessage);
 
         verify(participantProvider).deleteParticipantReplica(CommonTestData.getReplicaId());
+        verify(participantSyncPublisher).resetRestartSync(CommonTestData.getReplicaId());
         verify(participantDeregisterAckPublisher).send(participantDeregisterMessage.getMessageId());
     }
 
@@ -95,13 +107,15 @@ class SupervisionParticipantHandlerTest {
 
         var participantProvider = mock(ParticipantProvider.class);
         var participantRegisterAckPublisher = mock(ParticipantRegisterAckPublisher.class);
+        var participantSyncPublisher = mock(ParticipantSyncPublisher.class);
         var handler = new SupervisionParticipantHandler(participantProvider, participantRegisterAckPublisher,
                 mock(ParticipantDeregisterAckPublisher.class), mock(AutomationCompositionProvider.class),
-                mock(AcDefinitionProvider.class), mock(ParticipantSyncPublisher.class),
+                mock(AcDefinitionProvider.class), participantSyncPublisher,
                 mock(AcRuntimeParameterGroup.class));
         handler.handleParticipantMessage(participantRegisterMessage);
 
         verify(participantProvider).saveParticipant(any());
+        verify(participantSyncPublisher).resetRestartSync(CommonTestData.getParticipantId());
         verify(participantRegisterAckPublisher).send(participantRegisterMessage.getMessageId(),
                 CommonTestData.getParticipantId(), null);
     }
@@ -165,6 +179,129 @@ class SupervisionParticipantHandlerTest {
                 .sendRestartMsg(any(), any(), any(AutomationCompositionDefinition.class), any());
     }
 
+    @Test
+    void testHandleParticipantSyncRestartWithDigests() {
+        var serviceTemplate = InstantiationUtils.getToscaServiceTemplate(CommonTestData.TOSCA_SERVICE_TEMPLATE_YAML);
+        var acDefinition = CommonTestData.createAcDefinition(serviceTemplate, AcTypeState.PRIMED);
+        var compositionId = acDefinition.getCompositionId();
+        var participantId = CommonTestData.getParticipantId();
+        var participantProvider = mock(ParticipantProvider.class);
+        when(participantProvider.getCompositionIds(participantId)).thenReturn(Set.of(compositionId));
+        var acDefinitionProvider = mock(AcDefinitionProvider.class);
+        when(acDefinitionProvider.getAcDefinition(compositionId)).thenReturn(acDefinition);
+
+        var unchanged = createAutomationComposition(compositionId, participantId);
+        var changed = createAutomationComposition(compositionId, participantId);
+        var automationCompositionProvider = mock(AutomationCompositionProvider.class);
+        when(automationCompositionProvider.getAcInstancesByCompositionId(compositionId))
+                .thenReturn(List.of(unchanged, changed));
+
+        // the participant restored from its local snapshot an unchanged definition, instances of which one has
+        // changed, and a composition deleted in the meantime
+        var parameterGroup = CommonTestData.getTestParamaterGroup();
+        var definitions = AcmUtils.prepareParticipantRestarting(participantId, acDefinition,
+                parameterGroup.getAcmParameters().getToscaElementName()).stream()
+                .flatMap(definition -> definition.getAutomationCompositionElementDefinitionList().stream()).toList();
+        var deletedCompositionId = UUID.randomUUID();
+        var participantRegisterMessage = new ParticipantRegister();
+        participantRegisterMessage.setMessageId(UUID.randomUUID());
+        participantRegisterMessage.setParticipantId(participantId);
+        var replicaId = CommonTestData.getReplicaId();
+        participantRegisterMessage.setReplicaId(replicaId);
+        participantRegisterMessage.setCompositionDigests(Map.of(
+                compositionId, SyncDigestHelper.definitionDigest(definitions), deletedCompositionId, "digest"));
+        var restored = new AutomationComposition(changed);
+        restored.getElements().values().forEach(element -> element.setUseState("restored"));
+        participantRegisterMessage.setCompositionInstanceDigests(Map.of(
+                compositionId, SyncDigestHelper.instancesDigest(List.of(unchanged, restored), participantId),
+                deletedCompositionId, "digest"));
+
+        var participantSyncPublisher = mock(ParticipantSyncPublisher.class);
+        var handler = new SupervisionParticipantHandler(participantProvider,
+                mock(ParticipantRegisterAckPublisher.class), mock(ParticipantDeregisterAckPublisher.class),
+                automationCompositionProvider, acDefinitionProvider, participantSyncPublisher, parameterGroup);
+        handler.handleParticipantMessage(participantRegisterMessage);
+
+        // all the instances of the composition replace the ones restored
+        verify(participantSyncPublisher)
+                .sendRestartMsg(participantId, replicaId, acDefinition, List.of(unchanged, changed), false, true);
+        verify(participantSyncPublisher)
+                .sendRestartDeleteMsg(participantId, replicaId, deletedCompositionId, List.of());
+
+        // nothing to send when the instances restored are unchanged
+        participantRegisterMessage.setCompositionInstanceDigests(Map.of(
+                compositionId, SyncDigestHelper.instancesDigest(List.of(changed, unchanged), participantId)));
+        handler.handleParticipantMessage(participantRegisterMessage);
+        verify(participantSyncPublisher).sendRestartMsg(any(), any(), any(AutomationCompositionDefinition.class),
+                any(), anyBoolean(), anyBoolean());
+    }
+
+    @Test
+    void testCheckRestartSyncTimeouts() {
+        var participantId = CommonTestData.getParticipantId();
+        var replicaId = CommonTestData.getReplicaId();
+        var goneReplicaId = UUID.randomUUID();
+        var participantSyncPublisher = mock(ParticipantSyncPublisher.class);
+        when(participantSyncPublisher.checkRestartSyncTimeouts()).thenReturn(List.of(
+                createChunk(participantId, replicaId), createChunk(participantId, replicaId),
+                createChunk(participantId, goneReplicaId)));
+        var participantProvider = mock(ParticipantProvider.class);
+        when(participantProvider.findParticipantReplica(replicaId))
+                .thenReturn(Optional.of(CommonTestData.createParticipantReplica(replicaId)));
+        var serviceTemplate = InstantiationUtils.getToscaServiceTemplate(CommonTestData.TOSCA_SERVICE_TEMPLATE_YAML);
+        var acDefinition = CommonTestData.createAcDefinition(serviceTemplate, AcTypeState.PRIMED);
+        when(participantProvider.getCompositionIds(participantId)).thenReturn(Set.of(acDefinition.getCompositionId()));
+        var acDefinitionProvider = mock(AcDefinitionProvider.class);
+        when(acDefinitionProvider.getAcDefinition(acDefinition.getCompositionId())).thenReturn(acDefinition);
+
+        var handler = new SupervisionParticipantHandler(participantProvider,
+                mock(ParticipantRegisterAckPublisher.class), mock(ParticipantDeregisterAckPublisher.class),
+                mock(AutomationCompositionProvider.class), acDefinitionProvider, participantSyncPublisher,
+                CommonTestData.getTestParamaterGroup());
+        handler.checkRestartSyncTimeouts();
+
+        // one full restart sync of the replica still present
+        verify(participantSyncPublisher).sendRestartMsg(participantId, replicaId, acDefinition, List.of());
+        verify(participantSyncPublisher).sendRestartMsg(any(), any(), any(AutomationCompositionDefinition.class),
+                any());
+    }
+
+    private ParticipantSync createChunk(UUID participantId, UUID replicaId) {
+        var chunk = new ParticipantSync();
+        chunk.setParticipantId(participantId);
+        chunk.setReplicaId(replicaId);
+        chunk.setRestartSyncId(UUID.randomUUID());
+        return chunk;
+    }
+
+    private AutomationComposition createAutomationComposition(UUID compositionId, UUID participantId) {
+        var automationComposition =
+                InstantiationUtils.getAutomationCompositionFromResource(AC_INSTANTIATION_CREATE_JSON, "Crud");
+        automationComposition.setInstanceId(UUID.randomUUID());
+        automationComposition.setCompositionId(compositionId);
+        automationComposition.getElements().values().forEach(element -> element.setParticipantId(participantId));
+        return automationComposition;
+    }
+
+    @Test
+    void testHandleParticipantSyncAck() {
+        var participantSyncAck = new ParticipantSyncAck();
+        participantSyncAck.setResponseTo(UUID.randomUUID());
+        participantSyncAck.setParticipantId(CommonTestData.getParticipantId());
+        var participantSyncPublisher = mock(ParticipantSyncPublisher.class);
+        var handler = new SupervisionParticipantHandler(mock(ParticipantProvider.class),
+                mock(ParticipantRegisterAckPublisher.class), mock(ParticipantDeregisterAckPublisher.class),
+                mock(AutomationCompositionProvider.class), mock(AcDefinitionProvider.class), participantSyncPublisher,
+                mock(AcRuntimeParameterGroup.class));
+        handler.handleParticipantMessage(participantSyncAck);
+        verify(participantSyncPublisher)
+                .acknowledge(CommonTestData.getParticipantId(), participantSyncAck.getResponseTo());
+
+        participantSyncAck.setReplicaId(CommonTestData.getReplicaId());
+        handler.handleParticipantMessage(participantSyncAck);
+        verify(participantSyncPublisher).acknowledge(CommonTestData.getReplicaId(), participantSyncAck.getResponseTo());
+    }
+
     @Test
     void testHandleParticipantStatus() {
         var participantStatusMessage = createParticipantStatus();
@@ -180,7 +317,20 @@ class SupervisionParticipantHandlerTest {
         var participant = CommonTestData.createParticipant(CommonTestData.getParticipantId());
         when(participantProvider.findParticipant(CommonTestData.getParticipantId()))
                 .thenReturn(Optional.of(participant));
-        handler.handleParticipantMessage(participantStatusMessage);
+        var registry = new SimpleMeterRegistry();
+        Metrics.addRegistry(registry);
+        try {
+            when(automationCompositionProvider.upgradeStates(any())).thenReturn(new UpgradeStatesResult(1, 2, 3));
+            handler.handleParticipantMessage(participantStatusMessage);
+            assertThat(registry.counter("listener.participant_status.element_updates", "result", "applied").count())
+                    .isEqualTo(1.0);
+            assertThat(registry.counter("listener.participant_status.element_updates", "result", "skipped").count())
+                    .isEqualTo(2.0);
+            assertThat(registry.counter("listener.participant_status.element_updates", "result", "not_found")
+                    .count()).isEqualTo(3.0);
+        } finally {
+            Metrics.removeRegistry(registry);
+        }
 
         verify(automationCompositionProvider).upgradeStates(any());
     }
@@ -225,6 +375,7 @@ class SupervisionParticipantHandlerTest {
 
         var participantProvider = mock(ParticipantProvider.class);
         var automationCompositionProvider = mock(AutomationCompositionProvider.class);
+        when(automationCompositionProvider.upgradeStates(any())).thenReturn(new UpgradeStatesResult(1, 0, 0));
         var handler =
                 new SupervisionParticipantHandler(participantProvider, mock(ParticipantRegisterAckPublisher.class),
                         mock(ParticipantDeregisterAckPublisher.class), automationCompositionProvider,
@@ -243,6 +394,7 @@ class SupervisionParticipantHandlerTest {
 
         var participantProvider = mock(ParticipantProvider.class);
         var automationCompositionProvider = mock(AutomationCompositionProvider.class);
+        when(automationCompositionProvider.upgradeStates(any())).thenReturn(new UpgradeStatesResult(1, 0, 0));
         var handler =
                 new SupervisionParticipantHandler(participantProvider, mock(ParticipantRegisterAckPublisher.class),
                         mock(ParticipantDeregisterAckPublisher.class), automationCompositionProvider,
@@ -40,14 +40,18 @@ class SupervisionParticipantScannerTest {
         when(participantProvider.findReplicasOnLine()).thenReturn(List.of(replica));
 
         var acRuntimeParameterGroup = CommonTestData.geParameterGroup("dbScanParticipant");
-        var supervisionScanner = new SupervisionParticipantScanner(participantProvider, acRuntimeParameterGroup);
+        var participantHandler = mock(SupervisionParticipantHandler.class);
+        var supervisionScanner = new SupervisionParticipantScanner(participantProvider, participantHandler,
+                acRuntimeParameterGroup);
 
         acRuntimeParameterGroup.getParticipantParameters().setMaxStatusWaitMs(100000);
         supervisionScanner.run();
         verify(participantProvider, times(0)).saveParticipantReplica(any());
+        verify(participantHandler).checkRestartSyncTimeouts();
 
         acRuntimeParameterGroup.getParticipantParameters().setMaxStatusWaitMs(-1);
-        supervisionScanner = new SupervisionParticipantScanner(participantProvider, acRuntimeParameterGroup);
+        supervisionScanner = new SupervisionParticipantScanner(participantProvider, participantHandler,
+                acRuntimeParameterGroup);
         supervisionScanner.run();
         verify(participantProvider).deleteParticipantReplica(CommonTestData.getReplicaId());
     }
@@ -0,0 +1,108 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2024 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.clamp.acm.runtime.supervision.comm;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.onap.policy.clamp.models.acm.messages.kafka.participant.ParticipantSync;
+
+class RestartSyncFlowControlTest {
+
+    @Test
+    void testWindow() {
+        List<ParticipantSync> sent = new ArrayList<>();
+        var flowControl = new RestartSyncFlowControl(2, 60000, 3, sent::add);
+        var replicaId = UUID.randomUUID();
+        var chunks = createChunks(3);
+        flowControl.submit(replicaId, chunks);
+        assertThat(sent).containsExactly(chunks.get(0), chunks.get(1));
+        assertThat(flowControl.getPending(replicaId)).isEqualTo(3);
+
+        flowControl.acknowledge(replicaId, UUID.randomUUID());
+        flowControl.acknowledge(UUID.randomUUID(), chunks.get(0).getMessageId());
+        assertThat(sent).hasSize(2);
+
+        flowControl.acknowledge(replicaId, chunks.get(0).getMessageId());
+        assertThat(sent).containsExactlyElementsOf(chunks);
+        flowControl.checkTimeouts();
+        assertThat(flowControl.getPending(replicaId)).isEqualTo(2);
+
+        flowControl.acknowledge(replicaId, chunks.get(1).getMessageId());
+        flowControl.acknowledge(replicaId, chunks.get(2).getMessageId());
+        assertThat(flowControl.getPending(replicaId)).isZero();
+    }
+
+    @Test
+    void testResendLostChunk() {
+        List<ParticipantSync> sent = new ArrayList<>();
+        var flowControl = new RestartSyncFlowControl(1, -1, 2, sent::add);
+        var replicaId = UUID.randomUUID();
+        var chunks = createChunks(2);
+        flowControl.submit(replicaId, chunks);
+        assertThat(sent).containsExactly(chunks.get(0));
+
+        // the ack of the first chunk is lost, so the chunk is sent again
+        assertThat(flowControl.checkTimeouts()).isEmpty();
+        assertThat(sent).containsExactly(chunks.get(0), chunks.get(0));
+        assertThat(flowControl.getPending(replicaId)).isEqualTo(2);
+
+        flowControl.acknowledge(replicaId, chunks.get(0).getMessageId());
+        assertThat(sent).containsExactly(chunks.get(0), chunks.get(0), chunks.get(1));
+        flowControl.acknowledge(replicaId, chunks.get(1).getMessageId());
+        assertThat(flowControl.getPending(replicaId)).isZero();
+    }
+
+    @Test
+    void testRetriesExhausted() {
+        List<ParticipantSync> sent = new ArrayList<>();
+        var flowControl = new RestartSyncFlowControl(1, -1, 1, sent::add);
+        var replicaId = UUID.randomUUID();
+        var chunks = createChunks(2);
+        flowControl.submit(replicaId, chunks);
+
+        assertThat(flowControl.checkTimeouts()).isEmpty();
+        assertThat(sent).containsExactly(chunks.get(0), chunks.get(0));
+
+        // the restart sync has failed, the pending chunks are dropped
+        assertThat(flowControl.checkTimeouts()).containsExactly(chunks.get(0));
+        assertThat(flowControl.getPending(replicaId)).isZero();
+        assertThat(sent).hasSize(2);
+        assertThat(flowControl.checkTimeouts()).isEmpty();
+    }
+
+    private List<ParticipantSync> createChunks(int count) {
+        List<ParticipantSync> chunks = new ArrayList<>();
+        var restartSyncId = UUID.randomUUID();
+        for (var i = 0; i < count; i++) {
+            var chunk = new ParticipantSync();
+            chunk.setMessageId(UUID.randomUUID());
+            chunk.setRestartSyncId(restartSyncId);
+            chunk.setChunkSequence(i);
+            chunk.setLastChunk(i == count - 1);
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
+}
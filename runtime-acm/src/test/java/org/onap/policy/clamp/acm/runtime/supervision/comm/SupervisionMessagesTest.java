@@ -21,9 +21,11 @@
 
 package org.onap.policy.clamp.acm.runtime.supervision.comm;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.onap.policy.clamp.acm.runtime.util.CommonTestData.TOSCA_SERVICE_TEMPLATE_YAML;
@@ -52,6 +54,8 @@ import org.onap.policy.clamp.models.acm.messages.kafka.participant.ParticipantPr
 import org.onap.policy.clamp.models.acm.messages.kafka.participant.ParticipantRegister;
 import org.onap.policy.clamp.models.acm.messages.kafka.participant.ParticipantRegisterAck;
 import org.onap.policy.clamp.models.acm.messages.kafka.participant.ParticipantStatus;
+import org.onap.policy.clamp.models.acm.messages.kafka.participant.ParticipantSync;
+import org.onap.policy.clamp.models.acm.messages.kafka.participant.ParticipantSyncAck;
 import org.onap.policy.clamp.models.acm.persistence.provider.ParticipantProvider;
 import org.onap.policy.clamp.models.acm.utils.AcmUtils;
 import org.onap.policy.common.endpoints.event.comm.Topic.CommInfrastructure;
@@ -309,6 +313,72 @@ class SupervisionMessagesTest {
         verify(topicSink).send(anyString());
     }
 
+    @Test
+    void testParticipantSyncPublisherRestartDifferences() {
+        var publisher = new ParticipantSyncPublisher(CommonTestData.getTestParamaterGroup());
+        var topicSink = mock(TopicSink.class);
+        publisher.active(topicSink);
+
+        var participantId = UUID.randomUUID();
+        var replicaId = UUID.randomUUID();
+        publisher.sendRestartMsg(participantId, replicaId, getAcmDefinition(), List.of(), false, false);
+        publisher.sendRestartDeleteMsg(participantId, replicaId, UUID.randomUUID(), List.of());
+        publisher.sendRestartDeleteMsg(participantId, replicaId, null, List.of(UUID.randomUUID()));
+        verify(topicSink, times(3)).send(anyString());
+
+        // the instances restored by the participant are deleted before sending the ones of the runtime
+        publisher.sendRestartMsg(participantId, replicaId, getAcmDefinition(), List.of(), false, true);
+        verify(topicSink, times(5)).send(anyString());
+    }
+
+    @Test
+    void testParticipantSyncPublisherRestartChunked() {
+        var parameterGroup = CommonTestData.getTestParamaterGroup();
+        parameterGroup.getParticipantParameters().setRestartSyncChunkSize(1);
+        parameterGroup.getParticipantParameters().setRestartSyncWindow(1);
+        parameterGroup.getParticipantParameters().setRestartSyncAckTimeoutMs(-1);
+        var publisher = new ParticipantSyncPublisher(parameterGroup);
+        var topicSink = mock(TopicSink.class);
+        publisher.active(topicSink);
+
+        var automationComposition =
+                InstantiationUtils.getAutomationCompositionFromResource(AC_INSTANTIATION_UPDATE_JSON, "Crud");
+        var participantId = automationComposition.getElements().values().iterator().next().getParticipantId();
+        var acmDefinition = getAcmDefinition();
+        var replicaId = UUID.randomUUID();
+        publisher.sendRestartMsg(participantId, replicaId, acmDefinition,
+                List.of(automationComposition, automationComposition, automationComposition));
+        // one instance for chunk, and one chunk at a time
+        verify(topicSink).send(anyString());
+
+        // the chunk not acknowledged in time is sent again
+        publisher.checkRestartSyncTimeouts();
+        verify(topicSink, times(2)).send(anyString());
+        publisher.acknowledge(replicaId, UUID.randomUUID());
+        verify(topicSink, times(2)).send(anyString());
+        publisher.checkRestartSyncTimeouts();
+        verify(topicSink, times(3)).send(anyString());
+
+        // the restart sync fails after the retries
+        assertThat(publisher.checkRestartSyncTimeouts()).isEmpty();
+        assertThat(publisher.checkRestartSyncTimeouts()).hasSize(1).first()
+                .extracting(ParticipantSync::getReplicaId).isEqualTo(replicaId);
+        verify(topicSink, times(4)).send(anyString());
+
+        // the full restart sync after the failure is sent without chunks and without waiting for acks
+        publisher.sendRestartMsg(participantId, replicaId, acmDefinition,
+                List.of(automationComposition, automationComposition, automationComposition));
+        verify(topicSink, times(7)).send(anyString());
+        assertThat(publisher.checkRestartSyncTimeouts()).isEmpty();
+        verify(topicSink, times(7)).send(anyString());
+
+        // the replica registers again, the restart sync is sent in chunks
+        publisher.resetRestartSync(replicaId);
+        publisher.sendRestartMsg(participantId, replicaId, acmDefinition,
+                List.of(automationComposition, automationComposition, automationComposition));
+        verify(topicSink, times(8)).send(anyString());
+    }
+
     private AutomationCompositionDefinition getAcmDefinition() {
         var serviceTemplate = InstantiationUtils.getToscaServiceTemplate(TOSCA_SERVICE_TEMPLATE_YAML);
         var acmDefinition = new AutomationCompositionDefinition();
@@ -331,6 +401,17 @@ class SupervisionMessagesTest {
         verify(supervisionHandler).handleParticipantMessage(participantRegister);
     }
 
+    @Test
+    void testParticipantSyncAckListener() {
+        final var participantSyncAck = new ParticipantSyncAck();
+        var supervisionHandler = mock(SupervisionParticipantHandler.class);
+        var participantSyncAckListener = new ParticipantSyncAckListener(supervisionHandler);
+        participantSyncAckListener.onTopicEvent(INFRA, TOPIC, null, participantSyncAck);
+        verify(supervisionHandler).handleParticipantMessage(participantSyncAck);
+        assertThat(participantSyncAckListener.getType()).isEqualTo(ParticipantMessageType.PARTICIPANT_SYNC_ACK.name());
+        assertThat(participantSyncAckListener.getScoListener()).isSameAs(participantSyncAckListener);
+    }
+
     @Test
     void testParticipantStatusListener() {
         final var participantStatus = new ParticipantStatus();
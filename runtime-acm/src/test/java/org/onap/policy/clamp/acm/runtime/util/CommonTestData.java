@@ -24,6 +24,7 @@ import jakarta.ws.rs.core.Response.Status;
 import java.util.UUID;
 import org.onap.policy.clamp.acm.runtime.main.parameters.AcRuntimeParameterGroup;
 import org.onap.policy.clamp.acm.runtime.main.parameters.AcmParameters;
+import org.onap.policy.clamp.acm.runtime.main.parameters.ParticipantParameters;
 import org.onap.policy.clamp.common.acm.exception.AutomationCompositionRuntimeException;
 import org.onap.policy.clamp.models.acm.concepts.AcTypeState;
 import org.onap.policy.clamp.models.acm.concepts.AutomationCompositionDefinition;
@@ -162,6 +163,7 @@ public class CommonTestData {
         acmParameters.setToscaCompositionName(TOSCA_COMP_NAME);
         acmParameters.setToscaElementName(TOSCA_ELEMENT_NAME);
         acRuntimeParameterGroup.setAcmParameters(acmParameters);
+        acRuntimeParameterGroup.setParticipantParameters(new ParticipantParameters());
         return acRuntimeParameterGroup;
     }
 